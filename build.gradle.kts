@@ -29,10 +29,20 @@ application {
     mainClass.set("org.bee.Main")
 }
 
+// Bulk export and import, e.g. ./gradlew dataTool --args="export visits visits.csv"
+tasks.register<JavaExec>("dataTool") {
+    description = "Exports or imports data as CSV or NDJSON, or applies payment files to bills"
+    group = "application"
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.bee.DataTool")
+}
+
 val databaseDir = layout.projectDirectory.dir("database")
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
     
     // Copy database files before running tests
     doFirst {
@@ -59,6 +69,26 @@ tasks.test {
     }
 }
 
+// Timing tests tagged "benchmark", e.g. ./gradlew benchmark
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmark tests"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+
+    doFirst {
+        val testDbDir = layout.buildDirectory.dir("database")
+        copy {
+            from(databaseDir)
+            into(testDbDir)
+        }
+        systemProperty("database.dir", testDbDir.get().asFile.absolutePath)
+    }
+}
+
 tasks.jar {
     manifest {
         attributes["Main-Class"] = "org.bee.Main"
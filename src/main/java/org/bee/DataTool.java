@@ -0,0 +1,338 @@
+package org.bee;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.bee.controllers.*;
+import org.bee.hms.billing.PaymentReconciliation;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Command line tool that exports and imports the system's data, for migrations and nightly extracts,
+ * applies payment files to bills, and generates large synthetic data sets for load testing.
+ * <p>Usage:</p>
+ * <pre>
+ *   DataTool list
+ *   DataTool export &lt;entity&gt; &lt;file&gt; [--format csv|ndjson] [--progress n]
+ *   DataTool import &lt;entity&gt; &lt;file&gt; [--format csv|ndjson] [--batch-size n]
+ *   DataTool reconcile &lt;payment file&gt; [--exceptions &lt;report file&gt;]
+ *   DataTool generate &lt;patients&gt; &lt;directory&gt; [--seed n] [--threads n] [--start yyyy-mm-ddThh:mm]
+ * </pre>
+ * <p>The format is taken from the file extension unless given. Imported items are added to the
+ * existing data in batches, items already stored are rejected, and the data is saved once at the end.
+ * Payment files are CSV or NDJSON as read by {@link PaymentReconciliation}, and rejected payment lines
+ * are written to the exceptions report if one is given.
+ * Generated data sets are the same
+ * for the same seed and start time, which defaults to the start of today. Progress goes to standard error.</p>
+ * <p>From Gradle: {@code ./gradlew dataTool --args="export visits visits.csv"}</p>
+ */
+public class DataTool {
+
+    /** Items added at a time when importing, unless given */
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Items written between progress reports when exporting, unless given */
+    private static final int DEFAULT_PROGRESS_INTERVAL = 10_000;
+
+    /** Seed of generated data sets, unless given */
+    private static final long DEFAULT_SEED = 1;
+
+    /**
+     * Reads the items to export.
+     */
+    @FunctionalInterface
+    private interface ItemSource {
+
+        /**
+         * Reads the items.
+         *
+         * @return The items
+         * @throws IOException if the items cannot be read
+         */
+        List<? extends JSONSerializable> read() throws IOException;
+    }
+
+    /**
+     * Data the tool can transfer.
+     *
+     * @param controller Gets the controller holding the data
+     * @param exported   Reads the items to export
+     * @param importable Whether items can be imported; derived data is export only
+     */
+    private record Entity(Supplier<BaseController<?>> controller, ItemSource exported, boolean importable) {
+
+        /**
+         * Data exported from its controller.
+         *
+         * @param controller Gets the controller holding the data
+         * @param importable Whether items can be imported
+         */
+        Entity(Supplier<BaseController<?>> controller, boolean importable) {
+            this(controller, () -> controller.get().getAllItems(), importable);
+        }
+    }
+
+    /** The data the tool can transfer, by name */
+    private static final Map<String, Entity> ENTITIES = new LinkedHashMap<>();
+
+    static {
+        ENTITIES.put("humans", new Entity(HumanController::getInstance, true));
+        ENTITIES.put("policies", new Entity(PolicyController::getInstance, true));
+        ENTITIES.put("appointments", new Entity(AppointmentController::getInstance, true));
+        ENTITIES.put("visits", new Entity(VisitController::getInstance, true));
+        ENTITIES.put("consultations", new Entity(ConsultationController::getInstance, true));
+        ENTITIES.put("bills", new Entity(BillController::getInstance, true));
+        ENTITIES.put("claims", new Entity(ClaimController::getInstance, true));
+        ENTITIES.put("lab-tests", new Entity(LabTestController::getInstance, true));
+        ENTITIES.put("treatments", new Entity(TreatmentController::getInstance, true));
+        ENTITIES.put("feedback", new Entity(FeedbackController::getInstance, true));
+        // Deadlines are rebuilt from the other data, so imported ones would not last.
+        // They are exported from the saved file, since the controller fires overdue ones when created
+        ENTITIES.put("deadlines", new Entity(DeadlineController::getInstance, DeadlineController::loadSaved, false));
+    }
+
+    /**
+     * Runs the tool and exits with its status.
+     *
+     * @param args The command line arguments
+     */
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /**
+     * Runs the tool.
+     *
+     * @param args The command line arguments
+     * @return 0 on success, 1 for bad usage or a failed transfer, 2 if an import or reconciliation rejected records
+     */
+    public static int run(String[] args) {
+        if (args.length == 1 && args[0].equals("list")) {
+            ENTITIES.forEach((name, entity) ->
+                    System.out.println(name + (entity.importable() ? "" : " (export only)")));
+            return 0;
+        }
+        if (args.length >= 3 && args[0].equals("generate")) {
+            return generate(args);
+        }
+        if (args.length >= 2 && args[0].equals("reconcile")) {
+            return reconcile(args);
+        }
+        if (args.length < 3 || !(args[0].equals("export") || args[0].equals("import"))) {
+            printUsage();
+            return 1;
+        }
+
+        Entity entity = ENTITIES.get(args[1]);
+        if (entity == null) {
+            System.err.println("Unknown entity: " + args[1] + ". Use 'list' to see the entities.");
+            return 1;
+        }
+        Path file = Path.of(args[2]);
+        try {
+            DataTransfer.Format format = null;
+            int batchSize = DEFAULT_BATCH_SIZE;
+            int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+            for (int i = 3; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--format" -> format = parseFormat(requireValue(args[i], value));
+                    case "--batch-size" -> batchSize = Integer.parseInt(requireValue(args[i], value));
+                    case "--progress" -> progressInterval = Integer.parseInt(requireValue(args[i], value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+            if (format == null) {
+                format = DataTransfer.Format.fromFileName(file.toString());
+            }
+
+            if (args[0].equals("export")) {
+                return export(entity.exported().read(), format, file, progressInterval);
+            }
+            if (!entity.importable()) {
+                System.err.println(args[1] + " can only be exported");
+                return 1;
+            }
+            return importFile(entity.controller().get(), format, file, batchSize);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("Error transferring " + args[1] + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Writes items to a file.
+     *
+     * @param items            The items
+     * @param format           The format to write
+     * @param file             The file to write
+     * @param progressInterval Number of items between progress reports
+     * @return The exit status
+     * @throws IOException if the file cannot be written
+     */
+    private static int export(List<? extends JSONSerializable> items, DataTransfer.Format format, Path file,
+                              int progressInterval) throws IOException {
+        long start = System.nanoTime();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long written = DataTransfer.export(items, format, out, progressInterval,
+                    count -> System.err.println("Exported " + count + " items"));
+            System.err.format("Wrote %d items to %s in %d ms%n", written, file, (System.nanoTime() - start) / 1_000_000);
+        }
+        return 0;
+    }
+
+    /**
+     * Adds the items in a file to a controller.
+     *
+     * @param controller The controller
+     * @param format     The format to read
+     * @param file       The file to read
+     * @param batchSize  Number of items added at a time
+     * @return The exit status
+     * @throws IOException if the file cannot be read
+     */
+    private static int importFile(BaseController<?> controller, DataTransfer.Format format, Path file,
+                                  int batchSize) throws IOException {
+        long start = System.nanoTime();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            DataTransfer.ImportResult result = DataTransfer.importInto(controller, format, in, batchSize,
+                    count -> System.err.println("Imported " + count + " items"));
+            System.err.format("Imported %d items from %s in %d ms, rejected %d%n", result.imported(), file,
+                    (System.nanoTime() - start) / 1_000_000, result.rejected());
+            result.errors().forEach(System.err::println);
+            return result.rejected() == 0 ? 0 : 2;
+        }
+    }
+
+    /**
+     * Applies a payment file to the bills and saves them.
+     *
+     * @param args The command line arguments, starting with {@code reconcile}
+     * @return The exit status
+     */
+    private static int reconcile(String[] args) {
+        try {
+            String exceptionsReport = null;
+            for (int i = 2; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--exceptions" -> exceptionsReport = requireValue(args[i], value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+
+            PaymentReconciliation.Result result = BillController.getInstance()
+                    .reconcilePayments(args[1], exceptionsReport);
+            if (exceptionsReport == null) {
+                result.rejected().forEach(rejected -> System.err.println("Line " + rejected.lineNumber()
+                        + (rejected.billId().isEmpty() ? "" : " (" + rejected.billId() + ")") + ": " + rejected.reason()));
+            }
+            return result.rejected().isEmpty() ? 0 : 2;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("Error reconciling payments: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Generates a synthetic data set.
+     *
+     * @param args The command line arguments, starting with {@code generate}
+     * @return The exit status
+     */
+    private static int generate(String[] args) {
+        try {
+            int patients = Integer.parseInt(args[1]);
+            Path directory = Path.of(args[2]);
+            long seed = DEFAULT_SEED;
+            int threads = Runtime.getRuntime().availableProcessors();
+            LocalDateTime start = LocalDate.now().atStartOfDay();
+            for (int i = 3; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--seed" -> seed = Long.parseLong(requireValue(args[i], value));
+                    case "--threads" -> threads = Integer.parseInt(requireValue(args[i], value));
+                    case "--start" -> start = LocalDateTime.parse(requireValue(args[i], value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+                i++;
+            }
+
+            long begin = System.nanoTime();
+            SyntheticDataset.Counts counts = SyntheticDataset.generate(patients, seed, start, directory, threads,
+                    count -> System.err.println("Generated " + count + " patients"));
+            System.err.format("Wrote %d humans, %d policies, %d visits, %d bills, %d claims and %d appointments "
+                            + "to %s in %d ms%n", counts.humans(), counts.policies(), counts.visits(), counts.bills(),
+                    counts.claims(), counts.appointments(), directory, (System.nanoTime() - begin) / 1_000_000);
+            return 0;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            System.err.println("Error generating data: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Parses a format name.
+     *
+     * @param name The name, such as csv or ndjson
+     * @return The format
+     * @throws IllegalArgumentException if there is no such format
+     */
+    private static DataTransfer.Format parseFormat(String name) {
+        for (DataTransfer.Format format : DataTransfer.Format.values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format: " + name + ", use csv or ndjson");
+    }
+
+    /**
+     * Checks that an option was given a value.
+     *
+     * @param option The option
+     * @param value  The value, or {@code null} if the arguments ended
+     * @return The value
+     * @throws IllegalArgumentException if there is no value
+     */
+    private static String requireValue(String option, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+
+    /**
+     * Prints how to use the tool.
+     */
+    private static void printUsage() {
+        System.err.println("Usage:");
+        System.err.println("  DataTool list");
+        System.err.println("  DataTool export <entity> <file> [--format csv|ndjson] [--progress n]");
+        System.err.println("  DataTool import <entity> <file> [--format csv|ndjson] [--batch-size n]");
+        System.err.println("  DataTool reconcile <payment file> [--exceptions <report file>]");
+        System.err.println("  DataTool generate <patients> <directory> [--seed n] [--threads n] [--start yyyy-mm-ddThh:mm]");
+    }
+}
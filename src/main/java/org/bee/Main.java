@@ -18,10 +18,18 @@ public class Main {
         AppointmentController.getInstance();
         VisitController.getInstance();
         BillController.getInstance();
-        ClaimController.getInstance();
+        ClaimController claimController = ClaimController.getInstance();
+        LabTestController.getInstance();
+        TreatmentController.getInstance();
+        FeedbackController.getInstance();
         ConsultationController.getInstance();
+        // Started last, since it rebuilds deadlines from the other controllers' data
+        DeadlineController deadlineController = DeadlineController.getInstance();
         var canvas = new Canvas();
+        deadlineController.setNoticeHandler(canvas::setSystemMessage);
+        claimController.setNoticeHandler(canvas::setSystemMessage);
         ApplicationContext applicationContext = new ApplicationContext(canvas);
         applicationContext.startApplication(new LoginPage());
+        deadlineController.stop();
     }
 }
@@ -1,16 +1,24 @@
 package org.bee.controllers;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.bee.execeptions.ZoomApiException;
 import org.bee.hms.billing.Bill;
 import org.bee.hms.billing.BillBuilder;
@@ -19,13 +27,20 @@ import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Patient;
 import org.bee.hms.telemed.Appointment;
 import org.bee.hms.telemed.AppointmentStatus;
+import org.bee.hms.telemed.FakeMeetingProvider;
+import org.bee.hms.telemed.MeetingLinkPool;
+import org.bee.hms.telemed.MeetingProvider;
+import org.bee.hms.telemed.SchedulingEngine;
+import org.bee.hms.telemed.Session;
+import org.bee.hms.telemed.SessionEvent;
+import org.bee.hms.telemed.SessionEventLog;
+import org.bee.hms.telemed.SessionEventType;
+import org.bee.hms.telemed.SessionQualityMetrics;
+import org.bee.hms.telemed.ZoomCredentials;
+import org.bee.hms.telemed.ZoomMeetingClient;
+import org.bee.utils.JSONHelper;
+import org.bee.utils.SortedGroupIndex;
 
-import okhttp3.FormBody;
-import okhttp3.MediaType;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.RequestBody;
-import okhttp3.Response;
 
 /**
  * Manages the storage and retrieval of {@link Appointment} objects
@@ -44,6 +59,65 @@ public class AppointmentController extends BaseController<Appointment> {
      */
     private static final HumanController humanController = HumanController.getInstance();
 
+    /**
+     * Length in minutes of teleconsultation meetings
+     */
+    public static final int MEETING_DURATION_MINUTES = 30;
+
+    /**
+     * Maximum number of meeting links kept ready in advance
+     */
+    public static final int MAX_POOLED_MEETING_LINKS = 10;
+
+    /**
+     * Start of the first slot offered to patients each day
+     */
+    public static final LocalTime OPENING_TIME = LocalTime.of(8, 0);
+
+    /**
+     * End of the last slot offered to patients each day
+     */
+    public static final LocalTime CLOSING_TIME = LocalTime.of(17, 0);
+
+    /**
+     * Time between the slot starts offered to patients
+     */
+    public static final int SLOT_INTERVAL_MINUTES = 60;
+
+    /**
+     * Statuses of appointments that hold the doctor's time
+     */
+    private static final EnumSet<AppointmentStatus> BOOKED_STATUSES = EnumSet.of(
+            AppointmentStatus.ACCEPTED, AppointmentStatus.COMPLETED,
+            AppointmentStatus.PAYMENT_PENDING, AppointmentStatus.PAID);
+
+    /**
+     * Pool of pre-created meeting links, created on first use
+     */
+    private MeetingLinkPool meetingLinkPool;
+
+    /**
+     * Doctors' booked slots, built from the appointments on first use
+     */
+    private SchedulingEngine schedulingEngine;
+
+    /**
+     * Log of teleconsultation session telemetry, created on first use
+     */
+    private SessionEventLog sessionEventLog;
+
+    /**
+     * Session quality totals, built from the session event log on first use and then kept up to date
+     */
+    private SessionQualityMetrics sessionMetrics;
+
+    /**
+     * Appointments per patient ID in time order, rebuilt after each load or save
+     */
+    private final SortedGroupIndex<Appointment> appointmentsByPatient = new SortedGroupIndex<>(
+            appointment -> appointment.getPatient() == null ? null : appointment.getPatient().getPatientId(),
+            Comparator.comparing(Appointment::getAppointmentTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
     /**
      * Private to prevent direct modification
      */
@@ -84,6 +158,17 @@ public class AppointmentController extends BaseController<Appointment> {
         return Appointment.class;
     }
 
+    /**
+     * Identifies a appointment by its appointment ID, so an import cannot add it twice
+     *
+     * @param item The appointment
+     * @return The appointment ID
+     */
+    @Override
+    protected String getItemKey(Appointment item) {
+        return item.getAppointmentId();
+    }
+
     /**
      * Generates initial appointment data for the healthcare management system
      * This method creates 10 random appointments, assigns them to existing patients
@@ -134,15 +219,25 @@ public class AppointmentController extends BaseController<Appointment> {
         System.out.println("Generated " + items.size() + " appointments.");
     }
 
+    /**
+     * Loads the appointments and drops the schedule built from the previous ones
+     */
+    @Override
+    public synchronized void loadData() {
+        super.loadData();
+        schedulingEngine = null;
+    }
+
     /**
      * Removes the specified appointment from the list of appointments
-     * If the appointment is removed, save the data
+     * If the appointment is removed, free its slot and save the data
      *
      * @param appointment The Appointment  to be removed
      */
-    public void removeAppointment(Appointment appointment) {
+    public synchronized void removeAppointment(Appointment appointment) {
         boolean removed = items.remove(appointment);
         if (removed) {
+            releaseSlot(appointment);
             saveData();
         }
     }
@@ -154,9 +249,17 @@ public class AppointmentController extends BaseController<Appointment> {
      * @return A list of Appointment for the specified patient
      */
     public List<Appointment> getAppointmentsForPatient(Patient patient) {
-        return items.stream()
-                .filter(appointment -> appointment.getPatient().getPatientId().equals(patient.getPatientId()))
-                .collect(Collectors.toList());
+        return new ArrayList<>(getAppointmentsForPatient(patient.getPatientId()));
+    }
+
+    /**
+     * Retrieves the appointments of a patient in time order, oldest first
+     *
+     * @param patientId The ID of the patient
+     * @return A read-only list of the patient's appointments
+     */
+    public List<Appointment> getAppointmentsForPatient(String patientId) {
+        return appointmentsByPatient.get(patientId, getDataVersion(), items);
     }
 
     /**
@@ -194,6 +297,7 @@ public class AppointmentController extends BaseController<Appointment> {
     public void addAppointment(Appointment appointment) {
         addItem(appointment);
         saveData();
+        DeadlineController.getIfStarted().ifPresent(deadlines -> deadlines.trackAppointment(appointment));
     }
 
     /**
@@ -217,9 +321,38 @@ public class AppointmentController extends BaseController<Appointment> {
         if (index != -1) {
             items.set(index, newAppointment);
             saveData();
+            DeadlineController.getIfStarted().ifPresent(deadlines -> deadlines.trackAppointment(newAppointment));
         }
     }
 
+    /**
+     * Expires pending appointments whose time has passed, and saves the data once without printing
+     * Appointments that are no longer pending, or have been moved to a later time, are left alone
+     *
+     * @param appointmentIds The IDs of the appointments to check
+     * @param now The current time
+     * @return The number of appointments expired
+     * @throws IOException if appointments were expired but could not be saved
+     */
+    public synchronized int expireAppointments(Collection<String> appointmentIds, LocalDateTime now)
+            throws IOException {
+        Set<String> ids = new HashSet<>(appointmentIds);
+        int expired = 0;
+        for (Appointment appointment : items) {
+            if (appointment.getAppointmentStatus() == AppointmentStatus.PENDING
+                    && ids.contains(appointment.getAppointmentId())
+                    && appointment.getAppointmentTime() != null
+                    && !appointment.getAppointmentTime().isAfter(now)) {
+                appointment.setAppointmentStatus(AppointmentStatus.EXPIRED);
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            writeData();
+        }
+        return expired;
+    }
+
     /**
      * Finds an appointment by matching patient and appointment time
      *
@@ -236,121 +369,432 @@ public class AppointmentController extends BaseController<Appointment> {
     }
 
     /**
-     * Generates a Zoom meeting link for an appointment
+     * Gets the meeting link pool, creating it on first use.
      *
-     * @param appointmentTitle The title of the appointment to use as the meeting topic
-     * @param durationMinutes The duration of the meeting in minutes
-     * @return The Zoom meeting join URL
-     * @throws IllegalArgumentException If input parameters are invalid
-     * @throws ZoomApiException If there's an error communicating with the Zoom API
-     * @throws IOException for network/communication errors
+     * @return The meeting link pool
      */
+    private synchronized MeetingLinkPool getMeetingLinkPool() {
+        if (meetingLinkPool == null) {
+            meetingLinkPool = new MeetingLinkPool(createMeetingProvider(), MEETING_DURATION_MINUTES,
+                    MAX_POOLED_MEETING_LINKS, Duration.ofHours(12));
+        }
+        return meetingLinkPool;
+    }
 
-    public String generateZoomLink(String appointmentTitle, int durationMinutes)
-            throws IllegalArgumentException, ZoomApiException, IOException {
-
-        if (appointmentTitle == null || appointmentTitle.trim().isEmpty()) {
-            throw new IllegalArgumentException("Appointment title cannot be null or empty");
+    /**
+     * Chooses how meetings are created
+     * Placeholder links are only used when {@code -Dzoom.fake=true} is set. Without Zoom
+     * credentials every request for a link fails, so no appointment is approved with a link
+     * to a meeting that does not exist.
+     *
+     * @return The meeting provider
+     */
+    private static MeetingProvider createMeetingProvider() {
+        if (Boolean.getBoolean("zoom.fake")) {
+            return new FakeMeetingProvider();
         }
+        if (!ZoomCredentials.isConfigured()) {
+            return (topic, durationMinutes) -> {
+                throw new ZoomApiException("Zoom is not configured: set ZOOM_ACCOUNT_ID, ZOOM_CLIENT_ID and "
+                        + "ZOOM_CLIENT_SECRET, or run with -Dzoom.fake=true");
+            };
+        }
+        return ZoomMeetingClient.getInstance();
+    }
 
-        if (durationMinutes <= 0 || durationMinutes > 1440) {
-            throw new IllegalArgumentException("Duration must be between 1 and 1440 minutes");
+    /**
+     * Sizes the meeting link pool from the pending appointments from today onwards
+     * and starts creating links in the background if needed
+     */
+    public void prepareMeetingLinks() {
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+        long upcoming = items.stream()
+                .filter(appointment -> appointment.getAppointmentStatus() == AppointmentStatus.PENDING)
+                .filter(appointment -> appointment.getAppointmentTime() != null
+                        && !appointment.getAppointmentTime().isBefore(startOfToday))
+                .count();
+        getMeetingLinkPool().resize((int) Math.min(upcoming, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Gets a meeting link for an appointment that is being approved
+     * A pre-created link is used when one is ready, otherwise a meeting is created on the spot
+     *
+     * @param appointmentTitle The meeting topic to use if a meeting has to be created
+     * @return The meeting join URL
+     * @throws ZoomApiException If no link is ready and the meeting cannot be created
+     */
+    public String assignMeetingLink(String appointmentTitle) throws ZoomApiException {
+        return getMeetingLinkPool().acquire(appointmentTitle, MEETING_DURATION_MINUTES);
+    }
+
+    /**
+     * Returns a meeting link that was assigned but not used, so another appointment can use it
+     *
+     * @param joinUrl The meeting join URL
+     */
+    public void releaseMeetingLink(String joinUrl) {
+        if (joinUrl != null) {
+            getMeetingLinkPool().recycle(joinUrl);
         }
+    }
 
-        OkHttpClient client = new OkHttpClient();
-        Response tokenResponse = null;
-        Response meetingResponse = null;
+    /**
+     * Gets the meeting link pool counters
+     *
+     * @return The pool counters
+     */
+    public MeetingLinkPool.Stats getMeetingLinkStats() {
+        return getMeetingLinkPool().getStats();
+    }
 
-        try {
-            // Zoom OAuth credentials - why is this in source code?
-            final String ACCOUNT_ID = "I3xVw-4USxmYxw15TByvGQ";
-            final String CLIENT_ID = "yXD3vVutRhKASvzAOzBjIw";
-            final String CLIENT_SECRET = "DJfAquKIWQ46N9h7i3ODLEUEwZpUKGT4";
-            final String TOKEN_URL = "https://zoom.us/oauth/token";
-
-            // Step 1: Get access token
-            String credentials = CLIENT_ID + ":" + CLIENT_SECRET;
-            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-
-            RequestBody tokenBody = new FormBody.Builder()
-                    .add("grant_type", "account_credentials")
-                    .add("account_id", ACCOUNT_ID)
-                    .build();
-
-            Request tokenRequest = new Request.Builder()
-                    .url(TOKEN_URL)
-                    .post(tokenBody)
-                    .addHeader("Authorization", "Basic " + encodedCredentials)
-                    .build();
-
-            tokenResponse = client.newCall(tokenRequest).execute();
-
-            if (!tokenResponse.isSuccessful()) {
-                throw new ZoomApiException("Failed to get access token. Response code: " + tokenResponse.code() +
-                        ", message: " + tokenResponse.message());
+    /**
+     * Gets the appointment times offered to patients on a day: every
+     * {@value #SLOT_INTERVAL_MINUTES} minutes from {@link #OPENING_TIME}, as long as the
+     * meeting ends by {@link #CLOSING_TIME}
+     *
+     * @param date The day
+     * @return The slot start times in order
+     */
+    public static List<LocalDateTime> getSlotStarts(LocalDate date) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDateTime closing = date.atTime(CLOSING_TIME);
+        for (LocalDateTime start = date.atTime(OPENING_TIME);
+             !start.plusMinutes(MEETING_DURATION_MINUTES).isAfter(closing);
+             start = start.plusMinutes(SLOT_INTERVAL_MINUTES)) {
+            starts.add(start);
+        }
+        return starts;
+    }
+
+    /**
+     * Gets the schedule of booked slots, building it from the appointments on first use
+     * Every doctor is included, and appointments that overlap an earlier one are reported
+     *
+     * @return The scheduling engine
+     */
+    private synchronized SchedulingEngine getSchedulingEngine() {
+        if (schedulingEngine == null) {
+            SchedulingEngine engine = new SchedulingEngine(OPENING_TIME, CLOSING_TIME);
+            for (String doctorId : getDoctorsById().keySet()) {
+                engine.addDoctor(doctorId);
+            }
+            int conflicts = 0;
+            for (Appointment appointment : items) {
+                if (holdsSlot(appointment)
+                        && !engine.book(appointment.getDoctor().getStaffId(),
+                        appointment.getAppointmentTime(), MEETING_DURATION_MINUTES)) {
+                    conflicts++;
+                }
+            }
+            if (conflicts > 0) {
+                System.err.println("Found " + conflicts + " appointments overlapping another booking for the same doctor");
             }
+            schedulingEngine = engine;
+        }
+        return schedulingEngine;
+    }
 
-            if (tokenResponse.body() == null) {
-                throw new ZoomApiException("Token response body is null");
+    /**
+     * Gets every known doctor by staff ID, including doctors only found on appointments
+     *
+     * @return The doctors by staff ID
+     */
+    private Map<String, Doctor> getDoctorsById() {
+        Map<String, Doctor> doctorsById = new HashMap<>();
+        for (Doctor doctor : humanController.getAllDoctors()) {
+            if (doctor.getStaffId() != null) {
+                doctorsById.putIfAbsent(doctor.getStaffId(), doctor);
+            }
+        }
+        for (Appointment appointment : items) {
+            Doctor doctor = appointment.getDoctor();
+            if (doctor != null && doctor.getStaffId() != null) {
+                doctorsById.putIfAbsent(doctor.getStaffId(), doctor);
             }
+        }
+        return doctorsById;
+    }
 
-            String tokenResponseBody = tokenResponse.body().string();
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode jsonTokenResponse = mapper.readTree(tokenResponseBody);
+    /**
+     * Checks whether an appointment holds a slot in its doctor's schedule
+     *
+     * @param appointment The appointment to check
+     * @return true if the appointment is booked with a doctor at a set time
+     */
+    private static boolean holdsSlot(Appointment appointment) {
+        return BOOKED_STATUSES.contains(appointment.getAppointmentStatus())
+                && appointment.getDoctor() != null
+                && appointment.getDoctor().getStaffId() != null
+                && appointment.getAppointmentTime() != null;
+    }
 
-            if (!jsonTokenResponse.has("access_token")) {
-                throw new ZoomApiException("Access token not found in response: " + tokenResponseBody);
+    /**
+     * Frees the slot of an appointment that no longer needs it
+     * Other appointments of the same doctor that day are booked again, in case they overlapped it
+     *
+     * @param appointment The appointment whose slot to free
+     */
+    private void releaseSlot(Appointment appointment) {
+        if (schedulingEngine == null || appointment.getDoctor() == null
+                || appointment.getDoctor().getStaffId() == null || appointment.getAppointmentTime() == null) {
+            return;
+        }
+        String doctorId = appointment.getDoctor().getStaffId();
+        LocalDate date = appointment.getAppointmentTime().toLocalDate();
+        schedulingEngine.release(doctorId, appointment.getAppointmentTime(), MEETING_DURATION_MINUTES);
+        for (Appointment other : items) {
+            if (other != appointment && holdsSlot(other)
+                    && other.getDoctor().getStaffId().equals(doctorId)
+                    && other.getAppointmentTime().toLocalDate().equals(date)) {
+                schedulingEngine.book(doctorId, other.getAppointmentTime(), MEETING_DURATION_MINUTES);
             }
+        }
+    }
 
-            String accessToken = jsonTokenResponse.get("access_token").asText();
-
-            ObjectNode jsonBody = mapper.createObjectNode();
-            jsonBody.put("topic", appointmentTitle);
-            jsonBody.put("type", 1); // 1 for instant meeting
-            jsonBody.put("duration", durationMinutes);
-            jsonBody.put("timezone", "UTC");
+    /**
+     * Checks whether a doctor is free for an appointment at the given time
+     *
+     * @param doctor The doctor to check
+     * @param appointmentTime The start of the appointment
+     * @return true if the doctor has no other appointment overlapping it
+     */
+    public boolean isDoctorAvailable(Doctor doctor, LocalDateTime appointmentTime) {
+        return getSchedulingEngine().isFree(doctor.getStaffId(), appointmentTime, MEETING_DURATION_MINUTES);
+    }
 
-            RequestBody meetingBody = RequestBody.create(
-                    mapper.writeValueAsString(jsonBody),
-                    MediaType.parse("application/json")
-            );
+    /**
+     * Approves an appointment if the doctor is free at its time, and saves the data
+     * The slot is booked before the appointment changes, so two approvals cannot take the same slot
+     *
+     * @param appointment The appointment to approve
+     * @param doctor The doctor approving the appointment
+     * @param joinUrl The meeting link for the session
+     * @throws IllegalStateException If the doctor already has an appointment overlapping it
+     */
+    public synchronized void approveAppointment(Appointment appointment, Doctor doctor, String joinUrl) {
+        SchedulingEngine engine = getSchedulingEngine();
+        if (holdsSlot(appointment)) {
+            releaseSlot(appointment);
+        }
+        if (!engine.book(doctor.getStaffId(), appointment.getAppointmentTime(), MEETING_DURATION_MINUTES)) {
+            throw new IllegalStateException("Dr. " + doctor.getName() + " already has an appointment at "
+                    + appointment.getAppointmentTime());
+        }
+        appointment.approveAppointment(doctor, joinUrl);
+        saveData();
+    }
 
-            Request meetingRequest = new Request.Builder()
-                    .url("https://api.zoom.us/v2/users/me/meetings")
-                    .post(meetingBody)
-                    .addHeader("Authorization", "Bearer " + accessToken)
-                    .addHeader("Content-Type", "application/json")
-                    .build();
+    /**
+     * Finds the earliest free appointment slots across all doctors
+     *
+     * @param from The earliest acceptable start
+     * @param count The number of slots wanted
+     * @return Up to count slots in time order, each with the staff ID of a free doctor
+     */
+    public List<SchedulingEngine.Slot> findFreeSlots(LocalDateTime from, int count) {
+        return getSchedulingEngine().nextFreeSlots(from, count, MEETING_DURATION_MINUTES);
+    }
 
-            meetingResponse = client.newCall(meetingRequest).execute();
+    /**
+     * Finds the earliest free appointment slot for one doctor
+     *
+     * @param doctor The doctor
+     * @param from The earliest acceptable start
+     * @return The start of the slot, or empty if the doctor is fully booked for the next year
+     */
+    public Optional<LocalDateTime> findFreeSlot(Doctor doctor, LocalDateTime from) {
+        return getSchedulingEngine().nextFreeSlot(doctor.getStaffId(), from, MEETING_DURATION_MINUTES);
+    }
 
-            if (!meetingResponse.isSuccessful()) {
-                throw new ZoomApiException("Failed to create meeting. Response code: " + meetingResponse.code() +
-                        ", message: " + meetingResponse.message());
+    /**
+     * Moves booked appointments to the earliest free slots from a given time, and saves the data once
+     * Either every appointment is moved or none are
+     *
+     * @param appointments The booked appointments to move
+     * @param notBefore The earliest acceptable new time
+     * @param keepDoctor true to keep each appointment with its doctor, false to move it to any free doctor
+     * @return The number of appointments moved
+     * @throws IllegalArgumentException If an appointment is not booked with a doctor
+     * @throws IllegalStateException If not every appointment can be placed within the search horizon
+     */
+    public synchronized int rescheduleAppointments(List<Appointment> appointments, LocalDateTime notBefore,
+                                                   boolean keepDoctor) {
+        SchedulingEngine engine = getSchedulingEngine();
+        List<SchedulingEngine.Slot> current = new ArrayList<>(appointments.size());
+        for (Appointment appointment : appointments) {
+            if (!holdsSlot(appointment)) {
+                throw new IllegalArgumentException("Appointment " + appointment.getAppointmentId()
+                        + " is not booked with a doctor");
             }
+            current.add(new SchedulingEngine.Slot(appointment.getDoctor().getStaffId(),
+                    appointment.getAppointmentTime()));
+        }
 
-            if (meetingResponse.body() == null) {
-                throw new ZoomApiException("Meeting response body is null");
+        List<SchedulingEngine.Slot> moved = engine.reschedule(current, notBefore, MEETING_DURATION_MINUTES, keepDoctor);
+        Map<String, Doctor> doctorsById = keepDoctor ? Map.of() : getDoctorsById();
+        for (int i = 0; i < appointments.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            SchedulingEngine.Slot slot = moved.get(i);
+            appointment.setAppointmentTime(slot.start());
+            if (!slot.doctorId().equals(appointment.getDoctor().getStaffId())) {
+                appointment.setDoctor(doctorsById.get(slot.doctorId()));
             }
+        }
+        if (!appointments.isEmpty()) {
+            saveData();
+        }
+        return appointments.size();
+    }
 
-            String meetingResponseBody = meetingResponse.body().string();
-            JsonNode jsonMeetingResponse = mapper.readTree(meetingResponseBody);
+    /**
+     * Records that the doctor joined an appointment's session
+     * Only the first join is recorded, so reopening the session does not count again
+     *
+     * @param appointment The appointment whose session was joined
+     * @throws IllegalStateException If the appointment has no doctor or no session
+     */
+    public synchronized void joinSession(Appointment appointment) {
+        Session session = requireSession(appointment);
+        if (session.join()) {
+            recordSessionEvent(appointment, SessionEventType.JOINED, session.getJoinedTime(),
+                    appointment.getAppointmentTime());
+            saveData();
+        }
+    }
 
-            if (!jsonMeetingResponse.has("join_url")) {
-                throw new ZoomApiException("Join URL not found in response: " + meetingResponseBody);
-            }
+    /**
+     * Records that the connection dropped during an appointment's session
+     *
+     * @param appointment The appointment whose session dropped
+     * @throws IllegalStateException If the appointment has no doctor or no session
+     */
+    public synchronized void reportDisconnect(Appointment appointment) {
+        Session session = requireSession(appointment);
+        session.recordDisconnect();
+        recordSessionEvent(appointment, SessionEventType.DISCONNECTED, LocalDateTime.now(), null);
+        saveData();
+    }
+
+    /**
+     * Completes an appointment, ends its session and saves the data
+     *
+     * @param appointment The appointment to complete
+     * @param doctorNotes The doctor's final notes
+     * @throws IllegalStateException If the appointment has no doctor or no session
+     */
+    public synchronized void finishAppointment(Appointment appointment, String doctorNotes) {
+        Session session = requireSession(appointment);
+        appointment.finishAppointment(doctorNotes);
+        recordSessionEvent(appointment, SessionEventType.ENDED, session.getEndTime(), null);
+        saveData();
+        DeadlineController.getIfStarted().ifPresent(deadlines -> deadlines.trackAppointment(appointment));
+    }
+
+    /**
+     * Reports teleconsultation session quality per doctor, per day and per time slot
+     *
+     * @return The session quality report as of now
+     */
+    public synchronized SessionQualityMetrics.Report getSessionQualityReport() {
+        return getSessionMetrics().report(LocalDateTime.now());
+    }
 
-            return jsonMeetingResponse.get("join_url").asText();
+    /**
+     * Reports the quality of one doctor's teleconsultation sessions per day and per time slot
+     *
+     * @param doctor The doctor
+     * @return The doctor's session quality report as of now
+     */
+    public synchronized SessionQualityMetrics.Report getSessionQualityReport(Doctor doctor) {
+        return getSessionMetrics().report(doctor.getStaffId(), LocalDateTime.now());
+    }
 
+    /**
+     * Writes the session quality report to a JSON file
+     *
+     * @param filePath The path of the file to write
+     * @return The report that was written
+     * @throws IOException If the file cannot be written
+     */
+    public SessionQualityMetrics.Report exportSessionQualityReport(String filePath) throws IOException {
+        SessionQualityMetrics.Report report = getSessionQualityReport();
+        JSONHelper.saveToJsonFile(report, filePath);
+        return report;
+    }
+
+    /**
+     * Gets the default path of the session quality report export
+     *
+     * @return The export file path
+     */
+    public String getSessionQualityReportPath() {
+        return DATABASE_DIR + "/session_quality_report.json";
+    }
+
+    /**
+     * Gets the session of an appointment that has a doctor
+     *
+     * @param appointment The appointment
+     * @return The appointment's session
+     * @throws IllegalStateException If the appointment has no doctor or no session
+     */
+    private static Session requireSession(Appointment appointment) {
+        if (appointment.getDoctor() == null || appointment.getSession() == null) {
+            throw new IllegalStateException("Appointment has not been approved with a session");
+        }
+        return appointment.getSession();
+    }
+
+    /**
+     * Gets the session event log, creating it on first use
+     *
+     * @return The session event log
+     */
+    private SessionEventLog getSessionEventLog() {
+        if (sessionEventLog == null) {
+            sessionEventLog = new SessionEventLog(Path.of(DATABASE_DIR, "session_events.txt"));
+        }
+        return sessionEventLog;
+    }
+
+    /**
+     * Appends a session event to the log and feeds it into the quality metrics, if they have been built
+     *
+     * @param appointment The appointment the session belongs to
+     * @param type The kind of event
+     * @param timestamp When the event happened
+     * @param scheduledAt When the session was scheduled to start, or null
+     */
+    private void recordSessionEvent(Appointment appointment, SessionEventType type, LocalDateTime timestamp,
+                                    LocalDateTime scheduledAt) {
+        SessionEvent event = new SessionEvent(appointment.getSession().getId(),
+                appointment.getDoctor().getStaffId(), type, timestamp, scheduledAt);
+        try {
+            getSessionEventLog().append(event);
         } catch (IOException e) {
-            throw new ZoomApiException("Error communicating with Zoom API: " + e.getMessage(), e);
-        } finally {
-            if (tokenResponse != null && tokenResponse.body() != null) {
-                tokenResponse.body().close();
-            }
-            if (meetingResponse != null && meetingResponse.body() != null) {
-                meetingResponse.body().close();
+            System.err.println("Error appending session event: " + e.getMessage());
+        }
+        if (sessionMetrics != null) {
+            sessionMetrics.record(event);
+        }
+    }
+
+    /**
+     * Gets the session quality metrics, building them from the session event log on first use
+     *
+     * @return The session quality metrics
+     */
+    private SessionQualityMetrics getSessionMetrics() {
+        if (sessionMetrics == null) {
+            SessionQualityMetrics metrics = new SessionQualityMetrics(MEETING_DURATION_MINUTES);
+            try {
+                getSessionEventLog().replay(metrics::record);
+            } catch (IOException e) {
+                System.err.println("Error reading session events for quality metrics: " + e.getMessage());
             }
+            sessionMetrics = metrics;
         }
+        return sessionMetrics;
     }
 }
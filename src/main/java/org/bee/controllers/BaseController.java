@@ -6,6 +6,7 @@ import org.bee.utils.JSONSerializable;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,11 @@ public abstract class BaseController<T extends JSONSerializable> {
      */
     protected final List<T> items = new ArrayList<>();
 
+    /**
+     * Counts the loads and saves of the items, so indexes built from them can tell when they are stale
+     */
+    private volatile long dataVersion;
+
     /**
      * Protected constructor to enforce singleton pattern in subclasses
      */
@@ -66,10 +72,12 @@ public abstract class BaseController<T extends JSONSerializable> {
             List<T> loadedItems = JSONHelper.loadListFromJsonFile(getDataFilePath(), getEntityClass());
             items.clear();
             items.addAll(loadedItems);
+            dataVersion++;
             System.out.println("Loaded " + items.size() + " items from " + getDataFilePath());
         } catch (IOException e) {
             System.err.println("Error loading data from file: " + e.getMessage());
             items.clear();
+            dataVersion++;
         }
     }
 
@@ -78,13 +86,24 @@ public abstract class BaseController<T extends JSONSerializable> {
      */
     public void saveData() {
         try {
-            JSONHelper.saveToJsonFile(items, getDataFilePath());
+            writeData();
             System.out.println("Saved " + items.size() + " items to " + getDataFilePath());
         } catch (IOException e) {
             System.err.println("Error saving data to file: " + e.getMessage());
         }
     }
 
+    /**
+     * Saves the items list to the JSON file without printing anything.
+     * Used by background threads, which must not write over the UI.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    protected void writeData() throws IOException {
+        dataVersion++;
+        JSONHelper.saveToJsonFile(items, getDataFilePath());
+    }
+
     /**
      * Adds an item to the controller and saves to the JSON file.
      *
@@ -95,6 +114,37 @@ public abstract class BaseController<T extends JSONSerializable> {
         saveData();
     }
 
+    /**
+     * Adds items to the controller and saves to the JSON file once for all of them.
+     *
+     * @param newItems The items to add
+     */
+    public void addItems(Collection<? extends T> newItems) {
+        stageItems(newItems);
+        saveData();
+    }
+
+    /**
+     * Adds items without saving, for imports that save once when they finish.
+     *
+     * @param newItems The items to add
+     * @throws IllegalArgumentException If the controller refuses the items
+     */
+    protected void stageItems(Collection<? extends T> newItems) {
+        items.addAll(newItems);
+        dataVersion++;
+    }
+
+    /**
+     * Gets the key that identifies an item, so an import can refuse an item that is already stored.
+     *
+     * @param item The item
+     * @return The key, or null if the item has none and is always added
+     */
+    protected String getItemKey(T item) {
+        return null;
+    }
+
     /**
      * Gets all items managed by this controller.
      *
@@ -104,6 +154,17 @@ public abstract class BaseController<T extends JSONSerializable> {
         return new ArrayList<>(items);
     }
 
+    /**
+     * Gets the number of times the items have been loaded or saved.
+     * Every change to the items is followed by a save, so an index built at one version
+     * is current until the version moves on.
+     *
+     * @return The data version
+     */
+    protected long getDataVersion() {
+        return dataVersion;
+    }
+
     /**
      * Generates initial data for the controller.
      * This method should be implemented by subclasses.
@@ -1,16 +1,35 @@
 package org.bee.controllers;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.bee.hms.billing.Bill;
 import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingReport;
 import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.PaymentReconciliation;
 import org.bee.hms.humans.Patient;
 import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.ConsultationStatus;
 import org.bee.hms.medical.Visit;
 import org.bee.hms.policy.InsurancePolicy;
+import org.bee.utils.SortedGroupIndex;
 
 /**
  * Manages the storage and retrieval of {@link Bill} objects.
@@ -45,6 +64,13 @@ public class BillController extends BaseController<Bill> {
      */
     private static final ConsultationController consultationController = ConsultationController.getInstance();
 
+    /**
+     * Bills per patient ID in billing order, rebuilt after each load or save
+     */
+    private final SortedGroupIndex<Bill> billsByPatient = new SortedGroupIndex<>(
+            bill -> bill.getPatient() == null ? null : bill.getPatient().getPatientId(),
+            Comparator.comparing(Bill::getBillDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+
     /**
      * Private constructor to enforce singleton pattern.
      */
@@ -84,6 +110,17 @@ public class BillController extends BaseController<Bill> {
         return Bill.class;
     }
 
+    /**
+     * Identifies a bill by its bill ID, so an import cannot add it twice
+     *
+     * @param item The bill
+     * @return The bill ID
+     */
+    @Override
+    protected String getItemKey(Bill item) {
+        return item.getBillId();
+    }
+
     /**
      * Generates initial bill data for the healthcare management system
      * This method creates bills for all patients based on their visits and consultations and policies
@@ -92,42 +129,209 @@ public class BillController extends BaseController<Bill> {
     protected void generateInitialData() {
         System.out.println("Generating initial bill data...");
 
-        List<Patient> patients = humanController.getAllPatients();
-
-        if (patients.isEmpty()) {
+        if (humanController.getAllPatients().isEmpty()) {
             System.err.println("No patients available to generate bills");
             return;
         }
 
-        for (Patient patient : patients) {
-            List<InsurancePolicy> policies = policyController.getAllPoliciesForPatient(patient);
+        items.addAll(buildPendingBills());
 
-            List<Visit> patientVisits = visitController.getVisitsForPatient(patient);
-            for (Visit visit : patientVisits) {
-                createBillFromVisit(patient, visit, policies);
+        System.out.println("Generated " + items.size() + " bills.");
+    }
+
+    /**
+     * Runs a bulk billing job over all discharged visits and completed consultations.
+     * <p>
+     * Sources that already have a bill are skipped, so the job can be run
+     * repeatedly (e.g. as a nightly billing run) without creating duplicates.
+     * Bills stored before sources were tracked are first linked to their sources
+     * by patient and billed items, so they are not billed a second time.
+     * New bills are built in parallel and persisted with a single save.
+     * </p>
+     *
+     * @return The list of newly created bills
+     */
+    public synchronized List<Bill> generatePendingBills() {
+        int linked = linkLegacyBills();
+        List<Bill> bills = buildPendingBills();
+        if (linked > 0 || !bills.isEmpty()) {
+            items.addAll(bills);
+            saveData();
+        }
+        return bills;
+    }
+
+    /**
+     * Links bills stored before sources were tracked to the visit or consultation they were built from.
+     * A bill without a recorded source is matched to an unbilled source of the same patient and
+     * kind (visit or consultation) whose billable items are the items on the bill, oldest first.
+     *
+     * @return The number of bills that were linked
+     */
+    private int linkLegacyBills() {
+        Map<String, Deque<Bill>> legacyBills = new HashMap<>();
+        Set<String> billedVisitIds = new HashSet<>();
+        Set<String> billedConsultationIds = new HashSet<>();
+        for (Bill bill : items) {
+            if (bill.hasNoRecordedSource()) {
+                if (bill.getPatient() != null) {
+                    legacyBills.computeIfAbsent(legacyKey(bill.getPatient(), bill.isInpatient(), bill.lineItemKey()),
+                            key -> new ArrayDeque<>()).add(bill);
+                }
+            } else {
+                if (bill.getSourceVisitId() != null) {
+                    billedVisitIds.add(bill.getSourceVisitId());
+                }
+                billedConsultationIds.addAll(bill.getSourceConsultationIds());
             }
+        }
+        if (legacyBills.isEmpty()) {
+            return 0;
+        }
 
-            List<Consultation> patientConsultations = consultationController.getAllOutpatientCases().stream()
-                    .filter(c -> c.getPatient().equals(patient))
-                    .toList();
+        int linked = 0;
+        for (Visit visit : visitController.getAllItems()) {
+            if (!billedVisitIds.contains(visit.getVisitId())) {
+                Deque<Bill> matches = legacyBills.get(legacyKey(visit.getPatient(), true,
+                        Bill.lineItemKey(visit.getRelatedBillableItems())));
+                if (matches != null && !matches.isEmpty()) {
+                    matches.poll().backfillSources(visit.getVisitId(), List.of());
+                    linked++;
+                }
+            }
+        }
+        for (Consultation consultation : consultationController.getAllOutpatientCases()) {
+            if (!billedConsultationIds.contains(consultation.getConsultationId())) {
+                Deque<Bill> matches = legacyBills.get(legacyKey(consultation.getPatient(), false,
+                        Bill.lineItemKey(consultation.getRelatedBillableItems())));
+                if (matches != null && !matches.isEmpty()) {
+                    matches.poll().backfillSources(null, List.of(consultation.getConsultationId()));
+                    linked++;
+                }
+            }
+        }
+        return linked;
+    }
 
-            for (Consultation consultation : patientConsultations) {
-                createBillFromConsultation(patient, consultation, policies);
+    /**
+     * Builds the key a bill without a recorded source is matched on.
+     *
+     * @param patient      The billed patient
+     * @param inpatient    Whether the source is a visit rather than a consultation
+     * @param lineItemKey  The key of the billed items, see {@link Bill#lineItemKey(List)}
+     * @return The matching key
+     */
+    private static String legacyKey(Patient patient, boolean inpatient, String lineItemKey) {
+        return patient.getPatientId() + (inpatient ? "|V|" : "|C|") + lineItemKey;
+    }
+
+    /**
+     * Builds bills for every billable visit and consultation that has not been billed yet.
+     * Sources are grouped by patient in a single pass so that each patient's
+     * policies are looked up once, then the bills are built in parallel.
+     *
+     * @return The newly built bills, in patient order
+     */
+    private List<Bill> buildPendingBills() {
+        Set<String> billedVisitIds = new HashSet<>();
+        Set<String> billedConsultationIds = new HashSet<>();
+        for (Bill bill : items) {
+            if (bill.getSourceVisitId() != null) {
+                billedVisitIds.add(bill.getSourceVisitId());
             }
+            billedConsultationIds.addAll(bill.getSourceConsultationIds());
         }
 
-        System.out.println("Generated " + items.size() + " bills.");
+        Map<String, PendingBilling> pendingByPatient = new LinkedHashMap<>();
+        for (Visit visit : visitController.getAllItems()) {
+            if (visit.isDischarged() && !billedVisitIds.contains(visit.getVisitId())) {
+                pendingByPatient.computeIfAbsent(visit.getPatient().getPatientId(),
+                        id -> new PendingBilling(visit.getPatient())).visits.add(visit);
+            }
+        }
+        for (Consultation consultation : consultationController.getAllOutpatientCases()) {
+            if (isBillable(consultation) && !billedConsultationIds.contains(consultation.getConsultationId())) {
+                pendingByPatient.computeIfAbsent(consultation.getPatient().getPatientId(),
+                        id -> new PendingBilling(consultation.getPatient())).consultations.add(consultation);
+            }
+        }
+
+        return pendingByPatient.values().parallelStream()
+                .flatMap(pending -> pending.buildBills().stream())
+                .toList();
     }
 
     /**
-     * Creates a bill from a patient visit and optionally processes an insurance claim.
+     * Checks whether a consultation is ready to be billed.
+     * Consultations without a recorded status are treated as completed.
+     *
+     * @param consultation The consultation to check
+     * @return true if the consultation is completed
+     */
+    private static boolean isBillable(Consultation consultation) {
+        ConsultationStatus status = consultation.getStatus();
+        return status == null || status == ConsultationStatus.COMPLETED;
+    }
+
+    /**
+     * The unbilled visits and consultations of a single patient.
+     */
+    private static final class PendingBilling {
+        /** The patient being billed */
+        private final Patient patient;
+
+        /** Unbilled discharged visits */
+        private final List<Visit> visits = new ArrayList<>();
+
+        /** Unbilled completed consultations */
+        private final List<Consultation> consultations = new ArrayList<>();
+
+        /**
+         * Creates an empty pending billing entry for a patient.
+         *
+         * @param patient The patient being billed
+         */
+        private PendingBilling(Patient patient) {
+            this.patient = patient;
+        }
+
+        /**
+         * Builds one bill per visit and per consultation.
+         * Sources that fail validation are logged and skipped.
+         *
+         * @return The bills built for this patient
+         */
+        private List<Bill> buildBills() {
+            List<InsurancePolicy> policies = policyController.getAllPoliciesForPatient(patient);
+            List<Bill> bills = new ArrayList<>(visits.size() + consultations.size());
+
+            for (Visit visit : visits) {
+                try {
+                    bills.add(createBillFromVisit(patient, visit, policies));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    System.err.println("Skipping visit " + visit.getVisitId() + ": " + e.getMessage());
+                }
+            }
+            for (Consultation consultation : consultations) {
+                try {
+                    bills.add(createBillFromConsultation(patient, consultation, policies));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    System.err.println("Skipping consultation " + consultation.getConsultationId() + ": " + e.getMessage());
+                }
+            }
+            return bills;
+        }
+    }
+
+    /**
+     * Creates a bill from a patient visit.
      *
      * @param patient   The patient associated with the visit
      * @param visit     The visit to create a bill for
      * @param policies  List of patient's insurance policies
      * @return The created Bill
      */
-    private Bill createBillFromVisit(Patient patient, Visit visit, List<InsurancePolicy> policies) {
+    private static Bill createBillFromVisit(Patient patient, Visit visit, List<InsurancePolicy> policies) {
         BillBuilder billBuilder = new BillBuilder()
                 .withPatient(patient)
                 .withVisit(visit);
@@ -136,22 +340,18 @@ public class BillController extends BaseController<Bill> {
             billBuilder.withInsurancePolicy(policies.getFirst());
         }
 
-        Bill bill = billBuilder.build();
-
-
-        items.add(bill);
-        return bill;
+        return billBuilder.build();
     }
 
     /**
-     * Creates a bill from a patient consultation and optionally processes an insurance claim.
+     * Creates a bill from a patient consultation.
      *
      * @param patient       The patient associated with the consultation
      * @param consultation  The consultation to create a bill for
      * @param policies      List of patient's insurance policies
      * @return The created Bill
      */
-    private Bill createBillFromConsultation(Patient patient, Consultation consultation, List<InsurancePolicy> policies) {
+    private static Bill createBillFromConsultation(Patient patient, Consultation consultation, List<InsurancePolicy> policies) {
         BillBuilder billBuilder = new BillBuilder()
                 .withPatient(patient)
                 .withConsultation(consultation);
@@ -160,11 +360,7 @@ public class BillController extends BaseController<Bill> {
             billBuilder.withInsurancePolicy(policies.getFirst());
         }
 
-        Bill bill = billBuilder.build();
-
-
-        items.add(bill);
-        return bill;
+        return billBuilder.build();
     }
 
 
@@ -175,9 +371,17 @@ public class BillController extends BaseController<Bill> {
      * @return A list of bills for the patient
      */
     public List<Bill> getBillsForPatient(Patient patient) {
-        return getAllItems().stream()
-                .filter(bill -> bill.getPatient().getPatientId().equals(patient.getPatientId()))
-                .collect(Collectors.toList());
+        return new ArrayList<>(getBillsForPatient(patient.getPatientId()));
+    }
+
+    /**
+     * Finds the bills of a patient in billing order, oldest first.
+     *
+     * @param patientId The ID of the patient
+     * @return A read-only list of the patient's bills
+     */
+    public List<Bill> getBillsForPatient(String patientId) {
+        return billsByPatient.get(patientId, getDataVersion(), items);
     }
 
     /**
@@ -216,4 +420,45 @@ public class BillController extends BaseController<Bill> {
                 .map(Bill::getTotalAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
-}
\ No newline at end of file
+
+    /**
+     * Generates the accounts-receivable aging and revenue report over all bills.
+     *
+     * @param asOf The date to age outstanding balances against
+     * @return The billing report
+     */
+    public BillingReport generateReport(LocalDate asOf) {
+        return BillingReport.generate(getAllItems(), asOf);
+    }
+
+    /**
+     * Imports a CSV or NDJSON payment file and applies the payments to the matching bills.
+     * Bills are only changed and saved once the whole file has been read, payments whose
+     * reference was already applied are rejected, and rejected lines are written to an
+     * exceptions report.
+     *
+     * @param paymentFilePath      The path of the payment file
+     * @param exceptionsReportPath The path to write the exceptions report to, or {@code null} to skip it
+     * @return The result of the reconciliation run
+     * @throws IOException If the payment file cannot be read or is malformed, in which case no bill
+     *                     is changed, or if the report cannot be written
+     */
+    public synchronized PaymentReconciliation.Result reconcilePayments(String paymentFilePath,
+                                                                        String exceptionsReportPath) throws IOException {
+        PaymentReconciliation reconciliation = new PaymentReconciliation(items);
+        PaymentReconciliation.Result result = reconciliation.reconcile(Path.of(paymentFilePath));
+
+        if (result.appliedCount() > 0) {
+            saveData();
+        }
+        if (exceptionsReportPath != null) {
+            try (Writer writer = Files.newBufferedWriter(Path.of(exceptionsReportPath), StandardCharsets.UTF_8)) {
+                PaymentReconciliation.writeExceptionsReport(result.rejected(), writer);
+            }
+        }
+
+        System.out.println("Applied " + result.appliedCount() + " payments totalling $" + result.appliedAmount()
+                + ", rejected " + result.rejected().size() + " lines.");
+        return result;
+    }
+}
@@ -1,33 +1,63 @@
 package org.bee.controllers;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.bee.hms.billing.Bill;
 import org.bee.hms.billing.BillBuilder;
 import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.claims.ClaimEvent;
+import org.bee.hms.claims.ClaimEventLog;
+import org.bee.hms.claims.ClaimEventType;
+import org.bee.hms.claims.ClaimLatencyMetrics;
 import org.bee.hms.claims.ClaimStatus;
 import org.bee.hms.claims.InsuranceClaim;
 import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Nurse;
 import org.bee.hms.humans.Patient;
+import org.bee.hms.insurance.ClaimSubmissionGateway;
+import org.bee.hms.insurance.DirectProviderClient;
 import org.bee.hms.insurance.GovernmentProvider;
 import org.bee.hms.insurance.InsuranceProvider;
+import org.bee.hms.insurance.ProviderClient;
+import org.bee.hms.insurance.SimulatedProviderClient;
 import org.bee.hms.medical.Consultation;
 import org.bee.hms.medical.Visit;
 import org.bee.hms.medical.VisitStatus;
 import org.bee.hms.policy.Coverage;
 import org.bee.hms.policy.InsuranceCoverageResult;
 import org.bee.hms.policy.InsurancePolicy;
+import org.bee.utils.JSONHelper;
 
 /**
  * * Manages the storage and retrieval of {@link InsuranceClaim} objects.
  * Handles loading, saving, and searching of claims.
  * Implemented as a singleton.
  * Extends BaseController to handle JSON persistence.
+ * <p>
+ * Claim changes are appended to a {@link ClaimEventLog} instead of rewriting claims.txt.
+ * claims.txt is written as a snapshot every {@value #SNAPSHOT_INTERVAL} events, and on
+ * load only the events logged after the last snapshot are replayed.
+ * </p>
+ * <p>
+ * Claims are submitted to providers on background threads, so every read and change of
+ * the claim list is made while holding this controller's lock, and a claim that the
+ * submission gateway is working on cannot be changed from elsewhere until it is done.
+ * </p>
  */
 public class ClaimController extends BaseController<InsuranceClaim> {
 
@@ -45,6 +75,57 @@ public class ClaimController extends BaseController<InsuranceClaim> {
     private static final HumanController humanController = HumanController.getInstance();
     private static final PolicyController policyController = PolicyController.getInstance();
 
+    /**
+     * Number of logged events after which a new claims snapshot is written
+     */
+    public static final int SNAPSHOT_INTERVAL = 100;
+
+    /**
+     * Append-only log of claim events, created on first use because
+     * the base constructor loads data before subclass fields are initialised
+     */
+    private ClaimEventLog eventLog;
+
+    /**
+     * Number of events appended since the last snapshot
+     */
+    private int eventsSinceSnapshot;
+
+    /**
+     * Maximum number of claims waiting for or in a provider round trip
+     */
+    public static final int SUBMISSION_QUEUE_CAPACITY = 500;
+
+    /**
+     * Maximum number of concurrent calls to a single insurance provider
+     */
+    public static final int PROVIDER_CONCURRENCY = 8;
+
+    /**
+     * Maximum number of attempts to get a claim through to its provider
+     */
+    public static final int SUBMISSION_ATTEMPTS = 4;
+
+    /**
+     * Gateway that submits claims to providers in the background, created on first use
+     */
+    private ClaimSubmissionGateway submissionGateway;
+
+    /**
+     * Time a claim may wait for requested information before it expires
+     */
+    public static final Duration INFORMATION_WINDOW = Duration.ofDays(30);
+
+    /**
+     * Time-in-status metrics, built from the event log on first use and then kept up to date
+     */
+    private ClaimLatencyMetrics latencyMetrics;
+
+    /**
+     * Receives errors saving claims that were changed in the background
+     */
+    private volatile Consumer<String> noticeHandler = notice -> { };
+
     /**
      * ClaimController is initialized as protected for singleton instance to prevent direct modification
      * <p>
@@ -89,6 +170,389 @@ public class ClaimController extends BaseController<InsuranceClaim> {
         return InsuranceClaim.class;
     }
 
+    /**
+     * Identifies a claim by its claim ID, so an import cannot add it twice
+     *
+     * @param item The claim
+     * @return The claim ID
+     */
+    @Override
+    protected String getItemKey(InsuranceClaim item) {
+        return item.getClaimId();
+    }
+
+    /**
+     * Gets the claim event log, creating it on first use.
+     *
+     * @return The claim event log
+     */
+    private ClaimEventLog getEventLog() {
+        if (eventLog == null) {
+            eventLog = new ClaimEventLog(Path.of(DATABASE_DIR, "claim_events.txt"),
+                    Path.of(DATABASE_DIR, "claim_events.checkpoint.txt"));
+        }
+        return eventLog;
+    }
+
+    /**
+     * Loads the claims snapshot and replays the events logged after it.
+     * Events already included in a claim's snapshot (by version) are skipped,
+     * so replaying from an older checkpoint is safe.
+     * While claims are being submitted the claims in memory are kept, because the
+     * submission threads hold them and their changes would otherwise be lost.
+     */
+    @Override
+    public synchronized void loadData() {
+        if (getPendingSubmissionCount() > 0) {
+            return;
+        }
+        super.loadData();
+
+        Map<String, InsuranceClaim> claimsById = new HashMap<>();
+        for (InsuranceClaim claim : items) {
+            claimsById.put(claim.getClaimId(), claim);
+        }
+
+        int[] applied = {0};
+        try {
+            getEventLog().replay(getEventLog().readCheckpoint(), event -> {
+                InsuranceClaim claim = claimsById.get(event.getClaimId());
+                if (claim == null || event.getSequence() <= claim.getVersion()) {
+                    return;
+                }
+                try {
+                    claim.apply(event);
+                    applied[0]++;
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    System.err.println("Skipping claim event " + event + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error replaying claim events: " + e.getMessage());
+        }
+
+        eventsSinceSnapshot = applied[0];
+        if (applied[0] > 0) {
+            System.out.println("Replayed " + applied[0] + " claim events");
+        }
+    }
+
+    /**
+     * Appends all pending claim events to the event log and writes a new claims snapshot.
+     */
+    @Override
+    public synchronized void saveData() {
+        super.saveData();
+    }
+
+    /**
+     * Appends all pending claim events to the event log and writes a new claims snapshot without printing.
+     * The checkpoint is only moved forward once the snapshot has been written.
+     *
+     * @throws IOException if the events or the snapshot cannot be written
+     */
+    @Override
+    protected synchronized void writeData() throws IOException {
+        for (InsuranceClaim claim : items) {
+            List<ClaimEvent> events = claim.drainPendingEvents();
+            getEventLog().append(events);
+            trackLatency(claim, events);
+        }
+        long offset = getEventLog().size();
+        super.writeData();
+        getEventLog().writeCheckpoint(offset);
+        eventsSinceSnapshot = 0;
+    }
+
+    /**
+     * Sets where errors saving claims changed in the background are sent, such as the canvas system message
+     *
+     * @param noticeHandler Receives each notice, from the thread that changed the claim
+     */
+    public void setNoticeHandler(Consumer<String> noticeHandler) {
+        this.noticeHandler = noticeHandler;
+    }
+
+    /**
+     * Appends the pending events of a changed claim to the event log.
+     * A full snapshot is only written once {@value #SNAPSHOT_INTERVAL} events have accumulated,
+     * or if the events cannot be appended.
+     * This runs on background threads as well as the UI thread, so nothing is printed;
+     * a failed save is reported to the notice handler instead.
+     * The claim's deadline is updated after the controller lock is released, because the
+     * deadline controller reads claims while holding its own lock.
+     *
+     * @param claim The claim that was changed
+     */
+    public void recordChanges(InsuranceClaim claim) {
+        String failure = null;
+        synchronized (this) {
+            List<ClaimEvent> events = claim.drainPendingEvents();
+            if (events.isEmpty()) {
+                return;
+            }
+            boolean snapshot;
+            try {
+                getEventLog().append(events);
+                trackLatency(claim, events);
+                eventsSinceSnapshot += events.size();
+                snapshot = eventsSinceSnapshot >= SNAPSHOT_INTERVAL;
+            } catch (IOException e) {
+                // The snapshot still holds the claim's state even though its events were not logged
+                snapshot = true;
+            }
+            if (snapshot) {
+                try {
+                    writeData();
+                } catch (IOException e) {
+                    failure = "Error saving claims: " + e.getMessage();
+                }
+            }
+        }
+        if (failure != null) {
+            noticeHandler.accept(failure);
+        }
+        DeadlineController.getIfStarted().ifPresent(deadlines -> deadlines.trackClaim(claim));
+    }
+
+    /**
+     * Expires claims that have waited longer than {@link #INFORMATION_WINDOW} for requested information.
+     * Claims that are no longer waiting, or were updated since, are left alone.
+     *
+     * @param claimIds The IDs of the claims to check
+     * @param now      The current time
+     * @return The number of claims expired
+     */
+    public int expireClaims(Collection<String> claimIds, LocalDateTime now) {
+        Set<String> ids = new HashSet<>(claimIds);
+        List<InsuranceClaim> expired;
+        synchronized (this) {
+            expired = items.stream()
+                    .filter(claim -> ids.contains(claim.getClaimId()))
+                    .filter(claim -> !isSubmissionPending(claim.getClaimId()))
+                    .filter(claim -> claim.getClaimStatus() == ClaimStatus.PENDING_INFORMATION)
+                    .filter(claim -> !claim.getLastUpdatedDate().plus(INFORMATION_WINDOW).isAfter(now))
+                    .collect(Collectors.toList());
+            expired.forEach(claim -> claim.updateStatus(ClaimStatus.EXPIRED));
+        }
+        for (InsuranceClaim claim : expired) {
+            recordChanges(claim);
+        }
+        return expired.size();
+    }
+
+    /**
+     * Gets the claim submission gateway, creating it on first use.
+     * Providers are called directly unless {@code -Dclaims.simulate=true} is set, in which
+     * case calls go through a simulated round trip with latency and occasional timeouts.
+     *
+     * @return The claim submission gateway
+     */
+    private synchronized ClaimSubmissionGateway getSubmissionGateway() {
+        if (submissionGateway == null) {
+            ProviderClient client = Boolean.getBoolean("claims.simulate")
+                    ? new SimulatedProviderClient(new DirectProviderClient(),
+                            Duration.ofMillis(50), Duration.ofMillis(300), 0.1, System.nanoTime())
+                    : new DirectProviderClient();
+            submissionGateway = new ClaimSubmissionGateway(client, SUBMISSION_QUEUE_CAPACITY,
+                    PROVIDER_CONCURRENCY, SUBMISSION_ATTEMPTS, Duration.ofMillis(200), Duration.ofSeconds(5),
+                    this::recordChanges);
+        }
+        return submissionGateway;
+    }
+
+    /**
+     * Queues a claim to be submitted to and decided by its provider in the background.
+     * Changes are recorded in the event log as the provider responds.
+     *
+     * @param claim The claim to submit
+     * @return A future completed with the outcome, or empty if the queue is full
+     *         or the claim is already queued
+     */
+    public synchronized Optional<CompletableFuture<ClaimSubmissionGateway.SubmissionResult>> submitClaimAsync(InsuranceClaim claim) {
+        // Queued under the controller lock so that submitNow cannot change the claim at the same time
+        return getSubmissionGateway().offer(claim);
+    }
+
+    /**
+     * Submits a draft claim for processing right away, outside the submission gateway.
+     * The pending check and the status change happen under the controller lock,
+     * so the gateway cannot pick the claim up in between.
+     *
+     * @param claimId The ID of the claim to submit
+     * @return true if the claim was submitted, false if it was not found or is being submitted
+     * @throws IllegalStateException if the claim is not a draft
+     */
+    public boolean submitNow(String claimId) {
+        InsuranceClaim claim;
+        synchronized (this) {
+            Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
+            if (claimOpt.isEmpty()) {
+                return false;
+            }
+            claim = claimOpt.get();
+            claim.submitForProcessing();
+        }
+        recordChanges(claim);
+        return true;
+    }
+
+    /**
+     * Queues every draft claim for background submission, up to the free queue capacity.
+     *
+     * @return The number of claims queued
+     */
+    public int submitDraftClaims() {
+        int queued = 0;
+        for (InsuranceClaim claim : getClaimsByStatus(ClaimStatus.DRAFT)) {
+            if (submitClaimAsync(claim).isPresent()) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Gets the number of claims waiting for or in a provider round trip.
+     *
+     * @return The number of unfinished submissions
+     */
+    public int getPendingSubmissionCount() {
+        return submissionGateway == null ? 0 : submissionGateway.getPendingCount();
+    }
+
+    /**
+     * Checks whether the submission gateway is working on a claim.
+     * Such a claim is only changed by the gateway until it is done.
+     *
+     * @param claimId The ID of the claim
+     * @return true if the claim is queued or being submitted
+     */
+    public boolean isSubmissionPending(String claimId) {
+        return submissionGateway != null && submissionGateway.isPending(claimId);
+    }
+
+    /**
+     * Finds a claim that may be changed from outside the submission gateway.
+     *
+     * @param claimId The ID of the claim
+     * @return The claim, or empty if it does not exist or is being submitted
+     */
+    private Optional<InsuranceClaim> findChangeableClaim(String claimId) {
+        return isSubmissionPending(claimId) ? Optional.empty() : findClaimById(claimId);
+    }
+
+    /**
+     * Feeds newly logged events into the latency metrics, if they have been built.
+     *
+     * @param claim  The claim the events belong to
+     * @param events The events, in sequence order
+     */
+    private void trackLatency(InsuranceClaim claim, List<ClaimEvent> events) {
+        if (latencyMetrics == null) {
+            return;
+        }
+        String provider = providerName(claim);
+        for (ClaimEvent event : events) {
+            latencyMetrics.record(event, provider);
+        }
+    }
+
+    /**
+     * Gets the provider name used to group a claim's latency metrics.
+     *
+     * @param claim The claim
+     * @return The provider name, or {@code null} if the claim has no named provider
+     */
+    private static String providerName(InsuranceClaim claim) {
+        return claim.getInsuranceProvider() != null ? claim.getInsuranceProvider().getProviderName() : null;
+    }
+
+    /**
+     * Gets the claim latency metrics, building them from the full event log on first use.
+     *
+     * @return The claim latency metrics
+     */
+    private ClaimLatencyMetrics getLatencyMetrics() {
+        if (latencyMetrics == null) {
+            ClaimLatencyMetrics metrics = new ClaimLatencyMetrics();
+            Map<String, String> providersByClaim = new HashMap<>();
+            for (InsuranceClaim claim : items) {
+                providersByClaim.put(claim.getClaimId(), providerName(claim));
+            }
+            try {
+                getEventLog().replay(0, event -> metrics.record(event, providersByClaim.get(event.getClaimId())));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error reading claim events for latency metrics: " + e.getMessage());
+            }
+            latencyMetrics = metrics;
+        }
+        return latencyMetrics;
+    }
+
+    /**
+     * Reports how long claims spend in each status, overall and per insurance provider.
+     *
+     * @return The latency report as of now
+     */
+    public synchronized ClaimLatencyMetrics.Report getLatencyReport() {
+        return getLatencyMetrics().report(LocalDateTime.now());
+    }
+
+    /**
+     * Writes the latency report to a JSON file.
+     *
+     * @param filePath The path of the file to write
+     * @return The report that was written
+     * @throws IOException If the file cannot be written
+     */
+    public ClaimLatencyMetrics.Report exportLatencyReport(String filePath) throws IOException {
+        ClaimLatencyMetrics.Report report = getLatencyReport();
+        JSONHelper.saveToJsonFile(report, filePath);
+        return report;
+    }
+
+    /**
+     * Gets the default path of the latency report export.
+     *
+     * @return The export file path
+     */
+    public String getLatencyReportPath() {
+        return DATABASE_DIR + "/claim_latency_report.json";
+    }
+
+    /**
+     * Reads the full event history of a claim from the event log.
+     *
+     * @param claimId The ID of the claim
+     * @return The claim's events in sequence order, empty if none were logged
+     */
+    public List<ClaimEvent> getClaimHistory(String claimId) {
+        try {
+            return getEventLog().readHistory(claimId);
+        } catch (IOException e) {
+            System.err.println("Error reading claim history: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Rebuilds a claim from its logged history for auditing.
+     * Only claims whose full history was logged, starting from creation, can be replayed.
+     *
+     * @param claimId The ID of the claim
+     * @return The reconstructed claim, or empty if the claim or its history is not available
+     */
+    public Optional<InsuranceClaim> replayClaim(String claimId) {
+        Optional<InsuranceClaim> current = findClaimById(claimId);
+        List<ClaimEvent> history = getClaimHistory(claimId);
+        if (current.isEmpty() || history.isEmpty() || history.getFirst().getSequence() != 1
+                || history.getFirst().getType() != ClaimEventType.CREATED) {
+            return Optional.empty();
+        }
+        return Optional.of(InsuranceClaim.replay(current.get(), history));
+    }
+
     /**
      * Generates initial insurance claim data for the healthcare management system.
      * This method processes draft bills and create insurance claims for those with valid insurance policies
@@ -224,6 +688,46 @@ public class ClaimController extends BaseController<InsuranceClaim> {
         addItem(claim);
     }
 
+    /**
+     * Adds a claim and writes a new snapshot, holding the controller lock.
+     *
+     * @param item The claim to add
+     */
+    @Override
+    public synchronized void addItem(InsuranceClaim item) {
+        super.addItem(item);
+    }
+
+    /**
+     * Adds claims and writes a new snapshot once, holding the controller lock.
+     *
+     * @param newItems The claims to add
+     */
+    @Override
+    public synchronized void addItems(Collection<? extends InsuranceClaim> newItems) {
+        super.addItems(newItems);
+    }
+
+    /**
+     * Adds claims without writing a snapshot, holding the controller lock.
+     *
+     * @param newItems The claims to add
+     */
+    @Override
+    protected synchronized void stageItems(Collection<? extends InsuranceClaim> newItems) {
+        super.stageItems(newItems);
+    }
+
+    /**
+     * Gets a copy of the claim list, holding the controller lock.
+     *
+     * @return A new list containing all claims
+     */
+    @Override
+    public synchronized List<InsuranceClaim> getAllItems() {
+        return super.getAllItems();
+    }
+
     /**
      * Retrieves all the claim details for all patient
      * @return A List of all InsuranceClaim
@@ -238,7 +742,7 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * @return An Optional containing the InsuranceClaim if found, empty otherwise
      *
      */
-    public Optional<InsuranceClaim> findClaimById(String claimId) {
+    public synchronized Optional<InsuranceClaim> findClaimById(String claimId) {
         return items.stream()
                 .filter(claim -> claim.getClaimId().equals(claimId))
                 .findFirst();
@@ -249,7 +753,7 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * @param patient The Patient for whom to retrieve claims
      * @return A List of InsuranceClaim associated with the specified patient
      */
-    public List<InsuranceClaim> getClaimsForPatient(Patient patient) {
+    public synchronized List<InsuranceClaim> getClaimsForPatient(Patient patient) {
         return items.stream()
                 .filter(claim -> claim.getPatient().equals(patient))
                 .collect(Collectors.toList());
@@ -260,7 +764,7 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * @param status The ClaimStatus to filter claims by
      * @return A List of InsuranceClaim with the specified status
      */
-    public List<InsuranceClaim> getClaimsByStatus(ClaimStatus status) {
+    public synchronized List<InsuranceClaim> getClaimsByStatus(ClaimStatus status) {
         return items.stream()
                 .filter(claim -> claim.getClaimStatus() == status)
                 .collect(Collectors.toList());
@@ -270,17 +774,20 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * Updates the status of a specified insurance claim
      * @param claimId The ID of the claim to update
      * @param newStatus The new ClaimStatus
-     * @return true if the claim was found and updated, false otherwise
+     * @return true if the claim was found and updated, false if it was not found or is being submitted
      */
     public boolean updateClaimStatus(String claimId, ClaimStatus newStatus) {
-        Optional<InsuranceClaim> claimOpt = findClaimById(claimId);
-        if (claimOpt.isPresent()) {
-            InsuranceClaim claim = claimOpt.get();
+        InsuranceClaim claim;
+        synchronized (this) {
+            Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
+            if (claimOpt.isEmpty()) {
+                return false;
+            }
+            claim = claimOpt.get();
             claim.updateStatus(newStatus);
-            saveData();
-            return true;
         }
-        return false;
+        recordChanges(claim);
+        return true;
     }
 
     /**
@@ -290,17 +797,20 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * @param claimId The ID of the claim to process
      * @param approvedAmount The partially approved amount
      * @param reason  The reason for partial approval
-     * @return  true if the claim was found and processed, false otherwise
+     * @return  true if the claim was found and processed, false if it was not found or is being submitted
      */
     public boolean processPartialApproval(String claimId, BigDecimal approvedAmount, String reason) {
-        Optional<InsuranceClaim> claimOpt = findClaimById(claimId);
-        if (claimOpt.isPresent()) {
-            InsuranceClaim claim = claimOpt.get();
+        InsuranceClaim claim;
+        synchronized (this) {
+            Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
+            if (claimOpt.isEmpty()) {
+                return false;
+            }
+            claim = claimOpt.get();
             claim.processPartialApproval(approvedAmount, reason);
-            saveData();
-            return true;
         }
-        return false;
+        recordChanges(claim);
+        return true;
     }
 
     /**
@@ -308,17 +818,20 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * This method finds the claim by ID and adds the document description
      * @param claimId The ID of the claim to update
      * @param documentDescription The description of the supporting document
-     * @return true if the claim was found and updated, false otherwise
+     * @return true if the claim was found and updated, false if it was not found or is being submitted
      */
     public boolean addSupportingDocument(String claimId, String documentDescription) {
-        Optional<InsuranceClaim> claimOpt = findClaimById(claimId);
-        if (claimOpt.isPresent()) {
-            InsuranceClaim claim = claimOpt.get();
+        InsuranceClaim claim;
+        synchronized (this) {
+            Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
+            if (claimOpt.isEmpty()) {
+                return false;
+            }
+            claim = claimOpt.get();
             claim.addSupportingDocument(documentDescription);
-            saveData();
-            return true;
         }
-        return false;
+        recordChanges(claim);
+        return true;
     }
 
     /**
@@ -326,26 +839,29 @@ public class ClaimController extends BaseController<InsuranceClaim> {
      * This method finds the claim by ID and updates its comments
      * @param claimId The ID of the claim to update
      * @param comments The new comments
-     * @return true if the claim was found and updated, false otherwise
+     * @return true if the claim was found and updated, false if it was not found or is being submitted
      */
     public boolean updateComments(String claimId, String comments) {
-        Optional<InsuranceClaim> claimOpt = findClaimById(claimId);
-        if (claimOpt.isPresent()) {
-            InsuranceClaim claim = claimOpt.get();
+        InsuranceClaim claim;
+        synchronized (this) {
+            Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
+            if (claimOpt.isEmpty()) {
+                return false;
+            }
+            claim = claimOpt.get();
             claim.updateComments(comments);
-            saveData();
-            return true;
         }
-        return false;
+        recordChanges(claim);
+        return true;
     }
 
     /**
      * Removes a specific insurance claim
      * @param claimId The ID of the claim to remove
-     * @return true if the claim was found and removed, false otherwise
+     * @return true if the claim was found and removed, false if it was not found or is being submitted
      */
-    public boolean removeClaim(String claimId) {
-        Optional<InsuranceClaim> claimOpt = findClaimById(claimId);
+    public synchronized boolean removeClaim(String claimId) {
+        Optional<InsuranceClaim> claimOpt = findChangeableClaim(claimId);
         if (claimOpt.isPresent()) {
             boolean removed = items.remove(claimOpt.get());
             if (removed) {
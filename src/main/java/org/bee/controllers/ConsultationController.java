@@ -6,6 +6,7 @@ import org.bee.hms.medical.*;
 import org.bee.hms.policy.Coverage;
 import org.bee.hms.policy.InsurancePolicy;
 import org.bee.utils.DataGenerator;
+import org.bee.utils.SortedGroupIndex;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -14,6 +15,8 @@ import java.util.stream.Collectors;
  * Manages the storage and retrieval of {@link Consultation} objects.
  * This class provides centralized management of consultations through a list and supports operations such as adding, removing, and searching for consultations.
  * It extends BaseController to handle JSON persistence.
+ * Lab tests and treatments are not saved with their consultation; they are kept by
+ * {@link LabTestController} and {@link TreatmentController}.
  */
 public class ConsultationController extends BaseController<Consultation> {
     /**
@@ -26,6 +29,13 @@ public class ConsultationController extends BaseController<Consultation> {
      */
     private static final HumanController humanController = HumanController.getInstance();
 
+    /**
+     * Consultations per patient ID in time order, rebuilt after each load or save
+     */
+    private final SortedGroupIndex<Consultation> consultationsByPatient = new SortedGroupIndex<>(
+            consultation -> consultation.getPatient() == null ? null : consultation.getPatient().getPatientId(),
+            Comparator.comparing(Consultation::getConsultationTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
     /**
      * Protected constructor to enforce singleton pattern.
      */
@@ -66,6 +76,17 @@ public class ConsultationController extends BaseController<Consultation> {
         return Consultation.class;
     }
 
+    /**
+     * Identifies a consultation by its consultation ID, so an import cannot add it twice
+     *
+     * @param item The consultation
+     * @return The consultation ID
+     */
+    @Override
+    protected String getItemKey(Consultation item) {
+        return item.getConsultationId();
+    }
+
     /**
      * Generates initial consultation data for the system
      * This method creates consultations for all patients, considering their insurance policies if available
@@ -103,14 +124,54 @@ public class ConsultationController extends BaseController<Consultation> {
         System.out.format("Generated %d consultations%n", items.size());
     }
 
+    /**
+     * Loads the consultations, moving any lab tests and treatments nested in them by older
+     * files to their controllers and saving the consultations without them
+     */
+    @Override
+    public void loadData() {
+        super.loadData();
+        List<LabTest> labTests = new ArrayList<>();
+        List<Treatment> treatments = new ArrayList<>();
+        for (Consultation consultation : items) {
+            for (LabTest labTest : consultation.takeNestedLabTests()) {
+                labTest.setConsultation(consultation);
+                labTests.add(labTest);
+            }
+            for (Treatment treatment : consultation.takeNestedTreatments()) {
+                treatment.setConsultation(consultation);
+                treatments.add(treatment);
+            }
+        }
+        if (labTests.isEmpty() && treatments.isEmpty()) {
+            return;
+        }
+        // Records already stored under their ID were moved by an earlier run
+        int moved = LabTestController.getInstance().addNewItems(labTests)
+                + TreatmentController.getInstance().addNewItems(treatments);
+        System.out.format("Moved %d lab tests and treatments out of consultations%n", moved);
+        saveData();
+    }
+
      /**
      * Adds a new consultation case to the healthcare management system and saves the data
+     * A reminder is scheduled for its follow-up date, if it has one
      *
      * @param consultation The Consultation  to be added
      */
     public void addCase(Consultation consultation) {
         addItem(consultation);
         saveData();
+        trackFollowUp(consultation);
+    }
+
+    /**
+     * Schedules or updates the reminder for a consultation's follow-up date after it changed
+     *
+     * @param consultation The consultation that changed
+     */
+    public void trackFollowUp(Consultation consultation) {
+        DeadlineController.getIfStarted().ifPresent(deadlines -> deadlines.trackFollowUps(List.of(consultation)));
     }
 
     /**
@@ -123,7 +184,17 @@ public class ConsultationController extends BaseController<Consultation> {
     }
 
     /**
-     * Removes a consultation from the list and saves to the JSON file.
+     * Retrieves the consultations of a patient in time order, oldest first.
+     *
+     * @param patientId The ID of the patient
+     * @return A read-only list of the patient's consultations
+     */
+    public List<Consultation> getConsultationsForPatient(String patientId) {
+        return consultationsByPatient.get(patientId, getDataVersion(), items);
+    }
+
+    /**
+     * Removes a consultation from the list, along with its lab tests and treatments, and saves to the JSON files.
      *
      * @param consultation The consultation to remove
      * @return true if the consultation was removed, false otherwise
@@ -132,6 +203,8 @@ public class ConsultationController extends BaseController<Consultation> {
         boolean removed = items.remove(consultation);
         if (removed) {
             saveData();
+            LabTestController.getInstance().removeRecordsOf(consultation.getConsultationId());
+            TreatmentController.getInstance().removeRecordsOf(consultation.getConsultationId());
         }
         return removed;
     }
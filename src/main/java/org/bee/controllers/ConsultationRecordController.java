@@ -0,0 +1,96 @@
+package org.bee.controllers;
+
+import org.bee.hms.medical.ConsultationRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Base class for controllers of records made during an outpatient case, such as lab tests and treatments.
+ * <p>
+ * Records are the only copy of their data: consultations do not save them, and every record is
+ * added and removed through its controller. Records are indexed by consultation and by patient.
+ * </p>
+ *
+ * @param <T> The type of record managed by this controller
+ */
+public abstract class ConsultationRecordController<T extends ConsultationRecord> extends IndexedController<T> {
+
+    /**
+     * Name of the index by consultation ID
+     */
+    private static final String CONSULTATION_INDEX = "consultation";
+
+    /**
+     * Name of the index by patient ID
+     */
+    private static final String PATIENT_INDEX = "patient";
+
+    /**
+     * Keys the records are indexed by
+     */
+    private static final Map<String, Function<ConsultationRecord, String>> INDEXES = Map.of(
+            CONSULTATION_INDEX, ConsultationRecord::getConsultationId,
+            PATIENT_INDEX, ConsultationRecord::getPatientId);
+
+    /**
+     * Protected constructor to enforce singleton pattern in subclasses
+     */
+    protected ConsultationRecordController() {
+        super();
+    }
+
+    /**
+     * No records are generated, since records nested in older consultation files are
+     * moved here by {@link ConsultationController} when it loads them
+     */
+    @Override
+    protected void generateInitialData() {
+    }
+
+    /**
+     * Gets the keys records are indexed by
+     *
+     * @return The consultation and patient ID indexes
+     */
+    @Override
+    protected Map<String, ? extends Function<? super T, String>> getIndexes() {
+        return INDEXES;
+    }
+
+    /**
+     * Retrieves the records of a consultation
+     *
+     * @param consultationId The consultation ID
+     * @return A list of the consultation's records
+     */
+    protected List<T> findByConsultation(String consultationId) {
+        return findByKey(CONSULTATION_INDEX, consultationId);
+    }
+
+    /**
+     * Retrieves the records of a patient across their consultations
+     *
+     * @param patientId The patient ID
+     * @return A list of the patient's records
+     */
+    protected List<T> findByPatient(String patientId) {
+        return findByKey(PATIENT_INDEX, patientId);
+    }
+
+    /**
+     * Removes every record of a consultation and saves to the JSON file once
+     *
+     * @param consultationId The consultation ID
+     * @return The number of records removed
+     */
+    public int removeRecordsOf(String consultationId) {
+        List<Integer> ids = new ArrayList<>();
+        for (T record : findByConsultation(consultationId)) {
+            ids.add(getId(record));
+        }
+        return removeItems(ids);
+    }
+}
@@ -0,0 +1,409 @@
+package org.bee.controllers;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bee.utils.CsvReader;
+import org.bee.utils.CsvWriter;
+import org.bee.utils.JSONHelper;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Streams a controller's items to and from CSV or newline-delimited JSON (NDJSON).
+ * <p>
+ * Each item is one line of NDJSON, or one CSV record whose columns are the item's JSON fields.
+ * CSV cells hold plain values as they are and nested objects or lists as JSON. Exports write
+ * through one buffer. Imports parse one record at a time and add the items to the controller
+ * in batches, so at most one batch is held besides the controller's own items, and save the
+ * controller's file once when they finish. Items whose key is already stored are rejected.
+ * A batch that the controller refuses is retried item by item, so one bad record does
+ * not lose the rest of its batch.
+ * </p>
+ */
+public final class DataTransfer {
+
+    /** Number of rejected record messages kept; later rejections are only counted */
+    private static final int MAX_ERRORS = 20;
+
+    /**
+     * File formats the items can be transferred in.
+     */
+    public enum Format {
+        /** Comma separated values with a header row of field names */
+        CSV,
+        /** One JSON object per line */
+        NDJSON;
+
+        /**
+         * Picks the format from a file's extension.
+         *
+         * @param fileName The file name
+         * @return The format
+         * @throws IllegalArgumentException if the extension is not .csv, .ndjson or .jsonl
+         */
+        public static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Cannot tell the format of " + fileName + ", use .csv or .ndjson");
+        }
+    }
+
+    /**
+     * Result of an import.
+     *
+     * @param imported The number of items added
+     * @param rejected The number of records that could not be read or added
+     * @param errors   Why records were rejected, for the first few of them
+     */
+    public record ImportResult(long imported, long rejected, List<String> errors) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private DataTransfer() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Writes every item of a controller.
+     *
+     * @param controller       The controller
+     * @param format           The format to write
+     * @param out              Where to write the items
+     * @param progressInterval Number of items between progress reports
+     * @param progress         Called with the number of items written so far
+     * @param <T>              The type of item
+     * @return The number of items written
+     * @throws IOException if the items cannot be written
+     */
+    public static <T extends JSONSerializable> long exportFrom(BaseController<T> controller, Format format,
+                                                               Writer out, int progressInterval,
+                                                               LongConsumer progress) throws IOException {
+        return export(controller.getAllItems(), format, out, progressInterval, progress);
+    }
+
+    /**
+     * Writes items.
+     *
+     * @param items            The items
+     * @param format           The format to write
+     * @param out              Where to write the items
+     * @param progressInterval Number of items between progress reports
+     * @param progress         Called with the number of items written so far
+     * @param <T>              The type of item
+     * @return The number of items written
+     * @throws IOException              if the items cannot be written
+     * @throws IllegalArgumentException if the progress interval is not positive
+     */
+    public static <T extends JSONSerializable> long export(List<T> items, Format format, Writer out,
+                                                           int progressInterval, LongConsumer progress)
+            throws IOException {
+        if (progressInterval <= 0) {
+            throw new IllegalArgumentException("Progress interval must be positive");
+        }
+        long written = 0;
+        if (format == Format.NDJSON) {
+            BufferedWriter writer = out instanceof BufferedWriter bw ? bw : new BufferedWriter(out);
+            for (T item : items) {
+                writer.write(JSONHelper.toJsonLine(item));
+                writer.newLine();
+                if (++written % progressInterval == 0) {
+                    progress.accept(written);
+                }
+            }
+            writer.flush();
+        } else {
+            // The header needs every field any item has, so the fields are collected in a first pass
+            Set<String> names = new LinkedHashSet<>();
+            for (T item : items) {
+                JSONHelper.toTree(item).fieldNames().forEachRemaining(names::add);
+            }
+            List<String> columns = List.copyOf(names);
+            CsvWriter writer = new CsvWriter(out);
+            writer.writeRow(columns);
+            String[] fields = new String[columns.size()];
+            for (T item : items) {
+                ObjectNode node = JSONHelper.toTree(item);
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = toCell(node.get(columns.get(i)));
+                }
+                writer.writeRow(fields);
+                if (++written % progressInterval == 0) {
+                    progress.accept(written);
+                }
+            }
+            writer.flush();
+        }
+        progress.accept(written);
+        return written;
+    }
+
+    /**
+     * Reads items and adds them to a controller in batches, saving the controller once at the end.
+     * Items are rejected if their key, such as their ID, is already stored or repeated in the file.
+     * Items added before a read error are still saved.
+     *
+     * @param controller The controller
+     * @param format     The format to read
+     * @param in         Where to read the items from
+     * @param batchSize  Number of items added at a time
+     * @param progress   Called with the number of items added so far after each batch
+     * @param <T>        The type of item
+     * @return The result of the import
+     * @throws IOException if the items cannot be read
+     */
+    public static <T extends JSONSerializable> ImportResult importInto(BaseController<T> controller, Format format,
+                                                                       Reader in, int batchSize,
+                                                                       LongConsumer progress) throws IOException {
+        Set<String> storedKeys = new HashSet<>();
+        for (T item : controller.getAllItems()) {
+            String key = controller.getItemKey(item);
+            if (key != null) {
+                storedKeys.add(key);
+            }
+        }
+        boolean[] added = {false};
+        try {
+            return read(controller.getEntityClass(), format, in, batchSize, batch -> {
+                Set<String> batchKeys = new HashSet<>();
+                for (T item : batch) {
+                    String key = controller.getItemKey(item);
+                    if (key != null && (storedKeys.contains(key) || !batchKeys.add(key))) {
+                        throw new IllegalArgumentException("Duplicate ID: " + key);
+                    }
+                }
+                controller.stageItems(batch);
+                storedKeys.addAll(batchKeys);
+                added[0] = true;
+            }, progress);
+        } finally {
+            if (added[0]) {
+                controller.saveData();
+            }
+        }
+    }
+
+    /**
+     * Reads items and hands them on in batches.
+     *
+     * @param type      The class of item
+     * @param format    The format to read
+     * @param in        Where to read the items from
+     * @param batchSize Number of items handed on at a time
+     * @param commit    Takes each batch; may throw {@link IllegalArgumentException} or
+     *                  {@link IllegalStateException} to refuse it
+     * @param progress  Called with the number of items handed on so far after each batch
+     * @param <T>       The type of item
+     * @return The result of the import
+     * @throws IOException              if the items cannot be read
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    public static <T extends JSONSerializable> ImportResult read(Class<T> type, Format format, Reader in,
+                                                                 int batchSize, Consumer<List<T>> commit,
+                                                                 LongConsumer progress) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        Importer<T> importer = new Importer<>(batchSize, commit, progress);
+        if (format == Format.NDJSON) {
+            BufferedReader reader = in instanceof BufferedReader br ? br : new BufferedReader(in);
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    importer.add(JSONHelper.fromTree(JSONHelper.parseTree(line), type), lineNumber);
+                } catch (IllegalArgumentException e) {
+                    importer.reject(lineNumber, e.getMessage());
+                }
+            }
+        } else {
+            List<String> columns = new ArrayList<>();
+            try {
+                new CsvReader(in).forEachRow(row -> {
+                    if (columns.isEmpty()) {
+                        Collections.addAll(columns, row.toArray());
+                        return;
+                    }
+                    try {
+                        importer.add(JSONHelper.fromTree(toNode(columns, row), type), row.getLineNumber());
+                    } catch (IllegalArgumentException e) {
+                        importer.reject(row.getLineNumber(), e.getMessage());
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Formats a JSON field as a CSV cell.
+     *
+     * @param value The field, or {@code null} if the item does not have it
+     * @return The cell, {@code null} for a missing or null field
+     */
+    private static String toCell(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isContainerNode() ? value.toString() : value.asText();
+    }
+
+    /**
+     * Builds the JSON fields of an item from a CSV record.
+     * Empty cells are left out, and cells holding a JSON object or list are parsed.
+     *
+     * @param columns The field names from the header row
+     * @param row     The record
+     * @return The item's fields
+     */
+    private static ObjectNode toNode(List<String> columns, CsvReader.Row row) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < Math.min(columns.size(), row.size()); i++) {
+            String cell = row.get(i);
+            if (cell.isEmpty()) {
+                continue;
+            }
+            JsonNode value = null;
+            if (cell.startsWith("{") || cell.startsWith("[")) {
+                try {
+                    value = JSONHelper.parseTree(cell);
+                } catch (IllegalArgumentException e) {
+                    // Plain text that happens to start with a bracket
+                }
+            }
+            node.set(columns.get(i), value != null ? value : JsonNodeFactory.instance.textNode(cell));
+        }
+        return node;
+    }
+
+    /**
+     * Collects read items into batches and hands each batch on, counting what was added and rejected.
+     *
+     * @param <T> The type of item
+     */
+    private static final class Importer<T> {
+        /** Number of items handed on at a time */
+        private final int batchSize;
+        /** Takes each batch */
+        private final Consumer<List<T>> commit;
+        /** Called with the number of items handed on so far */
+        private final LongConsumer progress;
+        /** Items read since the last batch was handed on */
+        private List<T> batch;
+        /** Line each item of the batch was read from */
+        private final long[] batchLines;
+        /** Items added so far */
+        private long imported;
+        /** Records rejected so far */
+        private long rejected;
+        /** Why the first records were rejected */
+        private final List<String> errors = new ArrayList<>();
+
+        /**
+         * Creates an importer.
+         *
+         * @param batchSize Number of items handed on at a time
+         * @param commit    Takes each batch
+         * @param progress  Called with the number of items handed on so far
+         */
+        Importer(int batchSize, Consumer<List<T>> commit, LongConsumer progress) {
+            this.batchSize = batchSize;
+            this.commit = commit;
+            this.progress = progress;
+            this.batch = new ArrayList<>(batchSize);
+            this.batchLines = new long[batchSize];
+        }
+
+        /**
+         * Adds an item to the batch, handing the batch on once it is full.
+         *
+         * @param item The item
+         * @param line The line the item's record starts on
+         */
+        void add(T item, long line) {
+            batchLines[batch.size()] = line;
+            batch.add(item);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Records a record that could not be read.
+         *
+         * @param line    The line the record starts on
+         * @param message Why it was rejected
+         */
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("Line " + line + ": " + message);
+            }
+        }
+
+        /**
+         * Hands on the last batch.
+         *
+         * @return The result of the import
+         */
+        ImportResult finish() {
+            flush();
+            progress.accept(imported);
+            return new ImportResult(imported, rejected, List.copyOf(errors));
+        }
+
+        /**
+         * Hands on the batch, retrying its items one at a time if it is refused.
+         */
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<T> items = batch;
+            batch = new ArrayList<>(batchSize);
+            try {
+                commit.accept(items);
+                imported += items.size();
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                for (int i = 0; i < items.size(); i++) {
+                    try {
+                        commit.accept(List.of(items.get(i)));
+                        imported++;
+                    } catch (IllegalArgumentException | IllegalStateException itemError) {
+                        reject(batchLines[i], itemError.getMessage());
+                    }
+                }
+            }
+            progress.accept(imported);
+        }
+    }
+}
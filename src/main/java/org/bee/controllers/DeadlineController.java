@@ -0,0 +1,472 @@
+package org.bee.controllers;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.bee.hms.claims.ClaimStatus;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.scheduling.Deadline;
+import org.bee.hms.scheduling.DeadlineScheduler;
+import org.bee.hms.scheduling.DeadlineType;
+import org.bee.hms.telemed.Appointment;
+import org.bee.hms.telemed.AppointmentStatus;
+import org.bee.utils.JSONHelper;
+
+/**
+ * Manages time-driven changes to appointments, claims and consultations.
+ * Implemented as a singleton.
+ * Extends BaseController to persist the pending deadlines.
+ * <p>
+ * On startup the saved deadlines are loaded and any missing ones are rebuilt from the
+ * appointment, claim and consultation data. A background thread then fires them as they pass:
+ * </p>
+ * <ul>
+ * <li>Pending appointments expire once their time passes.</li>
+ * <li>Claims expire after waiting {@link ClaimController#INFORMATION_WINDOW} for requested information.</li>
+ * <li>Doctors are reminded of follow-ups {@link #FOLLOW_UP_REMINDER_LEAD} ahead of the follow-up date.</li>
+ * </ul>
+ * <p>
+ * Handlers check the current state before acting, so a deadline that no longer applies does nothing.
+ * Changes are saved at most once per tick, and what fired is reported to the notice handler
+ * rather than printed, since the background thread must not write over the UI.
+ * </p>
+ */
+public class DeadlineController extends BaseController<Deadline> {
+
+    /**
+     * Singleton instance of DeadlineController
+     */
+    private static DeadlineController instance;
+
+    /**
+     * Path of the file the deadlines are saved to
+     */
+    private static final String DATA_FILE = DATABASE_DIR + "/deadlines.txt";
+
+    /**
+     * How far ahead of the follow-up date a reminder fires
+     */
+    public static final Duration FOLLOW_UP_REMINDER_LEAD = Duration.ofDays(1);
+
+    /**
+     * Length of a scheduler tick, and how often passed deadlines are checked
+     */
+    public static final Duration TICK = Duration.ofSeconds(1);
+
+    /**
+     * Scheduler holding the pending deadlines, created once the saved ones are loaded
+     */
+    private DeadlineScheduler scheduler;
+
+    /**
+     * Follow-up reminders that have fired, by consultation ID, kept until the follow-up date passes
+     */
+    private Map<String, Deadline> firedReminders;
+
+    /**
+     * Whether the deadlines changed since they were last saved
+     */
+    private boolean unsaved;
+
+    /**
+     * Receives a short notice each time deadlines fire and change something
+     */
+    private volatile Consumer<String> noticeHandler = notice -> { };
+
+    /**
+     * Loads the saved deadlines
+     */
+    private DeadlineController() {
+        this(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Loads the saved deadlines using the given clock
+     * Nothing is scheduled until {@link #prepare()} is called
+     *
+     * @param clock Clock used to decide when deadlines pass
+     */
+    protected DeadlineController(Clock clock) {
+        super();
+        scheduler = new DeadlineScheduler(clock, TICK);
+        firedReminders = new LinkedHashMap<>();
+    }
+
+    /**
+     * Connects the handlers, schedules the loaded deadlines and rebuilds missing ones
+     * Kept out of the constructor so the scheduler is not given this controller before it is fully built
+     * The background thread is not started
+     */
+    protected void prepare() {
+        scheduler.setHandler(DeadlineType.APPOINTMENT_EXPIRY, this::expireAppointments);
+        scheduler.setHandler(DeadlineType.CLAIM_INFORMATION_EXPIRY, this::expireClaims);
+        scheduler.setHandler(DeadlineType.FOLLOW_UP_REMINDER, this::remindFollowUps);
+        scheduler.setErrorHandler(error -> noticeHandler.accept(error));
+
+        for (Deadline deadline : items) {
+            scheduler.schedule(deadline);
+        }
+        int loaded = scheduler.size();
+        rebuild();
+        System.out.println("Tracking " + scheduler.size() + " deadlines (" + loaded + " loaded)");
+        saveData();
+    }
+
+    /**
+     * Returns the singleton instance of DeadlineController, creating and starting it if needed
+     * Other controllers should be created first, since their data is used to rebuild deadlines
+     *
+     * @return The singleton instance of DeadlineController
+     */
+    public static synchronized DeadlineController getInstance() {
+        if (instance == null) {
+            DeadlineController controller = new DeadlineController();
+            controller.prepare();
+            controller.scheduler.start(controller::flush);
+            instance = controller;
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the instance of DeadlineController if it has been created
+     * Other controllers use this to report changes without creating it during their own start-up
+     *
+     * @return The running instance, or empty if it has not been created
+     */
+    public static synchronized Optional<DeadlineController> getIfStarted() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Reads the saved deadlines without creating the controller
+     * Nothing is rebuilt or fired, so the data files are left as they are
+     *
+     * @return The deadlines in deadlines.txt
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Deadline> loadSaved() throws IOException {
+        return JSONHelper.loadListFromJsonFile(DATA_FILE, Deadline.class);
+    }
+
+    /**
+     * Returns the file path for the data file
+     *
+     * @return A String representing the path to deadlines.txt
+     */
+    @Override
+    protected String getDataFilePath() {
+        return DATA_FILE;
+    }
+
+    /**
+     * Returns the Class for Deadline
+     *
+     * @return The Class for Deadline
+     */
+    @Override
+    protected Class<Deadline> getEntityClass() {
+        return Deadline.class;
+    }
+
+    /**
+     * No deadlines are generated, since they are rebuilt from the other controllers' data
+     */
+    @Override
+    protected void generateInitialData() {
+    }
+
+    /**
+     * Saves the pending deadlines and the fired follow-up reminders
+     * Fired reminders are saved so they fire again after a restart and stay visible
+     */
+    @Override
+    public synchronized void saveData() {
+        collectItems();
+        super.saveData();
+        unsaved = false;
+    }
+
+    /**
+     * Saves the deadlines without printing if they changed since they were last saved
+     * Called by the background thread after each tick, so a burst of changes is written once
+     * A failed save is reported to the notice handler and retried on the next flush
+     */
+    public void flush() {
+        String failure;
+        synchronized (this) {
+            if (!unsaved) {
+                return;
+            }
+            collectItems();
+            try {
+                writeData();
+                unsaved = false;
+                return;
+            } catch (IOException e) {
+                failure = e.getMessage();
+            }
+        }
+        noticeHandler.accept("Error saving deadlines: " + failure);
+    }
+
+    /**
+     * Replaces the items with the pending deadlines and the fired follow-up reminders, ready to save
+     */
+    private void collectItems() {
+        if (scheduler != null) {
+            items.clear();
+            items.addAll(scheduler.getPending());
+            items.addAll(firedReminders.values());
+        }
+    }
+
+    /**
+     * Sets where notices about fired deadlines are sent, such as the canvas system message
+     * Errors from the scheduler's background thread are sent here as well
+     *
+     * @param noticeHandler Receives each notice, from the background thread
+     */
+    public void setNoticeHandler(Consumer<String> noticeHandler) {
+        this.noticeHandler = noticeHandler;
+    }
+
+    /**
+     * Schedules deadlines for every appointment, claim and consultation that needs one
+     * Deadlines that are already scheduled are left as they are
+     *
+     * @return The number of deadlines added or moved
+     */
+    public synchronized int rebuild() {
+        int changed = 0;
+        for (Appointment appointment : AppointmentController.getInstance().getAllAppointments()) {
+            changed += scheduleAppointment(appointment) ? 1 : 0;
+        }
+        for (InsuranceClaim claim : ClaimController.getInstance().getAllClaims()) {
+            changed += scheduleClaim(claim) ? 1 : 0;
+        }
+        for (Consultation consultation : ConsultationController.getInstance().getAllOutpatientCases()) {
+            changed += scheduleFollowUp(consultation) ? 1 : 0;
+        }
+        return changed;
+    }
+
+    /**
+     * Schedules or cancels the expiry of an appointment after it changed
+     * The change is saved by the next {@link #flush()}
+     *
+     * @param appointment The appointment that changed
+     */
+    public synchronized void trackAppointment(Appointment appointment) {
+        unsaved |= scheduleAppointment(appointment);
+    }
+
+    /**
+     * Schedules or cancels the expiry of a claim after it changed
+     * The change is saved by the next {@link #flush()}
+     *
+     * @param claim The claim that changed
+     */
+    public synchronized void trackClaim(InsuranceClaim claim) {
+        unsaved |= scheduleClaim(claim);
+    }
+
+    /**
+     * Schedules or cancels follow-up reminders after consultations changed
+     * The change is saved by the next {@link #flush()}
+     *
+     * @param consultations The consultations that changed
+     */
+    public synchronized void trackFollowUps(List<Consultation> consultations) {
+        for (Consultation consultation : consultations) {
+            unsaved |= scheduleFollowUp(consultation);
+        }
+    }
+
+    /**
+     * Gets the consultations of a doctor with a follow-up coming up, whose reminder has fired
+     *
+     * @param doctorId The staff ID of the doctor
+     * @return The consultations, soonest follow-up first
+     */
+    public synchronized List<Consultation> getDueFollowUps(String doctorId) {
+        LocalDateTime now = scheduler.now();
+        firedReminders.values().removeIf(reminder ->
+                reminder.getDueAt().plus(FOLLOW_UP_REMINDER_LEAD).isBefore(now));
+
+        Map<String, Consultation> consultationsById = new HashMap<>();
+        for (Consultation consultation : ConsultationController.getInstance().getAllOutpatientCases()) {
+            consultationsById.put(consultation.getConsultationId(), consultation);
+        }
+        return firedReminders.keySet().stream()
+                .map(consultationsById::get)
+                .filter(consultation -> consultation != null && consultation.getFollowUpDate() != null)
+                .filter(consultation -> consultation.getDoctor() != null
+                        && doctorId.equals(consultation.getDoctor().getStaffId()))
+                .sorted(Comparator.comparing(Consultation::getFollowUpDate))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets every pending deadline
+     *
+     * @return The pending deadlines, soonest first
+     */
+    public List<Deadline> getPendingDeadlines() {
+        return scheduler.getPending();
+    }
+
+    /**
+     * Fires every deadline that has passed without waiting for the background thread, then saves
+     *
+     * @return The number of deadlines fired
+     */
+    public int fireDueDeadlines() {
+        int fired = scheduler.fireDue();
+        flush();
+        return fired;
+    }
+
+    /**
+     * Stops firing deadlines in the background and saves any unsaved changes
+     */
+    public void stop() {
+        scheduler.close();
+        flush();
+    }
+
+    /**
+     * Schedules the expiry of a pending appointment at its appointment time, or cancels it otherwise
+     *
+     * @param appointment The appointment
+     * @return true if the pending deadlines changed
+     */
+    private boolean scheduleAppointment(Appointment appointment) {
+        String id = appointment.getAppointmentId();
+        if (id == null) {
+            return false;
+        }
+        if (appointment.getAppointmentStatus() != AppointmentStatus.PENDING
+                || appointment.getAppointmentTime() == null) {
+            return scheduler.cancel(DeadlineType.APPOINTMENT_EXPIRY, id);
+        }
+        return scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, id,
+                appointment.getAppointmentTime()));
+    }
+
+    /**
+     * Schedules the expiry of a claim waiting for information, or cancels it otherwise
+     *
+     * @param claim The claim
+     * @return true if the pending deadlines changed
+     */
+    private boolean scheduleClaim(InsuranceClaim claim) {
+        String id = claim.getClaimId();
+        if (id == null) {
+            return false;
+        }
+        if (claim.getClaimStatus() != ClaimStatus.PENDING_INFORMATION || claim.getLastUpdatedDate() == null) {
+            return scheduler.cancel(DeadlineType.CLAIM_INFORMATION_EXPIRY, id);
+        }
+        return scheduler.schedule(new Deadline(DeadlineType.CLAIM_INFORMATION_EXPIRY, id,
+                claim.getLastUpdatedDate().plus(ClaimController.INFORMATION_WINDOW)));
+    }
+
+    /**
+     * Schedules a reminder ahead of a consultation's follow-up date
+     * Follow-ups already past are left alone, and reminders for a changed date are replaced
+     *
+     * @param consultation The consultation
+     * @return true if the pending deadlines or fired reminders changed
+     */
+    private boolean scheduleFollowUp(Consultation consultation) {
+        String id = consultation.getConsultationId();
+        if (id == null) {
+            return false;
+        }
+        LocalDateTime followUp = consultation.getFollowUpDate();
+        if (followUp == null) {
+            boolean cancelled = scheduler.cancel(DeadlineType.FOLLOW_UP_REMINDER, id);
+            return firedReminders.remove(id) != null || cancelled;
+        }
+        if (followUp.isBefore(scheduler.now())) {
+            return false;
+        }
+        Deadline reminder = new Deadline(DeadlineType.FOLLOW_UP_REMINDER, id,
+                followUp.minus(FOLLOW_UP_REMINDER_LEAD));
+        Deadline fired = firedReminders.get(id);
+        if (reminder.equals(fired)) {
+            return false;
+        }
+        if (fired != null) {
+            firedReminders.remove(id);
+        }
+        return scheduler.schedule(reminder) || fired != null;
+    }
+
+    /**
+     * Expires the appointments of a batch of passed deadlines
+     *
+     * @param deadlines The passed deadlines
+     */
+    private void expireAppointments(List<Deadline> deadlines) {
+        List<String> ids = deadlines.stream().map(Deadline::getTargetId).collect(Collectors.toList());
+        try {
+            int expired = AppointmentController.getInstance().expireAppointments(ids, scheduler.now());
+            if (expired > 0) {
+                noticeHandler.accept("Expired " + expired + " pending appointments");
+            }
+        } catch (IOException e) {
+            noticeHandler.accept("Error saving expired appointments: " + e.getMessage());
+        }
+        markUnsaved();
+    }
+
+    /**
+     * Expires the claims of a batch of passed deadlines
+     *
+     * @param deadlines The passed deadlines
+     */
+    private void expireClaims(List<Deadline> deadlines) {
+        List<String> ids = deadlines.stream().map(Deadline::getTargetId).collect(Collectors.toList());
+        int expired = ClaimController.getInstance().expireClaims(ids, scheduler.now());
+        if (expired > 0) {
+            noticeHandler.accept("Expired " + expired + " claims waiting for information");
+        }
+        markUnsaved();
+    }
+
+    /**
+     * Records a batch of fired follow-up reminders so they can be shown to the doctors
+     *
+     * @param deadlines The passed deadlines
+     */
+    private void remindFollowUps(List<Deadline> deadlines) {
+        synchronized (this) {
+            for (Deadline deadline : deadlines) {
+                firedReminders.put(deadline.getTargetId(), deadline);
+            }
+            unsaved = true;
+        }
+        noticeHandler.accept(deadlines.size() + " follow-up reminders due");
+    }
+
+    /**
+     * Records that fired deadlines changed what is pending, so the next flush saves them
+     */
+    private synchronized void markUnsaved() {
+        unsaved = true;
+    }
+}
@@ -0,0 +1,251 @@
+package org.bee.controllers;
+
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Feedback;
+import org.bee.hms.medical.SatisfactionMetrics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Manages the storage and retrieval of {@link Feedback} objects.
+ * Implemented as a singleton.
+ * Extends IndexedController to persist the feedback and look it up by ID or patient.
+ * Satisfaction per doctor, department and month is kept up to date as feedback is added, changed or removed.
+ */
+public class FeedbackController extends IndexedController<Feedback> {
+
+    /**
+     * Name of the index by patient ID
+     */
+    private static final String PATIENT_INDEX = "patient";
+
+    /**
+     * Keys the feedback is indexed by
+     */
+    private static final Map<String, Function<Feedback, String>> INDEXES = Map.of(
+            PATIENT_INDEX, feedback -> feedback.getPatient() != null ? feedback.getPatient().getPatientId() : null);
+
+    /**
+     * Singleton instance of the FeedbackController
+     */
+    private static FeedbackController instance;
+
+    /**
+     * Satisfaction built from the stored feedback on first use, then updated with each change
+     */
+    private SatisfactionMetrics satisfactionMetrics;
+
+    /**
+     * Protected constructor to enforce singleton pattern
+     */
+    protected FeedbackController() {
+        super();
+    }
+
+    /**
+     * Returns the instance of FeedbackController
+     * Create instance if it does not exist
+     *
+     * @return The singleton instance of FeedbackController
+     */
+    public static synchronized FeedbackController getInstance() {
+        if (instance == null) {
+            instance = new FeedbackController();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the file path for storing feedback data
+     *
+     * @return A String representing the path to the feedback data file
+     */
+    @Override
+    protected String getDataFilePath() {
+        return DATABASE_DIR + "/feedbacks.txt";
+    }
+
+    /**
+     * Returns the Class for Feedback entity
+     *
+     * @return The Class for Feedback
+     */
+    @Override
+    protected Class<Feedback> getEntityClass() {
+        return Feedback.class;
+    }
+
+    /**
+     * Loads the feedback and drops the satisfaction metrics built from the previous data
+     */
+    @Override
+    public synchronized void loadData() {
+        super.loadData();
+        satisfactionMetrics = null;
+    }
+
+    /**
+     * Starts with no feedback; patients give it after their care
+     */
+    @Override
+    protected void generateInitialData() {
+        System.out.println("No initial feedback to generate");
+    }
+
+    /**
+     * Gets the ID of a feedback entry
+     *
+     * @param item The feedback
+     * @return The feedback ID
+     */
+    @Override
+    protected int getId(Feedback item) {
+        return item.getFeedbackID();
+    }
+
+    /**
+     * Sets the ID of a feedback entry
+     *
+     * @param item The feedback
+     * @param id   The ID to set
+     */
+    @Override
+    protected void setId(Feedback item, int id) {
+        item.setFeedbackID(id);
+    }
+
+    /**
+     * Gets the keys feedback is indexed by
+     *
+     * @return The patient ID index
+     */
+    @Override
+    protected Map<String, Function<Feedback, String>> getIndexes() {
+        return INDEXES;
+    }
+
+    /**
+     * Stores new feedback, assigning its ID, and saves to the JSON file
+     *
+     * @param feedback The feedback to add
+     * @return The stored feedback
+     */
+    public synchronized Feedback addFeedback(Feedback feedback) {
+        addItem(feedback);
+        if (satisfactionMetrics != null) {
+            satisfactionMetrics.record(feedback);
+        }
+        return feedback;
+    }
+
+    /**
+     * Changes the ratings of stored feedback and saves to the JSON file
+     *
+     * @param feedback          The stored feedback
+     * @param medicalCareRating The new medical care rating
+     * @param serviceRating     The new service rating
+     * @throws IllegalArgumentException If the feedback is not stored or a rating is out of range
+     */
+    public synchronized void updateRatings(Feedback feedback, int medicalCareRating, int serviceRating) {
+        if (getById(feedback.getFeedbackID()) != feedback) {
+            throw new IllegalArgumentException("Feedback is not stored: " + feedback.getFeedbackID());
+        }
+        int previousMedicalCare = feedback.getMedicalCareRating();
+        int previousService = feedback.getServiceRating();
+        feedback.updateRatings(medicalCareRating, serviceRating);
+        if (satisfactionMetrics != null) {
+            satisfactionMetrics.changeRatings(feedback, previousMedicalCare, previousService);
+        }
+        updateItem(feedback);
+    }
+
+    /**
+     * Finds feedback by its ID
+     *
+     * @param feedbackId The feedback ID
+     * @return The feedback, or null if not found
+     */
+    public Feedback getFeedback(int feedbackId) {
+        return getById(feedbackId);
+    }
+
+    /**
+     * Retrieves all feedback
+     *
+     * @return A list containing all feedback
+     */
+    public List<Feedback> getAllFeedbacks() {
+        return getAllItems();
+    }
+
+    /**
+     * Retrieves all feedback given by a patient
+     *
+     * @param patient The patient
+     * @return A list of the patient's feedback
+     */
+    public List<Feedback> getFeedbacksByPatient(Patient patient) {
+        return getFeedbacksByPatient(patient.getPatientId());
+    }
+
+    /**
+     * Retrieves all feedback given by a patient
+     *
+     * @param patientId The patient ID
+     * @return A list of the patient's feedback
+     */
+    public List<Feedback> getFeedbacksByPatient(String patientId) {
+        return findByKey(PATIENT_INDEX, patientId);
+    }
+
+    /**
+     * Removes feedback and saves to the JSON file
+     *
+     * @param feedbackId The feedback ID
+     * @return true if the feedback was removed, false otherwise
+     */
+    public synchronized boolean removeFeedback(int feedbackId) {
+        Feedback removed = removeItem(feedbackId);
+        if (removed != null && satisfactionMetrics != null) {
+            satisfactionMetrics.remove(removed);
+        }
+        return removed != null;
+    }
+
+    /**
+     * Reports satisfaction overall and per doctor, department and month
+     *
+     * @return The satisfaction report as of now
+     */
+    public synchronized SatisfactionMetrics.Report getSatisfactionReport() {
+        return getSatisfactionMetrics().report(LocalDateTime.now());
+    }
+
+    /**
+     * Gets the satisfaction of patients a doctor has seen
+     *
+     * @param doctor The doctor
+     * @return The doctor's satisfaction summary
+     */
+    public synchronized SatisfactionMetrics.GroupSummary getDoctorSatisfaction(Doctor doctor) {
+        return getSatisfactionMetrics().getDoctor(doctor.getStaffId());
+    }
+
+    /**
+     * Gets the satisfaction metrics, building them from the stored feedback on first use
+     *
+     * @return The satisfaction metrics
+     */
+    public synchronized SatisfactionMetrics getSatisfactionMetrics() {
+        if (satisfactionMetrics == null) {
+            SatisfactionMetrics metrics = new SatisfactionMetrics();
+            items.forEach(metrics::record);
+            satisfactionMetrics = metrics;
+        }
+        return satisfactionMetrics;
+    }
+}
@@ -67,6 +67,21 @@ public class HumanController extends BaseController<Human> {
         return Human.class;
     }
 
+    /**
+     * Identifies a human by its patient or staff ID, so an import cannot add it twice
+     *
+     * @param item The human
+     * @return The patient or staff ID
+     */
+    @Override
+    protected String getItemKey(Human item) {
+        return switch (item) {
+            case Patient patient -> patient.getPatientId() == null ? null : "patient:" + patient.getPatientId();
+            case Staff staff -> staff.getStaffId() == null ? null : "staff:" + staff.getStaffId();
+            default -> null;
+        };
+    }
+
     /**
      * Generates initial Humans data for the healthcare management system
      * This method creates all the Humans data for the healthcare management system(Doctors,Nurses,Clerks,Paitents)
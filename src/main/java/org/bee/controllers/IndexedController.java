@@ -0,0 +1,339 @@
+package org.bee.controllers;
+
+import org.bee.utils.JSONSerializable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Base class for controllers whose items have an integer ID and are looked up by other keys.
+ * <p>
+ * Items are held in a hash index by ID and in one index per named key, such as a patient
+ * or consultation ID, so lookups do not scan the list. IDs are handed out from a counter that
+ * continues from the highest saved ID, so they stay unique across restarts and threads.
+ * The indexes are rebuilt whenever the data is loaded.
+ * </p>
+ *
+ * @param <T> The type of entity managed by this controller
+ */
+public abstract class IndexedController<T extends JSONSerializable> extends BaseController<T> {
+
+    /**
+     * Items by ID, built on first use since the base constructor loads the data before subclass fields exist
+     */
+    private Map<Integer, T> byId;
+
+    /**
+     * Items by key, per index name
+     */
+    private Map<String, Map<String, List<T>>> byKey;
+
+    /**
+     * Keys each item was indexed under, per index name, by ID
+     */
+    private Map<Integer, Map<String, String>> keysById;
+
+    /**
+     * Highest ID handed out so far
+     */
+    private AtomicInteger lastId;
+
+    /**
+     * Protected constructor to enforce singleton pattern in subclasses
+     */
+    protected IndexedController() {
+        super();
+    }
+
+    /**
+     * Gets the ID of an item.
+     *
+     * @param item The item
+     * @return The ID, or 0 if none has been assigned
+     */
+    protected abstract int getId(T item);
+
+    /**
+     * Sets the ID of an item.
+     *
+     * @param item The item
+     * @param id   The ID to set
+     */
+    protected abstract void setId(T item, int id);
+
+    /**
+     * Gets the secondary keys an item is indexed by.
+     *
+     * Called for every item indexed, so subclasses should return a constant map.
+     *
+     * @return The key of an item per index name; a key of null leaves the item out of that index
+     */
+    protected abstract Map<String, ? extends Function<? super T, String>> getIndexes();
+
+    /**
+     * Loads the items and rebuilds the indexes
+     */
+    @Override
+    public synchronized void loadData() {
+        super.loadData();
+        byId = null;
+    }
+
+    /**
+     * Adds an item, assigning it the next ID if it has none, and saves to the JSON file.
+     *
+     * @param item The item to add
+     * @throws IllegalArgumentException If an item with the same ID is already stored
+     */
+    @Override
+    public synchronized void addItem(T item) {
+        ensureIndexed();
+        if (getId(item) <= 0) {
+            setId(item, nextId());
+        } else if (byId.containsKey(getId(item))) {
+            throw new IllegalArgumentException("Duplicate ID: " + getId(item));
+        } else {
+            lastId.accumulateAndGet(getId(item), Math::max);
+        }
+        items.add(item);
+        index(item);
+        saveData();
+    }
+
+    /**
+     * Adds items, assigning the next IDs to those without one, and saves to the JSON file once.
+     * Nothing is added if any item's ID is already stored or repeated among the items.
+     *
+     * @param newItems The items to add
+     * @throws IllegalArgumentException If an item has the same ID as another item
+     */
+    @Override
+    public synchronized void addItems(Collection<? extends T> newItems) {
+        stageItems(newItems);
+        saveData();
+    }
+
+    /**
+     * Adds items like {@link #addItems(Collection)} without saving.
+     *
+     * @param newItems The items to add
+     * @throws IllegalArgumentException If an item has the same ID as another item
+     */
+    @Override
+    protected synchronized void stageItems(Collection<? extends T> newItems) {
+        ensureIndexed();
+        Set<Integer> seen = new HashSet<>();
+        for (T item : newItems) {
+            int id = getId(item);
+            if (id > 0 && (byId.containsKey(id) || !seen.add(id))) {
+                throw new IllegalArgumentException("Duplicate ID: " + id);
+            }
+        }
+        // New IDs continue after every ID in the batch, so they cannot clash with a later item
+        seen.forEach(id -> lastId.accumulateAndGet(id, Math::max));
+        for (T item : newItems) {
+            if (getId(item) <= 0) {
+                setId(item, nextId());
+            }
+            items.add(item);
+            index(item);
+        }
+    }
+
+    /**
+     * Gets the ID of an item as its key.
+     *
+     * @param item The item
+     * @return The ID, or null if none has been assigned yet
+     */
+    @Override
+    protected String getItemKey(T item) {
+        return getId(item) > 0 ? String.valueOf(getId(item)) : null;
+    }
+
+    /**
+     * Adds the items whose ID is not stored yet, assigning the next IDs to those without one,
+     * and saves to the JSON file once.
+     * Items with an ID that is already stored, or repeated among the items, are skipped.
+     *
+     * @param newItems The items to add
+     * @return The number of items added
+     */
+    public synchronized int addNewItems(Collection<? extends T> newItems) {
+        ensureIndexed();
+        Set<Integer> seen = new HashSet<>();
+        List<T> added = new ArrayList<>();
+        for (T item : newItems) {
+            int id = getId(item);
+            if (id <= 0 || (!byId.containsKey(id) && seen.add(id))) {
+                added.add(item);
+            }
+        }
+        if (!added.isEmpty()) {
+            addItems(added);
+        }
+        return added.size();
+    }
+
+    /**
+     * Removes an item and saves to the JSON file.
+     *
+     * @param id The ID of the item to remove
+     * @return The removed item, or null if there was none
+     */
+    public synchronized T removeItem(int id) {
+        ensureIndexed();
+        T item = byId.remove(id);
+        if (item == null) {
+            return null;
+        }
+        items.remove(item);
+        unindex(item);
+        saveData();
+        return item;
+    }
+
+    /**
+     * Removes items and saves to the JSON file once.
+     *
+     * @param ids The IDs of the items to remove
+     * @return The number of items removed
+     */
+    public synchronized int removeItems(Collection<Integer> ids) {
+        ensureIndexed();
+        int removed = 0;
+        for (int id : ids) {
+            T item = byId.remove(id);
+            if (item != null) {
+                items.remove(item);
+                unindex(item);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            saveData();
+        }
+        return removed;
+    }
+
+    /**
+     * Re-indexes an item after its keys changed and saves to the JSON file.
+     *
+     * @param item The stored item
+     * @throws IllegalArgumentException If the item is not stored
+     */
+    public synchronized void updateItem(T item) {
+        ensureIndexed();
+        if (byId.get(getId(item)) != item) {
+            throw new IllegalArgumentException("Item is not stored: " + getId(item));
+        }
+        unindex(item);
+        index(item);
+        saveData();
+    }
+
+    /**
+     * Gets an item by ID.
+     *
+     * @param id The ID
+     * @return The item, or null if there is none
+     */
+    public synchronized T getById(int id) {
+        ensureIndexed();
+        return byId.get(id);
+    }
+
+    /**
+     * Hands out the next unused ID.
+     *
+     * @return The ID
+     */
+    public synchronized int nextId() {
+        ensureIndexed();
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Gets the items with a given key in one index.
+     *
+     * @param index The index name
+     * @param key   The key
+     * @return A new list of the matching items, in the order they were added
+     * @throws IllegalArgumentException If there is no such index
+     */
+    protected synchronized List<T> findByKey(String index, String key) {
+        ensureIndexed();
+        Map<String, List<T>> keys = byKey.get(index);
+        if (keys == null) {
+            throw new IllegalArgumentException("No such index: " + index);
+        }
+        return new ArrayList<>(keys.getOrDefault(key, List.of()));
+    }
+
+    /**
+     * Builds the indexes from the items if they are not built yet.
+     * Items loaded without an ID, or with an ID already taken, are given a new one.
+     */
+    private void ensureIndexed() {
+        if (byId != null) {
+            return;
+        }
+        byId = new HashMap<>();
+        byKey = new LinkedHashMap<>();
+        keysById = new HashMap<>();
+        getIndexes().keySet().forEach(name -> byKey.put(name, new HashMap<>()));
+        int highest = items.stream().mapToInt(this::getId).max().orElse(0);
+        lastId = new AtomicInteger(Math.max(0, highest));
+        for (T item : items) {
+            if (getId(item) <= 0 || byId.containsKey(getId(item))) {
+                setId(item, lastId.incrementAndGet());
+            }
+            index(item);
+        }
+    }
+
+    /**
+     * Adds an item to every index.
+     *
+     * @param item The item
+     */
+    private void index(T item) {
+        byId.put(getId(item), item);
+        Map<String, String> keys = new HashMap<>();
+        getIndexes().forEach((name, keyOf) -> {
+            String key = keyOf.apply(item);
+            if (key != null) {
+                keys.put(name, key);
+                byKey.get(name).computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            }
+        });
+        keysById.put(getId(item), keys);
+    }
+
+    /**
+     * Removes an item from the secondary indexes, using the keys it was indexed under.
+     *
+     * @param item The item
+     */
+    private void unindex(T item) {
+        Map<String, String> keys = keysById.remove(getId(item));
+        if (keys == null) {
+            return;
+        }
+        keys.forEach((name, key) -> {
+            List<T> matches = byKey.get(name).get(key);
+            matches.removeIf(other -> other == item);
+            if (matches.isEmpty()) {
+                byKey.get(name).remove(key);
+            }
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package org.bee.controllers;
+
+import org.bee.hms.medical.LabTest;
+
+import java.util.List;
+
+/**
+ * Manages the storage and retrieval of {@link LabTest} objects.
+ * Implemented as a singleton.
+ * Extends ConsultationRecordController to persist the lab tests and look them up by ID, consultation or patient.
+ */
+public class LabTestController extends ConsultationRecordController<LabTest> {
+
+    /**
+     * Singleton instance of the LabTestController
+     */
+    private static LabTestController instance;
+
+    /**
+     * Protected constructor to enforce singleton pattern
+     */
+    protected LabTestController() {
+        super();
+    }
+
+    /**
+     * Returns the instance of LabTestController
+     * Create instance if it does not exist
+     *
+     * @return The singleton instance of LabTestController
+     */
+    public static synchronized LabTestController getInstance() {
+        if (instance == null) {
+            instance = new LabTestController();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the file path for storing lab test data
+     *
+     * @return A String representing the path to the lab tests data file
+     */
+    @Override
+    protected String getDataFilePath() {
+        return DATABASE_DIR + "/labtests.txt";
+    }
+
+    /**
+     * Returns the Class for LabTest entity
+     *
+     * @return The Class for LabTest
+     */
+    @Override
+    protected Class<LabTest> getEntityClass() {
+        return LabTest.class;
+    }
+
+    /**
+     * Gets the ID of a lab test
+     *
+     * @param item The lab test
+     * @return The lab test ID
+     */
+    @Override
+    protected int getId(LabTest item) {
+        return item.getLabTestID();
+    }
+
+    /**
+     * Sets the ID of a lab test
+     *
+     * @param item The lab test
+     * @param id   The ID to set
+     */
+    @Override
+    protected void setId(LabTest item, int id) {
+        item.setLabTestID(id);
+    }
+
+    /**
+     * Stores a new lab test, assigning its ID, and saves to the JSON file
+     *
+     * @param item The lab test to add
+     * @return The stored lab test
+     */
+    public LabTest addLabTest(LabTest item) {
+        addItem(item);
+        return item;
+    }
+
+    /**
+     * Finds a lab test by its ID
+     *
+     * @param id The lab test ID
+     * @return The lab test, or null if not found
+     */
+    public LabTest getLabTest(int id) {
+        return getById(id);
+    }
+
+    /**
+     * Retrieves all lab tests
+     *
+     * @return A list containing all lab tests
+     */
+    public List<LabTest> getAllLabTests() {
+        return getAllItems();
+    }
+
+    /**
+     * Retrieves the lab tests of a consultation
+     *
+     * @param consultationId The consultation ID
+     * @return A list of the consultation's lab tests
+     */
+    public List<LabTest> getLabTestsByConsultation(String consultationId) {
+        return findByConsultation(consultationId);
+    }
+
+    /**
+     * Retrieves the lab tests of a patient across their consultations
+     *
+     * @param patientId The patient ID
+     * @return A list of the patient's lab tests
+     */
+    public List<LabTest> getLabTestsByPatient(String patientId) {
+        return findByPatient(patientId);
+    }
+
+    /**
+     * Removes a lab test and saves to the JSON file
+     *
+     * @param id The lab test ID
+     * @return true if the lab test was removed, false otherwise
+     */
+    public boolean removeLabTest(int id) {
+        return removeItem(id) != null;
+    }
+}
@@ -0,0 +1,235 @@
+package org.bee.controllers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Function;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.EmergencyVisit;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.telemed.Appointment;
+import org.bee.utils.MergingIterator;
+
+/**
+ * A patient's appointments, consultations, visits and bills as one history, newest first.
+ * <p>
+ * Each controller keeps its records per patient already in time order, so the timeline
+ * walks those lists from the end and merges them lazily. Showing the first page of a long
+ * history only reads and formats the entries on that page.
+ * </p>
+ */
+public class PatientTimeline {
+
+    /** The timeline over the shared controllers, created when first used */
+    private static PatientTimeline instance;
+
+    /**
+     * The kind of record an entry comes from.
+     */
+    public enum EntryType {
+        /** A teleconsult appointment */
+        APPOINTMENT,
+        /** An outpatient consultation */
+        CONSULTATION,
+        /** A hospital visit */
+        VISIT,
+        /** A bill */
+        BILL
+    }
+
+    /**
+     * One record on the timeline.
+     *
+     * @param time    When it happened, or {@code null} if it has no time
+     * @param type    The kind of record
+     * @param id      The record's ID
+     * @param summary A one-line description
+     * @param record  The record itself
+     */
+    public record Entry(LocalDateTime time, EntryType type, String id, String summary, Object record) {
+    }
+
+    /**
+     * One page of the timeline.
+     *
+     * @param entries The entries on the page, newest first
+     * @param page    The page number, from 0
+     * @param hasMore Whether there are older entries after this page
+     */
+    public record Page(List<Entry> entries, int page, boolean hasMore) {
+    }
+
+    /** Newest first, with entries that have no time last */
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparing(Entry::time, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                    .reversed();
+
+    /** A patient's appointments in time order */
+    private final Function<String, List<Appointment>> appointments;
+
+    /** A patient's consultations in time order */
+    private final Function<String, List<Consultation>> consultations;
+
+    /** A patient's visits in time order */
+    private final Function<String, List<Visit>> visits;
+
+    /** A patient's bills in time order */
+    private final Function<String, List<Bill>> bills;
+
+    /**
+     * Creates a timeline over the given per-patient lists.
+     * Each function must return the patient's records oldest first, without copying them if possible.
+     *
+     * @param appointments  Gets a patient's appointments
+     * @param consultations Gets a patient's consultations
+     * @param visits        Gets a patient's visits
+     * @param bills         Gets a patient's bills
+     */
+    public PatientTimeline(Function<String, List<Appointment>> appointments,
+                           Function<String, List<Consultation>> consultations,
+                           Function<String, List<Visit>> visits,
+                           Function<String, List<Bill>> bills) {
+        this.appointments = appointments;
+        this.consultations = consultations;
+        this.visits = visits;
+        this.bills = bills;
+    }
+
+    /**
+     * Gets the timeline over the shared controllers.
+     *
+     * @return The timeline
+     */
+    public static synchronized PatientTimeline getInstance() {
+        if (instance == null) {
+            instance = new PatientTimeline(
+                    AppointmentController.getInstance()::getAppointmentsForPatient,
+                    ConsultationController.getInstance()::getConsultationsForPatient,
+                    VisitController.getInstance()::getVisitsForPatient,
+                    BillController.getInstance()::getBillsForPatient);
+        }
+        return instance;
+    }
+
+    /**
+     * Walks a patient's history, newest first.
+     * Entries are only read and formatted as the iterator reaches them.
+     *
+     * @param patientId The ID of the patient
+     * @return An iterator over the patient's entries
+     */
+    public Iterator<Entry> iterator(String patientId) {
+        return new MergingIterator<>(List.of(
+                newestFirst(appointments.apply(patientId), PatientTimeline::toEntry),
+                newestFirst(consultations.apply(patientId), PatientTimeline::toEntry),
+                newestFirst(visits.apply(patientId), PatientTimeline::toEntry),
+                newestFirst(bills.apply(patientId), PatientTimeline::toEntry)), NEWEST_FIRST);
+    }
+
+    /**
+     * Gets one page of a patient's history.
+     *
+     * @param patientId The ID of the patient
+     * @param page      The page number, from 0
+     * @param pageSize  The number of entries per page
+     * @return The page, empty if the history is shorter
+     * @throws IllegalArgumentException If the page number is negative or the page size is not positive
+     */
+    public Page getPage(String patientId, int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative: " + page);
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        Iterator<Entry> iterator = iterator(patientId);
+        long skip = (long) page * pageSize;
+        for (long i = 0; i < skip && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        List<Entry> entries = new ArrayList<>(pageSize);
+        while (entries.size() < pageSize && iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return new Page(entries, page, iterator.hasNext());
+    }
+
+    /**
+     * Walks a time-ordered list from its end, turning records into entries as they are reached.
+     *
+     * @param records The records, oldest first
+     * @param toEntry Turns a record into an entry
+     * @param <T>     The record type
+     * @return An iterator over the entries, newest first
+     */
+    private static <T> Iterator<Entry> newestFirst(List<T> records, Function<T, Entry> toEntry) {
+        ListIterator<T> iterator = records.listIterator(records.size());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public Entry next() {
+                return toEntry.apply(iterator.previous());
+            }
+        };
+    }
+
+    /**
+     * Describes an appointment.
+     *
+     * @param appointment The appointment
+     * @return The entry
+     */
+    private static Entry toEntry(Appointment appointment) {
+        return new Entry(appointment.getAppointmentTime(), EntryType.APPOINTMENT,
+                appointment.getAppointmentId(),
+                String.format("Teleconsult: %s (%s)", appointment.getReason(), appointment.getAppointmentStatus()),
+                appointment);
+    }
+
+    /**
+     * Describes a consultation.
+     *
+     * @param consultation The consultation
+     * @return The entry
+     */
+    private static Entry toEntry(Consultation consultation) {
+        String doctor = consultation.getDoctor() == null ? "" : " with " + consultation.getDoctor().getName();
+        return new Entry(consultation.getConsultationTime(), EntryType.CONSULTATION,
+                consultation.getConsultationId(),
+                String.format("Consultation%s: %s (%s)", doctor, consultation.getConsultationType(),
+                        consultation.getStatus()),
+                consultation);
+    }
+
+    /**
+     * Describes a visit.
+     *
+     * @param visit The visit
+     * @return The entry
+     */
+    private static Entry toEntry(Visit visit) {
+        String kind = visit instanceof EmergencyVisit ? "Emergency visit" : "Hospital visit";
+        return new Entry(visit.getAdmissionDateTime(), EntryType.VISIT, visit.getVisitId(),
+                String.format("%s (%s)", kind, visit.getStatus()), visit);
+    }
+
+    /**
+     * Describes a bill.
+     *
+     * @param bill The bill
+     * @return The entry
+     */
+    private static Entry toEntry(Bill bill) {
+        return new Entry(bill.getBillDate(), EntryType.BILL, bill.getBillId(),
+                String.format("Bill of $%.2f (%s)", bill.getGrandTotal(), bill.getStatus()), bill);
+    }
+}
@@ -89,6 +89,17 @@ public class PolicyController extends BaseController<InsurancePolicy> {
         return InsurancePolicy.class;
     }
 
+    /**
+     * Identifies a policy by its policy number, so an import cannot add it twice
+     *
+     * @param item The policy
+     * @return The policy number
+     */
+    @Override
+    protected String getItemKey(InsurancePolicy item) {
+        return item.getPolicyNumber();
+    }
+
     /**
      * Generates initial mock policy data for all patients
      * This method is for demonstration purposes only
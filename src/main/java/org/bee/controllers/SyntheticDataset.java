@@ -0,0 +1,449 @@
+package org.bee.controllers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Clerk;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Nurse;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.insurance.GovernmentProvider;
+import org.bee.hms.insurance.PrivateProvider;
+import org.bee.hms.medical.DiagnosticCode;
+import org.bee.hms.medical.Medication;
+import org.bee.hms.medical.ProcedureCode;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.VisitStatus;
+import org.bee.hms.policy.InsuranceCoverageResult;
+import org.bee.hms.policy.InsurancePolicy;
+import org.bee.hms.telemed.Appointment;
+import org.bee.hms.telemed.AppointmentStatus;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Generates a large, repeatable data set and writes it straight to the controllers' data files.
+ * <p>
+ * Patients are generated in chunks on a pool of threads. Each chunk runs in its own
+ * {@link DataGenerator#withSeed seeded generation}, with a seed and clock derived from the data
+ * set's seed and the chunk's number, and is serialized on the thread that generated it. Chunks are
+ * written in order as they finish, so the files are the same whatever the number of threads, and
+ * at most a few chunks are held in memory at a time.
+ * </p>
+ * <p>
+ * Each patient gets their government and private policies, zero to three visits, a bill for each
+ * discharged visit, a claim for about half of the insured bills, and zero to two appointments.
+ * Discharge times and claim events are stamped from the generation's clock like everything else,
+ * so they fall just before the data set's start time. No consultations are generated; their file
+ * is written empty so the application does not generate them for every patient when it starts.
+ * </p>
+ */
+public final class SyntheticDataset {
+
+    /** Patients generated together on one thread from one seed; a chunk serializes to several megabytes */
+    private static final int CHUNK_SIZE = 500;
+
+    /** Most visits generated for one patient, each with at most one claim */
+    private static final int MAX_VISITS = 3;
+
+    /** Data files written, in the order of {@link Counts} */
+    private static final String[] FILES = {
+            "humans.txt", "policies.txt", "visits.txt", "bills.txt", "claims.txt", "appointments.txt"
+    };
+
+    /** Indexes of the data files in {@link #FILES} */
+    private static final int HUMANS = 0, POLICIES = 1, VISITS = 2, BILLS = 3, CLAIMS = 4, APPOINTMENTS = 5;
+
+    /** Data files written without records, so the controllers load them instead of generating data */
+    private static final String[] EMPTY_FILES = {"consultations.txt"};
+
+    /**
+     * Number of records written to each data file.
+     *
+     * @param humans       Staff and patients
+     * @param policies     Insurance policies
+     * @param visits       Visits
+     * @param bills        Bills
+     * @param claims       Insurance claims
+     * @param appointments Appointments
+     */
+    public record Counts(long humans, long policies, long visits, long bills, long claims, long appointments) {
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private SyntheticDataset() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Generates a data set into a directory, replacing its data files.
+     * The code and drug lists are copied from the database directory if the directory lacks them,
+     * so the application can be started on it with {@code -Ddatabase.dir}.
+     *
+     * @param patients  Number of patients
+     * @param seed      The random seed
+     * @param start     The time the data set is generated at; visits are before it and appointments after
+     * @param directory Where to write the data files
+     * @param threads   Number of threads generating patients
+     * @param progress  Called with the number of patients written so far after each chunk
+     * @return The number of records written to each file
+     * @throws IOException              if the files cannot be written
+     * @throws IllegalArgumentException if the number of patients is negative or of threads is not positive
+     */
+    public static Counts generate(int patients, long seed, LocalDateTime start, Path directory, int threads,
+                                  LongConsumer progress) throws IOException {
+        if (patients < 0) {
+            throw new IllegalArgumentException("Number of patients cannot be negative");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive");
+        }
+        Files.createDirectories(directory);
+        copyReferenceData(directory);
+        for (String file : EMPTY_FILES) {
+            Files.writeString(directory.resolve(file), "[\n]\n", StandardCharsets.UTF_8);
+        }
+
+        // The registries draw random prices as they load, which must not use up a chunk's random numbers
+        for (Class<?> registry : List.of(DiagnosticCode.class, ProcedureCode.class, Medication.class)) {
+            try {
+                Class.forName(registry.getName(), true, registry.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Staff staff = DataGenerator.withSeed(seed, start, () -> Staff.generate(patients));
+        long[] counts = new long[FILES.length];
+        Writer[] writers = new Writer[FILES.length];
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            for (int file = 0; file < FILES.length; file++) {
+                writers[file] = Files.newBufferedWriter(directory.resolve(FILES[file]), StandardCharsets.UTF_8);
+                writers[file].write('[');
+            }
+            for (JSONSerializable human : staff.all()) {
+                writeRecord(writers[HUMANS], counts[HUMANS]++, JSONHelper.toJsonLine(human));
+            }
+
+            int chunkCount = (patients + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            int submitted = 0;
+            long written = 0;
+            while (submitted < chunkCount || !pending.isEmpty()) {
+                // Keep every thread busy while the oldest chunk is written, without holding them all
+                while (submitted < chunkCount && pending.size() < threads * 2) {
+                    int chunk = submitted++;
+                    int first = chunk * CHUNK_SIZE;
+                    int size = Math.min(CHUNK_SIZE, patients - first);
+                    pending.add(workers.submit(() -> DataGenerator.withSeed(
+                            seed + (chunk + 1) * 0x9E3779B97F4A7C15L,
+                            // Chunks read their clocks well under a minute's worth of times, so IDs never overlap
+                            start.minusMinutes(chunk),
+                            () -> Chunk.generate(first, size, start.getYear(), staff))));
+                }
+                Chunk chunk = await(pending.removeFirst());
+                for (int file = 0; file < FILES.length; file++) {
+                    for (String record : chunk.records.get(file)) {
+                        writeRecord(writers[file], counts[file]++, record);
+                    }
+                }
+                written += chunk.patients;
+                progress.accept(written);
+            }
+            for (Writer writer : writers) {
+                writer.write("\n]\n");
+            }
+        } finally {
+            workers.shutdownNow();
+            for (Writer writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return new Counts(counts[HUMANS], counts[POLICIES], counts[VISITS], counts[BILLS], counts[CLAIMS],
+                counts[APPOINTMENTS]);
+    }
+
+    /**
+     * Makes a patient ID in the usual format from the patient's number.
+     * The number is scrambled one-to-one, so IDs look random but never repeat.
+     *
+     * @param number The patient's number in the data set
+     * @param year   The year the ID is issued in
+     * @return The patient ID
+     */
+    static String patientId(int number, int year) {
+        int scrambled = number * 0x9E3779B1;
+        scrambled ^= scrambled >>> 16;
+        return String.format("P-%d%08X", year, scrambled);
+    }
+
+    /**
+     * Makes a claim ID from the patient's number and the visit the claim is for.
+     * The pair is numbered and scrambled like {@link #patientId(int, int)}, so IDs never repeat
+     * within a data set and cannot clash with the dated IDs claims are otherwise given.
+     *
+     * @param number The patient's number in the data set
+     * @param visit  The visit's position among the patient's visits
+     * @param year   The year the ID is issued in
+     * @return The claim ID
+     */
+    static String claimId(int number, int visit, int year) {
+        int scrambled = (number * (MAX_VISITS + 1) + visit) * 0x9E3779B1;
+        scrambled ^= scrambled >>> 16;
+        return String.format("CLM-%d-%08X", year, scrambled);
+    }
+
+    /**
+     * Writes one record of a JSON array.
+     *
+     * @param writer The file's writer
+     * @param index  The number of records already in the file
+     * @param record The record as JSON
+     * @throws IOException if the record cannot be written
+     */
+    private static void writeRecord(Writer writer, long index, String record) throws IOException {
+        writer.write(index == 0 ? "\n" : ",\n");
+        writer.write(record);
+    }
+
+    /**
+     * Waits for a chunk to be generated.
+     *
+     * @param future The chunk being generated
+     * @return The chunk
+     * @throws IOException if interrupted while waiting
+     */
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while generating data");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Generating data failed", e.getCause());
+        }
+    }
+
+    /**
+     * Copies the code and drug lists the entities are loaded against, unless the directory has them.
+     *
+     * @param directory The directory the data set is written to
+     * @throws IOException if a list cannot be copied
+     */
+    private static void copyReferenceData(Path directory) throws IOException {
+        Path source = Path.of(BaseController.DATABASE_DIR);
+        if (!Files.isDirectory(source) || Files.isSameFile(source, directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> lists = Files.newDirectoryStream(source, "*.csv")) {
+            for (Path list : lists) {
+                Path target = directory.resolve(list.getFileName());
+                if (!Files.exists(target)) {
+                    Files.copy(list, target);
+                }
+            }
+        }
+    }
+
+    /**
+     * The staff the patients' visits and appointments are shared between.
+     *
+     * @param doctors    Doctors
+     * @param nurses     Nurses
+     * @param clerks     Clerks
+     * @param government The government insurer
+     * @param insurer    The private insurer
+     */
+    private record Staff(List<Doctor> doctors, List<Nurse> nurses, List<Clerk> clerks,
+                         GovernmentProvider government, PrivateProvider insurer) {
+
+        /**
+         * Generates staff in proportion to the number of patients, with at least as many as the
+         * controllers start with.
+         *
+         * @param patients Number of patients
+         * @return The staff
+         */
+        static Staff generate(int patients) {
+            List<Doctor> doctors = new ArrayList<>();
+            for (int i = 0; i < Math.max(10, patients / 500); i++) {
+                doctors.add(Doctor.builder().withRandomBaseData().build());
+            }
+            List<Nurse> nurses = new ArrayList<>();
+            for (int i = 0; i < Math.max(15, patients / 250); i++) {
+                nurses.add(Nurse.builder().withRandomBaseData().build());
+            }
+            List<Clerk> clerks = new ArrayList<>();
+            for (int i = 0; i < Math.max(10, patients / 2_000); i++) {
+                clerks.add(Clerk.builder().withRandomBaseData().build());
+            }
+            return new Staff(List.copyOf(doctors), List.copyOf(nurses), List.copyOf(clerks),
+                    new GovernmentProvider(), new PrivateProvider());
+        }
+
+        /**
+         * Gets every member of staff.
+         *
+         * @return Doctors, then nurses, then clerks
+         */
+        List<JSONSerializable> all() {
+            List<JSONSerializable> all = new ArrayList<>(doctors);
+            all.addAll(nurses);
+            all.addAll(clerks);
+            return all;
+        }
+    }
+
+    /**
+     * Records generated for a run of patients, serialized and ready to write.
+     */
+    private static final class Chunk {
+        /** Number of patients in the chunk */
+        private final int patients;
+        /** The records for each data file, as JSON */
+        private final List<List<String>> records = new ArrayList<>();
+
+        /**
+         * Creates an empty chunk.
+         *
+         * @param patients Number of patients in the chunk
+         */
+        private Chunk(int patients) {
+            this.patients = patients;
+            for (int file = 0; file < FILES.length; file++) {
+                records.add(new ArrayList<>());
+            }
+        }
+
+        /**
+         * Generates a run of patients and their records.
+         *
+         * @param first The number of the first patient
+         * @param size  Number of patients
+         * @param year  The year patient IDs are issued in
+         * @param staff The staff to assign
+         * @return The chunk
+         */
+        static Chunk generate(int first, int size, int year, Staff staff) {
+            Chunk chunk = new Chunk(size);
+            for (int number = first; number < first + size; number++) {
+                chunk.addPatient(number, year, Patient.builder().withRandomData(patientId(number, year)).build(),
+                        staff);
+            }
+            return chunk;
+        }
+
+        /**
+         * Generates a patient's records, the way the controllers generate their initial data.
+         *
+         * @param number  The patient's number in the data set
+         * @param year    The year IDs are issued in
+         * @param patient The patient
+         * @param staff   The staff to assign
+         */
+        private void addPatient(int number, int year, Patient patient, Staff staff) {
+            add(HUMANS, patient);
+            List<InsurancePolicy> policies = new ArrayList<>();
+            staff.government().getPatientPolicy(patient).ifPresent(policies::add);
+            staff.insurer().getPatientPolicy(patient).ifPresent(policies::add);
+            policies.forEach(policy -> add(POLICIES, policy));
+
+            int visits = DataGenerator.generateRandomInt(0, MAX_VISITS);
+            for (int i = 0; i < visits; i++) {
+                InsurancePolicy policy = policies.isEmpty() ? null : DataGenerator.getRandomElement(policies);
+                if (policy == null || DataGenerator.generateRandomInt(10) == 0) {
+                    Visit visit = Visit.withRandomData(patient);
+                    visit.updateStatus(VisitStatus.IN_PROGRESS);
+                    add(VISITS, visit);
+                    continue;
+                }
+                Visit visit = Visit.createCompatibleVisit(policy.getCoverage(), patient,
+                        staff.doctors(), staff.nurses());
+                visit.updateStatus(VisitStatus.DISCHARGED);
+                add(VISITS, visit);
+
+                Bill bill = new BillBuilder()
+                        .withPatient(patient)
+                        .withVisit(visit)
+                        .withInsurancePolicy(policy)
+                        .build();
+                if (DataGenerator.generateRandomInt(2) == 0) {
+                    addClaim(bill, claimId(number, i, year));
+                }
+                add(BILLS, bill);
+            }
+
+            int appointments = DataGenerator.generateRandomInt(0, 2);
+            for (int i = 0; i < appointments; i++) {
+                Appointment appointment = Appointment.withRandomData(patient,
+                        DataGenerator.getRandomElement(staff.doctors()));
+                if (appointment.getAppointmentStatus() == AppointmentStatus.PAYMENT_PENDING) {
+                    Bill bill = new BillBuilder()
+                            .withPatient(patient)
+                            .withAppointment(appointment)
+                            .build();
+                    bill.setStatus(BillingStatus.PAYMENT_PENDING);
+                    add(BILLS, bill);
+                }
+                add(APPOINTMENTS, appointment);
+            }
+        }
+
+        /**
+         * Submits a bill and adds the claim its insurer approves, if any.
+         *
+         * @param bill    The bill
+         * @param claimId The ID for the claim
+         */
+        private void addClaim(Bill bill, String claimId) {
+            try {
+                bill.submitForProcessing();
+                InsuranceCoverageResult coverage = bill.calculateInsuranceCoverage(claimId);
+                Optional<InsuranceClaim> claim = coverage.isApproved() ? coverage.claim() : Optional.empty();
+                claim.ifPresent(c -> add(CLAIMS, c));
+            } catch (IllegalStateException e) {
+                // The bill stays as it is, as in the claim controller's initial data
+            }
+        }
+
+        /**
+         * Serializes a record for a data file.
+         *
+         * @param file   The data file's index
+         * @param record The record
+         */
+        private void add(int file, JSONSerializable record) {
+            records.get(file).add(JSONHelper.toJsonLine(record));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.bee.controllers;
+
+import org.bee.hms.medical.Treatment;
+
+import java.util.List;
+
+/**
+ * Manages the storage and retrieval of {@link Treatment} objects.
+ * Implemented as a singleton.
+ * Extends ConsultationRecordController to persist the treatments and look them up by ID, consultation or patient.
+ */
+public class TreatmentController extends ConsultationRecordController<Treatment> {
+
+    /**
+     * Singleton instance of the TreatmentController
+     */
+    private static TreatmentController instance;
+
+    /**
+     * Protected constructor to enforce singleton pattern
+     */
+    protected TreatmentController() {
+        super();
+    }
+
+    /**
+     * Returns the instance of TreatmentController
+     * Create instance if it does not exist
+     *
+     * @return The singleton instance of TreatmentController
+     */
+    public static synchronized TreatmentController getInstance() {
+        if (instance == null) {
+            instance = new TreatmentController();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the file path for storing treatment data
+     *
+     * @return A String representing the path to the treatments data file
+     */
+    @Override
+    protected String getDataFilePath() {
+        return DATABASE_DIR + "/treatments.txt";
+    }
+
+    /**
+     * Returns the Class for Treatment entity
+     *
+     * @return The Class for Treatment
+     */
+    @Override
+    protected Class<Treatment> getEntityClass() {
+        return Treatment.class;
+    }
+
+    /**
+     * Gets the ID of a treatment
+     *
+     * @param item The treatment
+     * @return The treatment ID
+     */
+    @Override
+    protected int getId(Treatment item) {
+        return item.getTreatmentID();
+    }
+
+    /**
+     * Sets the ID of a treatment
+     *
+     * @param item The treatment
+     * @param id   The ID to set
+     */
+    @Override
+    protected void setId(Treatment item, int id) {
+        item.setTreatmentID(id);
+    }
+
+    /**
+     * Stores a new treatment, assigning its ID, and saves to the JSON file
+     *
+     * @param item The treatment to add
+     * @return The stored treatment
+     */
+    public Treatment addTreatment(Treatment item) {
+        addItem(item);
+        return item;
+    }
+
+    /**
+     * Finds a treatment by its ID
+     *
+     * @param id The treatment ID
+     * @return The treatment, or null if not found
+     */
+    public Treatment getTreatment(int id) {
+        return getById(id);
+    }
+
+    /**
+     * Retrieves all treatments
+     *
+     * @return A list containing all treatments
+     */
+    public List<Treatment> getAllTreatments() {
+        return getAllItems();
+    }
+
+    /**
+     * Retrieves the treatments of a consultation
+     *
+     * @param consultationId The consultation ID
+     * @return A list of the consultation's treatments
+     */
+    public List<Treatment> getTreatmentsByConsultation(String consultationId) {
+        return findByConsultation(consultationId);
+    }
+
+    /**
+     * Retrieves the treatments of a patient across their consultations
+     *
+     * @param patientId The patient ID
+     * @return A list of the patient's treatments
+     */
+    public List<Treatment> getTreatmentsByPatient(String patientId) {
+        return findByPatient(patientId);
+    }
+
+    /**
+     * Removes a treatment and saves to the JSON file
+     *
+     * @param id The treatment ID
+     * @return true if the treatment was removed, false otherwise
+     */
+    public boolean removeTreatment(int id) {
+        return removeItem(id) != null;
+    }
+}
@@ -8,9 +8,13 @@ import org.bee.hms.medical.Visit;
 import org.bee.hms.medical.VisitStatus;
 import org.bee.hms.policy.Coverage;
 import org.bee.hms.policy.InsurancePolicy;
+import org.bee.hms.wards.WardCensus;
+import org.bee.utils.SortedGroupIndex;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Manages the storage and retrieval of {@link Visit} objects.
@@ -30,6 +34,18 @@ public class VisitController extends BaseController<Visit> {
      */
     private static final HumanController humanController = HumanController.getInstance();
 
+    /**
+     * Ward occupancy built from the visits' ward stays on first use, then kept up to date as visits are added
+     */
+    private WardCensus wardCensus;
+
+    /**
+     * Visits per patient ID in admission order, rebuilt after each load or save
+     */
+    private final SortedGroupIndex<Visit> visitsByPatient = new SortedGroupIndex<>(
+            visit -> visit.getPatient() == null ? null : visit.getPatient().getPatientId(),
+            Comparator.comparing(Visit::getAdmissionDateTime, Comparator.nullsFirst(Comparator.naturalOrder())));
+
     /**
      * Protected constructor to prevent direct modification
      */
@@ -71,6 +87,17 @@ public class VisitController extends BaseController<Visit> {
         return Visit.class;
     }
 
+    /**
+     * Identifies a visit by its visit ID, so an import cannot add it twice
+     *
+     * @param item The visit
+     * @return The visit ID
+     */
+    @Override
+    protected String getItemKey(Visit item) {
+        return item.getVisitId();
+    }
+
     /**
      * Generates initial visit data for tye healthcare management system
      * Creates visits for all patients
@@ -121,9 +148,76 @@ public class VisitController extends BaseController<Visit> {
      * @return A list of Visit objects for the specified patient
      */
     public List<Visit> getVisitsForPatient(Patient patient) {
-        return getAllItems().stream()
-                .filter(visit -> visit.getPatient().equals(patient))
-                .collect(Collectors.toList());
+        return new ArrayList<>(getVisitsForPatient(patient.getPatientId()));
     }
 
-}
\ No newline at end of file
+    /**
+     * Retrieves the visits of a patient in admission order, oldest first
+     *
+     * @param patientId The ID of the patient
+     * @return A read-only list of the patient's visits
+     */
+    public List<Visit> getVisitsForPatient(String patientId) {
+        return visitsByPatient.get(patientId, getDataVersion(), items);
+    }
+
+    /**
+     * Loads the visits and drops the census built from the previous ones
+     */
+    @Override
+    public synchronized void loadData() {
+        super.loadData();
+        wardCensus = null;
+    }
+
+    /**
+     * Adds a visit, saves, and adds its ward stays to the census
+     *
+     * @param item The visit to add
+     */
+    @Override
+    public synchronized void addItem(Visit item) {
+        super.addItem(item);
+        updateCensus(item);
+    }
+
+    /**
+     * Adds visits without saving and adds their ward stays to the census
+     *
+     * @param newItems The visits to add
+     */
+    @Override
+    protected synchronized void stageItems(Collection<? extends Visit> newItems) {
+        super.stageItems(newItems);
+        for (Visit visit : newItems) {
+            updateCensus(visit);
+        }
+    }
+
+    /**
+     * Brings the census up to date with one visit's ward stays, if the census has been built
+     *
+     * @param visit The visit
+     */
+    private void updateCensus(Visit visit) {
+        if (wardCensus != null) {
+            wardCensus.updateVisit(visit.getVisitId(), visit.getWardStays());
+        }
+    }
+
+    /**
+     * Gets the ward census, building it from every visit's ward stays on first use
+     *
+     * @return The ward census
+     */
+    public synchronized WardCensus getWardCensus() {
+        if (wardCensus == null) {
+            WardCensus census = new WardCensus();
+            for (Visit visit : items) {
+                census.updateVisit(visit.getVisitId(), visit.getWardStays());
+            }
+            wardCensus = census;
+        }
+        return wardCensus;
+    }
+}
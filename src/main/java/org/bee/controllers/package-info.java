@@ -7,8 +7,17 @@
  * <br>- BillController - Manages the storage and retrieval of {@link org.bee.hms.billing.Bill} objects
  * <br>- ClaimController - Manages the storage and retrieval of {@link org.bee.hms.claims.InsuranceClaim} objects
  * <br>- ConsultationController - Manages the storage and retrieval of {@link org.bee.hms.medical.Consultation} objects
+ * <br>- ConsultationRecordController - Keeps the lab tests and treatments of consultations, indexed by consultation and patient
+ * <br>- DataTransfer - Streams a controller's items to and from CSV or NDJSON files
+ * <br>- DeadlineController - Fires time-driven changes using {@link org.bee.hms.scheduling.Deadline} objects
+ * <br>- FeedbackController - Manages the storage and retrieval of {@link org.bee.hms.medical.Feedback} objects
  * <br>- HumanController - Manages the storage and retrieval of {@link org.bee.hms.humans.Human} objects
+ * <br>- IndexedController - Keeps items indexed by ID and other keys, with IDs that are unique across restarts
+ * <br>- LabTestController - Manages the storage and retrieval of {@link org.bee.hms.medical.LabTest} objects
+ * <br>- PatientTimeline - Merges a patient's appointments, consultations, visits and bills into one history
  * <br>- PolicyController - Manages the storage and retrieval of {@link org.bee.hms.insurance.InsuranceProvider} objects
+ * <br>- SyntheticDataset - Generates large, repeatable data sets straight into the data files
+ * <br>- TreatmentController - Manages the storage and retrieval of {@link org.bee.hms.medical.Treatment} objects
  * <br>- VisitController - Manages the storage and retrieval of {@link org.bee.hms.medical.Visit} objects
  */
 package org.bee.controllers;
\ No newline at end of file
@@ -0,0 +1,20 @@
+package org.bee.execeptions;
+
+/**
+ * Class that represents CSV input that cannot be parsed, such as a quoted field that is never closed
+ * <p>
+ * It extends IllegalArgumentException, so callers that treat bad input as an illegal argument
+ * keep working, while CSV readers can tell malformed files apart from failures in their own code.
+ */
+public class CsvFormatException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct a new CsvFormatException with the specific message
+     *
+     * @param message the detail message
+     */
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package org.bee.execeptions;
+
+/**
+ * Class that represents a transient failure when talking to an insurance provider system
+ * <p>
+ * This exception is thrown when a provider call times out or the provider is temporarily
+ * unavailable. Calls that fail with it can be retried.
+ */
+public class ProviderUnavailableException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construct a new ProviderUnavailableException with the specific message
+     *
+     * @param message the detail message
+     */
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new provider exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,65 @@
+package org.bee.hms.billing;
+
+/**
+ * Accounts-receivable aging buckets, based on the number of days since a bill was issued.
+ */
+public enum AgingBucket {
+    /** Bills issued 0 to 30 days ago */
+    DAYS_0_30("0-30 days", 30),
+
+    /** Bills issued 31 to 60 days ago */
+    DAYS_31_60("31-60 days", 60),
+
+    /** Bills issued 61 to 90 days ago */
+    DAYS_61_90("61-90 days", 90),
+
+    /** Bills issued more than 90 days ago */
+    OVER_90("90+ days", Long.MAX_VALUE);
+
+    /** Label shown in reports */
+    private final String displayName;
+
+    /** Largest age in days that falls in this bucket */
+    private final long maxDays;
+
+    /**
+     * Creates an aging bucket.
+     *
+     * @param displayName Label shown in reports
+     * @param maxDays     Largest age in days that falls in this bucket
+     */
+    AgingBucket(String displayName, long maxDays) {
+        this.displayName = displayName;
+        this.maxDays = maxDays;
+    }
+
+    /**
+     * Finds the bucket for a bill of the given age.
+     * Negative ages (bills dated in the future) fall in the first bucket.
+     *
+     * @param days The age of the bill in days
+     * @return The matching aging bucket
+     */
+    public static AgingBucket forAge(long days) {
+        for (AgingBucket bucket : values()) {
+            if (days <= bucket.maxDays) {
+                return bucket;
+            }
+        }
+        return OVER_90;
+    }
+
+    /**
+     * Gets the label of this bucket.
+     *
+     * @return The display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
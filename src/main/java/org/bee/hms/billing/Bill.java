@@ -10,8 +10,10 @@ import org.bee.hms.policy.*;
 import org.bee.utils.JSONSerializable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Represents a bill for a patient, containing billing items, categorized charges,
@@ -21,9 +23,21 @@ public class Bill implements JSONSerializable {
     /** Unique identifier for the bill. */
     private final String billId;
 
+    /** Number of basis points in a whole, used as the denominator for rates */
+    @JsonIgnore
+    private static final long BASIS_POINTS = 10_000L;
+
+    /** Singapore GST rate in basis points (9%), excluded from JSON serialization */
+    @JsonIgnore
+    private static final long SINGAPORE_TAX_BASIS_POINTS = 900L;
+
+    /** Discount for Singaporeans and PRs in basis points (30%), excluded from JSON serialization */
+    @JsonIgnore
+    private static final long RESIDENT_DISCOUNT_BASIS_POINTS = 3_000L;
+
     /** Tax rate for Singapore, excluded from JSON serialization */
     @JsonIgnore
-    private static final BigDecimal SINGAPORE_TAX_RATE = new BigDecimal("0.09");
+    private static final BigDecimal SINGAPORE_TAX_RATE = BigDecimal.valueOf(SINGAPORE_TAX_BASIS_POINTS, 4);
 
     /**
      * Unique identifier of the patient associated with the bill.
@@ -39,11 +53,17 @@ public class Bill implements JSONSerializable {
     private List<BillingItemLine> lineItems;
     /** A mapping of categorized charges, where the key is the category name and the value is the total amount for that category. */
     private Map<String, BigDecimal> categorizedCharges;
+    /** Sum of the categorized charges in fixed-point cents, derived from {@code categorizedCharges} */
+    @JsonIgnore
+    private Money subtotal = Money.ZERO;
+    /** Cached derived totals, discarded whenever line items, payments or the status change */
+    @JsonIgnore
+    private BillTotals totals;
     /** Current status of the bill, such as DRAFT. */
     private BillingStatus status;
 
     /** Amount that has been settled for the bill */
-    private BigDecimal settledAmount;
+    private Money settledAmount;
 
     /** Insurance policy associated with the bill */
     private final InsurancePolicy insurancePolicy;
@@ -57,6 +77,18 @@ public class Bill implements JSONSerializable {
     /** Appointment ID linked to this bill */
     private String sourceAppointmentId;
 
+    /** Visit ID linked to this bill */
+    private String sourceVisitId;
+
+    /** Consultation IDs linked to this bill */
+    private List<String> sourceConsultationIds;
+
+    /** References of the imported payments already applied to this bill */
+    private Set<String> paymentReferences;
+
+    /** Date of the latest imported payment, or {@code null} if none was imported */
+    private LocalDate lastPaymentDate;
+
     /**
      * Constructs a {@code Bill} object using the {@link BillBuilder}.
      * Initializes the bill with default values.
@@ -74,7 +106,9 @@ public class Bill implements JSONSerializable {
         this.isInpatient = builder.isInpatient;
         this.isEmergency = builder.isEmergency;
         this.paymentMethod = builder.paymentMethod;
-        this.settledAmount = builder.settledAmount != null ? builder.settledAmount : BigDecimal.ZERO;
+        this.settledAmount = Money.of(builder.settledAmount);
+        this.sourceConsultationIds = new ArrayList<>();
+        this.paymentReferences = new LinkedHashSet<>();
     }
 
     /**
@@ -95,6 +129,11 @@ public class Bill implements JSONSerializable {
      * @param isInpatient         Flag indicating if this is for an inpatient service
      * @param isEmergency         Flag indicating if this is for an emergency service
      * @param paymentMethod       The payment method used for the bill
+     * @param sourceAppointmentId The ID of the appointment the bill was created from
+     * @param sourceVisitId       The ID of the visit the bill was created from
+     * @param sourceConsultationIds The IDs of the consultations the bill was created from
+     * @param paymentReferences   The references of the imported payments applied to the bill
+     * @param lastPaymentDate     The date of the latest imported payment
      *
      * @return A fully constructed Bill object with all properties set from JSON data
      */
@@ -111,7 +150,11 @@ public class Bill implements JSONSerializable {
             @JsonProperty("isInpatient") boolean isInpatient,
             @JsonProperty("isEmergency") boolean isEmergency,
             @JsonProperty("paymentMethod") PaymentMethod paymentMethod,
-            @JsonProperty("sourceAppointmentId") String sourceAppointmentId
+            @JsonProperty("sourceAppointmentId") String sourceAppointmentId,
+            @JsonProperty("sourceVisitId") String sourceVisitId,
+            @JsonProperty("sourceConsultationIds") List<String> sourceConsultationIds,
+            @JsonProperty("paymentReferences") Set<String> paymentReferences,
+            @JsonProperty("lastPaymentDate") LocalDate lastPaymentDate
     ) {
         BillBuilder builder = new BillBuilder();
         builder.billId = billId;
@@ -126,12 +169,25 @@ public class Bill implements JSONSerializable {
         Bill bill = new Bill(builder);
 
         bill.sourceAppointmentId = sourceAppointmentId;
+        bill.sourceVisitId = sourceVisitId;
+        if (sourceConsultationIds != null) {
+            bill.sourceConsultationIds = sourceConsultationIds;
+        }
+        if (paymentReferences != null) {
+            bill.paymentReferences = new LinkedHashSet<>(paymentReferences);
+        }
+        bill.lastPaymentDate = lastPaymentDate;
 
         if (lineItems != null) {
             bill.lineItems = lineItems;
         }
         if (categorizedCharges != null) {
             bill.categorizedCharges = categorizedCharges;
+            long subtotalCents = 0L;
+            for (BigDecimal amount : categorizedCharges.values()) {
+                subtotalCents = Math.addExact(subtotalCents, Money.of(amount).getCents());
+            }
+            bill.subtotal = Money.ofCents(subtotalCents);
         }
         if (status != null) {
             bill.status = status;
@@ -157,8 +213,9 @@ public class Bill implements JSONSerializable {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
-        lineItems.add(new BillingItemLine(item, quantity));
-        recalculateTotals();
+        BillingItemLine line = new BillingItemLine(item, quantity);
+        lineItems.add(line);
+        applyToTotals(line);
     }
 
 
@@ -172,7 +229,7 @@ public class Bill implements JSONSerializable {
      */
     public void submitForProcessing() {
         if (this.status == BillingStatus.DRAFT) {
-            this.status = BillingStatus.SUBMITTED;
+            changeStatus(BillingStatus.SUBMITTED);
         } else {
             throw new IllegalStateException("Bill cannot be submitted. Current status is '" + this.status.getDisplayName() +
                     "', required status is '" + BillingStatus.DRAFT.getDisplayName() + "'.");
@@ -189,6 +246,17 @@ public class Bill implements JSONSerializable {
      */
 
     public InsuranceCoverageResult calculateInsuranceCoverage() {
+        return calculateInsuranceCoverage(null);
+    }
+
+    /**
+     * Calculates the insurance coverage like {@link #calculateInsuranceCoverage()}, giving an
+     * approved claim the given ID.
+     *
+     * @param claimId ID for the claim, or null to generate one
+     * @return {@link InsuranceCoverageResult} with the approved claim or the denial reason
+     */
+    public InsuranceCoverageResult calculateInsuranceCoverage(String claimId) {
         if (insurancePolicy == null) {
             return InsuranceCoverageResult.denied("No insurance policy associated with this bill");
         }
@@ -257,11 +325,12 @@ public class Bill implements JSONSerializable {
         // Add accident coverage (accidentCoverage will be 0 unless it's emergency (accident))
         BigDecimal totalCoverage = claimAmount.add(accidentCoverage);
 
-        status = BillingStatus.INSURANCE_PENDING;
+        changeStatus(BillingStatus.INSURANCE_PENDING);
 
         // Return claim if there's a valid amount to claim
         if (totalCoverage.compareTo(BigDecimal.ZERO) > 0) {
             InsuranceClaim claim = InsuranceClaim.createNew(
+                    claimId,
                     this,
                     insurancePolicy.getInsuranceProvider(),
                     insurancePolicy,
@@ -280,9 +349,16 @@ public class Bill implements JSONSerializable {
      * @return The total amount for the bill.
      */
     public BigDecimal getTotalAmount() {
-        return categorizedCharges.values()
-                .stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return getTotals().subtotal();
+    }
+
+    /**
+     * Retrieves the charges of this bill grouped by billing category.
+     *
+     * @return An unmodifiable view of the total charge per category
+     */
+    public Map<String, BigDecimal> getCategorizedCharges() {
+        return Collections.unmodifiableMap(categorizedCharges);
     }
 
     /**
@@ -331,14 +407,108 @@ public class Bill implements JSONSerializable {
         return sourceAppointmentId;
     }
 
+    /**
+     * Records the visit and consultations this bill was created from.
+     * Called by {@link BillBuilder} so that billing runs can tell which
+     * sources have already been billed.
+     *
+     * @param visitId         The source visit ID, or {@code null} if none
+     * @param consultationIds The source consultation IDs
+     */
+    void linkSources(String visitId, List<String> consultationIds) {
+        this.sourceVisitId = visitId;
+        this.sourceConsultationIds.addAll(consultationIds);
+    }
+
+    /**
+     * Gets the ID of the visit this bill was created from.
+     *
+     * @return The source visit ID, or {@code null} if the bill was not created from a visit
+     */
+    public String getSourceVisitId() {
+        return sourceVisitId;
+    }
+
+    /**
+     * Gets the IDs of the consultations this bill was created from.
+     *
+     * @return An unmodifiable list of source consultation IDs
+     */
+    public List<String> getSourceConsultationIds() {
+        return Collections.unmodifiableList(sourceConsultationIds);
+    }
+
+    /**
+     * Checks whether this bill records no visit, consultation or appointment.
+     * Bills stored before sources were tracked are in this state.
+     *
+     * @return true if the bill records no source
+     */
+    public boolean hasNoRecordedSource() {
+        return sourceVisitId == null && sourceConsultationIds.isEmpty() && sourceAppointmentId == null;
+    }
+
+    /**
+     * Records the source of a bill that was stored before sources were tracked.
+     *
+     * @param visitId         The source visit ID, or {@code null} if none
+     * @param consultationIds The source consultation IDs
+     * @throws IllegalStateException if the bill already records a source
+     */
+    public void backfillSources(String visitId, List<String> consultationIds) {
+        if (!hasNoRecordedSource()) {
+            throw new IllegalStateException("Bill " + billId + " already records its source");
+        }
+        linkSources(visitId, consultationIds);
+    }
+
+    /**
+     * Checks whether the bill is for an inpatient service.
+     *
+     * @return true if the bill was created from a visit
+     */
+    public boolean isInpatient() {
+        return isInpatient;
+    }
+
+    /**
+     * Builds a key identifying the items on this bill, regardless of their order.
+     * Equal to {@link #lineItemKey(List)} of the items the bill was built from.
+     *
+     * @return The line item key
+     */
+    public String lineItemKey() {
+        List<BillableItem> billed = new ArrayList<>();
+        for (BillingItemLine line : lineItems) {
+            for (int i = 0; i < line.getQuantity(); i++) {
+                billed.add(line.getItem());
+            }
+        }
+        return lineItemKey(billed);
+    }
+
+    /**
+     * Builds a key identifying a list of billable items, regardless of their order.
+     *
+     * @param items The billable items
+     * @return The line item key
+     */
+    public static String lineItemKey(List<? extends BillableItem> items) {
+        return items.stream()
+                .map(item -> item.getBillingItemCode() + "@" + item.getUnsubsidisedAmount().getCents())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
     /**
      * Gets the discount percentage applicable to this patient based on their residential status.
      * Singaporeans and PRs get 30%, others get 0%.
      * @return The discount percentage (e.g., 0.30 for 30%).
      */
     public Optional<Double> getDiscountPercentage() {
-        if (patient.isResident()) {
-            return Optional.of(0.30);
+        long discountBasisPoints = getDiscountBasisPoints();
+        if (discountBasisPoints > 0) {
+            return Optional.of((double) discountBasisPoints / BASIS_POINTS);
         } else {
             return Optional.empty();
         }
@@ -346,22 +516,22 @@ public class Bill implements JSONSerializable {
 
     /**
      * Calculates the discount amount based on patient's residential status.
+     * The discount is rounded half-up to cents.
      *
      * @return The discount amount
      */
     public BigDecimal getDiscountAmount() {
-        return getDiscountPercentage()
-                .map(discountRate -> getTotalAmount().multiply(BigDecimal.valueOf(discountRate)))
-                .orElse(BigDecimal.ZERO);
+        return getTotals().discount();
     }
 
     /**
      * Calculates the total amount after applying the discount.
+     * This is always the total amount minus the rounded discount.
      *
      * @return The discounted total amount
      */
     public BigDecimal getDiscountedTotal() {
-        return getTotalAmount().subtract(getDiscountAmount());
+        return getTotals().discountedTotal();
     }
 
     /**
@@ -378,7 +548,7 @@ public class Bill implements JSONSerializable {
      * @return the settled amount
      */
     public BigDecimal getSettledAmount() {
-        return settledAmount == null ? BigDecimal.ZERO : settledAmount;
+        return settledAmount == null ? BigDecimal.ZERO : settledAmount.toBigDecimal();
     }
 
     /**
@@ -390,7 +560,7 @@ public class Bill implements JSONSerializable {
         if (this.status.isFinalized()) {
             throw new IllegalStateException("Cannot cancel bill. Bill is already in a finalized state: " + this.status.getDisplayName());
         }
-        this.status = BillingStatus.CANCELLED;
+        changeStatus(BillingStatus.CANCELLED);
     }
 
     /**
@@ -403,7 +573,7 @@ public class Bill implements JSONSerializable {
             throw new IllegalStateException("Cannot approve insurance. Current status is '" +
                     this.status.getDisplayName() + "', required status is 'Insurance Pending'.");
         }
-        this.status = BillingStatus.INSURANCE_APPROVED;
+        changeStatus(BillingStatus.INSURANCE_APPROVED);
     }
 
     /**
@@ -416,7 +586,7 @@ public class Bill implements JSONSerializable {
             throw new IllegalStateException("Cannot reject insurance. Current status is '" +
                     this.status.getDisplayName() + "', required status is 'Insurance Pending'.");
         }
-        this.status = BillingStatus.INSURANCE_REJECTED;
+        changeStatus(BillingStatus.INSURANCE_REJECTED);
     }
 
     /**
@@ -438,13 +608,14 @@ public class Bill implements JSONSerializable {
             throw new IllegalArgumentException("Payment amount must be greater than zero.");
         }
 
-        if (amount.compareTo(getGrandTotal()) >= 0) {
+        Money payment = Money.of(amount);
+        if (payment.compareTo(getTotals().grandTotal()) >= 0) {
             throw new IllegalArgumentException("Partial payment amount cannot be greater than or equal to the grand total. Use recordFullPayment for full payments.");
         }
 
         this.paymentMethod = paymentMethod;
-        this.settledAmount = this.settledAmount.add(amount); // Record the actual amount paid
-        this.status = BillingStatus.PARTIALLY_PAID;
+        this.settledAmount = this.settledAmount.add(payment); // Record the actual amount paid
+        changeStatus(BillingStatus.PARTIALLY_PAID);
     }
 
     /**
@@ -461,9 +632,56 @@ public class Bill implements JSONSerializable {
         }
 
         this.paymentMethod = paymentMethod;
-        this.settledAmount = getGrandTotal();
-        this.status = BillingStatus.PAID;
+        this.settledAmount = getTotals().grandTotal();
+        changeStatus(BillingStatus.PAID);
+    }
+
+    /**
+     * Checks whether an imported payment has already been applied to this bill.
+     *
+     * @param reference The payment reference
+     * @return true if a payment with this reference was applied
+     */
+    public boolean hasPaymentReference(String reference) {
+        return paymentReferences.contains(reference);
     }
+
+    /**
+     * Records the reference of an imported payment applied to this bill,
+     * so that importing the same payment again can be refused.
+     *
+     * @param reference The payment reference
+     * @throws IllegalArgumentException if the reference is blank or already recorded
+     */
+    public void addPaymentReference(String reference) {
+        if (reference == null || reference.isBlank()) {
+            throw new IllegalArgumentException("Payment reference cannot be blank");
+        }
+        if (!paymentReferences.add(reference)) {
+            throw new IllegalArgumentException("Payment " + reference + " was already applied");
+        }
+    }
+
+    /**
+     * Records the date an imported payment was made, keeping the latest date.
+     *
+     * @param date The payment date
+     */
+    public void recordPaymentDate(LocalDate date) {
+        if (lastPaymentDate == null || date.isAfter(lastPaymentDate)) {
+            lastPaymentDate = date;
+        }
+    }
+
+    /**
+     * Gets the date of the latest imported payment.
+     *
+     * @return The payment date, or {@code null} if no payment was imported
+     */
+    public LocalDate getLastPaymentDate() {
+        return lastPaymentDate;
+    }
+
     /**
      * Initiates a refund process for the bill, changing its status to REFUND_PENDING.
      *
@@ -475,7 +693,7 @@ public class Bill implements JSONSerializable {
                     this.status.getDisplayName() + "', bill must be paid or partially paid.");
         }
 
-        this.status = BillingStatus.REFUND_PENDING;
+        changeStatus(BillingStatus.REFUND_PENDING);
     }
 
     /**
@@ -489,8 +707,8 @@ public class Bill implements JSONSerializable {
                     this.status.getDisplayName() + "', required status is 'Refund Pending'.");
         }
 
-        this.status = BillingStatus.REFUNDED;
-        this.settledAmount = BigDecimal.ZERO;
+        this.settledAmount = Money.ZERO;
+        changeStatus(BillingStatus.REFUNDED);
     }
 
     /**
@@ -508,7 +726,7 @@ public class Bill implements JSONSerializable {
             throw new IllegalStateException("Bill is already marked as overdue.");
         }
 
-        this.status = BillingStatus.OVERDUE;
+        changeStatus(BillingStatus.OVERDUE);
     }
 
     /**
@@ -526,7 +744,7 @@ public class Bill implements JSONSerializable {
             throw new IllegalStateException("Bill is already marked as in dispute.");
         }
 
-        this.status = BillingStatus.IN_DISPUTE;
+        changeStatus(BillingStatus.IN_DISPUTE);
     }
 
     /**
@@ -535,17 +753,17 @@ public class Bill implements JSONSerializable {
      * @return The amount still owed on the bill (grand total minus settled amount)
      */
     public BigDecimal getOutstandingBalance() {
-        BigDecimal settled = this.settledAmount != null ? this.settledAmount : BigDecimal.ZERO;
-        return getGrandTotal().subtract(settled);
+        return getTotals().outstanding();
     }
 
     /**
      * Calculates the tax amount based on the Singapore GST rate.
+     * Tax is charged on the discounted total and rounded half-up to cents.
      *
      * @return The tax amount
      */
     public BigDecimal getTaxAmount() {
-        return getDiscountedTotal().multiply(SINGAPORE_TAX_RATE);
+        return getTotals().tax();
     }
 
     /**
@@ -554,7 +772,16 @@ public class Bill implements JSONSerializable {
      * @return The grand total amount
      */
     public BigDecimal getGrandTotal() {
-        return getDiscountedTotal().add(getTaxAmount());
+        return getTotals().grandTotalAmount();
+    }
+
+    /**
+     * Gets the discount applicable to this patient in basis points.
+     *
+     * @return {@link #RESIDENT_DISCOUNT_BASIS_POINTS} for residents, otherwise 0
+     */
+    private long getDiscountBasisPoints() {
+        return patient.isResident() ? RESIDENT_DISCOUNT_BASIS_POINTS : 0L;
     }
 
     /**
@@ -570,18 +797,15 @@ public class Bill implements JSONSerializable {
     }
 
     /**
-     * Recalculates the total charges for each category.
-     * This method iterates through all billing line items and updates the categorized charges.
+     * Adds a line item's charge to its category total and to the subtotal.
+     * Only the new line is applied, so building a bill is linear in its number of line items.
+     *
+     * @param line The line item that was added
      */
-    private void recalculateTotals() {
-        categorizedCharges.clear();
-
-        for (BillingItemLine item : lineItems) {
-            String category = item.getCategory();
-            BigDecimal totalPrice = item.getTotalPrice();
-            categorizedCharges.put(category,
-                    categorizedCharges.getOrDefault(category, BigDecimal.ZERO).add(totalPrice));
-        }
+    private void applyToTotals(BillingItemLine line) {
+        categorizedCharges.merge(line.getCategory(), line.getTotalPrice(), BigDecimal::add);
+        subtotal = subtotal.add(line.getLineTotal());
+        invalidateTotals();
     }
 
     /**
@@ -632,6 +856,98 @@ public class Bill implements JSONSerializable {
      * @param status The new status to set
      */
     public void setStatus(BillingStatus status) {
-        this.status = status;
+        changeStatus(status);
+    }
+
+    /**
+     * Returns a comparator that orders bills by grand total, smallest first.
+     * Comparisons use the cached totals, so sorting does not recompute the discount and tax chain.
+     *
+     * @return A comparator on the grand total
+     */
+    public static Comparator<Bill> byGrandTotal() {
+        return Comparator.comparingLong(bill -> bill.getTotals().grandTotal().getCents());
+    }
+
+    /**
+     * Changes the status of the bill and discards the cached totals.
+     *
+     * @param newStatus The new status
+     */
+    private void changeStatus(BillingStatus newStatus) {
+        this.status = newStatus;
+        invalidateTotals();
+    }
+
+    /**
+     * Discards the cached totals so they are recomputed on next access.
+     * Called whenever line items, payments, refunds or the status change.
+     */
+    private void invalidateTotals() {
+        this.totals = null;
+    }
+
+    /**
+     * Gets the derived totals, computing and caching them if needed.
+     * The cache is also discarded if the patient's residency, and therefore the discount, has changed.
+     *
+     * @return The current totals
+     */
+    private BillTotals getTotals() {
+        long discountBasisPoints = getDiscountBasisPoints();
+        BillTotals current = totals;
+        if (current == null || current.discountBasisPoints() != discountBasisPoints) {
+            current = BillTotals.compute(subtotal, settledAmount, discountBasisPoints);
+            totals = current;
+        }
+        return current;
+    }
+
+    /**
+     * Snapshot of the totals derived from the subtotal, the discount and the settled amount.
+     * {@link BigDecimal} views are materialised once so repeated getter calls do not allocate.
+     *
+     * @param discountBasisPoints The discount the totals were computed with
+     * @param subtotal            The subtotal before discount and tax
+     * @param discount            The discount amount
+     * @param discountedTotal     The subtotal after discount
+     * @param tax                 The GST amount
+     * @param grandTotal          The grand total in cents
+     * @param grandTotalAmount    The grand total as a {@link BigDecimal}
+     * @param outstanding         The grand total minus the settled amount
+     */
+    private record BillTotals(long discountBasisPoints, BigDecimal subtotal, BigDecimal discount,
+                              BigDecimal discountedTotal, BigDecimal tax, Money grandTotal,
+                              BigDecimal grandTotalAmount, BigDecimal outstanding) {
+
+        /**
+         * Computes the totals.
+         * The discount and GST are each rounded half-up to cents, and the discounted
+         * and grand totals are derived from them, so the figures on a bill always add up:
+         * subtotal minus discount is the discounted total, and discounted total plus tax
+         * is the grand total.
+         *
+         * @param subtotal            The subtotal before discount and tax
+         * @param settled             The settled amount
+         * @param discountBasisPoints The discount in basis points
+         * @return The computed totals
+         */
+        static BillTotals compute(Money subtotal, Money settled, long discountBasisPoints) {
+            Money discount = subtotal.multiply(discountBasisPoints, BASIS_POINTS);
+            Money discountedTotal = subtotal.subtract(discount);
+            Money tax = discountedTotal.multiply(SINGAPORE_TAX_BASIS_POINTS, BASIS_POINTS);
+            Money grandTotal = discountedTotal.add(tax);
+            Money outstanding = grandTotal.subtract(settled != null ? settled : Money.ZERO);
+
+            return new BillTotals(
+                    discountBasisPoints,
+                    subtotal.toBigDecimal(),
+                    discount.toBigDecimal(),
+                    discountedTotal.toBigDecimal(),
+                    tax.toBigDecimal(),
+                    grandTotal,
+                    grandTotal.toBigDecimal(),
+                    outstanding.toBigDecimal());
+        }
     }
 }
@@ -10,6 +10,7 @@ import org.bee.hms.medical.*;
 import org.bee.hms.policy.InsurancePolicy;
 import org.bee.hms.telemed.Appointment;
 import org.bee.hms.telemed.TelemedicineFeeItem;
+import org.bee.utils.DataGenerator;
 
 /**
  * A builder class for creating instances of {@link org.bee.hms.billing.Bill}.
@@ -63,12 +64,12 @@ public class BillBuilder {
     /**
      * Constructs a new {@code BillBuilder} instance.
      * Initializes {@code billId} with a randomly generated UUID and
-     * {@code billDate} with the current timestamp. Also initializes
+     * {@code billDate} with the current timestamp, both from {@link DataGenerator}. Also initializes
      * {@code settledAmount} to zero.
      */
     public BillBuilder() {
-        this.billId = UUID.randomUUID().toString();
-        this.billDate = LocalDateTime.now();
+        this.billId = DataGenerator.generateUUID();
+        this.billDate = DataGenerator.now();
         this.consultations = new ArrayList<>();
         this.insurancePolicy = null;
         this.isInpatient = false;
@@ -166,6 +167,8 @@ public class BillBuilder {
         validateBuildRequirements();
 
         Bill bill = new Bill(this);
+        bill.linkSources(visit != null ? visit.getVisitId() : null,
+                consultations.stream().map(Consultation::getConsultationId).toList());
 
         if (visit != null) {
             visit.getRelatedBillableItems().forEach(item ->
@@ -38,6 +38,17 @@ public interface BillableItem extends JSONSerializable {
      */
     BigDecimal getUnsubsidisedCharges();
 
+    /**
+     * Gets the full unsubsidised charges as a fixed-point amount.
+     * Implementations that already know their price in cents should override this
+     * to avoid the {@link BigDecimal} round trip.
+     *
+     * @return the base price rounded half-up to cents
+     */
+    default Money getUnsubsidisedAmount() {
+        return Money.of(getUnsubsidisedCharges());
+    }
+
     /**
      * Gets the bill description
      *
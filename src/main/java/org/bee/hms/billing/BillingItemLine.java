@@ -17,9 +17,9 @@ public class BillingItemLine implements JSONSerializable {
     /** The quantity of the item being billed. */
     private final int quantity;
     /** The unit price of the item. */
-    private final BigDecimal unitPrice;
+    private final Money unitPrice;
     /** The total price calculated as {@code unitPrice * quantity}. */
-    private final BigDecimal totalPrice;
+    private final Money totalPrice;
 
     /**
      * Constructs a new {@code BillingItem} with the specified {@link BillableItem} and quantity.
@@ -34,8 +34,8 @@ public class BillingItemLine implements JSONSerializable {
             @JsonProperty("quantity") int quantity) {
         this.item = item;
         this.quantity = quantity;
-        this.unitPrice = item.getUnsubsidisedCharges();
-        this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.unitPrice = item.getUnsubsidisedAmount();
+        this.totalPrice = unitPrice.multiply(quantity);
     }
 
     /**
@@ -57,6 +57,15 @@ public class BillingItemLine implements JSONSerializable {
         return item;
     }
 
+    /**
+     * Retrieves the quantity of the item being billed.
+     *
+     * @return The quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
     /**
      * Retrieves the category of the billable item.
      *
@@ -72,6 +81,15 @@ public class BillingItemLine implements JSONSerializable {
      * @return The total price, calculated as {@code unitPrice * quantity}
      */
     public BigDecimal getTotalPrice() {
+        return totalPrice.toBigDecimal();
+    }
+
+    /**
+     * Retrieves the total price of the billing item in fixed-point form.
+     *
+     * @return The total price, calculated as {@code unitPrice * quantity}
+     */
+    Money getLineTotal() {
         return totalPrice;
     }
 
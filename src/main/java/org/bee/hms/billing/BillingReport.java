@@ -0,0 +1,356 @@
+package org.bee.hms.billing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Accounts-receivable aging and revenue report over a collection of bills.
+ * <p>
+ * The report is produced in a single pass over the bills. Each group only keeps
+ * running counters in {@code long} cents, so memory does not grow with the
+ * number of bills. {@link #collector(LocalDate)} can be used with a parallel
+ * stream, and partial results from each thread are merged at the end.
+ * </p>
+ * <p>Figures reported:</p>
+ * <ul>
+ *   <li>Aging: outstanding balances of open bills, bucketed by days since the bill date.</li>
+ *   <li>Revenue by category: billed charges per billing item category, before discount and GST.</li>
+ *   <li>By status and by payment method: bill count, grand total billed, amount collected and outstanding.</li>
+ * </ul>
+ */
+public final class BillingReport {
+
+    /**
+     * Totals for one group of bills.
+     *
+     * @param billCount   Number of bills in the group
+     * @param billed      Sum of grand totals
+     * @param collected   Sum of settled amounts
+     * @param outstanding Sum of outstanding balances
+     */
+    public record Totals(long billCount, Money billed, Money collected, Money outstanding) {
+    }
+
+    /**
+     * Totals for one aging bucket.
+     *
+     * @param billCount   Number of open bills in the bucket
+     * @param outstanding Sum of their outstanding balances
+     */
+    public record AgingTotals(long billCount, Money outstanding) {
+    }
+
+    /** The date the bills were aged against */
+    private final LocalDate asOf;
+
+    /** Outstanding balances per aging bucket */
+    private final Map<AgingBucket, AgingTotals> aging;
+
+    /** Billed charges per billing item category */
+    private final Map<String, Money> revenueByCategory;
+
+    /** Totals per billing status */
+    private final Map<BillingStatus, Totals> byStatus;
+
+    /** Totals per payment method */
+    private final Map<PaymentMethod, Totals> byPaymentMethod;
+
+    /** Totals over all bills */
+    private final Totals overall;
+
+    /**
+     * Creates a report from the merged accumulator.
+     *
+     * @param asOf        The date the bills were aged against
+     * @param accumulator The accumulated counters
+     */
+    private BillingReport(LocalDate asOf, Accumulator accumulator) {
+        this.asOf = asOf;
+
+        Map<AgingBucket, AgingTotals> agingTotals = new EnumMap<>(AgingBucket.class);
+        for (AgingBucket bucket : AgingBucket.values()) {
+            int i = bucket.ordinal();
+            agingTotals.put(bucket, new AgingTotals(accumulator.agingCount[i],
+                    Money.ofCents(accumulator.agingOutstanding[i])));
+        }
+        this.aging = Collections.unmodifiableMap(agingTotals);
+
+        Map<String, Money> categories = new TreeMap<>();
+        accumulator.categoryCents.forEach((category, cents) -> categories.put(category, Money.ofCents(cents[0])));
+        this.revenueByCategory = Collections.unmodifiableMap(categories);
+
+        Map<BillingStatus, Totals> statusTotals = new EnumMap<>(BillingStatus.class);
+        for (BillingStatus status : BillingStatus.values()) {
+            if (accumulator.byStatus[status.ordinal()].count > 0) {
+                statusTotals.put(status, accumulator.byStatus[status.ordinal()].toTotals());
+            }
+        }
+        this.byStatus = Collections.unmodifiableMap(statusTotals);
+
+        Map<PaymentMethod, Totals> methodTotals = new EnumMap<>(PaymentMethod.class);
+        for (PaymentMethod method : PaymentMethod.values()) {
+            if (accumulator.byPaymentMethod[method.ordinal()].count > 0) {
+                methodTotals.put(method, accumulator.byPaymentMethod[method.ordinal()].toTotals());
+            }
+        }
+        this.byPaymentMethod = Collections.unmodifiableMap(methodTotals);
+
+        this.overall = accumulator.overall.toTotals();
+    }
+
+    /**
+     * Generates a report over the given bills using a parallel stream.
+     *
+     * @param bills The bills to report on
+     * @param asOf  The date to age outstanding balances against
+     * @return The completed report
+     */
+    public static BillingReport generate(Collection<Bill> bills, LocalDate asOf) {
+        return bills.parallelStream().collect(collector(asOf));
+    }
+
+    /**
+     * Returns a collector that builds a report in a single pass.
+     * The collector is safe to use with parallel streams.
+     *
+     * @param asOf The date to age outstanding balances against
+     * @return A collector producing a {@code BillingReport}
+     */
+    public static Collector<Bill, ?, BillingReport> collector(LocalDate asOf) {
+        return Collector.of(
+                () -> new Accumulator(asOf),
+                Accumulator::add,
+                Accumulator::merge,
+                accumulator -> new BillingReport(asOf, accumulator),
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Checks whether a bill is still open for collection.
+     * Draft, cancelled and refunded bills are not receivables.
+     *
+     * @param bill The bill to check
+     * @return true if the bill counts towards accounts receivable
+     */
+    private static boolean isReceivable(Bill bill) {
+        BillingStatus status = bill.getStatus();
+        return status != BillingStatus.DRAFT
+                && status != BillingStatus.CANCELLED
+                && status != BillingStatus.REFUNDED;
+    }
+
+    /**
+     * Gets the date the bills were aged against.
+     *
+     * @return The report date
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Gets the outstanding balances per aging bucket. Every bucket is present.
+     *
+     * @return An unmodifiable map of aging bucket to totals
+     */
+    public Map<AgingBucket, AgingTotals> getAging() {
+        return aging;
+    }
+
+    /**
+     * Gets the billed charges per billing item category, sorted by category name.
+     *
+     * @return An unmodifiable map of category to billed amount
+     */
+    public Map<String, Money> getRevenueByCategory() {
+        return revenueByCategory;
+    }
+
+    /**
+     * Gets the totals per billing status. Statuses without bills are omitted.
+     *
+     * @return An unmodifiable map of status to totals
+     */
+    public Map<BillingStatus, Totals> getByStatus() {
+        return byStatus;
+    }
+
+    /**
+     * Gets the totals per payment method. Methods without bills are omitted.
+     *
+     * @return An unmodifiable map of payment method to totals
+     */
+    public Map<PaymentMethod, Totals> getByPaymentMethod() {
+        return byPaymentMethod;
+    }
+
+    /**
+     * Gets the totals over all bills.
+     *
+     * @return The overall totals
+     */
+    public Totals getOverall() {
+        return overall;
+    }
+
+    /**
+     * Running counters for one group of bills, in cents.
+     */
+    private static final class Counter {
+        /** Number of bills */
+        long count;
+
+        /** Sum of grand totals in cents */
+        long billed;
+
+        /** Sum of settled amounts in cents */
+        long collected;
+
+        /** Sum of outstanding balances in cents */
+        long outstanding;
+
+        /**
+         * Adds a bill's amounts to this counter.
+         *
+         * @param billed      The bill's grand total in cents
+         * @param collected   The bill's settled amount in cents
+         * @param outstanding The bill's outstanding balance in cents
+         */
+        void add(long billed, long collected, long outstanding) {
+            count++;
+            this.billed += billed;
+            this.collected += collected;
+            this.outstanding += outstanding;
+        }
+
+        /**
+         * Adds another counter to this counter.
+         *
+         * @param other The counter to merge in
+         */
+        void merge(Counter other) {
+            count += other.count;
+            billed += other.billed;
+            collected += other.collected;
+            outstanding += other.outstanding;
+        }
+
+        /**
+         * Converts this counter to report totals.
+         *
+         * @return The totals
+         */
+        Totals toTotals() {
+            return new Totals(count, Money.ofCents(billed), Money.ofCents(collected), Money.ofCents(outstanding));
+        }
+    }
+
+    /**
+     * Mutable per-thread state of the report collector.
+     */
+    private static final class Accumulator {
+        /** The date to age outstanding balances against */
+        private final LocalDate asOf;
+
+        /** Open bill count per aging bucket */
+        private final long[] agingCount = new long[AgingBucket.values().length];
+
+        /** Outstanding cents per aging bucket */
+        private final long[] agingOutstanding = new long[AgingBucket.values().length];
+
+        /** Billed cents per category, boxed in a one-element array to avoid re-boxing on update */
+        private final Map<String, long[]> categoryCents = new HashMap<>();
+
+        /** Counters per billing status, indexed by ordinal */
+        private final Counter[] byStatus = newCounters(BillingStatus.values().length);
+
+        /** Counters per payment method, indexed by ordinal */
+        private final Counter[] byPaymentMethod = newCounters(PaymentMethod.values().length);
+
+        /** Counter over all bills */
+        private final Counter overall = new Counter();
+
+        /**
+         * Creates an empty accumulator.
+         *
+         * @param asOf The date to age outstanding balances against
+         */
+        Accumulator(LocalDate asOf) {
+            this.asOf = asOf;
+        }
+
+        /**
+         * Adds a bill to the running totals.
+         *
+         * @param bill The bill to add
+         */
+        void add(Bill bill) {
+            long billed = Money.of(bill.getGrandTotal()).getCents();
+            long collected = Money.of(bill.getSettledAmount()).getCents();
+            long outstanding = Money.of(bill.getOutstandingBalance()).getCents();
+
+            overall.add(billed, collected, outstanding);
+            if (bill.getStatus() != null) {
+                byStatus[bill.getStatus().ordinal()].add(billed, collected, outstanding);
+            }
+            PaymentMethod method = bill.getPaymentMethod() != null ? bill.getPaymentMethod() : PaymentMethod.NOT_APPLICABLE;
+            byPaymentMethod[method.ordinal()].add(billed, collected, outstanding);
+
+            for (Map.Entry<String, BigDecimal> charge : bill.getCategorizedCharges().entrySet()) {
+                categoryCents.computeIfAbsent(charge.getKey(), k -> new long[1])[0] += Money.of(charge.getValue()).getCents();
+            }
+
+            if (outstanding > 0 && isReceivable(bill)) {
+                long days = ChronoUnit.DAYS.between(bill.getBillDate().toLocalDate(), asOf);
+                int bucket = AgingBucket.forAge(days).ordinal();
+                agingCount[bucket]++;
+                agingOutstanding[bucket] += outstanding;
+            }
+        }
+
+        /**
+         * Merges another accumulator into this one.
+         *
+         * @param other The accumulator to merge in
+         * @return This accumulator
+         */
+        Accumulator merge(Accumulator other) {
+            for (int i = 0; i < agingCount.length; i++) {
+                agingCount[i] += other.agingCount[i];
+                agingOutstanding[i] += other.agingOutstanding[i];
+            }
+            other.categoryCents.forEach((category, cents) ->
+                    categoryCents.computeIfAbsent(category, k -> new long[1])[0] += cents[0]);
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i].merge(other.byStatus[i]);
+            }
+            for (int i = 0; i < byPaymentMethod.length; i++) {
+                byPaymentMethod[i].merge(other.byPaymentMethod[i]);
+            }
+            overall.merge(other.overall);
+            return this;
+        }
+
+        /**
+         * Creates an array of empty counters.
+         *
+         * @param size The number of counters
+         * @return The counters
+         */
+        private static Counter[] newCounters(int size) {
+            Counter[] counters = new Counter[size];
+            for (int i = 0; i < size; i++) {
+                counters[i] = new Counter();
+            }
+            return counters;
+        }
+    }
+}
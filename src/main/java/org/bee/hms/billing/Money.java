@@ -0,0 +1,253 @@
+package org.bee.hms.billing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Immutable fixed-point monetary amount stored as a whole number of cents.
+ * <p>
+ * Billing arithmetic (line totals, category sums, discounts and GST) runs on
+ * {@code long} cents so that the hot path does not allocate a chain of
+ * {@link BigDecimal} intermediates. {@link BigDecimal} is only used when an amount
+ * crosses an API or serialization boundary.
+ * </p>
+ * <p>Rounding rules:</p>
+ * <ul>
+ *   <li>Converting from {@link BigDecimal} rounds {@link RoundingMode#HALF_UP} to cents.</li>
+ *   <li>A rate is applied as an exact fraction ({@link #multiply(long, long)}) and the
+ *       result is rounded {@link RoundingMode#HALF_UP} to cents once.</li>
+ *   <li>Bills round the 30% resident discount and the 9% GST separately: the discount is
+ *       rounded, the discounted total is the subtotal minus that discount, and GST is
+ *       rounded on the discounted total. Every figure on a bill therefore adds up, but the
+ *       grand total can differ by a cent from applying both rates in one step.</li>
+ * </ul>
+ * Amounts are serialized to JSON as plain decimal numbers, matching the previous
+ * {@link BigDecimal} representation.
+ */
+public final class Money implements Comparable<Money> {
+    /** A zero amount */
+    public static final Money ZERO = new Money(0L);
+
+    /** Number of cents in one dollar */
+    private static final long CENTS_PER_UNIT = 100L;
+
+    /** The amount in cents */
+    private final long cents;
+
+    /**
+     * Creates a new amount from a number of cents.
+     *
+     * @param cents The amount in cents
+     */
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Creates an amount from a number of cents.
+     *
+     * @param cents The amount in cents
+     * @return The corresponding {@code Money}
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a {@link BigDecimal}, rounding half-up to cents.
+     * A {@code null} value is treated as zero.
+     *
+     * @param amount The amount in dollars
+     * @return The corresponding {@code Money}
+     * @throws ArithmeticException if the amount does not fit in a {@code long} number of cents
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return ZERO;
+        }
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Creates an amount from a {@code double}, rounding half-up to cents.
+     * The value is converted using its canonical string form, so {@code 0.1} is treated as exactly 0.10.
+     *
+     * @param amount The amount in dollars
+     * @return The corresponding {@code Money}
+     */
+    public static Money of(double amount) {
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * Gets the amount in cents.
+     *
+     * @return The amount in cents
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * Converts this amount to a {@link BigDecimal} with a scale of 2.
+     *
+     * @return The amount in dollars
+     */
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Adds another amount to this amount.
+     *
+     * @param other The amount to add
+     * @return The sum
+     */
+    public Money add(Money other) {
+        return other.cents == 0L ? this : ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * Subtracts another amount from this amount.
+     *
+     * @param other The amount to subtract
+     * @return The difference
+     */
+    public Money subtract(Money other) {
+        return other.cents == 0L ? this : ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Multiplies this amount by a whole quantity.
+     *
+     * @param quantity The quantity
+     * @return The product
+     */
+    public Money multiply(long quantity) {
+        return quantity == 1L ? this : ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    /**
+     * Multiplies this amount by the exact fraction {@code numerator / denominator}
+     * and rounds the result half-up to cents.
+     * <p>
+     * For example, a 30% discount is {@code multiply(30, 100)} and "70% then plus 9% GST"
+     * is {@code multiply(70 * 109, 100 * 100)}.
+     * </p>
+     *
+     * @param numerator   The numerator of the rate
+     * @param denominator The denominator of the rate, must be positive
+     * @return The rounded product
+     * @throws IllegalArgumentException if the denominator is not positive
+     * @throws ArithmeticException      if the intermediate product overflows
+     */
+    public Money multiply(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        long gcd = gcd(Math.abs(numerator), denominator);
+        if (gcd > 1) {
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        return ofCents(divideHalfUp(Math.multiplyExact(cents, numerator), denominator));
+    }
+
+    /**
+     * Gets the sign of this amount.
+     *
+     * @return -1, 0 or 1 as this amount is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    /**
+     * Checks whether this amount is zero.
+     *
+     * @return true if the amount is zero
+     */
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    /**
+     * Returns the larger of this amount and another amount.
+     *
+     * @param other The other amount
+     * @return The larger amount
+     */
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+
+    /**
+     * Divides {@code value} by {@code divisor}, rounding half away from zero
+     * (the {@link RoundingMode#HALF_UP} rule).
+     *
+     * @param value   The dividend
+     * @param divisor The divisor, must be positive
+     * @return The rounded quotient
+     */
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+
+    /**
+     * Computes the greatest common divisor of two non-negative numbers.
+     *
+     * @param a The first number
+     * @param b The second number
+     * @return The greatest common divisor
+     */
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Compares this amount with another amount.
+     *
+     * @param other The amount to compare to
+     * @return A negative number, zero or a positive number as this amount is less than,
+     * equal to or greater than the other amount
+     */
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && cents == other.cents);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Returns the amount in dollars with two decimal places, e.g. {@code 12.50}.
+     *
+     * @return The amount as a plain string
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
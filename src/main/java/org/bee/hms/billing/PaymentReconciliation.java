@@ -0,0 +1,524 @@
+package org.bee.hms.billing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.bee.utils.CsvReader;
+import org.bee.utils.CsvWriter;
+import org.bee.utils.JSONHelper;
+
+/**
+ * Applies a batch of payments from a payment file to a set of bills.
+ * <p>
+ * Each record of the file holds one payment with a bill ID, amount, payment method,
+ * payment date and an optional payment reference. The file is either RFC 4180 CSV
+ * ({@code billId,amount,method,date,reference}, with an optional header row in any
+ * column order) or NDJSON objects with the same field names; the format is told from
+ * the first character of the file.
+ * </p>
+ * <p>
+ * The file is streamed and each payment is matched through a bill ID index, so large
+ * files are processed without loading them into memory. A payment equal to the
+ * outstanding balance settles the bill in full; a smaller amount is recorded as a
+ * partial payment. Payments are first applied to copies of their bills, and the bills
+ * themselves are only changed once the whole file has been read, so a file that fails
+ * part way changes nothing. Each applied reference is kept on its bill, so importing
+ * the same file again applies nothing twice; a payment without a reference is keyed by
+ * its bill ID, amount and date instead. The latest payment date is kept on the bill as
+ * well. Rows that cannot be applied are collected
+ * as {@link RejectedPayment}s instead of stopping the import. Persisting the updated
+ * bills is left to the caller, so a whole batch is saved once.
+ * </p>
+ */
+public class PaymentReconciliation {
+
+    /** Default CSV column order when the file has no header row */
+    private static final List<String> DEFAULT_COLUMNS = List.of("billid", "amount", "method", "date", "reference");
+
+    /** Number of characters looked ahead to tell CSV from NDJSON */
+    private static final int FORMAT_LOOKAHEAD = 8192;
+
+    /** Bills indexed by bill ID */
+    private final Map<String, Bill> billsById;
+
+    /** Date used to reject payments dated in the future */
+    private final LocalDate today;
+
+    /**
+     * A payment line that could not be applied.
+     *
+     * @param lineNumber The 1-based line number in the payment file
+     * @param billId     The bill ID from the line, or an empty string if it could not be read
+     * @param reason     Why the payment was rejected
+     */
+    public record RejectedPayment(long lineNumber, String billId, String reason) {
+    }
+
+    /**
+     * Summary of a reconciliation run.
+     *
+     * @param appliedCount    Number of payments applied
+     * @param appliedAmount   Total amount of the applied payments
+     * @param updatedBills    Bills that received at least one payment
+     * @param rejected        Lines that could not be applied
+     */
+    public record Result(long appliedCount, Money appliedAmount, Collection<Bill> updatedBills,
+                         List<RejectedPayment> rejected) {
+    }
+
+    /**
+     * A payment that was applied to a copy of its bill, waiting to be applied to the bill itself.
+     *
+     * @param billId    The ID of the bill
+     * @param amount    The amount paid
+     * @param method    The payment method
+     * @param full      Whether the payment settles the bill
+     * @param date      The payment date
+     * @param reference The payment reference, or the key derived from the payment if it had none
+     */
+    private record AcceptedPayment(String billId, BigDecimal amount, PaymentMethod method, boolean full,
+                                   LocalDate date, String reference) {
+    }
+
+    /**
+     * Creates a reconciliation over the given bills.
+     *
+     * @param bills The bills that payments may be applied to
+     */
+    public PaymentReconciliation(Collection<Bill> bills) {
+        this(bills, LocalDate.now());
+    }
+
+    /**
+     * Creates a reconciliation over the given bills with a fixed current date.
+     *
+     * @param bills The bills that payments may be applied to
+     * @param today The date after which payment dates are rejected
+     */
+    public PaymentReconciliation(Collection<Bill> bills, LocalDate today) {
+        this.billsById = new HashMap<>(bills.size() * 2);
+        for (Bill bill : bills) {
+            billsById.put(bill.getBillId(), bill);
+        }
+        this.today = today;
+    }
+
+    /**
+     * Reads a payment file and applies every valid payment.
+     *
+     * @param paymentFile The path of the CSV or NDJSON payment file
+     * @return The result of the run
+     * @throws IOException If the file cannot be read or is malformed; no bill is changed
+     */
+    public Result reconcile(Path paymentFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(paymentFile, StandardCharsets.UTF_8)) {
+            return reconcile(reader);
+        }
+    }
+
+    /**
+     * Reads payments from a reader and applies every valid payment.
+     *
+     * @param input The reader supplying CSV or NDJSON payments
+     * @return The result of the run
+     * @throws IOException If the input cannot be read or is malformed; no bill is changed
+     */
+    public Result reconcile(Reader input) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader br ? br : new BufferedReader(input);
+        Batch batch = new Batch();
+        if (startsWithJson(reader)) {
+            readJson(reader, batch);
+        } else {
+            readCsv(reader, batch);
+        }
+        return batch.commit();
+    }
+
+    /**
+     * Payments read so far, applied to copies of their bills.
+     */
+    private final class Batch {
+        /** Copies of the bills that payments were applied to, by bill ID */
+        private final Map<String, Bill> copies = new LinkedHashMap<>();
+
+        /** Payments applied to the copies, in file order */
+        private final List<AcceptedPayment> accepted = new ArrayList<>();
+
+        /** Lines that could not be applied */
+        private final List<RejectedPayment> rejected = new ArrayList<>();
+
+        /** Total of the accepted payments in cents */
+        private long acceptedCents;
+
+        /**
+         * Validates one payment and applies it to a copy of its bill.
+         *
+         * @param lineNumber The line the payment was read from
+         * @param fields     The payment fields, keyed by lower-case field name
+         */
+        private void add(long lineNumber, Map<String, String> fields) {
+            String billId = fields.getOrDefault("billid", "");
+            try {
+                AcceptedPayment payment = apply(fields, billId);
+                acceptedCents = Math.addExact(acceptedCents, Money.of(payment.amount()).getCents());
+                accepted.add(payment);
+            } catch (IllegalArgumentException | IllegalStateException | ArithmeticException e) {
+                rejected.add(new RejectedPayment(lineNumber, billId, e.getMessage()));
+            }
+        }
+
+        /**
+         * Records a line that could not be read.
+         *
+         * @param lineNumber The line number
+         * @param reason     Why the line could not be read
+         */
+        private void reject(long lineNumber, String reason) {
+            rejected.add(new RejectedPayment(lineNumber, "", reason));
+        }
+
+        /**
+         * Validates one payment and applies it to a copy of the matching bill.
+         *
+         * @param fields The payment fields, keyed by lower-case field name
+         * @param billId The bill ID of the payment
+         * @return The accepted payment
+         * @throws IllegalArgumentException If the payment is invalid, already applied or does not match a bill
+         * @throws IllegalStateException    If the bill cannot accept payments in its current status
+         */
+        private AcceptedPayment apply(Map<String, String> fields, String billId) {
+            if (billId.isEmpty()) {
+                throw new IllegalArgumentException("Missing bill ID");
+            }
+            Bill original = billsById.get(billId);
+            if (original == null) {
+                throw new IllegalArgumentException("Unknown bill ID");
+            }
+
+            BigDecimal amount = parseAmount(fields.get("amount"));
+            PaymentMethod method = parseMethod(fields.get("method"));
+            LocalDate date = parseDate(fields.get("date"));
+            String reference = fields.getOrDefault("reference", "");
+            String key = reference.isEmpty() ? deriveKey(billId, amount, date) : reference;
+
+            if (date.isAfter(today)) {
+                throw new IllegalArgumentException("Payment date " + date + " is in the future");
+            }
+            if (date.isBefore(original.getBillDate().toLocalDate())) {
+                throw new IllegalArgumentException("Payment date " + date + " is before the bill date");
+            }
+
+            Bill bill = copies.get(billId);
+            if (bill == null) {
+                bill = JSONHelper.fromTree(JSONHelper.toTree(original), Bill.class);
+            }
+            if (bill.hasPaymentReference(key)) {
+                throw new IllegalArgumentException(reference.isEmpty()
+                        ? "Payment of " + Money.of(amount) + " on " + date + " was already applied"
+                        : "Payment " + reference + " was already applied");
+            }
+
+            BillingStatus status = bill.getStatus();
+            if (status.isFinalized() || status.isInPreparation() || status == BillingStatus.REFUND_PENDING) {
+                throw new IllegalStateException("Bill cannot accept payments in status " + status.getDisplayName());
+            }
+
+            int comparison = Money.of(amount).compareTo(Money.of(bill.getOutstandingBalance()));
+            if (comparison > 0) {
+                throw new IllegalArgumentException("Payment of " + amount.toPlainString()
+                        + " exceeds outstanding balance of " + bill.getOutstandingBalance().toPlainString());
+            }
+            AcceptedPayment payment = new AcceptedPayment(billId, amount, method, comparison == 0, date, key);
+            record(bill, payment);
+            copies.put(billId, bill);
+            return payment;
+        }
+
+        /**
+         * Applies the accepted payments to the bills themselves.
+         *
+         * @return The result of the run
+         */
+        private Result commit() {
+            Map<String, Bill> updated = new LinkedHashMap<>();
+            for (AcceptedPayment payment : accepted) {
+                Bill bill = billsById.get(payment.billId());
+                record(bill, payment);
+                updated.put(payment.billId(), bill);
+            }
+            return new Result(accepted.size(), Money.ofCents(acceptedCents),
+                    Collections.unmodifiableCollection(updated.values()), Collections.unmodifiableList(rejected));
+        }
+    }
+
+    /**
+     * Derives the key of a payment that has no reference, so that importing it again can be refused.
+     *
+     * @param billId The bill ID
+     * @param amount The amount paid
+     * @param date   The payment date
+     * @return The key
+     */
+    private static String deriveKey(String billId, BigDecimal amount, LocalDate date) {
+        return billId + "|" + Money.of(amount) + "|" + date;
+    }
+
+    /**
+     * Records a payment with its reference and date on a bill.
+     *
+     * @param bill    The bill
+     * @param payment The payment
+     */
+    private static void record(Bill bill, AcceptedPayment payment) {
+        if (payment.full()) {
+            bill.recordFullPayment(payment.method());
+        } else {
+            bill.recordPartialPayment(payment.amount(), payment.method());
+        }
+        bill.addPaymentReference(payment.reference());
+        bill.recordPaymentDate(payment.date());
+    }
+
+    /**
+     * Checks whether the input holds NDJSON rather than CSV, without consuming it.
+     *
+     * @param reader The input
+     * @return true if the first non-blank character opens a JSON object
+     * @throws IOException If the input cannot be read
+     */
+    private static boolean startsWithJson(BufferedReader reader) throws IOException {
+        reader.mark(FORMAT_LOOKAHEAD);
+        try {
+            for (int i = 0; i < FORMAT_LOOKAHEAD; i++) {
+                int c = reader.read();
+                if (c < 0 || !Character.isWhitespace(c)) {
+                    return c == '{';
+                }
+            }
+            return false;
+        } finally {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Reads CSV payments, whose quoted fields may span lines.
+     *
+     * @param reader The input
+     * @param batch  The batch to add the payments to
+     * @throws IOException If the input cannot be read or a quoted field is not closed
+     */
+    private static void readCsv(Reader reader, Batch batch) throws IOException {
+        List<String> columns = new ArrayList<>(DEFAULT_COLUMNS);
+        boolean[] first = {true};
+        try {
+            new CsvReader(reader).forEachRow(row -> {
+                boolean header = first[0] && isHeader(row);
+                first[0] = false;
+                if (header) {
+                    columns.clear();
+                    for (int i = 0; i < row.size(); i++) {
+                        columns.add(normalise(row.get(i)));
+                    }
+                } else if (row.size() > 1 || !row.get(0).isBlank()) {
+                    readRow(row, columns, batch);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed payment file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads NDJSON payments, one object per line.
+     *
+     * @param reader The input
+     * @param batch  The batch to add the payments to
+     * @throws IOException If the input cannot be read
+     */
+    private static void readJson(BufferedReader reader, Batch batch) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Map<String, String> fields;
+            try {
+                fields = readJsonObject(trimmed);
+            } catch (IllegalArgumentException e) {
+                batch.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            batch.add(lineNumber, fields);
+        }
+    }
+
+    /**
+     * Writes rejected payments as a CSV exceptions report.
+     *
+     * @param rejected The rejected payments
+     * @param output   The writer to write the report to
+     * @throws IOException If the report cannot be written
+     */
+    public static void writeExceptionsReport(List<RejectedPayment> rejected, Writer output) throws IOException {
+        BufferedWriter writer = output instanceof BufferedWriter bw ? bw : new BufferedWriter(output);
+        writer.write("line,billId,reason");
+        writer.newLine();
+        for (RejectedPayment payment : rejected) {
+            writer.write(payment.lineNumber() + "," + CsvWriter.formatRow(payment.billId(), payment.reason()));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Checks whether a CSV record is a header row.
+     *
+     * @param row The first record of the file
+     * @return true if the record names the bill ID column
+     */
+    private static boolean isHeader(CsvReader.Row row) {
+        for (int i = 0; i < row.size(); i++) {
+            if (normalise(row.get(i)).equals("billid")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Splits a CSV record into named fields and adds it to the batch.
+     *
+     * @param row     The CSV record
+     * @param columns The column names in order
+     * @param batch   The batch to add the payment to
+     */
+    private static void readRow(CsvReader.Row row, List<String> columns, Batch batch) {
+        if (row.size() < columns.size()) {
+            batch.reject(row.getLineNumber(),
+                    "Expected " + columns.size() + " columns but found " + row.size());
+            return;
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            fields.put(columns.get(i), row.get(i).strip());
+        }
+        batch.add(row.getLineNumber(), fields);
+    }
+
+    /**
+     * Reads the fields of an NDJSON payment object.
+     *
+     * @param line The JSON object
+     * @return The fields keyed by lower-case field name
+     * @throws IllegalArgumentException If the line is not a JSON object
+     */
+    private static Map<String, String> readJsonObject(String line) {
+        JsonNode node = JSONHelper.parseTree(line);
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(entry ->
+                fields.put(normalise(entry.getKey()), entry.getValue().asText().strip()));
+        return fields;
+    }
+
+    /**
+     * Parses a payment amount.
+     *
+     * @param value The amount text
+     * @return The amount
+     * @throws IllegalArgumentException If the amount is missing, invalid or not positive
+     */
+    private static BigDecimal parseAmount(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing amount");
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + value);
+        }
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Payment amount must be greater than zero");
+        }
+        return amount;
+    }
+
+    /**
+     * Parses a payment method. Unlike {@link PaymentMethod#fromString(String)},
+     * unknown methods are rejected instead of mapped to {@link PaymentMethod#NOT_APPLICABLE}.
+     *
+     * @param value The method name
+     * @return The payment method
+     * @throws IllegalArgumentException If the method is missing or unknown
+     */
+    private static PaymentMethod parseMethod(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing payment method");
+        }
+        try {
+            PaymentMethod method = PaymentMethod.valueOf(value.toUpperCase(Locale.ROOT));
+            if (method != PaymentMethod.NOT_APPLICABLE) {
+                return method;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Unknown payment method: " + value);
+    }
+
+    /**
+     * Parses an ISO-8601 payment date.
+     *
+     * @param value The date text
+     * @return The payment date
+     * @throws IllegalArgumentException If the date is missing or invalid
+     */
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing payment date");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid payment date: " + value);
+        }
+    }
+
+    /**
+     * Normalises a field name for matching, ignoring case, spaces and underscores.
+     *
+     * @param name The field name
+     * @return The normalised name
+     */
+    private static String normalise(String name) {
+        return name.strip().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,122 @@
+package org.bee.hms.claims;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * An immutable change to an {@link InsuranceClaim}.
+ * <p>
+ * Events are appended to the claim event log and never modified. The current state of
+ * a claim is the result of applying its events in {@link #getSequence() sequence} order,
+ * so the log doubles as a full audit trail.
+ * </p>
+ */
+public final class ClaimEvent implements JSONSerializable {
+
+    /** ID of the claim this event belongs to */
+    private final String claimId;
+
+    /** Position of this event in the claim's stream, starting at 1 */
+    private final long sequence;
+
+    /** Kind of change */
+    private final ClaimEventType type;
+
+    /** When the change happened */
+    private final LocalDateTime timestamp;
+
+    /** Approved amount, for approval events */
+    private final BigDecimal amount;
+
+    /** Free text such as a reason, document description or comments */
+    private final String text;
+
+    /**
+     * Creates a claim event.
+     *
+     * @param claimId   ID of the claim this event belongs to
+     * @param sequence  Position of this event in the claim's stream, starting at 1
+     * @param type      Kind of change
+     * @param timestamp When the change happened
+     * @param amount    Approved amount, or {@code null}
+     * @param text      Free text, or {@code null}
+     */
+    @JsonCreator
+    public ClaimEvent(@JsonProperty("claimId") String claimId,
+                      @JsonProperty("sequence") long sequence,
+                      @JsonProperty("type") ClaimEventType type,
+                      @JsonProperty("timestamp") LocalDateTime timestamp,
+                      @JsonProperty("amount") BigDecimal amount,
+                      @JsonProperty("text") String text) {
+        this.claimId = Objects.requireNonNull(claimId, "Claim ID cannot be null");
+        this.sequence = sequence;
+        this.type = Objects.requireNonNull(type, "Event type cannot be null");
+        this.timestamp = Objects.requireNonNull(timestamp, "Timestamp cannot be null");
+        this.amount = amount;
+        this.text = text;
+    }
+
+    /**
+     * Gets the ID of the claim this event belongs to.
+     *
+     * @return The claim ID
+     */
+    public String getClaimId() {
+        return claimId;
+    }
+
+    /**
+     * Gets the position of this event in the claim's stream.
+     *
+     * @return The sequence number, starting at 1
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return The event type
+     */
+    public ClaimEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets when the change happened.
+     *
+     * @return The event timestamp
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the approved amount of an approval event.
+     *
+     * @return The amount, or {@code null} if the event has none
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Gets the free text of the event.
+     *
+     * @return The reason, document description or comments, or {@code null}
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s #%d %s %s", claimId, sequence, type, timestamp);
+    }
+}
@@ -0,0 +1,159 @@
+package org.bee.hms.claims;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.bee.utils.JSONHelper;
+
+/**
+ * Append-only store of {@link ClaimEvent}s, one JSON object per line.
+ * <p>
+ * Appending an event writes a single line, so recording a claim change no longer
+ * rewrites every claim. A separate checkpoint file holds the byte offset of the log
+ * at the time of the last claims snapshot; on recovery only the events after that
+ * offset need to be replayed on top of the snapshot.
+ * </p>
+ */
+public class ClaimEventLog {
+
+    /** Path of the event log file */
+    private final Path logFile;
+
+    /** Path of the file holding the snapshot checkpoint offset */
+    private final Path checkpointFile;
+
+    /**
+     * Creates an event log backed by the given files.
+     *
+     * @param logFile        Path of the event log file
+     * @param checkpointFile Path of the file holding the snapshot checkpoint offset
+     */
+    public ClaimEventLog(Path logFile, Path checkpointFile) {
+        this.logFile = logFile;
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Appends events to the end of the log.
+     *
+     * @param events The events to append, in order
+     * @throws IOException If the log cannot be written
+     */
+    public synchronized void append(List<ClaimEvent> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ClaimEvent event : events) {
+                writer.write(JSONHelper.toJsonLine(event));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Gets the current end offset of the log.
+     *
+     * @return The size of the log file in bytes, or 0 if it does not exist
+     * @throws IOException If the file size cannot be read
+     */
+    public synchronized long size() throws IOException {
+        return Files.exists(logFile) ? Files.size(logFile) : 0L;
+    }
+
+    /**
+     * Reads events starting at a byte offset and passes each one to the consumer.
+     *
+     * @param fromOffset The byte offset to start reading at, normally a checkpoint
+     * @param consumer   Receives each event in log order
+     * @return The number of events read
+     * @throws IOException If the log cannot be read
+     */
+    public synchronized long replay(long fromOffset, Consumer<ClaimEvent> consumer) throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            channel.position(Math.min(fromOffset, channel.size()));
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                consumer.accept(JSONHelper.fromJson(line, ClaimEvent.class));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the full history of one claim.
+     *
+     * @param claimId The claim ID
+     * @return The claim's events in sequence order
+     * @throws IOException If the log cannot be read
+     */
+    public synchronized List<ClaimEvent> readHistory(String claimId) throws IOException {
+        List<ClaimEvent> history = new ArrayList<>();
+        if (!Files.exists(logFile)) {
+            return history;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Cheap text check first so only this claim's lines are parsed
+                if (!line.contains(claimId)) {
+                    continue;
+                }
+                ClaimEvent event = JSONHelper.fromJson(line, ClaimEvent.class);
+                if (event.getClaimId().equals(claimId)) {
+                    history.add(event);
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Reads the checkpoint offset recorded with the last snapshot.
+     *
+     * @return The checkpoint offset, or 0 if no checkpoint has been written
+     */
+    public synchronized long readCheckpoint() {
+        try {
+            if (!Files.exists(checkpointFile)) {
+                return 0L;
+            }
+            return Long.parseLong(Files.readString(checkpointFile, StandardCharsets.UTF_8).strip());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error reading claim event checkpoint, replaying full log: " + e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Records the log offset covered by a snapshot that has just been written.
+     *
+     * @param offset The log offset included in the snapshot
+     * @throws IOException If the checkpoint cannot be written
+     */
+    public synchronized void writeCheckpoint(long offset) throws IOException {
+        Files.writeString(checkpointFile, Long.toString(offset), StandardCharsets.UTF_8);
+    }
+}
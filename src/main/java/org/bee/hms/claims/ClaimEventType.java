@@ -0,0 +1,87 @@
+package org.bee.hms.claims;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Types of events recorded in a claim's event stream.
+ * Lifecycle events move the claim to a {@link ClaimStatus}; the others only change its details.
+ */
+@JsonFormat(shape = JsonFormat.Shape.STRING)
+public enum ClaimEventType implements JSONSerializable {
+    /** The claim was created as a draft */
+    CREATED(ClaimStatus.DRAFT),
+
+    /** The claim was submitted to the insurer */
+    SUBMITTED(ClaimStatus.SUBMITTED),
+
+    /** The insurer started reviewing the claim */
+    IN_REVIEW(ClaimStatus.IN_REVIEW),
+
+    /** The insurer asked for more information */
+    PENDING_INFORMATION(ClaimStatus.PENDING_INFORMATION),
+
+    /** The claim was approved in full */
+    APPROVED(ClaimStatus.APPROVED),
+
+    /** The claim was approved for less than the claimed amount */
+    PARTIALLY_APPROVED(ClaimStatus.PARTIALLY_APPROVED),
+
+    /** The claim was denied */
+    DENIED(ClaimStatus.DENIED),
+
+    /** A denied claim was appealed */
+    APPEALED(ClaimStatus.APPEALED),
+
+    /** The claim was paid out */
+    PAID(ClaimStatus.PAID),
+
+    /** The claim was cancelled */
+    CANCELLED(ClaimStatus.CANCELLED),
+
+    /** The claim expired */
+    EXPIRED(ClaimStatus.EXPIRED),
+
+    /** A supporting document was attached */
+    DOCUMENT_ADDED(null),
+
+    /** The claim comments were changed */
+    COMMENTS_UPDATED(null);
+
+    /** Status the claim moves to, or {@code null} for detail-only events */
+    private final ClaimStatus targetStatus;
+
+    /**
+     * Creates an event type.
+     *
+     * @param targetStatus Status the claim moves to, or {@code null} for detail-only events
+     */
+    ClaimEventType(ClaimStatus targetStatus) {
+        this.targetStatus = targetStatus;
+    }
+
+    /**
+     * Gets the status a claim moves to when this event is applied.
+     *
+     * @return The target status, or {@code null} if the event does not change the status
+     */
+    public ClaimStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    /**
+     * Finds the lifecycle event type that moves a claim to the given status.
+     *
+     * @param status The target status
+     * @return The matching event type
+     * @throws IllegalArgumentException if no event type leads to the status
+     */
+    public static ClaimEventType forStatus(ClaimStatus status) {
+        for (ClaimEventType type : values()) {
+            if (type.targetStatus == status && status != null) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("No claim event for status: " + status);
+    }
+}
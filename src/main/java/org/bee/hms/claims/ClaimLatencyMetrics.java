@@ -0,0 +1,202 @@
+package org.bee.hms.claims;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.bee.utils.JSONSerializable;
+import org.bee.utils.LatencyHistogram;
+
+/**
+ * Measures how long claims stay in each {@link ClaimStatus}.
+ * <p>
+ * Claim events are fed in as they are logged. When a claim changes status, the time it
+ * spent in the status it left is recorded in a {@link LatencyHistogram} for that status,
+ * both overall and for the claim's insurance provider. Only the current status of each
+ * open claim is kept, so a report never has to look at individual claims.
+ * </p>
+ */
+public class ClaimLatencyMetrics {
+
+    /** Provider label used for claims without a named provider */
+    public static final String UNKNOWN_PROVIDER = "Unknown";
+
+    /** Statuses after which a claim is no longer tracked */
+    private static final Set<ClaimStatus> FINAL_STATUSES =
+            EnumSet.of(ClaimStatus.PAID, ClaimStatus.CANCELLED, ClaimStatus.EXPIRED);
+
+    /** Statuses that are a provider's decision on a claim */
+    private static final Set<ClaimStatus> DECISION_STATUSES =
+            EnumSet.of(ClaimStatus.APPROVED, ClaimStatus.PARTIALLY_APPROVED, ClaimStatus.DENIED);
+
+    /**
+     * Where an open claim currently is.
+     *
+     * @param status   The claim's status
+     * @param since    When the claim entered the status
+     * @param provider The claim's provider label
+     */
+    private record Position(ClaimStatus status, LocalDateTime since, String provider) {
+    }
+
+    /**
+     * Time spent in one status.
+     *
+     * @param provider   The provider label, or {@code null} for all providers
+     * @param status     The status the claims left
+     * @param count      The number of transitions out of the status
+     * @param minMillis  The shortest time in the status
+     * @param p50Millis  The median time in the status
+     * @param p90Millis  The 90th percentile time in the status
+     * @param p99Millis  The 99th percentile time in the status
+     * @param maxMillis  The longest time in the status
+     * @param meanMillis The mean time in the status
+     */
+    public record StatusLatency(String provider, ClaimStatus status, long count, long minMillis,
+                                long p50Millis, long p90Millis, long p99Millis, long maxMillis,
+                                double meanMillis) implements JSONSerializable {
+    }
+
+    /**
+     * Claims currently waiting in one status.
+     *
+     * @param status           The status
+     * @param count            The number of claims in the status
+     * @param oldestWaitMillis How long the longest-waiting claim has been in the status
+     */
+    public record WaitingClaims(ClaimStatus status, long count, long oldestWaitMillis) implements JSONSerializable {
+    }
+
+    /**
+     * Decisions made by one provider.
+     *
+     * @param provider       The provider label
+     * @param decisions      The number of approvals, partial approvals and denials
+     * @param decisionsPerDay Decisions per day between the first and last decision overall
+     */
+    public record ProviderThroughput(String provider, long decisions, double decisionsPerDay)
+            implements JSONSerializable {
+    }
+
+    /**
+     * A point-in-time view of the claim latency metrics.
+     *
+     * @param generatedAt When the report was taken
+     * @param latencies   Time in status, overall first and then per provider
+     * @param waiting     Claims currently waiting, per status
+     * @param throughput  Decisions per provider
+     */
+    public record Report(LocalDateTime generatedAt, List<StatusLatency> latencies,
+                         List<WaitingClaims> waiting, List<ProviderThroughput> throughput)
+            implements JSONSerializable {
+    }
+
+    /** Current position of every open claim, keyed by claim ID */
+    private final Map<String, Position> positions = new HashMap<>();
+
+    /** Time in status across all providers */
+    private final Map<ClaimStatus, LatencyHistogram> byStatus = new EnumMap<>(ClaimStatus.class);
+
+    /** Time in status per provider label */
+    private final Map<String, Map<ClaimStatus, LatencyHistogram>> byProvider = new TreeMap<>();
+
+    /** Number of decisions per provider label */
+    private final Map<String, Long> decisions = new TreeMap<>();
+
+    /** Time of the earliest decision seen */
+    private LocalDateTime firstDecision;
+
+    /** Time of the latest decision seen */
+    private LocalDateTime lastDecision;
+
+    /**
+     * Records a logged claim event.
+     * Events must be fed in the order they were logged; detail-only events are ignored.
+     *
+     * @param event    The claim event
+     * @param provider The name of the claim's provider, or {@code null} if unknown
+     */
+    public synchronized void record(ClaimEvent event, String provider) {
+        ClaimStatus status = event.getType().getTargetStatus();
+        if (status == null) {
+            return;
+        }
+        String label = provider != null ? provider : UNKNOWN_PROVIDER;
+
+        Position previous = positions.get(event.getClaimId());
+        if (previous != null) {
+            long millis = Duration.between(previous.since(), event.getTimestamp()).toMillis();
+            byStatus.computeIfAbsent(previous.status(), s -> new LatencyHistogram()).record(millis);
+            byProvider.computeIfAbsent(label, p -> new EnumMap<>(ClaimStatus.class))
+                    .computeIfAbsent(previous.status(), s -> new LatencyHistogram())
+                    .record(millis);
+        }
+
+        if (DECISION_STATUSES.contains(status)) {
+            decisions.merge(label, 1L, Long::sum);
+            if (firstDecision == null || event.getTimestamp().isBefore(firstDecision)) {
+                firstDecision = event.getTimestamp();
+            }
+            if (lastDecision == null || event.getTimestamp().isAfter(lastDecision)) {
+                lastDecision = event.getTimestamp();
+            }
+        }
+
+        if (FINAL_STATUSES.contains(status)) {
+            positions.remove(event.getClaimId());
+        } else {
+            positions.put(event.getClaimId(), new Position(status, event.getTimestamp(), label));
+        }
+    }
+
+    /**
+     * Takes a report of the metrics.
+     *
+     * @param asOf The time used to age the claims that are still waiting
+     * @return The report
+     */
+    public synchronized Report report(LocalDateTime asOf) {
+        List<StatusLatency> latencies = new ArrayList<>();
+        byStatus.forEach((status, histogram) -> latencies.add(summarize(null, status, histogram)));
+        byProvider.forEach((provider, histograms) ->
+                histograms.forEach((status, histogram) -> latencies.add(summarize(provider, status, histogram))));
+
+        Map<ClaimStatus, long[]> waitingByStatus = new EnumMap<>(ClaimStatus.class);
+        for (Position position : positions.values()) {
+            long[] counters = waitingByStatus.computeIfAbsent(position.status(), s -> new long[2]);
+            counters[0]++;
+            counters[1] = Math.max(counters[1], Duration.between(position.since(), asOf).toMillis());
+        }
+        List<WaitingClaims> waiting = new ArrayList<>();
+        waitingByStatus.forEach((status, counters) -> waiting.add(new WaitingClaims(status, counters[0], counters[1])));
+
+        double days = firstDecision == null ? 0
+                : Math.max(1, Duration.between(firstDecision, lastDecision).toMinutes()) / (24.0 * 60);
+        List<ProviderThroughput> throughput = new ArrayList<>();
+        decisions.forEach((provider, count) -> throughput.add(
+                new ProviderThroughput(provider, count, count / days)));
+
+        return new Report(asOf, latencies, waiting, throughput);
+    }
+
+    /**
+     * Summarizes one histogram.
+     *
+     * @param provider  The provider label, or {@code null} for all providers
+     * @param status    The status
+     * @param histogram The histogram
+     * @return The summary
+     */
+    private static StatusLatency summarize(String provider, ClaimStatus status, LatencyHistogram histogram) {
+        return new StatusLatency(provider, status, histogram.getCount(), histogram.getMin(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getMax(), histogram.getMean());
+    }
+}
@@ -3,10 +3,13 @@ package org.bee.hms.claims;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.bee.hms.billing.Bill;
 import org.bee.hms.billing.BillingStatus;
@@ -22,6 +25,12 @@ import org.bee.utils.JSONSerializable;
  * <p>
  * This class includes details such as the claim amount, type of claim, submission date, and associated policy information.
  * </p>
+ * <p>
+ * Every change is expressed as a {@link ClaimEvent} and applied through {@link #apply(ClaimEvent)},
+ * so the claim's state is always the fold of its event stream. Events produced by the mutator
+ * methods are buffered until collected with {@link #drainPendingEvents()} and appended to the
+ * claim event log.
+ * </p>
  */
 
 public class InsuranceClaim implements JSONSerializable {
@@ -90,7 +99,18 @@ public class InsuranceClaim implements JSONSerializable {
      * Timestamp of the last update to the record.
      * Initialized to current time and should be updated on changes.
      */
-    private LocalDateTime lastUpdatedDate = LocalDateTime.now();
+    private LocalDateTime lastUpdatedDate = DataGenerator.now();
+
+    /**
+     * Sequence number of the last event applied to this claim.
+     */
+    private long version;
+
+    /**
+     * Events applied since the last call to {@link #drainPendingEvents()}.
+     */
+    @JsonIgnore
+    private final List<ClaimEvent> pendingEvents = new ArrayList<>();
 
     /**
      * Private constructor for creating insurance claims.
@@ -161,17 +181,151 @@ public class InsuranceClaim implements JSONSerializable {
     public static InsuranceClaim createNew(Bill bill, InsuranceProvider insuranceProvider,
                                            InsurancePolicy insurancePolicy, Patient patient,
                                            BigDecimal claimAmount) {
-        return new InsuranceClaim(
-                generateClaimId(),
+        return createNew(null, bill, insuranceProvider, insurancePolicy, patient, claimAmount);
+    }
+
+    /**
+     * Creates a new insurance claim with a given claim ID, such as one derived from a data set's sequence.
+     *
+     * @param claimId           The claim ID, which must not be used by another claim, or null to generate one
+     * @param bill              The medical bill associated with the claim
+     * @param insuranceProvider The insurance provider
+     * @param insurancePolicy   The insurance policy
+     * @param patient           The patient
+     * @param claimAmount       The amount being claimed
+     * @return A new InsuranceClaim instance
+     */
+    public static InsuranceClaim createNew(String claimId, Bill bill, InsuranceProvider insuranceProvider,
+                                           InsurancePolicy insurancePolicy, Patient patient,
+                                           BigDecimal claimAmount) {
+        InsuranceClaim claim = new InsuranceClaim(
+                claimId != null ? claimId : generateClaimId(),
                 bill,
                 insuranceProvider,
                 insurancePolicy,
                 patient,
                 null,
-                ClaimStatus.DRAFT,
+                null,
                 claimAmount,
                 ""
         );
+        claim.record(ClaimEventType.CREATED, claimAmount, null);
+        return claim;
+    }
+
+    /**
+     * Rebuilds a claim from its event history.
+     * The immutable details (bill, provider, policy, patient and claimed amount) are taken
+     * from {@code template}; everything else is reconstructed by applying the events in order.
+     *
+     * @param template A claim with the same ID providing the immutable details
+     * @param events   The claim's events, in sequence order, starting with {@link ClaimEventType#CREATED}
+     * @return A new claim in the state reached after the last event
+     * @throws IllegalStateException if the events are out of order or break a status transition rule
+     */
+    public static InsuranceClaim replay(InsuranceClaim template, List<ClaimEvent> events) {
+        InsuranceClaim claim = new InsuranceClaim(
+                template.claimId,
+                template.bill,
+                template.insuranceProvider,
+                template.insurancePolicy,
+                template.patient,
+                null,
+                null,
+                template.claimAmount,
+                ""
+        );
+        for (ClaimEvent event : events) {
+            claim.apply(event);
+        }
+        return claim;
+    }
+
+    /**
+     * Applies an event to this claim.
+     * Lifecycle events are checked against the same transition rules as the mutator methods.
+     *
+     * @param event The event to apply
+     * @throws IllegalArgumentException if the event belongs to another claim
+     * @throws IllegalStateException    if the event is out of sequence or the transition is not allowed
+     */
+    public void apply(ClaimEvent event) {
+        if (!claimId.equals(event.getClaimId())) {
+            throw new IllegalArgumentException("Event for claim " + event.getClaimId() + " applied to " + claimId);
+        }
+        if (event.getSequence() != version + 1) {
+            throw new IllegalStateException("Expected event " + (version + 1) + " for claim " + claimId
+                    + " but got " + event.getSequence());
+        }
+
+        switch (event.getType()) {
+            case CREATED -> {
+                if (version != 0) {
+                    throw new IllegalStateException("Claim " + claimId + " has already been created");
+                }
+                this.claimStatus = ClaimStatus.DRAFT;
+            }
+            case DOCUMENT_ADDED -> supportingDocuments.put(event.getTimestamp(), event.getText());
+            case COMMENTS_UPDATED -> this.comments = event.getText();
+            default -> {
+                ClaimStatus target = event.getType().getTargetStatus();
+                validateStatusTransition(target);
+                this.claimStatus = target;
+
+                switch (event.getType()) {
+                    case SUBMITTED, IN_REVIEW -> this.submissionDate = event.getTimestamp();
+                    case APPROVED, PARTIALLY_APPROVED -> {
+                        if (event.getAmount() != null) {
+                            this.approvedAmount = event.getAmount();
+                        }
+                        if (event.getText() != null) {
+                            this.reviewerComments = event.getText();
+                        }
+                    }
+                    default -> {
+                        if (event.getText() != null) {
+                            this.reviewerComments = event.getText();
+                        }
+                    }
+                }
+            }
+        }
+
+        this.version = event.getSequence();
+        this.lastUpdatedDate = event.getTimestamp();
+    }
+
+    /**
+     * Returns and clears the events applied since the last call.
+     *
+     * @return The pending events in sequence order
+     */
+    public synchronized List<ClaimEvent> drainPendingEvents() {
+        List<ClaimEvent> drained = new ArrayList<>(pendingEvents);
+        pendingEvents.clear();
+        return drained;
+    }
+
+    /**
+     * Gets the sequence number of the last event applied to this claim.
+     *
+     * @return The claim version, or 0 if no events have been applied
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates the next event for this claim, applies it and buffers it for the event log.
+     *
+     * @param type   The kind of change
+     * @param amount The approved amount, or {@code null}
+     * @param text   Free text, or {@code null}
+     */
+    private synchronized void record(ClaimEventType type, BigDecimal amount, String text) {
+        ClaimEvent event = new ClaimEvent(claimId, version + 1, type, DataGenerator.now(), amount, text);
+        apply(event);
+        pendingEvents.add(event);
     }
 
     /**
@@ -201,6 +355,15 @@ public class InsuranceClaim implements JSONSerializable {
         return patient;
     }
 
+    /**
+     * Retrieves the insurance provider the claim is made to.
+     *
+     * @return The insurance provider.
+     */
+    public InsuranceProvider getInsuranceProvider() {
+        return insuranceProvider;
+    }
+
     /**
      * Validates if the status transition is allowed.
      *
@@ -275,9 +438,7 @@ public class InsuranceClaim implements JSONSerializable {
             throw new IllegalArgumentException("Partial approval amount must be less than claimed amount");
         }
 
-        this.approvedAmount = approvedAmount;
-        this.reviewerComments = reason;
-        this.claimStatus = ClaimStatus.PARTIALLY_APPROVED;
+        record(ClaimEventType.PARTIALLY_APPROVED, approvedAmount, reason);
     }
 
 
@@ -318,7 +479,7 @@ public class InsuranceClaim implements JSONSerializable {
             throw new IllegalArgumentException("Document description cannot be empty");
         }
 
-        supportingDocuments.put(LocalDateTime.now(), documentDescription);
+        record(ClaimEventType.DOCUMENT_ADDED, null, documentDescription);
     }
 
     /**
@@ -347,7 +508,7 @@ public class InsuranceClaim implements JSONSerializable {
      */
     public void updateStatus(ClaimStatus newStatus) {
         validateStatusTransition(newStatus);
-        this.claimStatus = newStatus;
+        record(ClaimEventType.forStatus(newStatus), null, null);
     }
 
     /**
@@ -458,7 +619,7 @@ public class InsuranceClaim implements JSONSerializable {
      * @param comments The comments.
      */
     public void updateComments(String comments) {
-        this.comments = comments;
+        record(ClaimEventType.COMMENTS_UPDATED, null, comments);
     }
 
 
@@ -469,7 +630,7 @@ public class InsuranceClaim implements JSONSerializable {
      * @return The generated ClaimID as a String.
      */
     private static String generateClaimId() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DataGenerator.now();
         String datePart = now.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         String randomPart = DataGenerator.generateRandomString(4);
 
@@ -492,16 +653,12 @@ public class InsuranceClaim implements JSONSerializable {
 
     public void submitForProcessing() {
         validateStatusTransition(ClaimStatus.SUBMITTED);
-        this.claimStatus = ClaimStatus.SUBMITTED;
-        this.submissionDate = LocalDateTime.now();
-        this.lastUpdatedDate = LocalDateTime.now();
+        record(ClaimEventType.SUBMITTED, null, null);
     }
 
     public void startReview() {
         validateStatusTransition(ClaimStatus.IN_REVIEW);
-        this.claimStatus = ClaimStatus.IN_REVIEW;
-        this.submissionDate = LocalDateTime.now();
-        this.lastUpdatedDate = LocalDateTime.now();
+        record(ClaimEventType.IN_REVIEW, null, null);
     }
 
 
@@ -522,13 +679,11 @@ public class InsuranceClaim implements JSONSerializable {
         }
 
         if (amount.compareTo(claimAmount) >= 0) {
-            this.approvedAmount = claimAmount;
-            updateStatus(ClaimStatus.APPROVED);
+            validateStatusTransition(ClaimStatus.APPROVED);
+            record(ClaimEventType.APPROVED, claimAmount, null);
         } else {
             processPartialApproval(amount, "Approved for partial payment based on policy coverage");
         }
-
-        this.lastUpdatedDate = LocalDateTime.now();
     }
 
 
@@ -197,7 +197,7 @@ abstract class HumanBuilder<T extends HumanBuilder<T>> {
      */
     public T withRandomBaseData() {
         this.name = DataGenerator.getRandomElement(DataGenerator.getAllNames(getNameType()));
-        this.dateOfBirth = LocalDate.now().minusYears(DataGenerator.generateRandomInt(20, 60)); // Age between 20-60
+        this.dateOfBirth = DataGenerator.now().toLocalDate().minusYears(DataGenerator.generateRandomInt(20, 60)); // Age between 20-60
         this.nricFin = DataGenerator.generateNRICNumber();
         this.maritalStatus = DataGenerator.getRandomEnum(MaritalStatus.class);
         this.residentialStatus = DataGenerator.getRandomEnum(ResidentialStatus.class);
@@ -5,7 +5,6 @@ import org.bee.utils.DataGenerator;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
 
 /**
  * A builder class for creating instances of {@link Patient}.
@@ -16,15 +15,6 @@ import java.util.Random;
  * </p>
  */
 public class PatientBuilder extends HumanBuilder<PatientBuilder> {
-    /**
-     * A shared random number generator used for generating random patient attributes,
-     * such as height, weight, drug allergies, and next of kin details.
-     * <p>
-     * This ensures that all instances of {@code PatientBuilder} use the same
-     * random generator, promoting consistency in random data generation.
-     * </p>
-     */
-    private static final Random random = new Random();
     /** List of possible drug allergies for random data generation. */
     private static final String[] DRUG_ALLERGIES = {
             "Penicillin", "Aspirin", "Ibuprofen", "Sulfa", "None"
@@ -202,10 +192,10 @@ public class PatientBuilder extends HumanBuilder<PatientBuilder> {
         
 
         // Generate height between 1.5m and 2m
-        this.height = 1.5 + random.nextDouble() * 0.5;
+        this.height = 1.5 + DataGenerator.generateRandomDouble() * 0.5;
 
         // Generate weight between 45kg and 100kg
-        this.weight = 45 + random.nextDouble() * 55;
+        this.weight = 45 + DataGenerator.generateRandomDouble() * 55;
 
         // Generate NOK relation and name
         this.nokRelation = DataGenerator.getRandomEnum(NokRelation.class);
@@ -222,9 +212,9 @@ public class PatientBuilder extends HumanBuilder<PatientBuilder> {
 
         // Generate drug allergies (0-2 allergies)
         this.drugAllergies.clear();
-        int numAllergies = random.nextInt(3);
+        int numAllergies = DataGenerator.generateRandomInt(3);
         for (int i = 0; i < numAllergies; i++) {
-            this.drugAllergies.add(DRUG_ALLERGIES[random.nextInt(DRUG_ALLERGIES.length)]);
+            this.drugAllergies.add(DRUG_ALLERGIES[DataGenerator.generateRandomInt(DRUG_ALLERGIES.length)]);
         }
 
         return self();
@@ -77,4 +77,13 @@ public class Staff extends Human {
     public String getStaffId() {
         return staffId;
     }
+
+    /**
+     * Gets the department.
+     *
+     * @return the department
+     */
+    public String getDepartment() {
+        return department;
+    }
 }
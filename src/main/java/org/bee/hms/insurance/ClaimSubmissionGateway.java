@@ -0,0 +1,320 @@
+package org.bee.hms.insurance;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import org.bee.execeptions.ProviderUnavailableException;
+import org.bee.hms.claims.ClaimStatus;
+import org.bee.hms.claims.InsuranceClaim;
+
+/**
+ * Submits claims to insurance providers in the background.
+ * <p>
+ * Each accepted claim is worked on by its own virtual thread, which submits the claim
+ * if it is still a draft and then asks the provider to decide it. The gateway holds at
+ * most a fixed number of unfinished claims, limits how many calls run against one
+ * provider at a time, and retries calls that fail with a
+ * {@link ProviderUnavailableException} using exponential backoff.
+ * </p>
+ * <p>
+ * A claim is only ever worked on by one thread. The change listener is called after
+ * every attempt so that the claim's new events can be persisted as they happen.
+ * </p>
+ */
+public class ClaimSubmissionGateway implements AutoCloseable {
+
+    /**
+     * Outcome of working on one claim.
+     *
+     * @param claimId  The claim ID
+     * @param status   The claim status when work stopped
+     * @param attempts The number of attempts made
+     * @param error    Why the claim could not be decided, or {@code null} on success
+     */
+    public record SubmissionResult(String claimId, ClaimStatus status, int attempts, String error) {
+
+        /**
+         * Checks whether the claim was submitted and decided.
+         *
+         * @return {@code true} if no error occurred
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /** Transport used for provider calls */
+    private final ProviderClient client;
+
+    /** Maximum number of unfinished claims */
+    private final int queueCapacity;
+
+    /** Free places for unfinished claims */
+    private final Semaphore queueSlots;
+
+    /** Maximum number of concurrent calls to one provider */
+    private final int maxConcurrentPerProvider;
+
+    /** Call permits keyed by provider name */
+    private final ConcurrentHashMap<String, Semaphore> providerPermits = new ConcurrentHashMap<>();
+
+    /** IDs of claims that are queued or being worked on */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /** Maximum number of attempts per claim */
+    private final int maxAttempts;
+
+    /** Backoff before the first retry, in milliseconds */
+    private final long initialBackoffMillis;
+
+    /** Upper bound on the backoff, in milliseconds */
+    private final long maxBackoffMillis;
+
+    /** Called with the claim after every attempt */
+    private final Consumer<InsuranceClaim> changeListener;
+
+    /** Runs one virtual thread per claim */
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Whether the gateway still accepts claims */
+    private volatile boolean closed;
+
+    /**
+     * Creates a claim submission gateway.
+     *
+     * @param client                   Transport used for provider calls
+     * @param queueCapacity            Maximum number of unfinished claims
+     * @param maxConcurrentPerProvider Maximum number of concurrent calls to one provider
+     * @param maxAttempts              Maximum number of attempts per claim
+     * @param initialBackoff           Backoff before the first retry, doubled on each further retry
+     * @param maxBackoff               Upper bound on the backoff
+     * @param changeListener           Called with the claim after every attempt
+     * @throws IllegalArgumentException If a limit is not positive or the backoff range is invalid
+     */
+    public ClaimSubmissionGateway(ProviderClient client, int queueCapacity, int maxConcurrentPerProvider,
+                                  int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                                  Consumer<InsuranceClaim> changeListener) {
+        if (queueCapacity <= 0 || maxConcurrentPerProvider <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Queue capacity, provider concurrency and attempts must be positive");
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Invalid backoff range: " + initialBackoff + " to " + maxBackoff);
+        }
+        this.client = client;
+        this.queueCapacity = queueCapacity;
+        this.queueSlots = new Semaphore(queueCapacity);
+        this.maxConcurrentPerProvider = maxConcurrentPerProvider;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Queues a claim for submission and adjudication without waiting for the provider.
+     *
+     * @param claim The claim to work on
+     * @return A future completed with the outcome, or empty if the queue is full
+     *         or the claim is already queued
+     * @throws IllegalStateException If the gateway has been closed
+     */
+    public Optional<CompletableFuture<SubmissionResult>> offer(InsuranceClaim claim) {
+        if (closed) {
+            throw new IllegalStateException("Claim submission gateway is closed");
+        }
+        if (!inFlight.add(claim.getClaimId())) {
+            return Optional.empty();
+        }
+        if (!queueSlots.tryAcquire()) {
+            inFlight.remove(claim.getClaimId());
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return process(claim);
+                } finally {
+                    inFlight.remove(claim.getClaimId());
+                    queueSlots.release();
+                }
+            }, workers));
+        } catch (RuntimeException e) {
+            inFlight.remove(claim.getClaimId());
+            queueSlots.release();
+            throw new IllegalStateException("Claim submission gateway is closed", e);
+        }
+    }
+
+    /**
+     * Gets the number of claims that are queued or being worked on.
+     *
+     * @return The number of unfinished claims
+     */
+    public int getPendingCount() {
+        return queueCapacity - queueSlots.availablePermits();
+    }
+
+    /**
+     * Checks whether a claim is queued or being worked on.
+     *
+     * @param claimId The claim ID
+     * @return {@code true} if the claim is unfinished
+     */
+    public boolean isPending(String claimId) {
+        return inFlight.contains(claimId);
+    }
+
+    /**
+     * Gets the number of claims that can still be queued.
+     *
+     * @return The free queue capacity
+     */
+    public int getRemainingCapacity() {
+        return queueSlots.availablePermits();
+    }
+
+    /**
+     * Stops accepting claims and waits for the unfinished ones to complete.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        workers.close();
+    }
+
+    /**
+     * Submits and decides a claim, retrying provider failures.
+     *
+     * @param claim The claim to work on
+     * @return The outcome
+     */
+    private SubmissionResult process(InsuranceClaim claim) {
+        InsuranceProvider provider = claim.getInsuranceProvider();
+        if (provider == null) {
+            return result(claim, 0, "Claim has no insurance provider");
+        }
+        Semaphore permits = providerPermits.computeIfAbsent(providerKey(provider),
+                key -> new Semaphore(maxConcurrentPerProvider, true));
+
+        for (int attempt = 1; ; attempt++) {
+            String error;
+            try {
+                advance(provider, permits, claim);
+                return result(claim, attempt, null);
+            } catch (ProviderUnavailableException e) {
+                error = e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result(claim, attempt, "Interrupted");
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                return result(claim, attempt, e.getMessage());
+            } finally {
+                notifyChanged(claim);
+            }
+
+            if (attempt >= maxAttempts) {
+                return result(claim, attempt, "Gave up after " + attempt + " attempts: " + error);
+            }
+            try {
+                Thread.sleep(backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result(claim, attempt, "Interrupted");
+            }
+        }
+    }
+
+    /**
+     * Moves a claim forward by as many provider calls as it still needs.
+     * Steps that already succeeded on an earlier attempt are skipped.
+     *
+     * @param provider The claim's provider
+     * @param permits  Call permits for the provider
+     * @param claim    The claim to work on
+     * @throws ProviderUnavailableException If a provider call fails
+     * @throws InterruptedException         If interrupted waiting for a permit
+     * @throws IllegalStateException        If the provider rejects the claim
+     */
+    private void advance(InsuranceProvider provider, Semaphore permits, InsuranceClaim claim)
+            throws ProviderUnavailableException, InterruptedException {
+        if (claim.isDraft()) {
+            permits.acquire();
+            try {
+                if (!client.submit(provider, claim.getPatient(), claim)) {
+                    throw new IllegalStateException("Provider rejected the claim");
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        if (claim.isSubmitted()) {
+            permits.acquire();
+            try {
+                if (!client.adjudicate(provider, claim.getPatient(), claim)) {
+                    throw new IllegalStateException("Provider did not decide the claim");
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Computes the wait before the next attempt.
+     * The delay doubles on each retry up to the maximum, and a random part is added so
+     * that claims failing together do not all retry at the same moment.
+     *
+     * @param attempt The attempt that just failed, starting at 1
+     * @return The delay in milliseconds
+     */
+    private long backoffMillis(int attempt) {
+        long delay = initialBackoffMillis << Math.min(attempt - 1, 30);
+        delay = Math.min(delay, maxBackoffMillis);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /**
+     * Passes the claim to the change listener, logging listener failures.
+     *
+     * @param claim The claim that may have changed
+     */
+    private void notifyChanged(InsuranceClaim claim) {
+        try {
+            changeListener.accept(claim);
+        } catch (RuntimeException e) {
+            System.err.println("Error recording changes for claim " + claim.getClaimId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the key used to group calls by provider.
+     *
+     * @param provider The provider
+     * @return The provider name, or its class name if it has none
+     */
+    private static String providerKey(InsuranceProvider provider) {
+        String name = provider.getProviderName();
+        return name != null ? name : provider.getClass().getName();
+    }
+
+    /**
+     * Builds the outcome for a claim.
+     *
+     * @param claim    The claim
+     * @param attempts The number of attempts made
+     * @param error    The error, or {@code null} on success
+     * @return The outcome
+     */
+    private static SubmissionResult result(InsuranceClaim claim, int attempts, String error) {
+        return new SubmissionResult(claim.getClaimId(), claim.getClaimStatus(), attempts, error);
+    }
+}
@@ -0,0 +1,37 @@
+package org.bee.hms.insurance;
+
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Patient;
+
+/**
+ * Provider client that calls the in-process {@link InsuranceProvider} directly.
+ * This is the behaviour the system had before claims were submitted through the gateway.
+ */
+public class DirectProviderClient implements ProviderClient {
+
+    /**
+     * Submits the claim with {@link InsuranceProvider#submitClaim(Patient, InsuranceClaim)}.
+     *
+     * @param provider The provider to submit to
+     * @param patient  The patient associated with the claim
+     * @param claim    The claim to submit
+     * @return {@code true} if the provider accepted the claim
+     */
+    @Override
+    public boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim) {
+        return provider.submitClaim(patient, claim);
+    }
+
+    /**
+     * Decides the claim with {@link InsuranceProvider#processClaim(Patient, InsuranceClaim)}.
+     *
+     * @param provider The provider to ask
+     * @param patient  The patient associated with the claim
+     * @param claim    The submitted claim
+     * @return {@code true} if the provider decided the claim
+     */
+    @Override
+    public boolean adjudicate(InsuranceProvider provider, Patient patient, InsuranceClaim claim) {
+        return provider.processClaim(patient, claim);
+    }
+}
@@ -2,7 +2,6 @@ package org.bee.hms.insurance;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -239,7 +238,7 @@ public class GovernmentProvider extends InsuranceProvider {
         HeldInsurancePolicy policy = new HeldInsurancePolicy.Builder(String.format("GOVT-%010d-%s",
                 DataGenerator.generateRandomInt(1_000_000_000),
                 patient.getPatientId()), patient, finalCoverage, this, "Government base policy")
-                .withExpirationDate(LocalDateTime.now().plusYears(1))
+                .withExpirationDate(DataGenerator.now().plusYears(1))
                 .build();
 
         return Optional.of(policy);
@@ -148,7 +148,7 @@ public class PrivateProvider extends InsuranceProvider {
                 ))
                 .build();
 
-        LocalDateTime expirationDate = LocalDateTime.now()
+        LocalDateTime expirationDate = DataGenerator.now()
                 .plusYears(DataGenerator.generateRandomInt(1, 10))
                 .plusMonths(DataGenerator.generateRandomInt(0, 11))
                 .plusDays(DataGenerator.generateRandomInt(0, 30));
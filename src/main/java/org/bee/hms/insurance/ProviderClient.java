@@ -0,0 +1,42 @@
+package org.bee.hms.insurance;
+
+import org.bee.execeptions.ProviderUnavailableException;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Patient;
+
+/**
+ * Transport used to send claims to an insurance provider's system.
+ * <p>
+ * Implementations may block for the duration of the round trip. A call that fails with
+ * {@link ProviderUnavailableException} must not have changed the claim, so it can be retried.
+ * </p>
+ *
+ * @see DirectProviderClient
+ * @see SimulatedProviderClient
+ */
+public interface ProviderClient {
+
+    /**
+     * Submits a draft claim to the provider.
+     *
+     * @param provider The provider to submit to
+     * @param patient  The patient associated with the claim
+     * @param claim    The claim to submit
+     * @return {@code true} if the provider accepted the claim
+     * @throws ProviderUnavailableException If the provider could not be reached
+     */
+    boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+            throws ProviderUnavailableException;
+
+    /**
+     * Asks the provider to review and decide a submitted claim.
+     *
+     * @param provider The provider to ask
+     * @param patient  The patient associated with the claim
+     * @param claim    The submitted claim
+     * @return {@code true} if the provider decided the claim
+     * @throws ProviderUnavailableException If the provider could not be reached
+     */
+    boolean adjudicate(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+            throws ProviderUnavailableException;
+}
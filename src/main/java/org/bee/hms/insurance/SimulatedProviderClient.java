@@ -0,0 +1,119 @@
+package org.bee.hms.insurance;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.bee.execeptions.ProviderUnavailableException;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Patient;
+
+/**
+ * Local stand-in for a remote provider system.
+ * <p>
+ * Each call waits for a random latency and then either fails with a
+ * {@link ProviderUnavailableException} or passes the call on to a delegate client.
+ * Failures happen before the delegate is called, so the claim is never half updated.
+ * </p>
+ */
+public class SimulatedProviderClient implements ProviderClient {
+
+    /** Client that performs the call once it gets through */
+    private final ProviderClient delegate;
+
+    /** Shortest simulated round trip in milliseconds */
+    private final long minLatencyMillis;
+
+    /** Longest simulated round trip in milliseconds */
+    private final long maxLatencyMillis;
+
+    /** Probability in [0, 1] that a call fails */
+    private final double failureRate;
+
+    /** Source of latencies and failures */
+    private final Random random;
+
+    /**
+     * Creates a simulated provider client.
+     *
+     * @param delegate    Client that performs the call once it gets through
+     * @param minLatency  Shortest simulated round trip
+     * @param maxLatency  Longest simulated round trip
+     * @param failureRate Probability in [0, 1] that a call fails
+     * @param seed        Seed for the latency and failure draws
+     * @throws IllegalArgumentException If the latencies or failure rate are out of range
+     */
+    public SimulatedProviderClient(ProviderClient delegate, Duration minLatency, Duration maxLatency,
+                                   double failureRate, long seed) {
+        if (minLatency.isNegative() || maxLatency.compareTo(minLatency) < 0) {
+            throw new IllegalArgumentException("Invalid latency range: " + minLatency + " to " + maxLatency);
+        }
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Failure rate must be between 0 and 1: " + failureRate);
+        }
+        this.delegate = delegate;
+        this.minLatencyMillis = minLatency.toMillis();
+        this.maxLatencyMillis = maxLatency.toMillis();
+        this.failureRate = failureRate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Simulates a submission round trip before delegating.
+     *
+     * @param provider The provider to submit to
+     * @param patient  The patient associated with the claim
+     * @param claim    The claim to submit
+     * @return The delegate's result
+     * @throws ProviderUnavailableException If the simulated call fails
+     */
+    @Override
+    public boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+            throws ProviderUnavailableException {
+        roundTrip(provider, "submission");
+        return delegate.submit(provider, patient, claim);
+    }
+
+    /**
+     * Simulates an adjudication round trip before delegating.
+     *
+     * @param provider The provider to ask
+     * @param patient  The patient associated with the claim
+     * @param claim    The submitted claim
+     * @return The delegate's result
+     * @throws ProviderUnavailableException If the simulated call fails
+     */
+    @Override
+    public boolean adjudicate(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+            throws ProviderUnavailableException {
+        roundTrip(provider, "adjudication");
+        return delegate.adjudicate(provider, patient, claim);
+    }
+
+    /**
+     * Waits for a random latency and then decides whether the call fails.
+     *
+     * @param provider  The provider being called
+     * @param operation Name of the call, used in the failure message
+     * @throws ProviderUnavailableException If the call fails or the wait is interrupted
+     */
+    private void roundTrip(InsuranceProvider provider, String operation) throws ProviderUnavailableException {
+        long latency;
+        boolean fail;
+        synchronized (random) {
+            latency = minLatencyMillis + (maxLatencyMillis > minLatencyMillis
+                    ? random.nextLong(maxLatencyMillis - minLatencyMillis + 1) : 0);
+            fail = random.nextDouble() < failureRate;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException("Interrupted waiting for " + operation, e);
+        }
+        if (fail) {
+            String name = provider.getProviderName() != null
+                    ? provider.getProviderName() : provider.getClass().getSimpleName();
+            throw new ProviderUnavailableException(name + " timed out during " + operation);
+        }
+    }
+}
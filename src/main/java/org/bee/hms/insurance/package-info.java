@@ -7,6 +7,10 @@
  *   <li>{@link org.bee.hms.insurance.PrivateProvider} - Private insurance plans</li>
  * </ul>
  *
+ * <p>Claims reach providers through a {@link org.bee.hms.insurance.ProviderClient}.
+ * The {@link org.bee.hms.insurance.ClaimSubmissionGateway} sends claims in the background
+ * and retries failed calls.
+ *
  * <p>These classes:
  * <ul>
  *   <li>Manage patient insurance policies</li>
@@ -0,0 +1,92 @@
+package org.bee.hms.medical;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * A doctor's decision to prescribe a medication despite an allergy warning,
+ * kept on the consultation so it can be reviewed later.
+ */
+public final class AllergyOverride implements JSONSerializable {
+
+    /** Staff ID of the doctor who overrode the warning */
+    private final String doctorId;
+
+    /** Code of the medication prescribed */
+    private final String drugCode;
+
+    /** The warning that was overridden */
+    private final String warning;
+
+    /** When the warning was overridden */
+    private final LocalDateTime overriddenAt;
+
+    /**
+     * Creates an override.
+     *
+     * @param doctorId     Staff ID of the doctor who overrode the warning
+     * @param drugCode     Code of the medication prescribed
+     * @param warning      The warning that was overridden
+     * @param overriddenAt When the warning was overridden
+     */
+    @JsonCreator
+    public AllergyOverride(@JsonProperty("doctorId") String doctorId,
+                           @JsonProperty("drugCode") String drugCode,
+                           @JsonProperty("warning") String warning,
+                           @JsonProperty("overriddenAt") LocalDateTime overriddenAt) {
+        this.doctorId = doctorId;
+        this.drugCode = Objects.requireNonNull(drugCode, "Drug code cannot be null");
+        this.warning = Objects.requireNonNull(warning, "Warning cannot be null");
+        this.overriddenAt = Objects.requireNonNull(overriddenAt, "Override time cannot be null");
+    }
+
+    /**
+     * Gets the staff ID of the doctor who overrode the warning.
+     *
+     * @return The doctor's staff ID, or null if it is not known
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * Gets the code of the medication prescribed.
+     *
+     * @return The drug code
+     */
+    public String getDrugCode() {
+        return drugCode;
+    }
+
+    /**
+     * Gets the warning that was overridden.
+     *
+     * @return The warning
+     */
+    public String getWarning() {
+        return warning;
+    }
+
+    /**
+     * Gets when the warning was overridden.
+     *
+     * @return The override time
+     */
+    public LocalDateTime getOverriddenAt() {
+        return overriddenAt;
+    }
+
+    /**
+     * Describes the override in one line.
+     *
+     * @return The description
+     */
+    public String describe() {
+        return String.format("%s by %s at %s", warning, doctorId == null ? "unknown doctor" : doctorId,
+                overriddenAt.withNano(0));
+    }
+}
@@ -0,0 +1,249 @@
+package org.bee.hms.medical;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
+
+/**
+ * Running charge total and billable items of a visit or consultation.
+ * <p>
+ * Items are kept in sections, one for each collection of the record, so they stay grouped
+ * in billing order however they were added. The total is updated as items are added,
+ * replaced or removed, so reading it never walks the items again.
+ * </p>
+ * <p>
+ * A tally remembers the collections it was built from. The record checks them with
+ * {@link #isCurrent} before trusting the tally, so a collection that was replaced or
+ * changed size without going through the record makes it build a new one.
+ * </p>
+ */
+final class ChargeTally {
+
+    /** The flat charge the tally was built with, such as a consultation fee */
+    private BigDecimal base;
+
+    /** The collections the sections were built from, compared by identity */
+    private final Object[] sources;
+
+    /** The items of each source, in the order of {@link #sources} */
+    private final List<List<BillableItem>> sections;
+
+    /** The flat charge plus the charges of every item, in cents */
+    private long totalCents;
+
+    /** Read-only view over every section in turn */
+    private final List<BillableItem> items = new AbstractList<>() {
+        @Override
+        public BillableItem get(int index) {
+            int offset = index;
+            for (List<BillableItem> section : sections) {
+                if (offset < section.size()) {
+                    return section.get(offset);
+                }
+                offset -= section.size();
+            }
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (List<BillableItem> section : sections) {
+                size += section.size();
+            }
+            return size;
+        }
+    };
+
+    /**
+     * Builds a tally from a record's collections.
+     *
+     * @param base    The flat charge on top of the items, or {@code null} if there is none
+     * @param sources The record's collections in billing order. Each is a collection of
+     *                billable items, a prescription map, or {@code null}.
+     */
+    ChargeTally(BigDecimal base, Object... sources) {
+        this.base = base;
+        this.sources = sources.clone();
+        this.sections = new ArrayList<>(sources.length);
+        this.totalCents = Money.of(base).getCents();
+        for (Object source : sources) {
+            List<BillableItem> section = new ArrayList<>(sizeOf(source));
+            if (source instanceof Map<?, ?> prescriptions) {
+                prescriptions.forEach((medication, quantity) ->
+                        section.add(new MedicationBillableItem((Medication) medication, (Integer) quantity)));
+            } else if (source != null) {
+                for (Object item : (Collection<?>) source) {
+                    section.add((BillableItem) item);
+                }
+            }
+            for (BillableItem item : section) {
+                totalCents = Math.addExact(totalCents, centsOf(item));
+            }
+            sections.add(section);
+        }
+    }
+
+    /**
+     * Checks if the tally still matches a record's collections.
+     *
+     * @param base    The record's flat charge
+     * @param sources The record's collections, in the order the tally was built with
+     * @return {@code true} if every collection is the one the tally was built from and has
+     *         as many entries as its section
+     */
+    boolean isCurrent(BigDecimal base, Object... sources) {
+        if (base != this.base) {
+            return false;
+        }
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] != this.sources[i] || sizeOf(sources[i]) != sections.get(i).size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the flat charge plus the charges of every item.
+     *
+     * @return The total in cents
+     */
+    long getTotalCents() {
+        return totalCents;
+    }
+
+    /**
+     * Gets the items of every section in turn.
+     *
+     * @return A read-only view of the items, which follows later changes to the tally
+     */
+    List<BillableItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Replaces the flat charge.
+     *
+     * @param base The new flat charge, or {@code null} if there is none
+     */
+    void setBase(BigDecimal base) {
+        totalCents = Math.addExact(totalCents - Money.of(this.base).getCents(), Money.of(base).getCents());
+        this.base = base;
+    }
+
+    /**
+     * Adds an item to the end of a section.
+     *
+     * @param section The section index
+     * @param item    The item
+     */
+    void add(int section, BillableItem item) {
+        sections.get(section).add(item);
+        totalCents = Math.addExact(totalCents, centsOf(item));
+    }
+
+    /**
+     * Removes the first equal item from a section.
+     *
+     * @param section The section index
+     * @param item    The item
+     */
+    void remove(int section, BillableItem item) {
+        if (sections.get(section).remove(item)) {
+            totalCents -= centsOf(item);
+        }
+    }
+
+    /**
+     * Sets the quantity of a medication in a section of prescriptions.
+     * The medication's item is replaced in place, or added if the section has none.
+     *
+     * @param section    The section index
+     * @param medication The medication
+     * @param quantity   The medication's new quantity
+     */
+    void putPrescription(int section, Medication medication, int quantity) {
+        List<BillableItem> items = sections.get(section);
+        MedicationBillableItem item = new MedicationBillableItem(medication, quantity);
+        int index = indexOf(items, medication);
+        if (index < 0) {
+            items.add(item);
+        } else {
+            totalCents -= centsOf(items.set(index, item));
+        }
+        totalCents = Math.addExact(totalCents, centsOf(item));
+    }
+
+    /**
+     * Removes a medication from a section of prescriptions.
+     *
+     * @param section    The section index
+     * @param medication The medication
+     */
+    void removePrescription(int section, Medication medication) {
+        List<BillableItem> items = sections.get(section);
+        int index = indexOf(items, medication);
+        if (index >= 0) {
+            totalCents -= centsOf(items.remove(index));
+        }
+    }
+
+    /**
+     * Removes every item of a section.
+     *
+     * @param section The section index
+     */
+    void clear(int section) {
+        List<BillableItem> items = sections.get(section);
+        for (BillableItem item : items) {
+            totalCents -= centsOf(item);
+        }
+        items.clear();
+    }
+
+    /**
+     * Finds a medication's item in a section of prescriptions.
+     *
+     * @param items      The section's items
+     * @param medication The medication
+     * @return The index of the item, or -1 if there is none
+     */
+    private static int indexOf(List<BillableItem> items, Medication medication) {
+        for (int i = 0; i < items.size(); i++) {
+            if (((MedicationBillableItem) items.get(i)).getMedication() == medication) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the unsubsidised charge of an item.
+     *
+     * @param item The item
+     * @return The charge in cents
+     */
+    private static long centsOf(BillableItem item) {
+        return item.getUnsubsidisedAmount().getCents();
+    }
+
+    /**
+     * Gets the number of entries in a collection or map.
+     *
+     * @param source The collection, map or {@code null}
+     * @return The number of entries, 0 for {@code null}
+     */
+    private static int sizeOf(Object source) {
+        if (source instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return source == null ? 0 : ((Collection<?>) source).size();
+    }
+}
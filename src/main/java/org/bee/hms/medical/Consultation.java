@@ -9,6 +9,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
 import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Patient;
 import org.bee.hms.policy.BenefitType;
@@ -69,6 +70,11 @@ public class Consultation implements JSONSerializable {
     @JsonProperty("prescriptions")
     private Map<Medication, Integer> prescriptions;
 
+    /**
+     * Allergy warnings the doctor overrode to prescribe, oldest first
+     */
+    private List<AllergyOverride> allergyOverrides;
+
     /**
      * Additional notes regarding the consultation
      */
@@ -125,15 +131,34 @@ public class Consultation implements JSONSerializable {
     private Doctor doctor;
 
     /**
-     * List of treatments assigned to the patient.
+     * Treatments nested in consultations saved before they were stored by
+     * {@link org.bee.controllers.TreatmentController}. Read but never written, and handed over on load.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private ArrayList<Treatment> treatments;
 
     /**
-     * List of lab tests ordered for the patient.
+     * Lab tests nested in consultations saved before they were stored by
+     * {@link org.bee.controllers.LabTestController}. Read but never written, and handed over on load.
      */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private ArrayList<LabTest> labTests;
 
+    /** Section of the charge tally holding the diagnostic codes */
+    private static final int DIAGNOSES = 0;
+    /** Section of the charge tally holding the procedure codes */
+    private static final int PROCEDURES = 1;
+    /** Section of the charge tally holding the prescriptions */
+    private static final int PRESCRIPTIONS = 2;
+
+    /**
+     * Running total and billable items of the consultation, or {@code null} until the charges are first read.
+     * It is updated as codes and prescriptions are added or removed, so reading the charges again
+     * does not walk every item.
+     */
+    @JsonIgnore
+    private ChargeTally charges;
+
 
     /**
      * Creates a consultation with random data for testing purposes.
@@ -316,26 +341,12 @@ public class Consultation implements JSONSerializable {
      * procedure codes, and prescribed medications with their quantities.
      * </p>
      *
-     * @return A list of related {@link BillableItem} instances.
+     * @return A read-only list of related {@link BillableItem} instances. The list follows later
+     *         changes made through this consultation's methods.
      */
     @JsonIgnore
     public List<BillableItem> getRelatedBillableItems() {
-        List<BillableItem> items = new ArrayList<>();
-
-        if (diagnosticCodes != null) {
-            items.addAll(diagnosticCodes);
-        }
-
-        if (procedureCodes != null) {
-            items.addAll(procedureCodes);
-        }
-
-        if (prescriptions != null) {
-            prescriptions.forEach((medication, quantity) ->
-                    items.add(new MedicationBillableItem(medication, quantity)));
-        }
-
-        return items;
+        return getCharges().getItems();
     }
 
     /**
@@ -358,27 +369,35 @@ public class Consultation implements JSONSerializable {
      */
     @JsonIgnore
     public BigDecimal calculateCharges() {
-        BigDecimal total = consultationFee;
-
-        if (diagnosticCodes != null) {
-            total = total.add(diagnosticCodes.stream()
-                    .map(DiagnosticCode::getUnsubsidisedCharges)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
+        return Money.ofCents(getCharges().getTotalCents()).toBigDecimal();
+    }
 
-        if (procedureCodes != null) {
-            total = total.add(procedureCodes.stream()
-                    .map(ProcedureCode::getUnsubsidisedCharges)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+    /**
+     * Gets the charge tally, building it if there is none or the consultation's items were changed
+     * without going through its methods.
+     *
+     * @return The charge tally
+     */
+    private ChargeTally getCharges() {
+        ChargeTally tally = currentCharges();
+        if (tally == null) {
+            tally = new ChargeTally(consultationFee, diagnosticCodes, procedureCodes, prescriptions);
+            charges = tally;
         }
+        return tally;
+    }
 
-        if (prescriptions != null) {
-            total = total.add(prescriptions.entrySet().stream()
-                    .map(entry -> entry.getKey().calculateCost(entry.getValue()))
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+    /**
+     * Gets the charge tally if it still matches the consultation's fee and items.
+     *
+     * @return The charge tally, or {@code null} if it has to be built again
+     */
+    private ChargeTally currentCharges() {
+        if (charges != null
+                && !charges.isCurrent(consultationFee, diagnosticCodes, procedureCodes, prescriptions)) {
+            charges = null;
         }
-
-        return total;
+        return charges;
     }
 
     /**
@@ -461,6 +480,7 @@ public class Consultation implements JSONSerializable {
     /**
      * Gets the list of diagnostic codes for this consultation.
      * The returned list can be modified directly to add or remove codes.
+     * Doing so makes the charges be tallied again when they are next read.
      *
      * @return The list of diagnostic codes
      */
@@ -468,6 +488,7 @@ public class Consultation implements JSONSerializable {
         if (this.diagnosticCodes == null) {
             this.diagnosticCodes = new ArrayList<>();
         }
+        this.charges = null;
         return this.diagnosticCodes;
     }
 
@@ -484,7 +505,12 @@ public class Consultation implements JSONSerializable {
         if (this.diagnosticCodes == null) {
             this.diagnosticCodes = new ArrayList<>();
         }
-        return this.diagnosticCodes.add(code);
+        ChargeTally tally = currentCharges();
+        this.diagnosticCodes.add(code);
+        if (tally != null) {
+            tally.add(DIAGNOSES, code);
+        }
+        return true;
     }
 
     /**
@@ -497,7 +523,14 @@ public class Consultation implements JSONSerializable {
         if (this.diagnosticCodes == null || code == null) {
             return false;
         }
-        return this.diagnosticCodes.remove(code);
+        ChargeTally tally = currentCharges();
+        if (!this.diagnosticCodes.remove(code)) {
+            return false;
+        }
+        if (tally != null) {
+            tally.remove(DIAGNOSES, code);
+        }
+        return true;
     }
 
     /**
@@ -505,13 +538,18 @@ public class Consultation implements JSONSerializable {
      */
     public void clearDiagnosticCodes() {
         if (this.diagnosticCodes != null) {
+            ChargeTally tally = currentCharges();
             this.diagnosticCodes.clear();
+            if (tally != null) {
+                tally.clear(DIAGNOSES);
+            }
         }
     }
 
     /**
      * Gets the list of procedure codes for this consultation.
      * The returned list can be modified directly to add or remove codes.
+     * Doing so makes the charges be tallied again when they are next read.
      *
      * @return The list of procedure codes
      */
@@ -519,6 +557,7 @@ public class Consultation implements JSONSerializable {
         if (this.procedureCodes == null) {
             this.procedureCodes = new ArrayList<>();
         }
+        this.charges = null;
         return this.procedureCodes;
     }
 
@@ -535,7 +574,12 @@ public class Consultation implements JSONSerializable {
         if (this.procedureCodes == null) {
             this.procedureCodes = new ArrayList<>();
         }
-        return this.procedureCodes.add(code);
+        ChargeTally tally = currentCharges();
+        this.procedureCodes.add(code);
+        if (tally != null) {
+            tally.add(PROCEDURES, code);
+        }
+        return true;
     }
 
     /**
@@ -548,7 +592,14 @@ public class Consultation implements JSONSerializable {
         if (this.procedureCodes == null || code == null) {
             return false;
         }
-        return this.procedureCodes.remove(code);
+        ChargeTally tally = currentCharges();
+        if (!this.procedureCodes.remove(code)) {
+            return false;
+        }
+        if (tally != null) {
+            tally.remove(PROCEDURES, code);
+        }
+        return true;
     }
 
     /**
@@ -556,13 +607,18 @@ public class Consultation implements JSONSerializable {
      */
     public void clearProcedureCodes() {
         if (this.procedureCodes != null) {
+            ChargeTally tally = currentCharges();
             this.procedureCodes.clear();
+            if (tally != null) {
+                tally.clear(PROCEDURES);
+            }
         }
     }
 
     /**
      * Gets the map of prescriptions for this consultation.
      * The returned map can be modified directly to add or update prescriptions.
+     * Doing so makes the charges be tallied again when they are next read.
      *
      * @return The map of prescriptions
      */
@@ -570,9 +626,31 @@ public class Consultation implements JSONSerializable {
         if (this.prescriptions == null) {
             this.prescriptions = new HashMap<>();
         }
+        this.charges = null;
         return this.prescriptions;
     }
 
+    /**
+     * Gets the allergy warnings overridden to prescribe in this consultation.
+     *
+     * @return A read-only list of the overrides, oldest first
+     */
+    public List<AllergyOverride> getAllergyOverrides() {
+        return allergyOverrides == null ? List.of() : Collections.unmodifiableList(allergyOverrides);
+    }
+
+    /**
+     * Records that an allergy warning was overridden to prescribe a medication.
+     *
+     * @param allergyOverride The override
+     */
+    public void recordAllergyOverride(AllergyOverride allergyOverride) {
+        if (this.allergyOverrides == null) {
+            this.allergyOverrides = new ArrayList<>();
+        }
+        this.allergyOverrides.add(allergyOverride);
+    }
+
     /**
      * Adds or updates a prescription in this consultation.
      *
@@ -586,7 +664,20 @@ public class Consultation implements JSONSerializable {
         if (this.prescriptions == null) {
             this.prescriptions = new HashMap<>();
         }
+        ChargeTally tally = currentCharges();
         this.prescriptions.put(medication, quantity);
+        if (tally != null) {
+            tally.putPrescription(PRESCRIPTIONS, medication, quantity);
+        }
+    }
+
+    /**
+     * Screens this consultation's prescriptions against the patient's drug allergies.
+     *
+     * @return The allergy warnings, empty if every prescription is safe for the patient
+     */
+    public List<PrescriptionScreener.AllergyWarning> screenPrescriptions() {
+        return PrescriptionScreener.getInstance().screen(patient, prescriptions == null ? Map.of() : prescriptions);
     }
 
     /**
@@ -599,7 +690,14 @@ public class Consultation implements JSONSerializable {
         if (this.prescriptions == null || medication == null) {
             return false;
         }
-        return this.prescriptions.remove(medication) != null;
+        ChargeTally tally = currentCharges();
+        if (this.prescriptions.remove(medication) == null) {
+            return false;
+        }
+        if (tally != null) {
+            tally.removePrescription(PRESCRIPTIONS, medication);
+        }
+        return true;
     }
 
     /**
@@ -607,7 +705,11 @@ public class Consultation implements JSONSerializable {
      */
     public void clearPrescriptions() {
         if (this.prescriptions != null) {
+            ChargeTally tally = currentCharges();
             this.prescriptions.clear();
+            if (tally != null) {
+                tally.clear(PRESCRIPTIONS);
+            }
         }
     }
 
@@ -643,6 +745,14 @@ public class Consultation implements JSONSerializable {
         this.visitReason = visitReason;
     }
 
+    /**
+     * Gets the follow-up date
+     * @return The follow-up date, or null if no follow-up is planned
+     */
+    public LocalDateTime getFollowUpDate() {
+        return followUpDate;
+    }
+
     /**
      * Sets the follow-up date
      * @param followUpDate Future follow-up date
@@ -659,22 +769,6 @@ public class Consultation implements JSONSerializable {
         this.instructions = instructions;
     }
 
-    /**
-     * Sets the treatments prescribed during this consultation
-     * @param treatments List of Treatment
-     */
-    public void setTreatments(ArrayList<Treatment> treatments) {
-        this.treatments = treatments;
-    }
-
-    /**
-     * Sets the lab tests ordered during this consultation
-     * @param labTests List of LabTest
-     */
-    public void setLabtests(ArrayList<LabTest> labTests) {
-        this.labTests = labTests;
-    }
-
     /**
      * Sets the unique identifier for this consultation
      * @param consultationId Consultation ID string
@@ -704,7 +798,11 @@ public class Consultation implements JSONSerializable {
      * @param consultationFee Fee amount
      */
     public void setConsultationFee(BigDecimal consultationFee) {
+        ChargeTally tally = currentCharges();
         this.consultationFee = consultationFee;
+        if (tally != null) {
+            tally.setBase(consultationFee);
+        }
     }
 
     /**
@@ -723,6 +821,14 @@ public class Consultation implements JSONSerializable {
         this.status = status;
     }
 
+    /**
+     * Gets the hospital department where consultation occurred
+     * @return HospitalDepartment enum value, or null if not recorded
+     */
+    public HospitalDepartment getDepartment() {
+        return department;
+    }
+
     /**
      * Sets the hospital department where consultation occurred
      * @param department HospitalDepartment enum value
@@ -748,20 +854,26 @@ public class Consultation implements JSONSerializable {
     }
 
     /**
-     * Returns the list of treatments associated with this medical claim.
+     * Removes the treatments read from an older file, which nested them in the consultation.
+     * Treatments are otherwise kept by {@link org.bee.controllers.TreatmentController}.
      *
-     * @return a mutable {@code ArrayList} of treatments associated with this claim
+     * @return the nested treatments, or an empty list if there were none
      */
-    public ArrayList<Treatment> getTreatments() {
-        return treatments;
+    public List<Treatment> takeNestedTreatments() {
+        List<Treatment> nested = treatments == null ? List.of() : treatments;
+        treatments = null;
+        return nested;
     }
 
     /**
-     * Returns the list of lab tests associated with this medical claim.
+     * Removes the lab tests read from an older file, which nested them in the consultation.
+     * Lab tests are otherwise kept by {@link org.bee.controllers.LabTestController}.
      *
-     * @return a mutable {@code ArrayList} of lab tests associated with this claim
+     * @return the nested lab tests, or an empty list if there were none
      */
-    public ArrayList<LabTest> getLabTests() {
-        return labTests;
+    public List<LabTest> takeNestedLabTests() {
+        List<LabTest> nested = labTests == null ? List.of() : labTests;
+        labTests = null;
+        return nested;
     }
 }
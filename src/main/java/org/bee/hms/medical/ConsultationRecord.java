@@ -0,0 +1,31 @@
+package org.bee.hms.medical;
+
+import org.bee.utils.JSONSerializable;
+
+/**
+ * A record made during an outpatient case, such as a {@link LabTest} or {@link Treatment}.
+ * Records are stored by their own controller and refer to the consultation and patient by ID.
+ */
+public interface ConsultationRecord extends JSONSerializable {
+
+    /**
+     * Gets the ID of the outpatient case the record belongs to.
+     *
+     * @return the consultation ID, or null if there is none.
+     */
+    String getConsultationId();
+
+    /**
+     * Gets the ID of the patient the record is for.
+     *
+     * @return the patient ID, or null if it is not known.
+     */
+    String getPatientId();
+
+    /**
+     * Sets the outpatient case the record belongs to, along with its ID and its patient's ID.
+     *
+     * @param consultation the outpatient case to set, or null if there is none.
+     */
+    void setConsultation(Consultation consultation);
+}
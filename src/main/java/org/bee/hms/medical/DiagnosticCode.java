@@ -1,10 +1,10 @@
 package org.bee.hms.medical;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -61,6 +61,15 @@ public class DiagnosticCode implements BillableItem, ClaimableItem, JSONSerializ
         loadCodesFromCsv();
     }
 
+    /** The codes in the registry, so a random one can be picked without copying the registry */
+    private static final List<String> CODES = List.copyOf(CODE_REGISTRY.keySet());
+
+    /** Codes for each benefit type in inpatient care, filled in on first use */
+    private static final Map<BenefitType, List<String>> INPATIENT_CODES = new EnumMap<>(BenefitType.class);
+
+    /** Codes for each benefit type in outpatient care, filled in on first use */
+    private static final Map<BenefitType, List<String>> OUTPATIENT_CODES = new EnumMap<>(BenefitType.class);
+
     /**
      * Private constructor to initialize a DiagnosticCode.
      * @param categoryCode          Category code of the diagnosis.
@@ -89,17 +98,14 @@ public class DiagnosticCode implements BillableItem, ClaimableItem, JSONSerializ
      */
     private static void loadCodesFromCsv() {
         String databaseDir = System.getProperty("database.dir", "database");
-        List<String[]> records = CSVHelper.readCSV(databaseDir + "/icd-10-cm.csv");
-
-        for (int i = 1; i < records.size(); i++) { // Skip header row
-            String[] record = records.get(i);
-            if (record.length >= 6) {
-                String categoryCode = record[0];
-                String diagnosisCode = record[1];
-                String fullCode = record[2];
-                String abbreviatedDesc = record[3].replaceAll("\"", "");
-                String fullDesc = record[4].replaceAll("\"", "");
-                String categoryTitle = record[5].replaceAll("\"", "");
+        CSVHelper.forEachRow(databaseDir + "/icd-10-cm.csv", true, record -> {
+            if (record.size() >= 6) {
+                String categoryCode = record.get(0);
+                String diagnosisCode = record.get(1);
+                String fullCode = record.get(2);
+                String abbreviatedDesc = record.get(3);
+                String fullDesc = record.get(4);
+                String categoryTitle = record.get(5);
 
                 DiagnosticCode diagnosticCode = new DiagnosticCode(
                         categoryCode,
@@ -112,7 +118,7 @@ public class DiagnosticCode implements BillableItem, ClaimableItem, JSONSerializ
 
                 CODE_REGISTRY.put(fullCode, diagnosticCode);
             }
-        }
+        });
     }
 
     /**
@@ -336,8 +342,7 @@ public class DiagnosticCode implements BillableItem, ClaimableItem, JSONSerializ
      * @return A randomly selected DiagnosticCode
      */
     public static DiagnosticCode getRandomCode() {
-        Set<String> codes = CODE_REGISTRY.keySet();
-        return createFromCode(DataGenerator.getRandomElement(codes));
+        return createFromCode(DataGenerator.getRandomElement(CODES));
     }
     
     /**
@@ -349,20 +354,21 @@ public class DiagnosticCode implements BillableItem, ClaimableItem, JSONSerializ
      */
 
     public static DiagnosticCode getRandomCodeForBenefitType(BenefitType benefitType, boolean isInPatient) {
-        // Create a list to store matching codes
-        List<String> matchingCodes = new java.util.ArrayList<>();
-        
-        // Iterate through all codes in the registry
-        for (Map.Entry<String, DiagnosticCode> entry : CODE_REGISTRY.entrySet()) {
-            DiagnosticCode code = entry.getValue();
-            
-            // Check if this code matches the specified benefit type
-            // We'll check for both inpatient and outpatient scenarios
-            if (code.resolveBenefitType(isInPatient) == benefitType) {
-                matchingCodes.add(entry.getKey());
-            }
+        Map<BenefitType, List<String>> codesByBenefit = isInPatient ? INPATIENT_CODES : OUTPATIENT_CODES;
+        List<String> matchingCodes;
+        synchronized (codesByBenefit) {
+            // The registry does not change, so the matching codes are found once per benefit type
+            matchingCodes = codesByBenefit.computeIfAbsent(benefitType, type -> {
+                List<String> codes = new java.util.ArrayList<>();
+                for (Map.Entry<String, DiagnosticCode> entry : CODE_REGISTRY.entrySet()) {
+                    if (entry.getValue().resolveBenefitType(isInPatient) == type) {
+                        codes.add(entry.getKey());
+                    }
+                }
+                return List.copyOf(codes);
+            });
         }
-        
+
         if (matchingCodes.isEmpty()) {
             throw new IllegalArgumentException("No diagnostic codes found for benefit type: " + benefitType);
         }
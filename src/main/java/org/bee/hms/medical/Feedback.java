@@ -1,9 +1,9 @@
 package org.bee.hms.medical;
 
 import org.bee.hms.humans.Patient;
-import java.util.ArrayList;
+import org.bee.utils.JSONSerializable;
+
 import java.util.Date;
-import java.util.List;
 
 /**
  * Represents a feedback entry provided by a patient regarding their medical
@@ -14,24 +14,31 @@ import java.util.List;
  * and service, the date of submission, and any additional remarks.
  * <p>
  * Each feedback entry is uniquely identified by a {@code feedbackID}, which is
- * automatically
- * assigned using a static counter.
- * <p>
- * Instances of this class are stored in a static list {@code instances} for
- * retrieval
- * and management.
+ * assigned when the feedback is stored by {@link org.bee.controllers.FeedbackController}.
  */
-public class Feedback {
+public class Feedback implements JSONSerializable {
+
+    /** Lowest rating a patient can give */
+    public static final int MIN_RATING = 1;
 
-    /** Static counter for generating unique feedback IDs, count set to 0 initially */
-    private static int count = 0;
+    /** Highest rating a patient can give */
+    public static final int MAX_RATING = 5;
 
-    /** Unique identifier feedbackID for this feedback */
+    /** Unique identifier feedbackID for this feedback, 0 until the feedback is stored */
     private int feedbackID;
 
     /** The patient whom provided the feedback. */
     private Patient patient;
 
+    /** The ID of the consultation the feedback is about, or null if it is about the hospital in general */
+    private String consultationId;
+
+    /** The staff ID of the doctor seen, or null if not known */
+    private String doctorId;
+
+    /** The department the patient was seen in, or null if not known */
+    private String department;
+
     /** Rating for medical care quality  */
     private int medicalCareRating;
 
@@ -62,70 +69,67 @@ public class Feedback {
     }
 
     /**
-     * A static list that stores all instances of the class
-     * The list keeps track of all feedback objects created in the system.
-     */
-    private static final List<Feedback> instances = new ArrayList<>();
-
-    /**
-     * Retrieves a list of all feedback instances.
-     *
-     * @return A list of all feedback objects.
-     */
-    public static List<Feedback> getAllFeedbacks() {
-        return instances;
-    }
-
-    /**
-     * Retrieves all feedback provided by a specific patient.
-     *
-     * @param patient The patient whose feedback is to be retrieved.
-     * @return A list of feedback objects associated with the given patient.
-     */
-    public static List<Feedback> getAllFeedbacksByPatient(Patient patient) {
-        List<Feedback> allFeedbacks = new ArrayList<>();
-        for (Feedback i : instances) {
-            if (i.getPatient().equals(patient)) {
-                allFeedbacks.add(i);
-            }
-        }
-        return allFeedbacks;
-    }
-
-    /**
-     * Constructs a new Feedback instance and adds it to the list of feedbacks.
+     * Constructs a new Feedback instance.
      *
      * @param patient           The patient who provided the feedback.
-     * @param medicalCareRating The rating for medical care (e.g., 1-5).
-     * @param serviceRating     The rating for service (e.g., 1-5).
+     * @param medicalCareRating The rating for medical care, from {@value #MIN_RATING} to {@value #MAX_RATING}.
+     * @param serviceRating     The rating for service, from {@value #MIN_RATING} to {@value #MAX_RATING}.
      * @param dateStamp         The date the feedback was given.
      * @param remarks           Additional comments provided by the patient.
+     * @throws IllegalArgumentException If a rating is out of range.
      */
     public Feedback(Patient patient, int medicalCareRating, int serviceRating,
                     Date dateStamp, String remarks) {
-        setFeedbackID(count++);
+        validateRating(medicalCareRating);
+        validateRating(serviceRating);
         this.patient = patient;
         this.dateStamp = dateStamp;
         this.remarks = remarks;
         this.medicalCareRating = medicalCareRating;
         this.serviceRating = serviceRating;
+    }
+
+    /**
+     * Constructs a new Feedback instance about a consultation, recording its doctor and department.
+     * The department is the consultation's department if recorded, otherwise the doctor's.
+     *
+     * @param consultation      The consultation the feedback is about.
+     * @param medicalCareRating The rating for medical care, from {@value #MIN_RATING} to {@value #MAX_RATING}.
+     * @param serviceRating     The rating for service, from {@value #MIN_RATING} to {@value #MAX_RATING}.
+     * @param dateStamp         The date the feedback was given.
+     * @param remarks           Additional comments provided by the patient.
+     * @throws IllegalArgumentException If a rating is out of range.
+     */
+    public Feedback(Consultation consultation, int medicalCareRating, int serviceRating,
+                    Date dateStamp, String remarks) {
+        this(consultation.getPatient(), medicalCareRating, serviceRating, dateStamp, remarks);
+        this.consultationId = consultation.getConsultationId();
+        if (consultation.getDoctor() != null) {
+            this.doctorId = consultation.getDoctor().getStaffId();
+            this.department = consultation.getDoctor().getDepartment();
+        }
+        if (consultation.getDepartment() != null) {
+            this.department = consultation.getDepartment().name();
+        }
+    }
 
-        instances.add(this);
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    private Feedback() {
     }
 
     /**
-     * Searches for a feedback entry by its ID.
+     * Checks that a rating is within range.
      *
-     * @param feedbackID The ID of the feedback to search for.
-     * @return The feedback object with the matching ID, or null if not found.
+     * @param rating The rating
+     * @throws IllegalArgumentException If the rating is out of range.
      */
-    public static Feedback searchFeedbackByID(int feedbackID) {
-        for (Feedback feedback : instances) {
-            if (feedback.getFeedbackID() == feedbackID) {
-                return feedback;
-            }
+    private static void validateRating(int rating) {
+        if (rating < MIN_RATING || rating > MAX_RATING) {
+            throw new IllegalArgumentException("Rating must be between " + MIN_RATING + " and " + MAX_RATING
+                    + ": " + rating);
         }
-        return null;
     }
 
     /**
@@ -133,8 +137,11 @@ public class Feedback {
      *
      * @param medicalCareRating The new medical care rating.
      * @param serviceRating     The new service rating.
+     * @throws IllegalArgumentException If a rating is out of range.
      */
     public void updateRatings(int medicalCareRating, int serviceRating) {
+        validateRating(medicalCareRating);
+        validateRating(serviceRating);
         this.medicalCareRating = medicalCareRating;
         this.serviceRating = serviceRating;
     }
@@ -184,6 +191,33 @@ public class Feedback {
         this.patient = patient;
     }
 
+    /**
+     * Gets the ID of the consultation the feedback is about.
+     *
+     * @return The consultation ID, or null if the feedback is not about a consultation.
+     */
+    public String getConsultationId() {
+        return consultationId;
+    }
+
+    /**
+     * Gets the staff ID of the doctor the feedback is about.
+     *
+     * @return The doctor's staff ID, or null if not known.
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * Gets the department the feedback is about.
+     *
+     * @return The department, or null if not known.
+     */
+    public String getDepartment() {
+        return department;
+    }
+
     /**
      * Gets the medical care rating.
      *
@@ -1,22 +1,22 @@
 package org.bee.hms.medical;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.bee.hms.humans.Doctor;
-import org.bee.utils.JSONSerializable;
 
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 
 /**
  * Represents a lab test associated with an outpatient case. A lab test includes details such as
  * a unique lab test ID, lab test type, date stamp, status, the associated outpatient case,
  * the physician who ordered or performed the test, remarks, and cost.
+ * <p>
+ * Lab tests are stored and given their IDs by {@link org.bee.controllers.LabTestController}.
+ * The consultation is kept by ID when saved, so a lab test nested in its consultation does not
+ * contain the consultation again.
+ * </p>
  */
-public class LabTest implements JSONSerializable {
-    /** Static counter to generate unique lab test IDs. */
-    private static int count = 0;
-
-    /** Unique identifier for the lab test. */
+public class LabTest implements ConsultationRecord {
+    /** Unique identifier for the lab test, 0 until the lab test is stored. */
     private int labTestID;
 
     /** The type of lab test. */
@@ -29,8 +29,15 @@ public class LabTest implements JSONSerializable {
     private ConsultationStatus status;
 
     /** The outpatient case associated with this lab test. */
+    @JsonIgnore
     private Consultation consultation;
 
+    /** The ID of the outpatient case associated with this lab test. */
+    private String consultationId;
+
+    /** The ID of the patient of the outpatient case. */
+    private String patientId;
+
     /** The Doctor associated with this lab test. */
     private Doctor doctor;
 
@@ -40,11 +47,6 @@ public class LabTest implements JSONSerializable {
     /** The cost of the lab test. */
     private Double cost;
 
-    /**
-     * A static list to store all LabTest instances.
-     */
-    private static List<LabTest> instances = new ArrayList<>();
-
     /**
      * Constructs a new LabTest instance with the specified details.
      *
@@ -58,16 +60,19 @@ public class LabTest implements JSONSerializable {
      */
     public LabTest(LabTestType type, Date dateStamp, ConsultationStatus status, Consultation consultation,
                    Doctor doctor, String remarks, Double cost) {
-        setLabTestID(count++);
         this.type = type;
         this.dateStamp = dateStamp;
         this.status = status;
-        this.consultation = consultation;
+        setConsultation(consultation);
         this.doctor = doctor;
         this.remarks = remarks;
         this.cost = cost;
+    }
 
-        instances.add(this);
+    /**
+     * Default constructor for JSON deserialization.
+     */
+    private LabTest() {
     }
 
     /**
@@ -88,15 +93,6 @@ public class LabTest implements JSONSerializable {
         return stringBuilder;
     }
 
-    /**
-     * Retrieves a list of all LabTest instances.
-     *
-     * @return a list containing all lab tests.
-     */
-    public static List<LabTest> getAllLabtests() {
-        return instances;
-    }
-
     /**
      * Gets the physician associated with this lab test.
      *
@@ -189,27 +185,47 @@ public class LabTest implements JSONSerializable {
 
     /**
      * Gets the outpatient case associated with this lab test.
+     * Only set on lab tests created or linked in this session; use {@link #getConsultationId()} otherwise.
      *
-     * @return the outpatient case.
+     * @return the outpatient case, or null if it is not linked.
      */
     public Consultation getConsultation() {
         return consultation;
     }
 
-//    /**
-//     * Sets the consultation case for this lab test. If the lab test is already associated with an
-//     * consultation case, it is removed from that case before being added to the new one.
-//     *
-//     * @param consultation the outpatient case to set.
-//     */
-//    public void setConsultation(Consultation consultation) {
-//        this.consultation = consultation;
-//        if (this.consultation != null) {
-//            this.consultation.removeLabTest(this);
-//        }
-//        this.consultation = consultation;
-//        consultation.addLabTest(this);
-//    }
+    /**
+     * Sets the outpatient case associated with this lab test, along with its ID and its patient's ID.
+     *
+     * @param consultation the outpatient case to set, or null if there is none.
+     */
+    @Override
+    public void setConsultation(Consultation consultation) {
+        this.consultation = consultation;
+        if (consultation != null) {
+            this.consultationId = consultation.getConsultationId();
+            this.patientId = consultation.getPatient() != null ? consultation.getPatient().getPatientId() : null;
+        }
+    }
+
+    /**
+     * Gets the ID of the outpatient case associated with this lab test.
+     *
+     * @return the consultation ID, or null if there is none.
+     */
+    @Override
+    public String getConsultationId() {
+        return consultationId;
+    }
+
+    /**
+     * Gets the ID of the patient the lab test is for.
+     *
+     * @return the patient ID, or null if it is not known.
+     */
+    @Override
+    public String getPatientId() {
+        return patientId;
+    }
 
     /**
      * Gets the remarks associated with the lab test.
@@ -247,21 +263,6 @@ public class LabTest implements JSONSerializable {
         this.cost = cost;
     }
 
-    /**
-     * Searches for a lab test by its unique ID.
-     *
-     * @param id the lab test ID to search for.
-     * @return the LabTest with the matching ID, or null if no such lab test exists.
-     */
-    public static LabTest searchLabTestByID(int id) {
-        for (LabTest labtest : instances) {
-            if (labtest.getLabTestID() == id) {
-                return labtest;
-            }
-        }
-        return null;
-    }
-
     /**
      * Returns string containing the lab test's ID and type
      *
@@ -2,14 +2,19 @@ package org.bee.hms.medical;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import org.bee.hms.billing.Money;
 import org.bee.utils.CSVHelper;
+import org.bee.utils.DataGenerator;
 import org.bee.utils.JSONSerializable;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -26,40 +31,83 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  *     <li>Standard dosage and unit form</li>
  *     <li>Price per unit and manufacturer details</li>
  * </ul>
+ * <p>
+ *     Each drug code has exactly one immutable instance, shared by every prescription and
+ *     bill that names it. The registry also keeps the medications by category and by
+ *     manufacturer, and their unit prices in cents in one array indexed by
+ *     {@link #getRegistryIndex()}, so costing a prescription allocates nothing.
+ * </p>
  */
-public class Medication implements JSONSerializable {
+public final class Medication implements JSONSerializable {
     /** The unique drug code identifying this medication. */
     @JsonProperty("code")
-    protected String drugCode;
+    protected final String drugCode;
     /** The name of the medication. */
     @JsonIgnore
-    protected String name;
+    protected final String name;
     /** The category to which this medication belongs (eg. Antibiotics, Painkillers). */
     @JsonIgnore
-    protected String category;
+    protected final String category;
     /** The standard dosage for this medication. */
     @JsonIgnore
-    protected String standardDosage;
+    protected final String standardDosage;
     /** The unit form of the medication (eg. tablet, capsule, injection). */
     @JsonIgnore
-    protected String unitForm;
+    protected final String unitForm;
     /** The price per unit of the medication. */
     @JsonIgnore
-    protected BigDecimal pricePerUnit;
+    protected final BigDecimal pricePerUnit;
+    /** The price per unit of the medication in fixed-point cents. */
+    @JsonIgnore
+    protected final Money unitPrice;
     /** A description of the unit of measurement (eg. per table, per bottle). */
     @JsonIgnore
-    protected String unitDescription;
+    protected final String unitDescription;
     /** The manufacturer of the medication. */
     @JsonIgnore
-    protected String manufacturer;
+    protected final String manufacturer;
+    /** The position of this medication in the registry, from 0 in load order. */
+    @JsonIgnore
+    private final int registryIndex;
 
     /**
-     * A registry storing all available medications, mapped by drug code.
+     * A registry storing all available medications, mapped by drug code in load order.
      */
-    private static final Map<String, Medication> DRUG_REGISTRY = new HashMap<>();
+    private static final Map<String, Medication> DRUG_REGISTRY = new LinkedHashMap<>();
+
+    /** All medications, by registry index. */
+    private static final Medication[] MEDICATIONS;
+
+    /** Unit price in cents of each medication, by registry index. */
+    private static final long[] UNIT_PRICE_CENTS;
+
+    /** Read-only lists of medications by lower case category. */
+    private static final Map<String, List<Medication>> BY_CATEGORY;
+
+    /** Read-only lists of medications by lower case manufacturer. */
+    private static final Map<String, List<Medication>> BY_MANUFACTURER;
+
+    /** Distinct categories in alphabetical order. */
+    private static final List<String> CATEGORIES;
 
     static {
         loadDrugsFromCsv();
+        MEDICATIONS = DRUG_REGISTRY.values().toArray(new Medication[0]);
+        UNIT_PRICE_CENTS = new long[MEDICATIONS.length];
+        Map<String, List<Medication>> byCategory = new HashMap<>();
+        Map<String, List<Medication>> byManufacturer = new HashMap<>();
+        TreeSet<String> categories = new TreeSet<>();
+        for (Medication medication : MEDICATIONS) {
+            UNIT_PRICE_CENTS[medication.registryIndex] = medication.unitPrice.getCents();
+            byCategory.computeIfAbsent(keyOf(medication.category), k -> new ArrayList<>()).add(medication);
+            byManufacturer.computeIfAbsent(keyOf(medication.manufacturer), k -> new ArrayList<>()).add(medication);
+            categories.add(medication.category);
+        }
+        byCategory.replaceAll((key, medications) -> List.copyOf(medications));
+        byManufacturer.replaceAll((key, medications) -> List.copyOf(medications));
+        BY_CATEGORY = byCategory;
+        BY_MANUFACTURER = byManufacturer;
+        CATEGORIES = List.copyOf(categories);
     }
 
     /**
@@ -73,18 +121,21 @@ public class Medication implements JSONSerializable {
      * @param pricePerUnit The price per unit of the medication.
      * @param unitDescription A description of the unit.
      * @param manufacturer The manufacturer of the medication.
+     * @param registryIndex The position of the medication in the registry.
      */
     private Medication(String drugCode, String name, String category,
                       String standardDosage, String unitForm, BigDecimal pricePerUnit,
-                      String unitDescription, String manufacturer) {
+                      String unitDescription, String manufacturer, int registryIndex) {
         this.drugCode = drugCode;
         this.name = name;
         this.category = category;
         this.standardDosage = standardDosage;
         this.unitForm = unitForm;
         this.pricePerUnit = pricePerUnit;
+        this.unitPrice = Money.of(pricePerUnit);
         this.unitDescription = unitDescription;
         this.manufacturer = manufacturer;
+        this.registryIndex = registryIndex;
     }
 
     /**
@@ -92,33 +143,33 @@ public class Medication implements JSONSerializable {
      */
     private static void loadDrugsFromCsv() {
         String databaseDir = System.getProperty("database.dir", "database");
-        List<String[]> records = CSVHelper.readCSV(databaseDir + "/drugs.csv");
-
-        // Skip header row
-        for (int i = 1; i < records.size(); i++) {
-            String[] record = records.get(i);
-            if (record.length >= 8) {
-                String drugCode = record[0];
-                String name = record[1];
-                String category = record[2];
-                String standardDosage = record[3];
-                String unitForm = record[4];
-                BigDecimal pricePerUnit = new BigDecimal(record[5]).setScale(2, RoundingMode.HALF_UP);
-                String unitDescription = record[6];
-                String manufacturer = record[7];
+        CSVHelper.forEachRow(databaseDir + "/drugs.csv", true, record -> {
+            if (record.size() >= 8) {
+                String drugCode = record.get(0);
+                String name = record.get(1);
+                String category = record.get(2);
+                String standardDosage = record.get(3);
+                String unitForm = record.get(4);
+                BigDecimal pricePerUnit = new BigDecimal(record.get(5)).setScale(2, RoundingMode.HALF_UP);
+                String unitDescription = record.get(6);
+                String manufacturer = record.get(7);
 
+                if (DRUG_REGISTRY.containsKey(drugCode)) {
+                    System.err.println("Duplicate drug code ignored: " + drugCode);
+                    return;
+                }
                 DRUG_REGISTRY.put(drugCode, new Medication(
                         drugCode, name, category, standardDosage, unitForm,
-                        pricePerUnit, unitDescription, manufacturer));
+                        pricePerUnit, unitDescription, manufacturer, DRUG_REGISTRY.size()));
             }
-        }
+        });
     }
 
     /**
-     * Creates a new Medication instance from an existing drug code.
+     * Gets the shared Medication instance for an existing drug code.
      *
      * @param drugCode The drug code to look up
-     * @return A new Medication instance
+     * @return The shared Medication instance
      * @throws IllegalArgumentException if the drug code is not found
      */
     public static Medication createFromCode(String drugCode) {
@@ -144,17 +195,16 @@ public class Medication implements JSONSerializable {
     /**
      * Retrieves a list of medications for a specific category.
      *
-     * @param category  The category to filter by
+     * @param category  The category to filter by, in any case
      * @param limit     Maximum number of medications to return (0 or negative for no limit)
      * @param randomize Whether to randomize the results
-     * @return List of medications in the specified category
+     * @return List of medications in the specified category, read-only unless randomized
      */
     public static List<Medication> getMedicationsByCategory(String category, int limit, boolean randomize) {
-        List<Medication> medications = DRUG_REGISTRY.values().stream()
-                .filter(med -> med.category.equalsIgnoreCase(category))
-                .collect(Collectors.toList());
+        List<Medication> medications = BY_CATEGORY.getOrDefault(keyOf(category), List.of());
 
         if (randomize) {
+            medications = new ArrayList<>(medications);
             Collections.shuffle(medications);
         }
 
@@ -165,17 +215,57 @@ public class Medication implements JSONSerializable {
         return medications;
     }
 
+    /**
+     * Retrieves the medications made by a manufacturer.
+     *
+     * @param manufacturer The manufacturer, in any case
+     * @return A read-only list of the manufacturer's medications in registry order
+     */
+    public static List<Medication> getMedicationsByManufacturer(String manufacturer) {
+        return BY_MANUFACTURER.getOrDefault(keyOf(manufacturer), List.of());
+    }
+
     /**
      * Gets all available medication categories.
      *
-     * @return List of unique medication categories
+     * @return Read-only list of unique medication categories, in alphabetical order
      */
     public static List<String> getAllCategories() {
-        return DRUG_REGISTRY.values().stream()
-                .map(med -> med.category)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return CATEGORIES;
+    }
+
+    /**
+     * Gets the number of medications in the registry.
+     *
+     * @return The medication count, one more than the largest registry index
+     */
+    public static int getRegistrySize() {
+        return MEDICATIONS.length;
+    }
+
+    /**
+     * Gets the unit price of a medication from the price table.
+     *
+     * @param registryIndex The registry index of the medication
+     * @return The unit price in cents
+     */
+    public static long getUnitPriceCents(int registryIndex) {
+        return UNIT_PRICE_CENTS[registryIndex];
+    }
+
+    /**
+     * Totals the cost of a set of prescriptions from the price table.
+     *
+     * @param prescriptions The prescribed medications and their quantities
+     * @return The total cost in cents
+     * @throws ArithmeticException if the total does not fit in a {@code long}
+     */
+    public static long totalCostCents(Map<Medication, Integer> prescriptions) {
+        long totalCents = 0;
+        for (Map.Entry<Medication, Integer> entry : prescriptions.entrySet()) {
+            totalCents = Math.addExact(totalCents, entry.getKey().calculateCostCents(entry.getValue()));
+        }
+        return totalCents;
     }
 
     /**
@@ -188,6 +278,27 @@ public class Medication implements JSONSerializable {
         return pricePerUnit.multiply(BigDecimal.valueOf(quantity));
     }
 
+    /**
+     * Calculates the total cost for a specific quantity of medication in fixed-point cents.
+     *
+     * @param quantity The number of units needed
+     * @return The total cost
+     */
+    public Money calculateCostAmount(int quantity) {
+        return unitPrice.multiply(quantity);
+    }
+
+    /**
+     * Calculates the total cost for a specific quantity of medication from the price table.
+     *
+     * @param quantity The number of units needed
+     * @return The total cost in cents
+     * @throws ArithmeticException if the cost does not fit in a {@code long}
+     */
+    public long calculateCostCents(int quantity) {
+        return Math.multiplyExact(UNIT_PRICE_CENTS[registryIndex], quantity);
+    }
+
     /**
      * Prints the drug's information in a formatted manner.
      */
@@ -222,9 +333,7 @@ public class Medication implements JSONSerializable {
      * @return A randomly selected Medication
      */
     public static Medication getRandomMedication() {
-        String[] codes = DRUG_REGISTRY.keySet().toArray(new String[0]);
-        int randomIndex = (int) (Math.random() * codes.length);
-        return createFromCode(codes[randomIndex]);
+        return MEDICATIONS[DataGenerator.generateRandomInt(MEDICATIONS.length)];
     }
 
     /**
@@ -237,6 +346,55 @@ public class Medication implements JSONSerializable {
         return drugCode;
     }
 
+    /**
+     * Gets the position of this medication in the registry, which indexes the price table.
+     *
+     * @return The registry index, from 0
+     */
+    @JsonIgnore
+    public int getRegistryIndex() {
+        return registryIndex;
+    }
+
+    /**
+     * Gets the name of this medication.
+     *
+     * @return The medication name
+     */
+    @JsonIgnore
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the category of this medication.
+     *
+     * @return The category, eg. Antibiotics
+     */
+    @JsonIgnore
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Gets every medication in the registry.
+     *
+     * @return A read-only list of the medications in registry order
+     */
+    public static List<Medication> getAllMedications() {
+        return List.of(MEDICATIONS);
+    }
+
+    /**
+     * Builds the key a category or manufacturer is indexed under.
+     *
+     * @param name The category or manufacturer
+     * @return The lower case name, or an empty string if there is none
+     */
+    private static String keyOf(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Creates a parser function that converts drug codes to {@code Medication} instances.
      *
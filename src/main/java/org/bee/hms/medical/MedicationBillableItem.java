@@ -5,6 +5,7 @@ import java.math.BigDecimal;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
 import org.bee.hms.policy.BenefitType;
 import org.bee.hms.policy.ClaimableItem;
 
@@ -58,6 +59,16 @@ public class MedicationBillableItem implements BillableItem, ClaimableItem {
         return medication.calculateCost(quantity);
     }
 
+    /**
+     * Retrieves the unsubsidised charges for the medication in fixed-point cents.
+     *
+     * @return A {@link Money} representing the unsubsidised cost of the medication.
+     */
+    @Override
+    public Money getUnsubsidisedAmount() {
+        return medication.calculateCostAmount(quantity);
+    }
+
     /**
      * Retrieves the description of the billable item.
      *
@@ -0,0 +1,273 @@
+package org.bee.hms.medical;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.bee.hms.humans.Patient;
+
+/**
+ * Screens prescriptions against a patient's drug allergies.
+ * <p>
+ * Every allergy a patient can record is looked up in one index built from the medication
+ * registry when the screener is created. An allergy matches a medication by its name, by its
+ * category, or through a drug class such as the penicillins, whose members can cause the same
+ * reaction. Screening a prescription resolves the patient's allergies once and then does one
+ * map lookup per allergy for each prescribed medication, so no names are compared while
+ * screening.
+ * </p>
+ */
+public class PrescriptionScreener {
+
+    /** The screener over the shared medication registry, created when first used */
+    private static PrescriptionScreener instance;
+
+    /** Allergy entries that mean the patient has no known allergy */
+    private static final List<String> NO_ALLERGY = List.of("none", "nil", "nkda", "no known allergies");
+
+    /**
+     * Drug classes whose members share allergic reactions, by class name.
+     * Members missing from the registry are skipped.
+     */
+    private static final Map<String, List<String>> DRUG_CLASSES = Map.of(
+            "penicillins", List.of("Penicillin", "Amoxicillin", "Ampicillin", "Cloxacillin",
+                    "Flucloxacillin", "Piperacillin", "Augmentin"),
+            "cephalosporins", List.of("Cephalexin", "Cefdinir", "Cefuroxime", "Ceftriaxone", "Cefazolin"),
+            "nsaids", List.of("Aspirin", "Ibuprofen", "Naproxen", "Diclofenac", "Meloxicam", "Ketorolac",
+                    "Nabumetone", "Celecoxib", "Etoricoxib"),
+            "sulfonamides", List.of("Sulfamethoxazole", "Sulfasalazine", "Trimethoprim-Sulfamethoxazole"),
+            "opioids", List.of("Morphine", "Codeine", "Oxycodone", "Fentanyl", "Tramadol"));
+
+    /**
+     * Allergy names that stand for a drug class, and the classes they cover.
+     * An allergy to one member of a class is screened against the whole class.
+     */
+    private static final Map<String, List<String>> CLASS_ALIASES = Map.ofEntries(
+            Map.entry("penicillin", List.of("penicillins")),
+            Map.entry("penicillins", List.of("penicillins")),
+            Map.entry("amoxicillin", List.of("penicillins")),
+            Map.entry("beta-lactams", List.of("penicillins", "cephalosporins")),
+            Map.entry("cephalosporins", List.of("cephalosporins")),
+            Map.entry("aspirin", List.of("nsaids")),
+            Map.entry("ibuprofen", List.of("nsaids")),
+            Map.entry("nsaid", List.of("nsaids")),
+            Map.entry("nsaids", List.of("nsaids")),
+            Map.entry("sulfa", List.of("sulfonamides")),
+            Map.entry("sulfonamides", List.of("sulfonamides")),
+            Map.entry("opioids", List.of("opioids")));
+
+    /**
+     * A prescribed medication the patient may react to.
+     *
+     * @param medication The medication
+     * @param allergy    The patient's allergy, as recorded
+     * @param reason     Why the allergy applies to the medication
+     */
+    public record AllergyWarning(Medication medication, String allergy, String reason) {
+        /**
+         * Describes the warning in one line.
+         *
+         * @return The description
+         */
+        public String describe() {
+            return String.format("%s (%s): patient is allergic to %s, %s",
+                    medication.getName(), medication.getDrugCode(), allergy, reason);
+        }
+    }
+
+    /**
+     * A patient's allergies resolved against the index, ready to screen any number of prescriptions.
+     */
+    public static final class AllergyProfile {
+        /** The allergies as recorded */
+        private final List<String> allergies;
+
+        /** Matching medications and the reason they match, parallel to {@link #allergies} */
+        private final List<Map<Medication, String>> matches;
+
+        /**
+         * Creates a profile.
+         *
+         * @param allergies The allergies as recorded
+         * @param matches   The medications each allergy matches
+         */
+        private AllergyProfile(List<String> allergies, List<Map<Medication, String>> matches) {
+            this.allergies = allergies;
+            this.matches = matches;
+        }
+
+        /**
+         * Checks if the profile has any allergy that matches a medication.
+         *
+         * @return {@code true} if nothing can match
+         */
+        public boolean isEmpty() {
+            return allergies.isEmpty();
+        }
+
+        /**
+         * Screens one medication.
+         *
+         * @param medication The medication
+         * @return The warnings, empty if the medication is safe for the patient
+         */
+        public List<AllergyWarning> screen(Medication medication) {
+            List<AllergyWarning> warnings = new ArrayList<>(0);
+            addWarnings(medication, warnings);
+            return warnings;
+        }
+
+        /**
+         * Screens every medication of a prescription.
+         *
+         * @param prescriptions The prescribed medications and their quantities
+         * @return The warnings, in prescription order
+         */
+        public List<AllergyWarning> screen(Map<Medication, Integer> prescriptions) {
+            return screen(prescriptions.keySet());
+        }
+
+        /**
+         * Screens a group of medications.
+         *
+         * @param medications The medications
+         * @return The warnings, in the medications' order
+         */
+        public List<AllergyWarning> screen(Collection<Medication> medications) {
+            List<AllergyWarning> warnings = new ArrayList<>(0);
+            if (!allergies.isEmpty()) {
+                for (Medication medication : medications) {
+                    addWarnings(medication, warnings);
+                }
+            }
+            return warnings;
+        }
+
+        /**
+         * Adds a warning for each allergy that matches a medication.
+         *
+         * @param medication The medication
+         * @param warnings   The list to add to
+         */
+        private void addWarnings(Medication medication, List<AllergyWarning> warnings) {
+            for (int i = 0; i < allergies.size(); i++) {
+                String reason = matches.get(i).get(medication);
+                if (reason != null) {
+                    warnings.add(new AllergyWarning(medication, allergies.get(i), reason));
+                }
+            }
+        }
+    }
+
+    /** Matching medications and the reason they match, by normalized allergy name */
+    private final Map<String, Map<Medication, String>> index = new HashMap<>();
+
+    /**
+     * Creates a screener over a set of medications.
+     *
+     * @param medications The medications that can be prescribed
+     */
+    public PrescriptionScreener(Collection<Medication> medications) {
+        Map<String, List<Medication>> byName = new HashMap<>();
+        for (Medication medication : medications) {
+            String name = normalize(medication.getName());
+            byName.computeIfAbsent(name, n -> new ArrayList<>()).add(medication);
+            add(name, medication, "the same drug");
+            if (medication.getCategory() != null) {
+                add(normalize(medication.getCategory()), medication, "in the " + medication.getCategory() + " category");
+            }
+        }
+        CLASS_ALIASES.forEach((allergy, classes) -> {
+            for (String drugClass : classes) {
+                for (String member : DRUG_CLASSES.get(drugClass)) {
+                    for (Medication medication : byName.getOrDefault(normalize(member), List.of())) {
+                        add(allergy, medication, "in the same drug class (" + drugClass + ")");
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the screener over the shared medication registry.
+     *
+     * @return The screener
+     */
+    public static synchronized PrescriptionScreener getInstance() {
+        if (instance == null) {
+            instance = new PrescriptionScreener(Medication.getAllMedications());
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves a patient's allergies.
+     *
+     * @param patient The patient, or {@code null}
+     * @return The patient's allergy profile, empty if there is no patient or no known allergy
+     */
+    public AllergyProfile profileOf(Patient patient) {
+        return profileOf(patient == null ? null : patient.getDrugAllergies());
+    }
+
+    /**
+     * Resolves a list of recorded allergies.
+     * Allergies that match no medication are dropped.
+     *
+     * @param drugAllergies The allergies as recorded, or {@code null}
+     * @return The allergy profile
+     */
+    public AllergyProfile profileOf(List<String> drugAllergies) {
+        List<String> allergies = new ArrayList<>();
+        List<Map<Medication, String>> matches = new ArrayList<>();
+        if (drugAllergies != null) {
+            for (String allergy : drugAllergies) {
+                if (allergy == null || NO_ALLERGY.contains(normalize(allergy))) {
+                    continue;
+                }
+                String recorded = allergy.trim();
+                Map<Medication, String> matching = index.get(normalize(recorded));
+                if (matching != null && !allergies.contains(recorded)) {
+                    allergies.add(recorded);
+                    matches.add(matching);
+                }
+            }
+        }
+        return new AllergyProfile(allergies, matches);
+    }
+
+    /**
+     * Screens a prescription against a patient's allergies.
+     *
+     * @param patient       The patient
+     * @param prescriptions The prescribed medications and their quantities
+     * @return The warnings, empty if the prescription is safe for the patient
+     */
+    public List<AllergyWarning> screen(Patient patient, Map<Medication, Integer> prescriptions) {
+        return profileOf(patient).screen(prescriptions);
+    }
+
+    /**
+     * Records that an allergy matches a medication, keeping the first reason found.
+     *
+     * @param allergy    The normalized allergy name
+     * @param medication The medication
+     * @param reason     Why the allergy applies
+     */
+    private void add(String allergy, Medication medication, String reason) {
+        index.computeIfAbsent(allergy, a -> new HashMap<>()).putIfAbsent(medication, reason);
+    }
+
+    /**
+     * Normalizes an allergy, drug or category name for lookup.
+     *
+     * @param name The name
+     * @return The trimmed, lower case name
+     */
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,10 +1,10 @@
 package org.bee.hms.medical;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import com.fasterxml.jackson.annotation.*;
 import org.bee.hms.billing.BillableItem;
@@ -62,6 +62,15 @@ public class ProcedureCode implements BillableItem, ClaimableItem, JSONSerializa
         loadCodesFromCsv();
     }
 
+    /** The codes in the registry, so a random one can be picked without copying the registry */
+    private static final List<String> CODES = List.copyOf(CODE_REGISTRY.keySet());
+
+    /** Codes for each benefit type in inpatient care, filled in on first use */
+    private static final Map<BenefitType, List<String>> INPATIENT_CODES = new EnumMap<>(BenefitType.class);
+
+    /** Codes for each benefit type in outpatient care, filled in on first use */
+    private static final Map<BenefitType, List<String>> OUTPATIENT_CODES = new EnumMap<>(BenefitType.class);
+
     /**
      * Constructor for ProcedureCode
      *
@@ -80,16 +89,12 @@ public class ProcedureCode implements BillableItem, ClaimableItem, JSONSerializa
      */
     private static void loadCodesFromCsv() {
         String databaseDir = System.getProperty("database.dir", "database");
-        List<String[]> records = CSVHelper.readCSV(databaseDir + "/icd-10-pcs.csv");
-
-        for (int i = 1; i < records.size(); i++) {
-            String[] record = records.get(i);
-            if (record.length >= 2) {
-                String code = record[0];
-                String description = record[1].replaceAll("\"", "");
-                CODE_REGISTRY.put(code, new ProcedureCode(code, description));
+        CSVHelper.forEachRow(databaseDir + "/icd-10-pcs.csv", true, record -> {
+            if (record.size() >= 2) {
+                String code = record.get(0);
+                CODE_REGISTRY.put(code, new ProcedureCode(code, record.get(1)));
             }
-        }
+        });
     }
 
     /**
@@ -349,8 +354,7 @@ public class ProcedureCode implements BillableItem, ClaimableItem, JSONSerializa
      * @return A randomly selected ProcedureCode
      */
     public static ProcedureCode getRandomCode() {
-        Set<String> codes = CODE_REGISTRY.keySet();
-        return createFromCode(DataGenerator.getRandomElement(codes));
+        return createFromCode(DataGenerator.getRandomElement(CODES));
     }
 
     /**
@@ -362,14 +366,19 @@ public class ProcedureCode implements BillableItem, ClaimableItem, JSONSerializa
 
      */
     public static ProcedureCode getRandomCodeForBenefitType(BenefitType benefitType, boolean isInPatient) {
-        List<String> matchingCodes = new java.util.ArrayList<>();
-
-        for (Map.Entry<String, ProcedureCode> entry : CODE_REGISTRY.entrySet()) {
-            ProcedureCode code = entry.getValue();
-
-            if (code.resolveBenefitType(isInPatient) == benefitType) {
-                matchingCodes.add(entry.getKey());
-            }
+        Map<BenefitType, List<String>> codesByBenefit = isInPatient ? INPATIENT_CODES : OUTPATIENT_CODES;
+        List<String> matchingCodes;
+        synchronized (codesByBenefit) {
+            // The registry does not change, so the matching codes are found once per benefit type
+            matchingCodes = codesByBenefit.computeIfAbsent(benefitType, type -> {
+                List<String> codes = new java.util.ArrayList<>();
+                for (Map.Entry<String, ProcedureCode> entry : CODE_REGISTRY.entrySet()) {
+                    if (entry.getValue().resolveBenefitType(isInPatient) == type) {
+                        codes.add(entry.getKey());
+                    }
+                }
+                return List.copyOf(codes);
+            });
         }
 
         if (matchingCodes.isEmpty()) {
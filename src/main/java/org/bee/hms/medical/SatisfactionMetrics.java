@@ -0,0 +1,330 @@
+package org.bee.hms.medical;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Patient satisfaction per doctor, per department and per month, kept up to date as feedback arrives.
+ * <p>
+ * Ratings are whole scores from {@value Feedback#MIN_RATING} to {@value Feedback#MAX_RATING}, so each
+ * group only needs a count per score. Adding or removing a feedback entry changes one count in each
+ * of its groups, and the mean and percentiles of a group are read from its counts, so neither depends
+ * on how much feedback has been given.
+ * </p>
+ */
+public class SatisfactionMetrics {
+
+    /** Number of possible scores */
+    private static final int SCORES = Feedback.MAX_RATING - Feedback.MIN_RATING + 1;
+
+    /**
+     * Distribution of one kind of rating within a group.
+     *
+     * @param count          The number of ratings
+     * @param countsPerScore The number of ratings per score, lowest score first
+     * @param mean           The mean rating, or 0 if there are none
+     * @param p10            The 10th percentile rating, the score the unhappiest tenth gave at most
+     * @param p50            The median rating
+     * @param p90            The 90th percentile rating
+     */
+    public record RatingSummary(long count, List<Long> countsPerScore, double mean, int p10, int p50, int p90)
+            implements JSONSerializable {
+    }
+
+    /**
+     * Satisfaction within one group of feedback.
+     *
+     * @param key         The doctor ID, department or month of the group
+     * @param medicalCare The medical care ratings
+     * @param service     The service ratings
+     */
+    public record GroupSummary(String key, RatingSummary medicalCare, RatingSummary service)
+            implements JSONSerializable {
+    }
+
+    /**
+     * A point-in-time view of all groups.
+     *
+     * @param generatedAt  When the report was taken
+     * @param overall      Satisfaction across all feedback
+     * @param byDoctor     Satisfaction per doctor, by doctor ID
+     * @param byDepartment Satisfaction per department, by name
+     * @param byMonth      Satisfaction per month the feedback was given, oldest first
+     */
+    public record Report(LocalDateTime generatedAt, GroupSummary overall, List<GroupSummary> byDoctor,
+                         List<GroupSummary> byDepartment, List<GroupSummary> byMonth) implements JSONSerializable {
+    }
+
+    /**
+     * Counts per score of one kind of rating.
+     */
+    private static final class Distribution {
+        /** Ratings per score, lowest score first */
+        private final long[] counts = new long[SCORES];
+
+        /** Number of ratings */
+        private long count;
+
+        /** Sum of ratings */
+        private long sum;
+
+        /**
+         * Adds or removes a rating.
+         *
+         * @param rating The rating
+         * @param sign   1 to add, -1 to remove
+         */
+        private void add(int rating, int sign) {
+            counts[rating - Feedback.MIN_RATING] += sign;
+            count += sign;
+            sum += (long) sign * rating;
+        }
+
+        /**
+         * Finds the score at a percentile.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The lowest score at or below which the percentile of ratings fall, or 0 if there are none
+         */
+        private int scoreAt(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < SCORES; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i + Feedback.MIN_RATING;
+                }
+            }
+            return Feedback.MAX_RATING;
+        }
+
+        /**
+         * Summarizes the distribution.
+         *
+         * @return The summary
+         */
+        private RatingSummary summarize() {
+            List<Long> perScore = new ArrayList<>(SCORES);
+            for (long c : counts) {
+                perScore.add(c);
+            }
+            return new RatingSummary(count, perScore, count == 0 ? 0 : (double) sum / count,
+                    scoreAt(10), scoreAt(50), scoreAt(90));
+        }
+    }
+
+    /**
+     * Both rating distributions of one group.
+     */
+    private static final class Group {
+        /** Medical care ratings */
+        private final Distribution medicalCare = new Distribution();
+
+        /** Service ratings */
+        private final Distribution service = new Distribution();
+
+        /**
+         * Summarizes the group.
+         *
+         * @param key The key of the group
+         * @return The summary
+         */
+        private GroupSummary summarize(String key) {
+            return new GroupSummary(key, medicalCare.summarize(), service.summarize());
+        }
+    }
+
+    /** Key of the overall group */
+    private static final String OVERALL = "All";
+
+    /** Ratings across all feedback */
+    private final Group overall = new Group();
+
+    /** Ratings per doctor ID */
+    private final Map<String, Group> byDoctor = new TreeMap<>();
+
+    /** Ratings per department */
+    private final Map<String, Group> byDepartment = new TreeMap<>();
+
+    /** Ratings per month the feedback was given */
+    private final Map<YearMonth, Group> byMonth = new TreeMap<>();
+
+    /** Time zone used to find the month of a feedback date */
+    private final ZoneId zone;
+
+    /**
+     * Creates empty metrics using the system time zone for months.
+     */
+    public SatisfactionMetrics() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates empty metrics.
+     *
+     * @param zone Time zone used to find the month of a feedback date
+     */
+    public SatisfactionMetrics(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Adds a feedback entry to its groups.
+     *
+     * @param feedback The feedback
+     */
+    public synchronized void record(Feedback feedback) {
+        apply(feedback, feedback.getMedicalCareRating(), feedback.getServiceRating(), 1);
+    }
+
+    /**
+     * Removes a feedback entry from its groups, as recorded with its current ratings.
+     *
+     * @param feedback The feedback
+     */
+    public synchronized void remove(Feedback feedback) {
+        apply(feedback, feedback.getMedicalCareRating(), feedback.getServiceRating(), -1);
+    }
+
+    /**
+     * Moves a recorded feedback entry from its previous ratings to its current ones.
+     *
+     * @param feedback            The feedback, already holding its new ratings
+     * @param previousMedicalCare The medical care rating it was recorded with
+     * @param previousService     The service rating it was recorded with
+     */
+    public synchronized void changeRatings(Feedback feedback, int previousMedicalCare, int previousService) {
+        apply(feedback, previousMedicalCare, previousService, -1);
+        apply(feedback, feedback.getMedicalCareRating(), feedback.getServiceRating(), 1);
+    }
+
+    /**
+     * Gets satisfaction across all feedback.
+     *
+     * @return The summary
+     */
+    public synchronized GroupSummary getOverall() {
+        return overall.summarize(OVERALL);
+    }
+
+    /**
+     * Gets satisfaction with one doctor.
+     *
+     * @param doctorId The doctor's staff ID
+     * @return The summary, with no ratings if the doctor has none
+     */
+    public synchronized GroupSummary getDoctor(String doctorId) {
+        return byDoctor.getOrDefault(doctorId, new Group()).summarize(doctorId);
+    }
+
+    /**
+     * Gets satisfaction with one department.
+     *
+     * @param department The department name
+     * @return The summary, with no ratings if the department has none
+     */
+    public synchronized GroupSummary getDepartment(String department) {
+        return byDepartment.getOrDefault(department, new Group()).summarize(department);
+    }
+
+    /**
+     * Gets satisfaction in one month.
+     *
+     * @param month The month the feedback was given
+     * @return The summary, with no ratings if there was no feedback that month
+     */
+    public synchronized GroupSummary getMonth(YearMonth month) {
+        return byMonth.getOrDefault(month, new Group()).summarize(month.toString());
+    }
+
+    /**
+     * Takes a report of every group.
+     *
+     * @param asOf The time the report is taken
+     * @return The report
+     */
+    public synchronized Report report(LocalDateTime asOf) {
+        return new Report(asOf, overall.summarize(OVERALL), summarize(byDoctor), summarize(byDepartment),
+                summarize(byMonth));
+    }
+
+    /**
+     * Adds or removes ratings in each group of a feedback entry.
+     *
+     * @param feedback    The feedback, giving the groups
+     * @param medicalCare The medical care rating
+     * @param service     The service rating
+     * @param sign        1 to add, -1 to remove
+     */
+    private void apply(Feedback feedback, int medicalCare, int service, int sign) {
+        add(overall, medicalCare, service, sign);
+        if (feedback.getDoctorId() != null) {
+            applyTo(byDoctor, feedback.getDoctorId(), medicalCare, service, sign);
+        }
+        if (feedback.getDepartment() != null) {
+            applyTo(byDepartment, feedback.getDepartment(), medicalCare, service, sign);
+        }
+        if (feedback.getDateStamp() != null) {
+            YearMonth month = YearMonth.from(feedback.getDateStamp().toInstant().atZone(zone));
+            applyTo(byMonth, month, medicalCare, service, sign);
+        }
+    }
+
+    /**
+     * Adds or removes ratings in the group for a key.
+     * A group left without ratings is dropped.
+     *
+     * @param groups      The groups by key
+     * @param key         The key
+     * @param medicalCare The medical care rating
+     * @param service     The service rating
+     * @param sign        1 to add, -1 to remove
+     * @param <K>         The key type
+     */
+    private static <K> void applyTo(Map<K, Group> groups, K key, int medicalCare, int service, int sign) {
+        Group group = sign > 0 ? groups.computeIfAbsent(key, k -> new Group()) : groups.get(key);
+        if (group == null) {
+            return;
+        }
+        add(group, medicalCare, service, sign);
+        if (group.medicalCare.count == 0) {
+            groups.remove(key);
+        }
+    }
+
+    /**
+     * Adds or removes ratings in one group.
+     *
+     * @param group       The group
+     * @param medicalCare The medical care rating
+     * @param service     The service rating
+     * @param sign        1 to add, -1 to remove
+     */
+    private static void add(Group group, int medicalCare, int service, int sign) {
+        group.medicalCare.add(medicalCare, sign);
+        group.service.add(service, sign);
+    }
+
+    /**
+     * Summarizes groups in key order.
+     *
+     * @param groups The groups by key
+     * @param <K>    The key type
+     * @return The summaries
+     */
+    private static <K> List<GroupSummary> summarize(Map<K, Group> groups) {
+        List<GroupSummary> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> rows.add(group.summarize(key.toString())));
+        return rows;
+    }
+}
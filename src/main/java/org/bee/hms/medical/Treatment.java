@@ -1,6 +1,6 @@
 package org.bee.hms.medical;
 
-import org.bee.utils.JSONSerializable;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -10,17 +10,26 @@ import java.util.List;
  * Represents a treatment provided for an outpatient case. A treatment consists of a unique
  * treatment ID, a treatment name, status, start and end dates, notes, cost, and a list of procedures
  * associated with it.
+ * <p>
+ * Treatments are stored and given their IDs by {@link org.bee.controllers.TreatmentController}.
+ * The consultation is kept by ID when saved, so a treatment nested in its consultation does not
+ * contain the consultation again.
+ * </p>
  */
-public class Treatment implements JSONSerializable {
-    /** Static counter to generate unique treatment IDs. */
-    private static int count = 0;
-
-    /** Unique identifier for the treatment. */
+public class Treatment implements ConsultationRecord {
+    /** Unique identifier for the treatment, 0 until the treatment is stored. */
     private int treatmentID;
 
     /** The outpatient case associated with this treatment. */
+    @JsonIgnore
     private Consultation consultation;
 
+    /** The ID of the outpatient case associated with this treatment. */
+    private String consultationId;
+
+    /** The ID of the patient of the outpatient case. */
+    private String patientId;
+
     /** The name of the treatment. */
     private String treatmentName;
 
@@ -42,11 +51,6 @@ public class Treatment implements JSONSerializable {
     /** The list of procedures performed as part of the treatment. */
     private List<ProcedureCode> procedures;
 
-    /**
-     * A static list to keep track of all Treatment instances.
-     */
-    private static List<Treatment> instances = new ArrayList<>();
-
     /**
      * Constructs a new Treatment instance with the specified details.
      *
@@ -63,8 +67,7 @@ public class Treatment implements JSONSerializable {
     public Treatment(Consultation consultation, String treatmentName, ConsultationStatus status,
                      Date startDate, Date endDate,
                      String notes, Double cost, List<ProcedureCode> procedures) {
-        setTreatmentID(count++);
-        this.consultation= consultation;
+        setConsultation(consultation);
         this.treatmentName = treatmentName;
         this.status = status;
         this.startDate = startDate;
@@ -72,8 +75,6 @@ public class Treatment implements JSONSerializable {
         this.notes = notes;
         this.cost = cost;
         this.procedures = (procedures != null) ? procedures : new ArrayList<>();
-
-        instances.add(this);
     }
 
     /**
@@ -95,15 +96,6 @@ public class Treatment implements JSONSerializable {
         return stringBuilder;
     }
 
-    /**
-     * Retrieves a list of all Treatment instances.
-     *
-     * @return a list containing all treatments.
-     */
-    public static List<Treatment> getAllTreatments() {
-        return instances;
-    }
-
     /**
      * Default constructor for Treatment, provided for cases where a Treatment
      * instance needs to be created without initializing its attributes immediately.
@@ -131,13 +123,48 @@ public class Treatment implements JSONSerializable {
 
     /**
      * Gets the outpatient case associated with this treatment.
+     * Only set on treatments created or linked in this session; use {@link #getConsultationId()} otherwise.
      *
-     * @return the outpatient case.
+     * @return the outpatient case, or null if it is not linked.
      */
     public Consultation getConsultation() {
         return consultation;
     }
 
+    /**
+     * Sets the outpatient case associated with this treatment, along with its ID and its patient's ID.
+     *
+     * @param consultation the outpatient case to set, or null if there is none.
+     */
+    @Override
+    public void setConsultation(Consultation consultation) {
+        this.consultation = consultation;
+        if (consultation != null) {
+            this.consultationId = consultation.getConsultationId();
+            this.patientId = consultation.getPatient() != null ? consultation.getPatient().getPatientId() : null;
+        }
+    }
+
+    /**
+     * Gets the ID of the outpatient case associated with this treatment.
+     *
+     * @return the consultation ID, or null if there is none.
+     */
+    @Override
+    public String getConsultationId() {
+        return consultationId;
+    }
+
+    /**
+     * Gets the ID of the patient the treatment is for.
+     *
+     * @return the patient ID, or null if it is not known.
+     */
+    @Override
+    public String getPatientId() {
+        return patientId;
+    }
+
     /**
      * Gets the unique identifier for this treatment.
      *
@@ -275,37 +302,6 @@ public class Treatment implements JSONSerializable {
         }
     }
 
-    /**
-     * Searches for a treatment by its unique ID.
-     *
-     * @param id the treatment ID to search for.
-     * @return the Treatment with the matching ID, or null if no such treatment exists.
-     */
-    public static Treatment searchTreatmentByID(int id) {
-        for (Treatment treatment : instances) {
-            if (treatment.getTreatmentID() == (id)) {
-                return treatment;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Retrieves all treatments associated with a specific outpatient case.
-     *
-     * @param consultation the outpatient case for which treatments are to be retrieved.
-     * @return a list of treatments linked to the given outpatient case.
-     */
-    public static List<Treatment> getAllTreatmentsByCase(Consultation consultation) {
-        List<Treatment> allTreatments = new ArrayList<>();
-        for (Treatment i : instances) {
-            if (i.getConsultation().equals(consultation)) {
-                allTreatments.add(i);
-            }
-        }
-        return allTreatments;
-    }
-
     /**
      * Returns a concatenated string of treatment ID and name
      *
@@ -4,10 +4,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
 import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Nurse;
 import org.bee.hms.humans.Patient;
@@ -15,7 +17,7 @@ import org.bee.hms.policy.BenefitType;
 import org.bee.hms.policy.Coverage;
 import org.bee.hms.wards.Ward;
 import org.bee.hms.wards.WardClassType;
-import org.bee.hms.wards.WardFactory;
+import org.bee.hms.wards.WardRegistry;
 import org.bee.utils.DataGenerator;
 import org.bee.utils.JSONSerializable;
 import org.bee.utils.jackson.PrescriptionMapDeserializer;
@@ -107,6 +109,22 @@ public class Visit implements JSONSerializable {
     /** The patient associated with this medical record */
     private Patient patient;
 
+    /** Section of the charge tally holding the diagnostic codes */
+    private static final int DIAGNOSES = 0;
+    /** Section of the charge tally holding the inpatient procedures */
+    private static final int PROCEDURES = 1;
+    /** Section of the charge tally holding the prescriptions */
+    private static final int PRESCRIPTIONS = 2;
+    /** Section of the charge tally holding the ward stays */
+    private static final int WARD_STAYS = 3;
+
+    /**
+     * Running total and billable items of the visit, or {@code null} until the charges are first read.
+     * It is updated as items are added, so reading the charges again does not walk every item.
+     */
+    @JsonIgnore
+    private ChargeTally charges;
+
     /**
      * Default constructor for JSON deserialization.
      */
@@ -139,7 +157,7 @@ public class Visit implements JSONSerializable {
      * @return A unique visit ID string.
      */
     private String generateVisitId() {
-        return "V" + System.currentTimeMillis() +
+        return "V" + DataGenerator.currentTimeMillis() +
                 String.format("%04d", DataGenerator.generateRandomInt(10000));
     }
 
@@ -195,7 +213,7 @@ public class Visit implements JSONSerializable {
      * @see #withRandomData(Patient) to create a random visit for a specific patient
      */
     public static Visit withRandomData() {
-        LocalDateTime admissionTime = LocalDateTime.now()
+        LocalDateTime admissionTime = DataGenerator.now()
                 .minusDays(DataGenerator.generateRandomInt(1, 30));
         Patient randomPatient = Patient
                 .builder()
@@ -222,7 +240,7 @@ public class Visit implements JSONSerializable {
     public static Visit withRandomData(Patient patient) {
         Objects.requireNonNull(patient, "Patient cannot be null");
 
-        LocalDateTime admissionTime = LocalDateTime.now()
+        LocalDateTime admissionTime = DataGenerator.now()
                 .minusDays(DataGenerator.generateRandomInt(1, 30));
 
         return populateWithRandomData(new Visit(admissionTime, patient));
@@ -244,7 +262,7 @@ public class Visit implements JSONSerializable {
                                               List<Doctor> availableDoctors,
                                               List<Nurse> availableNurses) {
 
-        LocalDateTime admissionTime = LocalDateTime.now().minusDays(DataGenerator.generateRandomInt(30, 90));
+        LocalDateTime admissionTime = DataGenerator.now().minusDays(DataGenerator.generateRandomInt(30, 90));
         Visit visit = Visit.createNew(admissionTime, patient);
 
         Doctor randomDoctor = DataGenerator.getRandomElement(availableDoctors);
@@ -353,7 +371,7 @@ public class Visit implements JSONSerializable {
 
         // Only adjust if we're significantly over the max target (using the tolerance)
         if (totalCharges.compareTo(maxTargetWithTolerance) > 0) {
-            List<BillableItem> items = visit.getRelatedBillableItems();
+            List<BillableItem> items = new ArrayList<>(visit.getRelatedBillableItems());
 
             // Remove most expensive items until we're under the max target with tolerance
             attemptCount = 0;
@@ -444,7 +462,20 @@ public class Visit implements JSONSerializable {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
-        prescriptions.merge(medication, quantity, Integer::sum);
+        ChargeTally tally = currentCharges();
+        int total = prescriptions.merge(medication, quantity, Integer::sum);
+        if (tally != null) {
+            tally.putPrescription(PRESCRIPTIONS, medication, total);
+        }
+    }
+
+    /**
+     * Screens this visit's prescriptions against the patient's drug allergies.
+     *
+     * @return The allergy warnings, empty if every prescription is safe for the patient
+     */
+    public List<PrescriptionScreener.AllergyWarning> screenPrescriptions() {
+        return PrescriptionScreener.getInstance().screen(patient, prescriptions == null ? Map.of() : prescriptions);
     }
 
     /**
@@ -461,7 +492,11 @@ public class Visit implements JSONSerializable {
         if (diagnosticCodes == null) {
             diagnosticCodes = new ArrayList<>();
         }
+        ChargeTally tally = currentCharges();
         diagnosticCodes.add(diagnosticCode);
+        if (tally != null) {
+            tally.add(DIAGNOSES, diagnosticCode);
+        }
     }
 
     /**
@@ -478,8 +513,11 @@ public class Visit implements JSONSerializable {
         if (inpatientProcedures == null) {
             inpatientProcedures = new ArrayList<>();
         }
+        ChargeTally tally = currentCharges();
         inpatientProcedures.add(procedureCode);
-
+        if (tally != null) {
+            tally.add(PROCEDURES, procedureCode);
+        }
     }
 
     /**
@@ -528,7 +566,20 @@ public class Visit implements JSONSerializable {
         if (wardStays == null) {
             wardStays = new ArrayList<>();
         }
+        ChargeTally tally = currentCharges();
         wardStays.add(wardStay);
+        if (tally != null) {
+            tally.add(WARD_STAYS, wardStay);
+        }
+    }
+
+    /**
+     * Gets the ward stays of the visit.
+     *
+     * @return An unmodifiable list of the ward stays, empty if there are none
+     */
+    public List<WardStay> getWardStays() {
+        return wardStays == null ? List.of() : Collections.unmodifiableList(wardStays);
     }
 
 
@@ -557,7 +608,7 @@ public class Visit implements JSONSerializable {
         WardClassType[] wardTypes = WardClassType.values();
         WardClassType selectedWardType = wardTypes[DataGenerator.generateRandomInt(0, wardTypes.length - 1)];
 
-        Ward ward = WardFactory.getWard("Hospital Ward", selectedWardType);
+        Ward ward = WardRegistry.getInstance().intern("Hospital Ward", selectedWardType);
 
         // Some logic to generate believable stay duration
         int minStay = 1;
@@ -666,7 +717,7 @@ public class Visit implements JSONSerializable {
         this.status = newStatus;
 
         if (newStatus == VisitStatus.DISCHARGED || newStatus == VisitStatus.CANCELLED) {
-            this.dischargeDateTime = LocalDateTime.now();
+            this.dischargeDateTime = DataGenerator.now();
         }
     }
 
@@ -686,6 +737,24 @@ public class Visit implements JSONSerializable {
         return Optional.empty();
     }
 
+    /**
+     * Gets the unique identifier of this visit.
+     *
+     * @return The visit ID
+     */
+    public String getVisitId() {
+        return visitId;
+    }
+
+    /**
+     * Gets the date and time the patient was admitted.
+     *
+     * @return The admission date and time
+     */
+    public LocalDateTime getAdmissionDateTime() {
+        return admissionDateTime;
+    }
+
     /**
      * Retrieves the patient associated with this visit
      *
@@ -709,66 +778,44 @@ public class Visit implements JSONSerializable {
      * @return The total charges as a {@link BigDecimal}
      */
     public BigDecimal calculateCharges() {
-        BigDecimal total = BigDecimal.ZERO;
-
-        if (wardStays != null) {
-            total = total.add(wardStays.stream()
-                    .map(WardStay::calculateCharges)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
-
-        if (inpatientProcedures != null) {
-            total = total.add(inpatientProcedures.stream()
-                    .map(ProcedureCode::getUnsubsidisedCharges)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
-
-        if (prescriptions != null) {
-            total = total.add(prescriptions.entrySet().stream()
-                    .map(entry -> {
-                        Medication med = entry.getKey();
-                        int quantity = entry.getValue();
-                        return med.calculateCost(quantity);
-                    })
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
-
-        if (diagnosticCodes != null) {
-            total = total.add(diagnosticCodes.stream()
-                    .map(DiagnosticCode::getUnsubsidisedCharges)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add));
-        }
-
-        return total;
+        return Money.ofCents(getCharges().getTotalCents()).toBigDecimal();
     }
 
-
     /**
      * Returns all related charges as separate BillableItems
      * This includes diagnostics, procedures, medications with their quantities, and ward stays
-     * @return List of all billable items associated with this treatment,
-     *  *         or empty list if no items exist
+     * @return Read-only list of all billable items associated with this treatment,
+     *         or empty list if no items exist. The list follows later changes made through this visit.
      */
     public List<BillableItem> getRelatedBillableItems() {
-        List<BillableItem> items = new ArrayList<>();
-
-        if (diagnosticCodes != null) {
-            items.addAll(diagnosticCodes);
-        }
+        return getCharges().getItems();
+    }
 
-        if (inpatientProcedures != null) {
-            items.addAll(inpatientProcedures);
+    /**
+     * Gets the charge tally, building it if there is none or the visit's items were changed
+     * without going through its methods.
+     *
+     * @return The charge tally
+     */
+    private ChargeTally getCharges() {
+        ChargeTally tally = currentCharges();
+        if (tally == null) {
+            tally = new ChargeTally(null, diagnosticCodes, inpatientProcedures, prescriptions, wardStays);
+            charges = tally;
         }
+        return tally;
+    }
 
-        if (prescriptions != null) {
-            prescriptions.forEach((medication, quantity) ->
-                    items.add(new MedicationBillableItem(medication, quantity)));
-        }
-        
-        if (wardStays != null) {
-            items.addAll(wardStays);
+    /**
+     * Gets the charge tally if it still matches the visit's items.
+     *
+     * @return The charge tally, or {@code null} if it has to be built again
+     */
+    private ChargeTally currentCharges() {
+        if (charges != null
+                && !charges.isCurrent(null, diagnosticCodes, inpatientProcedures, prescriptions, wardStays)) {
+            charges = null;
         }
-
-        return items;
+        return charges;
     }
 }
@@ -7,6 +7,7 @@ import java.time.temporal.ChronoUnit;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
 import org.bee.hms.policy.BenefitType;
 import org.bee.hms.policy.ClaimableItem;
 import org.bee.hms.wards.*;
@@ -57,6 +58,33 @@ public class WardStay implements ClaimableItem, BillableItem, JSONSerializable {
         this.endDateTime = endDateTime;
     }
 
+    /**
+     * Gets the ward of the stay.
+     *
+     * @return The ward the patient stayed in
+     */
+    public Ward getWard() {
+        return ward;
+    }
+
+    /**
+     * Gets when the stay began.
+     *
+     * @return The start date and time
+     */
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    /**
+     * Gets when the stay ended.
+     *
+     * @return The end date and time, or {@code null} while the patient is still in the ward
+     */
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
     /**
      * Calculates the charges for the patient's stay in the ward based on the ward's daily rate
      * and the number of days stayed.
@@ -69,6 +97,15 @@ public class WardStay implements ClaimableItem, BillableItem, JSONSerializable {
                 .multiply(BigDecimal.valueOf(Math.max(1, daysStayed)));
     }
 
+    /**
+     * Calculates the charges for the stay in fixed-point cents.
+     *
+     * @return A {@link Money} representing the total charges for the ward stay.
+     */
+    public Money calculateChargeAmount() {
+        return Money.of(ward.getDailyRate()).multiply(Math.max(1, getDaysStayed()));
+    }
+
     /**
      * Returns the number of days the patient stayed in the ward.
      *
@@ -131,6 +168,15 @@ public class WardStay implements ClaimableItem, BillableItem, JSONSerializable {
         return calculateCharges();
     }
 
+    /**
+     * Calculates and returns the unsubsidized charges for the ward stay in fixed-point cents
+     * @return The total unsubsidized charges as {@link Money}
+     */
+    @Override
+    public Money getUnsubsidisedAmount() {
+        return calculateChargeAmount();
+    }
+
     /**
      * Generates a descriptive text for billing statements
      * @return Formatted billing description string
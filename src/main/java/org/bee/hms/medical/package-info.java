@@ -2,9 +2,11 @@
  * This package contains medical-related classes for the healthcare management system.
  * Medical medical-related classes includes:
  * - Patient visits (Consultation, EmergencyVisit, WardStay)
- * - Medical services (LabTest, ProcedureCode, Treatment)
+ * - Medical services (LabTest, ProcedureCode, Treatment), stored as ConsultationRecords
  * - Billing items (DiagnosticCode, MedicationBillableItem)
  * - System enums (ConsultationStatus, VisitStatus, LabTestType)
+ * - Patient feedback (Feedback, SatisfactionMetrics)
+ * - Prescription safety (PrescriptionScreener)
  *
  * <p>The classes in this package help manage medical data linked to patients.</p>
  */
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -45,7 +46,8 @@ public class BaseCoverage implements Coverage {
         this.deductible = builder.deductible;
         this.coinsurance = builder.coinsurance;
         this.deathBenefitAmount = builder.deathBenefitAmount;
-        this.coveredBenefits = builder.coveredBenefits;
+        // Kept in declaration order, so picking a random benefit is repeatable for a seed
+        this.coveredBenefits = EnumSet.copyOf(builder.coveredBenefits);
         this.exclusions = builder.exclusions;
     }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -143,6 +144,6 @@ public class CompositeCoverage implements Coverage {
     public Set<BenefitType> getCoveredBenefits() {
         return coverages.stream()
                 .flatMap(coverage -> coverage.getCoveredBenefits().stream())
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(BenefitType.class)));
     }
 }
@@ -0,0 +1,108 @@
+package org.bee.hms.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * A point in time at which something should happen to an appointment, claim or consultation.
+ * A target has at most one deadline of each type, identified by {@link #getKey()}.
+ */
+public final class Deadline implements JSONSerializable {
+
+    /** What happens when the deadline passes */
+    private final DeadlineType type;
+
+    /** ID of the appointment, claim or consultation the deadline applies to */
+    private final String targetId;
+
+    /** When the deadline passes */
+    private final LocalDateTime dueAt;
+
+    /**
+     * Creates a deadline.
+     *
+     * @param type     What happens when the deadline passes
+     * @param targetId ID of the appointment, claim or consultation
+     * @param dueAt    When the deadline passes
+     */
+    @JsonCreator
+    public Deadline(@JsonProperty("type") DeadlineType type,
+                    @JsonProperty("targetId") String targetId,
+                    @JsonProperty("dueAt") LocalDateTime dueAt) {
+        this.type = Objects.requireNonNull(type, "Deadline type cannot be null");
+        this.targetId = Objects.requireNonNull(targetId, "Target ID cannot be null");
+        this.dueAt = Objects.requireNonNull(dueAt, "Due time cannot be null");
+    }
+
+    /**
+     * Gets what happens when the deadline passes.
+     *
+     * @return The deadline type
+     */
+    public DeadlineType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the appointment, claim or consultation the deadline applies to.
+     *
+     * @return The target ID
+     */
+    public String getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Gets when the deadline passes.
+     *
+     * @return The due time
+     */
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    /**
+     * Gets the key shared by all deadlines of this type for this target.
+     *
+     * @return The deadline key
+     */
+    public String getKey() {
+        return keyOf(type, targetId);
+    }
+
+    /**
+     * Gets the key shared by all deadlines of a type for a target.
+     *
+     * @param type     The deadline type
+     * @param targetId The target ID
+     * @return The deadline key
+     */
+    public static String keyOf(DeadlineType type, String targetId) {
+        return type + ":" + targetId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Deadline other)) {
+            return false;
+        }
+        return type == other.type && targetId.equals(other.targetId) && dueAt.equals(other.dueAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, targetId, dueAt);
+    }
+
+    @Override
+    public String toString() {
+        return getKey() + "@" + dueAt;
+    }
+}
@@ -0,0 +1,229 @@
+package org.bee.hms.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bee.utils.TimingWheel;
+
+/**
+ * Keeps pending deadlines in a {@link TimingWheel} and fires the ones that have passed.
+ * <p>
+ * Each target has at most one deadline of each type, so scheduling again replaces the
+ * previous deadline. Deadlines that pass together are handed to the handler for their
+ * type as one batch, in due order, so a handler can apply and save all of them at once.
+ * Handlers run outside the scheduler's lock and may schedule further deadlines.
+ * </p>
+ */
+public class DeadlineScheduler implements AutoCloseable {
+
+    /** Clock used to convert due times and decide what has passed */
+    private final Clock clock;
+
+    /** Length of a wheel tick */
+    private final Duration tick;
+
+    /** Pending deadlines */
+    private final TimingWheel<Deadline> wheel;
+
+    /** Pending deadlines by key, so they can be replaced or cancelled */
+    private final Map<String, TimingWheel.Timeout<Deadline>> byKey = new HashMap<>();
+
+    /** Handler for each deadline type */
+    private final Map<DeadlineType, Consumer<List<Deadline>>> handlers = new EnumMap<>(DeadlineType.class);
+
+    /** Receives errors from handlers and the after-tick task */
+    private volatile Consumer<String> errorHandler = System.err::println;
+
+    /** Background thread that fires deadlines, once started */
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param clock Clock used to convert due times and decide what has passed
+     * @param tick  Length of a wheel tick, which is also how often the background thread checks
+     * @throws IllegalArgumentException If the tick is not positive
+     */
+    public DeadlineScheduler(Clock clock, Duration tick) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.clock = clock;
+        this.tick = tick;
+        this.wheel = new TimingWheel<>(tick.toMillis(), clock.millis());
+    }
+
+    /**
+     * Sets the handler called with each batch of passed deadlines of a type.
+     * Deadlines of a type with no handler are dropped when they pass.
+     *
+     * @param type    The deadline type
+     * @param handler The handler
+     */
+    public synchronized void setHandler(DeadlineType type, Consumer<List<Deadline>> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * Sets where errors from handlers and the after-tick task are sent instead of standard error.
+     * Errors on the background thread should not be printed while a UI is drawn.
+     *
+     * @param errorHandler Receives each error message, from the thread that fired the deadlines
+     */
+    public void setErrorHandler(Consumer<String> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Schedules a deadline, replacing any pending deadline of the same type for the same target.
+     *
+     * @param deadline The deadline
+     * @return {@code true} if the pending deadlines changed
+     */
+    public synchronized boolean schedule(Deadline deadline) {
+        TimingWheel.Timeout<Deadline> existing = byKey.get(deadline.getKey());
+        if (existing != null) {
+            if (existing.getPayload().equals(deadline)) {
+                return false;
+            }
+            wheel.cancel(existing);
+        }
+        long dueMillis = deadline.getDueAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+        byKey.put(deadline.getKey(), wheel.schedule(deadline, dueMillis));
+        return true;
+    }
+
+    /**
+     * Cancels the pending deadline of a type for a target.
+     *
+     * @param type     The deadline type
+     * @param targetId The target ID
+     * @return {@code true} if a deadline was cancelled
+     */
+    public synchronized boolean cancel(DeadlineType type, String targetId) {
+        TimingWheel.Timeout<Deadline> existing = byKey.remove(Deadline.keyOf(type, targetId));
+        return existing != null && wheel.cancel(existing);
+    }
+
+    /**
+     * Fires every deadline that has passed.
+     *
+     * @return The number of deadlines fired
+     */
+    public int fireDue() {
+        Map<DeadlineType, List<Deadline>> batches = new EnumMap<>(DeadlineType.class);
+        Map<DeadlineType, Consumer<List<Deadline>>> batchHandlers;
+        int count = 0;
+        synchronized (this) {
+            for (TimingWheel.Timeout<Deadline> timeout : wheel.advanceTo(clock.millis())) {
+                Deadline deadline = timeout.getPayload();
+                byKey.remove(deadline.getKey(), timeout);
+                batches.computeIfAbsent(deadline.getType(), type -> new ArrayList<>()).add(deadline);
+                count++;
+            }
+            batchHandlers = new EnumMap<>(handlers);
+        }
+
+        for (Map.Entry<DeadlineType, List<Deadline>> batch : batches.entrySet()) {
+            Consumer<List<Deadline>> handler = batchHandlers.get(batch.getKey());
+            if (handler == null) {
+                continue;
+            }
+            try {
+                handler.accept(batch.getValue());
+            } catch (RuntimeException e) {
+                errorHandler.accept("Error handling " + batch.getValue().size() + " "
+                        + batch.getKey() + " deadlines: " + e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets every pending deadline, in due order.
+     *
+     * @return The pending deadlines
+     */
+    public synchronized List<Deadline> getPending() {
+        List<Deadline> pending = new ArrayList<>(wheel.size());
+        for (TimingWheel.Timeout<Deadline> timeout : wheel.getPending()) {
+            pending.add(timeout.getPayload());
+        }
+        pending.sort((a, b) -> a.getDueAt().compareTo(b.getDueAt()));
+        return pending;
+    }
+
+    /**
+     * Gets the number of pending deadlines.
+     *
+     * @return The pending deadline count
+     */
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Gets the current time according to the scheduler's clock.
+     *
+     * @return The current time
+     */
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Starts a background thread that fires passed deadlines once per tick.
+     * Starting an already started scheduler has no effect.
+     */
+    public void start() {
+        start(() -> { });
+    }
+
+    /**
+     * Starts a background thread that fires passed deadlines once per tick and then runs a task,
+     * such as saving what the handlers changed.
+     * Starting an already started scheduler has no effect.
+     *
+     * @param afterTick Task run on the background thread after each tick
+     */
+    public synchronized void start(Runnable afterTick) {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = tick.toMillis();
+        ticker.scheduleAtFixedRate(() -> {
+            fireDue();
+            try {
+                afterTick.run();
+            } catch (RuntimeException e) {
+                errorHandler.accept("Error after deadline tick: " + e.getMessage());
+            }
+        }, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Pending deadlines are kept.
+     */
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.bee.hms.scheduling;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Kinds of deadline tracked by the {@link DeadlineScheduler}.
+ */
+@JsonFormat(shape = JsonFormat.Shape.STRING)
+public enum DeadlineType implements JSONSerializable {
+    /** A pending appointment expires once its time passes without approval */
+    APPOINTMENT_EXPIRY,
+
+    /** A claim waiting for more information expires if none arrives in time */
+    CLAIM_INFORMATION_EXPIRY,
+
+    /** The doctor is reminded of an upcoming consultation follow-up */
+    FOLLOW_UP_REMINDER
+}
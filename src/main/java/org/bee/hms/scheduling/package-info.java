@@ -0,0 +1,10 @@
+/**
+ * Time-driven work for the Hospital Management System.
+ * <p>
+ * The {@link org.bee.hms.scheduling.DeadlineScheduler} keeps every pending
+ * {@link org.bee.hms.scheduling.Deadline} in a {@link org.bee.utils.TimingWheel} and hands
+ * the ones that have passed to a handler per {@link org.bee.hms.scheduling.DeadlineType},
+ * in batches.
+ * </p>
+ */
+package org.bee.hms.scheduling;
@@ -0,0 +1,59 @@
+package org.bee.hms.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.WardStay;
+import org.bee.hms.wards.WardClassType;
+
+/**
+ * A patient needing a bed of one class for some length of time.
+ *
+ * @param wardClassType The class of bed needed
+ * @param arrival       When the patient arrives and asks for a bed
+ * @param lengthOfStay  How long the patient keeps the bed once given one
+ */
+public record Admission(WardClassType wardClassType, LocalDateTime arrival, Duration lengthOfStay) {
+
+    /**
+     * Creates an admission.
+     *
+     * @throws IllegalArgumentException If a field is missing or the length of stay is negative
+     */
+    public Admission {
+        if (wardClassType == null || arrival == null || lengthOfStay == null) {
+            throw new IllegalArgumentException("Admission needs a ward class, arrival and length of stay");
+        }
+        if (lengthOfStay.isNegative()) {
+            throw new IllegalArgumentException("Length of stay cannot be negative: " + lengthOfStay);
+        }
+    }
+
+    /**
+     * Builds the admissions recorded by past visits, one per completed ward stay.
+     * Stays still in progress or without a ward are left out.
+     *
+     * @param visits The visits
+     * @return The admissions in arrival order
+     */
+    public static List<Admission> fromVisits(Collection<Visit> visits) {
+        List<Admission> admissions = new ArrayList<>();
+        for (Visit visit : visits) {
+            for (WardStay stay : visit.getWardStays()) {
+                if (stay.getWard() == null || stay.getStartDateTime() == null || stay.getEndDateTime() == null
+                        || stay.getEndDateTime().isBefore(stay.getStartDateTime())) {
+                    continue;
+                }
+                admissions.add(new Admission(stay.getWard().getWardClassType(), stay.getStartDateTime(),
+                        Duration.between(stay.getStartDateTime(), stay.getEndDateTime())));
+            }
+        }
+        admissions.sort(Comparator.comparing(Admission::arrival));
+        return admissions;
+    }
+}
@@ -0,0 +1,36 @@
+package org.bee.hms.simulation;
+
+import java.time.Duration;
+
+/**
+ * How patients of one ward class arrive and how long they stay, for generated admissions.
+ * Arrivals follow a Poisson process and lengths of stay are exponentially distributed.
+ *
+ * @param meanInterarrival The mean time between two arrivals
+ * @param meanLengthOfStay The mean time a patient keeps a bed
+ */
+public record ArrivalProfile(Duration meanInterarrival, Duration meanLengthOfStay) {
+
+    /**
+     * Creates an arrival profile.
+     *
+     * @throws IllegalArgumentException If either mean is missing or not positive
+     */
+    public ArrivalProfile {
+        if (meanInterarrival == null || meanInterarrival.isNegative() || meanInterarrival.isZero()) {
+            throw new IllegalArgumentException("Mean time between arrivals must be positive");
+        }
+        if (meanLengthOfStay == null || meanLengthOfStay.isNegative() || meanLengthOfStay.isZero()) {
+            throw new IllegalArgumentException("Mean length of stay must be positive");
+        }
+    }
+
+    /**
+     * Gets the average number of beds the profile keeps busy.
+     *
+     * @return The mean length of stay divided by the mean time between arrivals
+     */
+    public double getOfferedLoad() {
+        return (double) meanLengthOfStay.toMillis() / meanInterarrival.toMillis();
+    }
+}
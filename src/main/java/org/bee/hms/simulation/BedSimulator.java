@@ -0,0 +1,426 @@
+package org.bee.hms.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.bee.hms.humans.Patient;
+import org.bee.hms.wards.WardClassType;
+import org.bee.hms.wards.WardRegistry;
+import org.bee.hms.wards.WardRegistry.BedAllocation;
+import org.bee.utils.EventQueue;
+import org.bee.utils.JSONSerializable;
+import org.bee.utils.LatencyHistogram;
+
+/**
+ * Discrete-event simulation of bed demand against a given number of wards per class.
+ * <p>
+ * Each run builds its own {@link WardRegistry} with the chosen wards, so beds are sized and
+ * handed out exactly as in the live ward model. Arrivals are read in order and departures wait
+ * in an {@link EventQueue}; the loop always handles whichever comes first, with departures
+ * before arrivals at the same time so a freed bed can be taken straight away. A patient who
+ * finds no free bed joins a first-come, first-served queue for the class and gets the next bed
+ * that frees up, keeping it for the full length of stay from then.
+ * </p>
+ * <p>
+ * The simulator itself is immutable; {@link #withWards} gives a copy for a what-if scenario.
+ * </p>
+ */
+public class BedSimulator {
+
+    /**
+     * What happened to the patients of one ward class.
+     *
+     * @param wardClassType  The ward class
+     * @param wards          The number of wards of the class
+     * @param beds           The number of beds of the class
+     * @param admissions     The number of patients who asked for a bed
+     * @param waited         The number of patients who had to wait for a bed
+     * @param unserved       The number of patients who never got a bed
+     * @param meanWaitMillis The mean wait of patients who got a bed, including those who did not wait
+     * @param p50WaitMillis  The median wait of patients who got a bed
+     * @param p90WaitMillis  The 90th percentile wait of patients who got a bed
+     * @param maxWaitMillis  The longest wait of a patient who got a bed
+     * @param peakQueue      The most patients waiting at once
+     * @param peakOccupied   The most beds occupied at once
+     * @param utilization    The share of available bed time that was occupied
+     */
+    public record ClassResult(WardClassType wardClassType, int wards, int beds, long admissions, long waited,
+                              long unserved, long meanWaitMillis, long p50WaitMillis, long p90WaitMillis,
+                              long maxWaitMillis, int peakQueue, int peakOccupied, double utilization)
+            implements JSONSerializable {
+    }
+
+    /**
+     * The outcome of one simulation run.
+     *
+     * @param start     When the first patient arrived
+     * @param end       When the last event happened
+     * @param events    The number of arrivals and departures handled
+     * @param runNanos  How long the run took
+     * @param byClass   The outcome per ward class that had wards or patients, in class order
+     */
+    public record Report(LocalDateTime start, LocalDateTime end, long events, long runNanos,
+                         List<ClassResult> byClass) implements JSONSerializable {
+
+        /**
+         * Gets how many events the run handled per second of real time.
+         *
+         * @return The event rate
+         */
+        public double getEventsPerSecond() {
+            return runNanos == 0 ? 0 : events * 1e9 / runNanos;
+        }
+    }
+
+    /** Ward classes by ordinal */
+    private static final WardClassType[] TYPES = WardClassType.values();
+
+    /** Number of wards per class */
+    private final Map<WardClassType, Integer> wardsPerClass;
+
+    /**
+     * Creates a simulator with the given wards.
+     *
+     * @param wardsPerClass The number of wards per class; classes left out have none
+     * @throws IllegalArgumentException If a ward count is negative
+     */
+    public BedSimulator(Map<WardClassType, Integer> wardsPerClass) {
+        Map<WardClassType, Integer> wards = new EnumMap<>(WardClassType.class);
+        for (WardClassType type : WardClassType.values()) {
+            int count = wardsPerClass.getOrDefault(type, 0);
+            if (count < 0) {
+                throw new IllegalArgumentException("Ward count cannot be negative: " + type + " " + count);
+            }
+            wards.put(type, count);
+        }
+        this.wardsPerClass = wards;
+    }
+
+    /**
+     * Creates a simulator with as many wards per class as a registry holds.
+     *
+     * @param registry The registry to copy, usually the hospital-wide one
+     * @return The simulator
+     */
+    public static BedSimulator fromRegistry(WardRegistry registry) {
+        Map<WardClassType, Integer> wards = new EnumMap<>(WardClassType.class);
+        for (WardClassType type : WardClassType.values()) {
+            wards.put(type, registry.getWards(type).size());
+        }
+        return new BedSimulator(wards);
+    }
+
+    /**
+     * Creates a copy of this simulator with a different number of wards of one class.
+     *
+     * @param wardClassType The ward class
+     * @param wards         The number of wards of the class
+     * @return The new simulator
+     * @throws IllegalArgumentException If the ward count is negative
+     */
+    public BedSimulator withWards(WardClassType wardClassType, int wards) {
+        Map<WardClassType, Integer> changed = new EnumMap<>(wardsPerClass);
+        changed.put(wardClassType, wards);
+        return new BedSimulator(changed);
+    }
+
+    /**
+     * Gets the number of wards of a class.
+     *
+     * @param wardClassType The ward class
+     * @return The ward count
+     */
+    public int getWards(WardClassType wardClassType) {
+        return wardsPerClass.get(wardClassType);
+    }
+
+    /**
+     * Runs the simulation until every patient who can get a bed has left.
+     *
+     * @param admissions The patients, in any order
+     * @return The report
+     */
+    public Report run(List<Admission> admissions) {
+        long began = System.nanoTime();
+        List<Admission> ordered = admissions;
+        for (int i = 1; i < admissions.size(); i++) {
+            if (admissions.get(i).arrival().isBefore(admissions.get(i - 1).arrival())) {
+                ordered = new ArrayList<>(admissions);
+                ordered.sort(Comparator.comparing(Admission::arrival));
+                break;
+            }
+        }
+        Run run = new Run(ordered);
+        run.simulate();
+        return run.report(System.nanoTime() - began);
+    }
+
+    /**
+     * The state of one simulation run.
+     * Times are milliseconds since the first arrival.
+     */
+    private final class Run {
+        /** When the first patient arrived */
+        private final LocalDateTime origin;
+
+        /** Arrival time per patient */
+        private final long[] arrival;
+
+        /** Length of stay per patient */
+        private final long[] stay;
+
+        /** Ward class ordinal per patient */
+        private final int[] classOf;
+
+        /** Bed held per patient, while they hold it */
+        private final BedAllocation[] beds;
+
+        /** Beds of this run */
+        private final WardRegistry registry = new WardRegistry();
+
+        /** Stand-in patient placed in the beds */
+        private final Patient occupant = Patient.builder().patientId("SIMULATED").withRandomBaseData().build();
+
+        /** Departures of patients currently in a bed, keyed by time */
+        private final EventQueue departures = new EventQueue();
+
+        /** Running totals per ward class ordinal */
+        private final Tally[] tallies = new Tally[TYPES.length];
+
+        /** Current time */
+        private long now;
+
+        /** Number of events handled */
+        private long events;
+
+        /**
+         * Prepares a run.
+         *
+         * @param admissions The patients in arrival order
+         */
+        private Run(List<Admission> admissions) {
+            int n = admissions.size();
+            origin = n == 0 ? null : admissions.getFirst().arrival();
+            arrival = new long[n];
+            stay = new long[n];
+            classOf = new int[n];
+            beds = new BedAllocation[n];
+            for (int i = 0; i < n; i++) {
+                Admission admission = admissions.get(i);
+                arrival[i] = Duration.between(origin, admission.arrival()).toMillis();
+                stay[i] = admission.lengthOfStay().toMillis();
+                classOf[i] = admission.wardClassType().ordinal();
+            }
+            for (WardClassType type : WardClassType.values()) {
+                for (int w = 1; w <= wardsPerClass.get(type); w++) {
+                    registry.intern("Simulated " + type.getDescription() + " " + w, type);
+                }
+                tallies[type.ordinal()] = new Tally(type);
+            }
+        }
+
+        /**
+         * Handles every event in time order.
+         */
+        private void simulate() {
+            int next = 0;
+            while (next < arrival.length || !departures.isEmpty()) {
+                if (!departures.isEmpty() && (next == arrival.length || departures.peekTime() <= arrival[next])) {
+                    now = departures.peekTime();
+                    depart(departures.poll());
+                } else {
+                    now = arrival[next];
+                    arrive(next++);
+                }
+                events++;
+            }
+        }
+
+        /**
+         * Handles a patient asking for a bed.
+         *
+         * @param patient The patient index
+         */
+        private void arrive(int patient) {
+            Tally tally = tallies[classOf[patient]];
+            tally.admissions++;
+            if (tally.waiting.isEmpty() && admit(patient)) {
+                return;
+            }
+            tally.waiting.add(patient);
+            tally.peakQueue = Math.max(tally.peakQueue, tally.waiting.size());
+        }
+
+        /**
+         * Handles a patient leaving their bed, giving it to the next patient waiting for one.
+         *
+         * @param patient The patient index
+         */
+        private void depart(int patient) {
+            Tally tally = tallies[classOf[patient]];
+            registry.release(beds[patient]);
+            beds[patient] = null;
+            tally.occupied--;
+            if (!tally.waiting.isEmpty()) {
+                admit(tally.waiting.poll());
+            }
+        }
+
+        /**
+         * Puts a patient in a free bed of their class and schedules their departure.
+         *
+         * @param patient The patient index
+         * @return {@code true} if there was a free bed
+         */
+        private boolean admit(int patient) {
+            WardClassType type = TYPES[classOf[patient]];
+            Optional<BedAllocation> bed = registry.allocate(type, occupant);
+            if (bed.isEmpty()) {
+                return false;
+            }
+            beds[patient] = bed.get();
+            Tally tally = tallies[classOf[patient]];
+            long wait = now - arrival[patient];
+            tally.waits.record(wait);
+            tally.waited += wait > 0 ? 1 : 0;
+            tally.occupied++;
+            tally.peakOccupied = Math.max(tally.peakOccupied, tally.occupied);
+            tally.busyMillis += stay[patient];
+            departures.add(now + stay[patient], patient);
+            return true;
+        }
+
+        /**
+         * Summarizes the run.
+         *
+         * @param runNanos How long the run took
+         * @return The report
+         */
+        private Report report(long runNanos) {
+            List<ClassResult> byClass = new ArrayList<>();
+            for (Tally tally : tallies) {
+                int wards = wardsPerClass.get(tally.type);
+                if (wards == 0 && tally.admissions == 0) {
+                    continue;
+                }
+                int bedCount = registry.getBedCount(tally.type);
+                LatencyHistogram waits = tally.waits;
+                double available = (double) bedCount * now;
+                byClass.add(new ClassResult(tally.type, wards, bedCount, tally.admissions, tally.waited,
+                        tally.waiting.size(), Math.round(waits.getMean()), waits.getValueAtPercentile(50),
+                        waits.getValueAtPercentile(90), waits.getMax(), tally.peakQueue, tally.peakOccupied,
+                        available == 0 ? 0 : tally.busyMillis / available));
+            }
+            return new Report(origin, origin == null ? null : origin.plus(Duration.ofMillis(now)), events,
+                    runNanos, byClass);
+        }
+    }
+
+    /**
+     * Running totals for one ward class.
+     */
+    private static final class Tally {
+        /** The ward class */
+        private final WardClassType type;
+
+        /** Waits of patients who got a bed */
+        private final LatencyHistogram waits = new LatencyHistogram();
+
+        /** Patients waiting for a bed, first come first served */
+        private final IntQueue waiting = new IntQueue();
+
+        /** Number of patients who asked for a bed */
+        private long admissions;
+
+        /** Number of patients who had to wait */
+        private long waited;
+
+        /** Total length of stay of patients who got a bed */
+        private long busyMillis;
+
+        /** Beds occupied now */
+        private int occupied;
+
+        /** Most beds occupied at once */
+        private int peakOccupied;
+
+        /** Most patients waiting at once */
+        private int peakQueue;
+
+        /**
+         * Creates empty totals.
+         *
+         * @param type The ward class
+         */
+        private Tally(WardClassType type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * First-in, first-out queue of patient indexes in a growable ring buffer.
+     */
+    private static final class IntQueue {
+        /** Queued values, from {@link #head} wrapping around */
+        private int[] values = new int[16];
+
+        /** Position of the oldest value */
+        private int head;
+
+        /** Number of queued values */
+        private int size;
+
+        /**
+         * Adds a value at the back.
+         *
+         * @param value The value
+         */
+        private void add(int value) {
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                int firstPart = size - head;
+                System.arraycopy(values, head, grown, 0, firstPart);
+                System.arraycopy(values, 0, grown, firstPart, head);
+                values = grown;
+                head = 0;
+            }
+            values[(head + size++) % values.length] = value;
+        }
+
+        /**
+         * Removes the value at the front.
+         *
+         * @return The value
+         */
+        private int poll() {
+            int value = values[head];
+            head = (head + 1) % values.length;
+            size--;
+            return value;
+        }
+
+        /**
+         * Checks whether the queue is empty.
+         *
+         * @return {@code true} if nothing is queued
+         */
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Gets the number of queued values.
+         *
+         * @return The size
+         */
+        private int size() {
+            return size;
+        }
+    }
+}
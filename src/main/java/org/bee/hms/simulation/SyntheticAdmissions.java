@@ -0,0 +1,70 @@
+package org.bee.hms.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.bee.hms.wards.WardClassType;
+
+/**
+ * Generates admissions from an {@link ArrivalProfile} per ward class.
+ * The same seed always gives the same admissions.
+ */
+public class SyntheticAdmissions {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private SyntheticAdmissions() {
+    }
+
+    /**
+     * Generates the admissions arriving within a period.
+     *
+     * @param profiles How each ward class's patients arrive and stay
+     * @param start    When the period begins
+     * @param horizon  How long the period lasts
+     * @param seed     The random seed
+     * @return The admissions in arrival order
+     * @throws IllegalArgumentException If the horizon is negative
+     */
+    public static List<Admission> generate(Map<WardClassType, ArrivalProfile> profiles, LocalDateTime start,
+                                           Duration horizon, long seed) {
+        if (horizon.isNegative()) {
+            throw new IllegalArgumentException("Horizon cannot be negative: " + horizon);
+        }
+        Random random = new Random(seed);
+        long horizonMillis = horizon.toMillis();
+        List<Admission> admissions = new ArrayList<>();
+        for (WardClassType type : WardClassType.values()) {
+            ArrivalProfile profile = profiles.get(type);
+            if (profile == null) {
+                continue;
+            }
+            long interarrival = profile.meanInterarrival().toMillis();
+            long stay = profile.meanLengthOfStay().toMillis();
+            for (long t = exponential(random, interarrival); t < horizonMillis; t += exponential(random, interarrival)) {
+                admissions.add(new Admission(type, start.plus(Duration.ofMillis(t)),
+                        Duration.ofMillis(exponential(random, stay))));
+            }
+        }
+        admissions.sort(Comparator.comparing(Admission::arrival));
+        return admissions;
+    }
+
+    /**
+     * Draws an exponentially distributed duration.
+     *
+     * @param random The random source
+     * @param mean   The mean in milliseconds
+     * @return The duration in milliseconds
+     */
+    private static long exponential(Random random, long mean) {
+        return Math.round(-mean * Math.log(1 - random.nextDouble()));
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Headless what-if simulations for the Hospital Management System.
+ * <p>
+ * The {@link org.bee.hms.simulation.BedSimulator} replays a stream of
+ * {@link org.bee.hms.simulation.Admission}s, either taken from past visits or generated by
+ * {@link org.bee.hms.simulation.SyntheticAdmissions}, against a chosen number of wards per
+ * {@link org.bee.hms.wards.WardClassType}. It reports how long patients wait for a bed and
+ * how busy the beds of each class are.
+ * </p>
+ */
+package org.bee.hms.simulation;
@@ -361,7 +361,7 @@ public class Appointment implements JSONSerializable {
         String reason = reasons[DataGenerator.generateRandomInt(reasons.length)];
 
         // Generate a random appointment time between now and 30 days in the future
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DataGenerator.now();
         int daysToAdd = DataGenerator.generateRandomInt(1, 30);
         int hoursToAdd = DataGenerator.generateRandomInt(9, 16); // 9 AM to 4 PM
         LocalDateTime appointmentTime = now.plusDays(daysToAdd).withHour(hoursToAdd).withMinute(0).withSecond(0);
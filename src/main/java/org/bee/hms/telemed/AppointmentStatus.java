@@ -42,6 +42,12 @@ public enum AppointmentStatus implements JSONSerializable {
     /** On patient end where they cancel the appointment */
     CANCELED,
 
+    /**
+     * The appointment time passed while it was still pending.
+     * Set automatically by the deadline scheduler.
+     */
+    EXPIRED,
+
     /**
      * Appointment is complete but payment is outstanding
      * Used for billable appointments awaiting payment
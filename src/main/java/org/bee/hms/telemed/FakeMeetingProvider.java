@@ -0,0 +1,79 @@
+package org.bee.hms.telemed;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bee.execeptions.ZoomApiException;
+
+/**
+ * In-process meeting provider that makes up join URLs without calling Zoom.
+ * Used in tests and when running offline with {@code -Dzoom.fake=true}.
+ * The URLs use the reserved {@code .invalid} domain, so they cannot be mistaken for real meetings.
+ */
+public class FakeMeetingProvider implements MeetingProvider {
+
+    /** Simulated time taken to create a meeting */
+    private final Duration latency;
+
+    /** Number of meetings created so far */
+    private final AtomicInteger created = new AtomicInteger();
+
+    /** Whether calls currently fail */
+    private volatile boolean failing;
+
+    /**
+     * Creates a fake provider that answers immediately.
+     */
+    public FakeMeetingProvider() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * Creates a fake provider.
+     *
+     * @param latency Simulated time taken to create a meeting
+     */
+    public FakeMeetingProvider(Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Makes up a meeting after the configured latency.
+     *
+     * @param topic           The meeting topic
+     * @param durationMinutes The meeting length in minutes
+     * @return A unique fake join URL
+     * @throws ZoomApiException If the provider is set to fail or the wait is interrupted
+     */
+    @Override
+    public String createMeeting(String topic, int durationMinutes) throws ZoomApiException {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZoomApiException("Interrupted creating meeting", e);
+        }
+        if (failing) {
+            throw new ZoomApiException("Failed to create meeting. Response code: 503, message: Service Unavailable");
+        }
+        return "https://meetings.invalid/j/" + (900_000_000L + created.incrementAndGet());
+    }
+
+    /**
+     * Sets whether calls fail.
+     *
+     * @param failing {@code true} to make calls fail
+     */
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    /**
+     * Gets the number of meetings created so far.
+     *
+     * @return The number of meetings created
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+}
@@ -0,0 +1,295 @@
+package org.bee.hms.telemed;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bee.execeptions.ZoomApiException;
+
+/**
+ * Pool of meeting links created ahead of time, so approving an appointment does not
+ * wait for the meeting provider.
+ * <p>
+ * The pool is topped up in the background to a target size, normally the number of
+ * upcoming pending appointments. Links are created with a generic topic and are retired
+ * once they reach the maximum age. A link that was handed out but not used can be
+ * recycled back into the pool. When the pool is empty, a link is created on the spot.
+ * </p>
+ */
+public class MeetingLinkPool implements AutoCloseable {
+
+    /** Topic of pre-created meetings, since the patient is not known in advance */
+    public static final String POOLED_TOPIC = "Telemedicine consultation";
+
+    /**
+     * Counters describing the pool.
+     *
+     * @param available The number of links ready to hand out
+     * @param target    The number of links the pool aims to hold
+     * @param created   The number of links created in the background
+     * @param hits      The number of requests served from the pool
+     * @param misses    The number of requests that had to create a link on the spot
+     * @param recycled  The number of unused links returned to the pool
+     * @param retired   The number of links dropped because they were too old
+     * @param refills   The number of background refills that have finished, whether they reached
+     *                  the target or stopped on a provider failure
+     * @param failures  The number of background refills stopped by a provider failure
+     */
+    public record Stats(int available, int target, long created, long hits, long misses,
+                        long recycled, long retired, long refills, long failures) {
+    }
+
+    /**
+     * A link waiting in the pool.
+     *
+     * @param url       The join URL
+     * @param createdAt When the meeting was created
+     */
+    private record PooledLink(String url, Instant createdAt) {
+    }
+
+    /** Provider used to create meetings */
+    private final MeetingProvider provider;
+
+    /** Length of pre-created meetings in minutes */
+    private final int durationMinutes;
+
+    /** Upper bound on the target size */
+    private final int maxSize;
+
+    /** Age after which a link is no longer handed out */
+    private final Duration maxAge;
+
+    /** Clock used to age links */
+    private final Clock clock;
+
+    /** Links ready to hand out, oldest first */
+    private final Deque<PooledLink> links = new ArrayDeque<>();
+
+    /** Creation time of links handed out from the pool, so they can be recycled */
+    private final Map<String, Instant> issued = new HashMap<>();
+
+    /** Runs background refills */
+    private final ExecutorService refiller = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("meeting-link-refill").factory());
+
+    /** Number of links the pool aims to hold */
+    private int targetSize;
+
+    /** Whether a refill is running */
+    private boolean refilling;
+
+    /** Whether the pool has been closed */
+    private boolean closed;
+
+    /** Number of links created in the background */
+    private long created;
+
+    /** Number of requests served from the pool */
+    private long hits;
+
+    /** Number of requests that found the pool empty */
+    private long misses;
+
+    /** Number of unused links returned to the pool */
+    private long recycled;
+
+    /** Number of links dropped because they were too old */
+    private long retired;
+
+    /** Number of background refills that have finished */
+    private long refills;
+
+    /** Number of background refills stopped by a provider failure */
+    private long failures;
+
+    /**
+     * Creates a pool using the system clock.
+     *
+     * @param provider        Provider used to create meetings
+     * @param durationMinutes Length of pre-created meetings in minutes
+     * @param maxSize         Upper bound on the target size
+     * @param maxAge          Age after which a link is no longer handed out
+     */
+    public MeetingLinkPool(MeetingProvider provider, int durationMinutes, int maxSize, Duration maxAge) {
+        this(provider, durationMinutes, maxSize, maxAge, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a pool.
+     *
+     * @param provider        Provider used to create meetings
+     * @param durationMinutes Length of pre-created meetings in minutes
+     * @param maxSize         Upper bound on the target size
+     * @param maxAge          Age after which a link is no longer handed out
+     * @param clock           Clock used to age links
+     * @throws IllegalArgumentException If the duration, size or age is not positive
+     */
+    public MeetingLinkPool(MeetingProvider provider, int durationMinutes, int maxSize, Duration maxAge, Clock clock) {
+        if (durationMinutes <= 0 || maxSize <= 0 || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Duration, pool size and link age must be positive");
+        }
+        this.provider = provider;
+        this.durationMinutes = durationMinutes;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets how many links the pool should hold and starts topping it up if needed.
+     * Surplus links are kept until they are used or retired.
+     *
+     * @param upcomingAppointments The number of appointments expected to need a link
+     */
+    public synchronized void resize(int upcomingAppointments) {
+        targetSize = Math.max(0, Math.min(maxSize, upcomingAppointments));
+        scheduleRefill();
+    }
+
+    /**
+     * Gets a meeting link, from the pool if one is ready or else from the provider.
+     *
+     * @param topic           The topic to use if a meeting has to be created on the spot
+     * @param durationMinutes The length to use if a meeting has to be created on the spot
+     * @return The meeting join URL
+     * @throws ZoomApiException If the pool is empty and the provider fails
+     */
+    public String acquire(String topic, int durationMinutes) throws ZoomApiException {
+        Optional<String> pooled = poll();
+        if (pooled.isPresent()) {
+            return pooled.get();
+        }
+        return provider.createMeeting(topic, durationMinutes);
+    }
+
+    /**
+     * Takes a ready link from the pool without waiting.
+     *
+     * @return The join URL, or empty if the pool has no fresh link
+     */
+    public synchronized Optional<String> poll() {
+        retireExpired();
+        PooledLink link = links.pollFirst();
+        if (link == null) {
+            misses++;
+            scheduleRefill();
+            return Optional.empty();
+        }
+        hits++;
+        issued.put(link.url(), link.createdAt());
+        scheduleRefill();
+        return Optional.of(link.url());
+    }
+
+    /**
+     * Returns a link handed out by this pool that ended up not being used.
+     *
+     * @param url The join URL
+     * @return {@code true} if the link went back into the pool
+     */
+    public synchronized boolean recycle(String url) {
+        Instant createdAt = issued.remove(url);
+        if (createdAt == null || closed || isExpired(createdAt) || links.size() >= maxSize) {
+            return false;
+        }
+        // Recycled links are older than freshly created ones, so hand them out first
+        links.addFirst(new PooledLink(url, createdAt));
+        recycled++;
+        return true;
+    }
+
+    /**
+     * Gets the pool counters.
+     *
+     * @return A snapshot of the counters
+     */
+    public synchronized Stats getStats() {
+        return new Stats(links.size(), targetSize, created, hits, misses, recycled, retired, refills, failures);
+    }
+
+    /**
+     * Stops background refills. Links still in the pool are dropped.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        links.clear();
+        refiller.shutdownNow();
+    }
+
+    /**
+     * Starts a background refill if the pool is below target and none is running.
+     */
+    private void scheduleRefill() {
+        if (!closed && !refilling && links.size() < targetSize) {
+            refilling = true;
+            refiller.execute(this::refill);
+        }
+    }
+
+    /**
+     * Creates links one at a time until the pool reaches its target.
+     * A provider failure ends the refill and is counted in {@link Stats#failures()};
+     * the next request for a link starts another. A link created after the pool was closed is dropped.
+     */
+    private void refill() {
+        while (true) {
+            synchronized (this) {
+                if (closed || links.size() >= targetSize) {
+                    refilling = false;
+                    refills++;
+                    return;
+                }
+            }
+            try {
+                String url = provider.createMeeting(POOLED_TOPIC, durationMinutes);
+                synchronized (this) {
+                    if (!closed) {
+                        links.addLast(new PooledLink(url, clock.instant()));
+                        created++;
+                    }
+                }
+            } catch (ZoomApiException | RuntimeException e) {
+                synchronized (this) {
+                    refilling = false;
+                    refills++;
+                    failures++;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops links that are too old to hand out, and forgets old issued links.
+     */
+    private void retireExpired() {
+        Iterator<PooledLink> iterator = links.iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next().createdAt())) {
+                iterator.remove();
+                retired++;
+            }
+        }
+        issued.values().removeIf(this::isExpired);
+    }
+
+    /**
+     * Checks whether a link created at the given time is too old.
+     *
+     * @param createdAt When the link was created
+     * @return {@code true} if the link has reached the maximum age
+     */
+    private boolean isExpired(Instant createdAt) {
+        return !clock.instant().isBefore(createdAt.plus(maxAge));
+    }
+}
@@ -0,0 +1,22 @@
+package org.bee.hms.telemed;
+
+import org.bee.execeptions.ZoomApiException;
+
+/**
+ * Creates online meetings for telemedicine sessions.
+ *
+ * @see ZoomMeetingClient
+ * @see FakeMeetingProvider
+ */
+public interface MeetingProvider {
+
+    /**
+     * Creates a meeting.
+     *
+     * @param topic           The meeting topic
+     * @param durationMinutes The meeting length in minutes
+     * @return The meeting join URL
+     * @throws ZoomApiException If the meeting cannot be created
+     */
+    String createMeeting(String topic, int durationMinutes) throws ZoomApiException;
+}
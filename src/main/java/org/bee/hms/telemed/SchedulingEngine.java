@@ -0,0 +1,460 @@
+package org.bee.hms.telemed;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Tracks which half-hour slots each doctor has booked and finds free ones.
+ * <p>
+ * Each doctor has one {@code long} per day, with bit {@code i} set when the slot starting
+ * at {@code i * 30} minutes past midnight is taken. Checking a booking, booking it and
+ * finding the next free slot in a day are a few bit operations, and a year of bookings
+ * for one doctor takes about 3 KB. Bookings that do not start on a slot boundary take
+ * every slot they overlap. A booking must end on the day it starts.
+ * </p>
+ * <p>
+ * Free slots are only offered within opening hours, but bookings outside them are
+ * accepted so existing appointments can always be recorded.
+ * </p>
+ */
+public class SchedulingEngine {
+
+    /** Length of one slot in minutes */
+    public static final int SLOT_MINUTES = 30;
+
+    /** Number of slots in a day, which must fit in a {@code long} */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    /** Number of days searched ahead for a free slot */
+    public static final int SEARCH_HORIZON_DAYS = 366;
+
+    /**
+     * A slot start for a doctor.
+     *
+     * @param doctorId The staff ID of the doctor
+     * @param start    When the slot starts
+     */
+    public record Slot(String doctorId, LocalDateTime start) {
+    }
+
+    /** Orders slots by start time, then doctor, so results are repeatable */
+    private static final Comparator<Slot> SLOT_ORDER =
+            Comparator.comparing(Slot::start).thenComparing(Slot::doctorId);
+
+    /**
+     * Booked slots of one doctor, one bitmap per day.
+     * Days before the first or after the last stored day have nothing booked.
+     */
+    private static class DayBitmaps {
+        /** Epoch day of {@code days[0]} */
+        private long firstDay;
+
+        /** Booked slots per day */
+        private long[] days = new long[0];
+
+        /**
+         * Gets the booked slots on a day.
+         *
+         * @param epochDay The day
+         * @return The bitmap of booked slots
+         */
+        long get(long epochDay) {
+            long index = epochDay - firstDay;
+            return index >= 0 && index < days.length ? days[(int) index] : 0L;
+        }
+
+        /**
+         * Replaces the booked slots on a day, growing the array if needed.
+         *
+         * @param epochDay The day
+         * @param bits     The bitmap of booked slots
+         */
+        void set(long epochDay, long bits) {
+            if (days.length == 0) {
+                firstDay = epochDay;
+                days = new long[32];
+            } else if (epochDay < firstDay) {
+                int shift = (int) Math.max(firstDay - epochDay, days.length);
+                long[] grown = new long[days.length + shift];
+                System.arraycopy(days, 0, grown, shift, days.length);
+                days = grown;
+                firstDay -= shift;
+            } else if (epochDay - firstDay >= days.length) {
+                int needed = (int) (epochDay - firstDay + 1);
+                days = Arrays.copyOf(days, Math.max(needed, days.length * 2));
+            }
+            days[(int) (epochDay - firstDay)] = bits;
+        }
+    }
+
+    /** Bitmap of slots within opening hours */
+    private final long openingMask;
+
+    /** Booked slots per doctor, by staff ID */
+    private final Map<String, DayBitmaps> calendars = new TreeMap<>();
+
+    /** Total number of booked slots */
+    private long bookedSlots;
+
+    /**
+     * Creates an engine that offers slots between the given times each day.
+     *
+     * @param opening Start of the first bookable slot
+     * @param closing End of the last bookable slot, or midnight for the end of the day
+     * @throws IllegalArgumentException If the times are not on slot boundaries or closing is not after opening
+     */
+    public SchedulingEngine(LocalTime opening, LocalTime closing) {
+        int first = slotOf(opening);
+        int last = closing.equals(LocalTime.MIDNIGHT) ? SLOTS_PER_DAY : slotOf(closing);
+        if (first >= last) {
+            throw new IllegalArgumentException("Closing time must be after opening time");
+        }
+        this.openingMask = rangeMask(first, last - first);
+    }
+
+    /**
+     * Adds a doctor with nothing booked. Adding a known doctor has no effect.
+     *
+     * @param doctorId The staff ID of the doctor
+     */
+    public synchronized void addDoctor(String doctorId) {
+        calendar(doctorId);
+    }
+
+    /**
+     * Gets the number of doctors known to the engine.
+     *
+     * @return The doctor count
+     */
+    public synchronized int getDoctorCount() {
+        return calendars.size();
+    }
+
+    /**
+     * Gets the number of slots booked across all doctors.
+     *
+     * @return The booked slot count
+     */
+    public synchronized long getBookedSlotCount() {
+        return bookedSlots;
+    }
+
+    /**
+     * Checks whether a doctor has nothing booked over a period.
+     *
+     * @param doctorId        The staff ID of the doctor
+     * @param start           Start of the period
+     * @param durationMinutes Length of the period in minutes
+     * @return {@code true} if every slot the period overlaps is free
+     * @throws IllegalArgumentException If the duration is not positive or the period crosses midnight
+     */
+    public synchronized boolean isFree(String doctorId, LocalDateTime start, int durationMinutes) {
+        long mask = bookingMask(start, durationMinutes);
+        DayBitmaps calendar = calendars.get(doctorId);
+        return calendar == null || (calendar.get(start.toLocalDate().toEpochDay()) & mask) == 0;
+    }
+
+    /**
+     * Books a period for a doctor if it is free.
+     *
+     * @param doctorId        The staff ID of the doctor
+     * @param start           Start of the period
+     * @param durationMinutes Length of the period in minutes
+     * @return {@code true} if booked, {@code false} if it overlaps an existing booking
+     * @throws IllegalArgumentException If the duration is not positive or the period crosses midnight
+     */
+    public synchronized boolean book(String doctorId, LocalDateTime start, int durationMinutes) {
+        long mask = bookingMask(start, durationMinutes);
+        long day = start.toLocalDate().toEpochDay();
+        DayBitmaps calendar = calendar(doctorId);
+        long bits = calendar.get(day);
+        if ((bits & mask) != 0) {
+            return false;
+        }
+        calendar.set(day, bits | mask);
+        bookedSlots += Long.bitCount(mask);
+        return true;
+    }
+
+    /**
+     * Frees the slots a period overlaps.
+     *
+     * @param doctorId        The staff ID of the doctor
+     * @param start           Start of the period
+     * @param durationMinutes Length of the period in minutes
+     * @throws IllegalArgumentException If the duration is not positive or the period crosses midnight
+     */
+    public synchronized void release(String doctorId, LocalDateTime start, int durationMinutes) {
+        long mask = bookingMask(start, durationMinutes);
+        DayBitmaps calendar = calendars.get(doctorId);
+        if (calendar == null) {
+            return;
+        }
+        long day = start.toLocalDate().toEpochDay();
+        long bits = calendar.get(day);
+        if ((bits & mask) != 0) {
+            calendar.set(day, bits & ~mask);
+            bookedSlots -= Long.bitCount(bits & mask);
+        }
+    }
+
+    /**
+     * Finds the earliest free period of the given length for one doctor.
+     *
+     * @param doctorId        The staff ID of the doctor
+     * @param from            Earliest acceptable start
+     * @param durationMinutes Length of the period in minutes
+     * @return The start of the period, or empty if none is free within the search horizon
+     * @throws IllegalArgumentException If the duration is not positive or longer than a day
+     */
+    public synchronized Optional<LocalDateTime> nextFreeSlot(String doctorId, LocalDateTime from, int durationMinutes) {
+        int slots = slotsFor(durationMinutes);
+        return Optional.ofNullable(seek(calendar(doctorId), from, slots));
+    }
+
+    /**
+     * Finds the earliest free periods across all doctors.
+     * Each doctor's candidates are kept in a priority queue, so each pick only advances
+     * the doctor it came from.
+     *
+     * @param from            Earliest acceptable start
+     * @param count           Number of periods wanted
+     * @param durationMinutes Length of each period in minutes
+     * @return Up to {@code count} slots in start order, fewer if the search horizon runs out
+     * @throws IllegalArgumentException If the count is negative or the duration is not positive or longer than a day
+     */
+    public synchronized List<Slot> nextFreeSlots(LocalDateTime from, int count, int durationMinutes) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        int slots = slotsFor(durationMinutes);
+        List<Slot> result = new ArrayList<>(Math.min(count, 1024));
+        if (count == 0) {
+            return result;
+        }
+        PriorityQueue<Slot> candidates = seedCandidates(from, slots);
+        while (result.size() < count && !candidates.isEmpty()) {
+            Slot next = candidates.poll();
+            result.add(next);
+            offerNext(candidates, next.doctorId(), next.start().plusMinutes(SLOT_MINUTES), slots);
+        }
+        return result;
+    }
+
+    /**
+     * Moves a batch of bookings to the earliest free periods from a given time.
+     * All the bookings are freed first, then placed in their original start order.
+     * If any of them cannot be placed, nothing changes.
+     *
+     * @param bookings        The current bookings to move
+     * @param notBefore       Earliest acceptable new start
+     * @param durationMinutes Length of each booking in minutes
+     * @param keepDoctor      {@code true} to keep each booking with its doctor, {@code false} to use any doctor
+     * @return The new slots, in the same order as {@code bookings}
+     * @throws IllegalStateException If a booking cannot be placed within the search horizon
+     */
+    public synchronized List<Slot> reschedule(List<Slot> bookings, LocalDateTime notBefore,
+                                              int durationMinutes, boolean keepDoctor) {
+        int slots = slotsFor(durationMinutes);
+        for (Slot booking : bookings) {
+            release(booking.doctorId(), booking.start(), durationMinutes);
+        }
+
+        Integer[] order = new Integer[bookings.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> bookings.get(i), SLOT_ORDER));
+
+        Slot[] moved = new Slot[bookings.size()];
+        PriorityQueue<Slot> candidates = keepDoctor ? null : seedCandidates(notBefore, slots);
+        for (int i : order) {
+            Slot target;
+            if (keepDoctor) {
+                String doctorId = bookings.get(i).doctorId();
+                LocalDateTime start = seek(calendar(doctorId), notBefore, slots);
+                target = start == null ? null : new Slot(doctorId, start);
+            } else {
+                target = candidates.poll();
+            }
+            if (target == null) {
+                undoReschedule(bookings, moved, durationMinutes);
+                throw new IllegalStateException("No free slot within " + SEARCH_HORIZON_DAYS
+                        + " days for the booking at " + bookings.get(i).start());
+            }
+            book(target.doctorId(), target.start(), durationMinutes);
+            moved[i] = target;
+            if (!keepDoctor) {
+                offerNext(candidates, target.doctorId(), target.start(), slots);
+            }
+        }
+        return Arrays.asList(moved);
+    }
+
+    /**
+     * Releases the slots placed so far and books the original ones again.
+     *
+     * @param bookings        The original bookings
+     * @param moved           The new slots placed so far, {@code null} where not placed
+     * @param durationMinutes Length of each booking in minutes
+     */
+    private void undoReschedule(List<Slot> bookings, Slot[] moved, int durationMinutes) {
+        for (Slot slot : moved) {
+            if (slot != null) {
+                release(slot.doctorId(), slot.start(), durationMinutes);
+            }
+        }
+        for (Slot booking : bookings) {
+            book(booking.doctorId(), booking.start(), durationMinutes);
+        }
+    }
+
+    /**
+     * Builds a queue holding the earliest free period of every doctor.
+     *
+     * @param from  Earliest acceptable start
+     * @param slots Length of the period in slots
+     * @return The candidate queue
+     */
+    private PriorityQueue<Slot> seedCandidates(LocalDateTime from, int slots) {
+        PriorityQueue<Slot> candidates = new PriorityQueue<>(Math.max(1, calendars.size()), SLOT_ORDER);
+        for (String doctorId : calendars.keySet()) {
+            offerNext(candidates, doctorId, from, slots);
+        }
+        return candidates;
+    }
+
+    /**
+     * Adds a doctor's earliest free period from a given time to the queue, if there is one.
+     *
+     * @param candidates The candidate queue
+     * @param doctorId   The staff ID of the doctor
+     * @param from       Earliest acceptable start
+     * @param slots      Length of the period in slots
+     */
+    private void offerNext(PriorityQueue<Slot> candidates, String doctorId, LocalDateTime from, int slots) {
+        LocalDateTime start = seek(calendars.get(doctorId), from, slots);
+        if (start != null) {
+            candidates.add(new Slot(doctorId, start));
+        }
+    }
+
+    /**
+     * Scans a doctor's days for the first run of free slots within opening hours.
+     *
+     * @param calendar The doctor's booked slots
+     * @param from     Earliest acceptable start
+     * @param slots    Length of the period in slots
+     * @return The start of the period, or {@code null} if none within the search horizon
+     */
+    private LocalDateTime seek(DayBitmaps calendar, LocalDateTime from, int slots) {
+        LocalDate date = from.toLocalDate();
+        long day = date.toEpochDay();
+        int minute = from.getHour() * 60 + from.getMinute();
+        boolean partial = from.getSecond() != 0 || from.getNano() != 0 || minute % SLOT_MINUTES != 0;
+        int firstSlot = minute / SLOT_MINUTES + (partial ? 1 : 0);
+
+        for (int offset = 0; offset < SEARCH_HORIZON_DAYS; offset++) {
+            long free = openingMask & ~calendar.get(day + offset);
+            long starts = free;
+            for (int i = 1; i < slots && starts != 0; i++) {
+                starts &= free >>> i;
+            }
+            if (offset == 0) {
+                starts &= firstSlot >= SLOTS_PER_DAY ? 0L : -1L << firstSlot;
+            }
+            if (starts != 0) {
+                int slot = Long.numberOfTrailingZeros(starts);
+                return LocalDate.ofEpochDay(day + offset).atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a doctor's calendar, adding the doctor if unknown.
+     *
+     * @param doctorId The staff ID of the doctor
+     * @return The doctor's calendar
+     * @throws IllegalArgumentException If the staff ID is null or blank
+     */
+    private DayBitmaps calendar(String doctorId) {
+        if (doctorId == null || doctorId.isBlank()) {
+            throw new IllegalArgumentException("Doctor ID cannot be null or empty");
+        }
+        return calendars.computeIfAbsent(doctorId, id -> new DayBitmaps());
+    }
+
+    /**
+     * Gets the bitmap of slots a booking overlaps on its day.
+     *
+     * @param start           Start of the booking
+     * @param durationMinutes Length of the booking in minutes
+     * @return The slot bitmap
+     * @throws IllegalArgumentException If the duration is not positive or the booking crosses midnight
+     */
+    private static long bookingMask(LocalDateTime start, int durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        long endMinute = startMinute + (long) durationMinutes
+                + (start.getSecond() != 0 || start.getNano() != 0 ? 1 : 0);
+        if (endMinute > 24 * 60) {
+            throw new IllegalArgumentException("Booking cannot cross midnight");
+        }
+        int first = startMinute / SLOT_MINUTES;
+        int last = (int) ((endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        return rangeMask(first, last - first);
+    }
+
+    /**
+     * Gets the number of whole slots needed for a period.
+     *
+     * @param durationMinutes Length of the period in minutes
+     * @return The number of slots
+     * @throws IllegalArgumentException If the duration is not positive or longer than a day
+     */
+    private static int slotsFor(int durationMinutes) {
+        if (durationMinutes <= 0 || durationMinutes > 24 * 60) {
+            throw new IllegalArgumentException("Duration must be between 1 and 1440 minutes");
+        }
+        return (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    /**
+     * Gets the slot a time of day falls on.
+     *
+     * @param time The time of day
+     * @return The slot index
+     * @throws IllegalArgumentException If the time is not on a slot boundary
+     */
+    private static int slotOf(LocalTime time) {
+        int minute = time.getHour() * 60 + time.getMinute();
+        if (time.getSecond() != 0 || time.getNano() != 0 || minute % SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("Time must be on a " + SLOT_MINUTES + " minute boundary: " + time);
+        }
+        return minute / SLOT_MINUTES;
+    }
+
+    /**
+     * Gets a bitmap with a run of set bits.
+     *
+     * @param first  Index of the first set bit
+     * @param length Number of set bits
+     * @return The bitmap
+     */
+    private static long rangeMask(int first, int length) {
+        long run = length >= Long.SIZE ? -1L : (1L << length) - 1;
+        return run << first;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.bee.utils.DataGenerator;
 import org.bee.utils.JSONSerializable;
 
 /**
@@ -35,6 +36,12 @@ public class Session implements JSONSerializable {
     /** Current state of the session (e.g., SCHEDULED, COMPLETED) */
     private SessionStatus sessionStatus;
 
+    /** When the doctor first joined the session */
+    private LocalDateTime joinedTime;
+
+    /** Number of times the connection dropped during the session */
+    private int disconnectCount;
+
     /**
      * Constructs a new Session instance with a specified Zoom link for virtual meetings.
      * This constructor initializes the session with a unique identifier, sets the start time to the current time,
@@ -44,8 +51,8 @@ public class Session implements JSONSerializable {
      * @param zoomLink A string representing the Zoom meeting link for the session. This link is crucial for participants to join the virtual session.
      */
     public Session(String zoomLink) {
-        this.id = UUID.randomUUID().toString();
-        this.startTime = LocalDateTime.now();
+        this.id = DataGenerator.generateUUID();
+        this.startTime = DataGenerator.now();
         this.zoomLink = Objects.requireNonNull(zoomLink);
         this.sessionStatus = SessionStatus.ONGOING;
     }
@@ -189,6 +196,42 @@ public class Session implements JSONSerializable {
         this.endTime = time;
     }
 
+    /**
+     * Gets when the doctor first joined the session.
+     * @return Join timestamp, or null if nobody has joined yet
+     */
+    public LocalDateTime getJoinedTime() {
+        return joinedTime;
+    }
+
+    /**
+     * Records that the doctor joined the session.
+     * Only the first join is kept, so reopening the session does not move it.
+     *
+     * @return true if this was the first join
+     */
+    public boolean join() {
+        if (joinedTime != null) {
+            return false;
+        }
+        joinedTime = LocalDateTime.now();
+        return true;
+    }
+
+    /**
+     * Gets the number of times the connection dropped during the session.
+     * @return Dropped connection count
+     */
+    public int getDisconnectCount() {
+        return disconnectCount;
+    }
+
+    /**
+     * Records that the connection dropped during the session.
+     */
+    public void recordDisconnect() {
+        disconnectCount++;
+    }
 
     /**
      * Marks the session as completed by updating the session status and recording the end time.
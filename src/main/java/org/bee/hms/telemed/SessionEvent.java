@@ -0,0 +1,105 @@
+package org.bee.hms.telemed;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * An immutable telemetry event of a teleconsultation {@link Session}.
+ * <p>
+ * Events are appended to the session event log as one short JSON line each and are never
+ * modified. Only the join event carries the scheduled time, so the other events stay small.
+ * </p>
+ */
+public final class SessionEvent implements JSONSerializable {
+
+    /** ID of the session this event belongs to */
+    private final String sessionId;
+
+    /** Staff ID of the session's doctor */
+    private final String doctorId;
+
+    /** Kind of event */
+    private final SessionEventType type;
+
+    /** When the event happened */
+    private final LocalDateTime timestamp;
+
+    /** When the session was scheduled to start, for join events */
+    private final LocalDateTime scheduledAt;
+
+    /**
+     * Creates a session event.
+     *
+     * @param sessionId   ID of the session this event belongs to
+     * @param doctorId    Staff ID of the session's doctor
+     * @param type        Kind of event
+     * @param timestamp   When the event happened
+     * @param scheduledAt When the session was scheduled to start, or {@code null}
+     */
+    @JsonCreator
+    public SessionEvent(@JsonProperty("sessionId") String sessionId,
+                        @JsonProperty("doctorId") String doctorId,
+                        @JsonProperty("type") SessionEventType type,
+                        @JsonProperty("timestamp") LocalDateTime timestamp,
+                        @JsonProperty("scheduledAt") LocalDateTime scheduledAt) {
+        this.sessionId = Objects.requireNonNull(sessionId, "Session ID cannot be null");
+        this.doctorId = Objects.requireNonNull(doctorId, "Doctor ID cannot be null");
+        this.type = Objects.requireNonNull(type, "Event type cannot be null");
+        this.timestamp = Objects.requireNonNull(timestamp, "Timestamp cannot be null");
+        this.scheduledAt = scheduledAt;
+    }
+
+    /**
+     * Gets the ID of the session this event belongs to.
+     *
+     * @return The session ID
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the staff ID of the session's doctor.
+     *
+     * @return The doctor's staff ID
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * Gets the kind of event.
+     *
+     * @return The event type
+     */
+    public SessionEventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets when the event happened.
+     *
+     * @return The event timestamp
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets when the session was scheduled to start.
+     *
+     * @return The scheduled start, or {@code null} if the event has none
+     */
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s %s %s", sessionId, doctorId, type, timestamp);
+    }
+}
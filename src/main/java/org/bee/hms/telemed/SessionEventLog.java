@@ -0,0 +1,75 @@
+package org.bee.hms.telemed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import org.bee.utils.JSONHelper;
+
+/**
+ * Append-only store of {@link SessionEvent}s, one JSON object per line.
+ * Recording an event writes a single line, and the quality metrics are rebuilt by replaying the file.
+ */
+public class SessionEventLog {
+
+    /** Path of the event log file */
+    private final Path logFile;
+
+    /**
+     * Creates an event log backed by the given file.
+     *
+     * @param logFile Path of the event log file
+     */
+    public SessionEventLog(Path logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Appends an event to the end of the log.
+     *
+     * @param event The event to append
+     * @throws IOException If the log cannot be written
+     */
+    public synchronized void append(SessionEvent event) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(JSONHelper.toJsonLine(event));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Reads every event and passes each one to the consumer.
+     * Lines that cannot be parsed are skipped, so one damaged line does not lose the rest.
+     *
+     * @param consumer Receives each event in log order
+     * @return The number of events read
+     * @throws IOException If the log cannot be read
+     */
+    public synchronized long replay(Consumer<SessionEvent> consumer) throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        long count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    consumer.accept(JSONHelper.fromJson(line, SessionEvent.class));
+                    count++;
+                } catch (RuntimeException e) {
+                    System.err.println("Skipping session event: " + e.getMessage());
+                }
+            }
+        }
+        return count;
+    }
+}
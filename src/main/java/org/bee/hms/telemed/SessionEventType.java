@@ -0,0 +1,19 @@
+package org.bee.hms.telemed;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.bee.utils.JSONSerializable;
+
+/**
+ * Types of telemetry events recorded for a teleconsultation {@link Session}.
+ */
+@JsonFormat(shape = JsonFormat.Shape.STRING)
+public enum SessionEventType implements JSONSerializable {
+    /** The doctor joined the session */
+    JOINED,
+
+    /** The connection dropped during the session */
+    DISCONNECTED,
+
+    /** The session was completed */
+    ENDED
+}
@@ -0,0 +1,296 @@
+package org.bee.hms.telemed;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bee.utils.JSONSerializable;
+import org.bee.utils.LatencyHistogram;
+
+/**
+ * Measures the quality of teleconsultation sessions per doctor, per day and per time slot.
+ * <p>
+ * Session events are fed in as they are logged. Only the sessions that are still running
+ * are kept; when a session ends, its join latency, duration and disconnects are added to
+ * running totals for its doctor, its scheduled day and its scheduled time slot, so a report
+ * never has to look at individual sessions.
+ * </p>
+ * <p>
+ * A session counts as poor if the doctor joined more than {@link #LATE_JOIN} after the
+ * scheduled time or the connection dropped at least once. Doctors and slots are reported
+ * with the largest share of poor sessions first.
+ * </p>
+ */
+public class SessionQualityMetrics {
+
+    /** How late a doctor may join before the session counts as poor */
+    public static final Duration LATE_JOIN = Duration.ofMinutes(5);
+
+    /**
+     * Quality of the sessions in one group.
+     *
+     * @param key                   The doctor ID, day or slot start time of the group
+     * @param sessions              The number of completed sessions
+     * @param p50JoinMillis         The median time from the scheduled start to the join
+     * @param p90JoinMillis         The 90th percentile time from the scheduled start to the join
+     * @param meanDurationMillis    The mean time from the join to the end
+     * @param overrunRate           The share of sessions longer than scheduled
+     * @param disconnectsPerSession The mean number of dropped connections per session
+     * @param poorRate              The share of sessions that joined late or dropped
+     */
+    public record QualityRow(String key, long sessions, long p50JoinMillis, long p90JoinMillis,
+                             long meanDurationMillis, double overrunRate, double disconnectsPerSession,
+                             double poorRate) implements JSONSerializable {
+    }
+
+    /**
+     * A point-in-time view of the session quality metrics.
+     *
+     * @param generatedAt      When the report was taken
+     * @param doctorId         The doctor the report is limited to, or {@code null} for all doctors
+     * @param scheduledMinutes The scheduled length of a session
+     * @param openSessions     The number of sessions joined but not yet ended
+     * @param byDoctor         Quality per doctor, poorest first
+     * @param byDay            Quality per scheduled day, oldest first
+     * @param bySlot           Quality per scheduled time slot, poorest first
+     */
+    public record Report(LocalDateTime generatedAt, String doctorId, int scheduledMinutes, long openSessions,
+                         List<QualityRow> byDoctor, List<QualityRow> byDay, List<QualityRow> bySlot)
+            implements JSONSerializable {
+    }
+
+    /**
+     * A session that has been joined but not ended.
+     */
+    private static final class OpenSession {
+        /** Staff ID of the doctor */
+        private final String doctorId;
+
+        /** When the session was scheduled to start */
+        private final LocalDateTime scheduledAt;
+
+        /** When the doctor joined */
+        private final LocalDateTime joinedAt;
+
+        /** Number of dropped connections so far */
+        private int disconnects;
+
+        /**
+         * Creates an open session.
+         *
+         * @param doctorId    Staff ID of the doctor
+         * @param scheduledAt When the session was scheduled to start
+         * @param joinedAt    When the doctor joined
+         */
+        private OpenSession(String doctorId, LocalDateTime scheduledAt, LocalDateTime joinedAt) {
+            this.doctorId = doctorId;
+            this.scheduledAt = scheduledAt;
+            this.joinedAt = joinedAt;
+        }
+    }
+
+    /**
+     * Running totals for one group of sessions.
+     */
+    private static final class Stats {
+        /** Time from the scheduled start to the join */
+        private final LatencyHistogram joinLatency = new LatencyHistogram();
+
+        /** Number of completed sessions */
+        private long sessions;
+
+        /** Total time from join to end */
+        private long durationMillis;
+
+        /** Number of sessions longer than scheduled */
+        private long overruns;
+
+        /** Total dropped connections */
+        private long disconnects;
+
+        /** Number of sessions that joined late or dropped */
+        private long poor;
+
+        /**
+         * Adds one completed session.
+         *
+         * @param joinMillis     Time from the scheduled start to the join
+         * @param durationMillis Time from the join to the end
+         * @param overran        Whether the session ran longer than scheduled
+         * @param disconnects    Number of dropped connections
+         */
+        private void add(long joinMillis, long durationMillis, boolean overran, int disconnects) {
+            joinLatency.record(joinMillis);
+            sessions++;
+            this.durationMillis += durationMillis;
+            overruns += overran ? 1 : 0;
+            this.disconnects += disconnects;
+            poor += disconnects > 0 || joinMillis > LATE_JOIN.toMillis() ? 1 : 0;
+        }
+
+        /**
+         * Summarizes the totals.
+         *
+         * @param key The key of the group
+         * @return The summary
+         */
+        private QualityRow summarize(String key) {
+            return new QualityRow(key, sessions, joinLatency.getValueAtPercentile(50),
+                    joinLatency.getValueAtPercentile(90), durationMillis / sessions,
+                    (double) overruns / sessions, (double) disconnects / sessions, (double) poor / sessions);
+        }
+    }
+
+    /** Orders rows with the largest share of poor sessions first */
+    private static final Comparator<QualityRow> POOREST_FIRST =
+            Comparator.comparingDouble(QualityRow::poorRate).reversed().thenComparing(QualityRow::key);
+
+    /** Scheduled length of a session in minutes, also the width of a time slot */
+    private final int scheduledMinutes;
+
+    /** Sessions joined but not yet ended, keyed by session ID */
+    private final Map<String, OpenSession> open = new HashMap<>();
+
+    /** Totals per doctor */
+    private final Map<String, Stats> byDoctor = new TreeMap<>();
+
+    /** Totals per scheduled day */
+    private final Map<LocalDate, Stats> byDay = new TreeMap<>();
+
+    /** Totals per scheduled time slot */
+    private final Map<LocalTime, Stats> bySlot = new TreeMap<>();
+
+    /** Totals per doctor and scheduled day */
+    private final Map<String, Map<LocalDate, Stats>> byDoctorDay = new HashMap<>();
+
+    /** Totals per doctor and scheduled time slot */
+    private final Map<String, Map<LocalTime, Stats>> byDoctorSlot = new HashMap<>();
+
+    /**
+     * Creates empty metrics.
+     *
+     * @param scheduledMinutes Scheduled length of a session in minutes
+     * @throws IllegalArgumentException If the length does not evenly divide a day
+     */
+    public SessionQualityMetrics(int scheduledMinutes) {
+        if (scheduledMinutes <= 0 || (24 * 60) % scheduledMinutes != 0) {
+            throw new IllegalArgumentException("Session length must evenly divide a day: " + scheduledMinutes);
+        }
+        this.scheduledMinutes = scheduledMinutes;
+    }
+
+    /**
+     * Records a logged session event.
+     * Events must be fed in the order they were logged. Events of sessions that were never joined are ignored.
+     *
+     * @param event The session event
+     */
+    public synchronized void record(SessionEvent event) {
+        switch (event.getType()) {
+            case JOINED -> open.putIfAbsent(event.getSessionId(), new OpenSession(event.getDoctorId(),
+                    event.getScheduledAt() != null ? event.getScheduledAt() : event.getTimestamp(),
+                    event.getTimestamp()));
+            case DISCONNECTED -> {
+                OpenSession session = open.get(event.getSessionId());
+                if (session != null) {
+                    session.disconnects++;
+                }
+            }
+            case ENDED -> {
+                OpenSession session = open.remove(event.getSessionId());
+                if (session != null) {
+                    complete(session, event.getTimestamp());
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a report across all doctors.
+     *
+     * @param asOf The time the report is taken
+     * @return The report
+     */
+    public synchronized Report report(LocalDateTime asOf) {
+        return new Report(asOf, null, scheduledMinutes, open.size(),
+                summarize(byDoctor, POOREST_FIRST),
+                summarize(byDay, null),
+                summarize(bySlot, POOREST_FIRST));
+    }
+
+    /**
+     * Takes a report of one doctor's sessions.
+     *
+     * @param doctorId The staff ID of the doctor
+     * @param asOf     The time the report is taken
+     * @return The report, with at most one row per doctor
+     */
+    public synchronized Report report(String doctorId, LocalDateTime asOf) {
+        long openSessions = open.values().stream().filter(session -> session.doctorId.equals(doctorId)).count();
+        Stats doctor = byDoctor.get(doctorId);
+        return new Report(asOf, doctorId, scheduledMinutes, openSessions,
+                doctor == null ? List.of() : List.of(doctor.summarize(doctorId)),
+                summarize(byDoctorDay.getOrDefault(doctorId, Map.of()), null),
+                summarize(byDoctorSlot.getOrDefault(doctorId, Map.of()), POOREST_FIRST));
+    }
+
+    /**
+     * Adds an ended session to the totals of its groups.
+     *
+     * @param session The session
+     * @param endedAt When the session ended
+     */
+    private void complete(OpenSession session, LocalDateTime endedAt) {
+        long joinMillis = Duration.between(session.scheduledAt, session.joinedAt).toMillis();
+        long durationMillis = Math.max(0, Duration.between(session.joinedAt, endedAt).toMillis());
+        boolean overran = durationMillis > Duration.ofMinutes(scheduledMinutes).toMillis();
+        LocalDate day = session.scheduledAt.toLocalDate();
+        LocalTime slot = slotOf(session.scheduledAt);
+
+        for (Stats stats : List.of(
+                byDoctor.computeIfAbsent(session.doctorId, d -> new Stats()),
+                byDay.computeIfAbsent(day, d -> new Stats()),
+                bySlot.computeIfAbsent(slot, s -> new Stats()),
+                byDoctorDay.computeIfAbsent(session.doctorId, d -> new TreeMap<>())
+                        .computeIfAbsent(day, d -> new Stats()),
+                byDoctorSlot.computeIfAbsent(session.doctorId, d -> new TreeMap<>())
+                        .computeIfAbsent(slot, s -> new Stats()))) {
+            stats.add(joinMillis, durationMillis, overran, session.disconnects);
+        }
+    }
+
+    /**
+     * Gets the start of the time slot a scheduled time falls in.
+     *
+     * @param scheduledAt The scheduled time
+     * @return The start of its slot
+     */
+    private LocalTime slotOf(LocalDateTime scheduledAt) {
+        int minute = scheduledAt.getHour() * 60 + scheduledAt.getMinute();
+        return LocalTime.MIDNIGHT.plusMinutes(minute - minute % scheduledMinutes);
+    }
+
+    /**
+     * Summarizes a group of totals.
+     *
+     * @param groups The totals by key
+     * @param order  The order of the rows, or {@code null} to keep the key order
+     * @param <K>    The key type
+     * @return The rows
+     */
+    private static <K> List<QualityRow> summarize(Map<K, Stats> groups, Comparator<QualityRow> order) {
+        List<QualityRow> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, stats) -> rows.add(stats.summarize(key.toString())));
+        if (order != null) {
+            rows.sort(order);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,140 @@
+package org.bee.hms.telemed;
+
+/**
+ * Zoom Server-to-Server OAuth credentials and endpoints.
+ * <p>
+ * Each value is read from a system property, then from an environment variable.
+ * The account ID, client ID and client secret have no defaults and must be configured;
+ * the URLs default to Zoom's public servers:
+ * </p>
+ * <ul>
+ *   <li>{@code zoom.accountId} / {@code ZOOM_ACCOUNT_ID}</li>
+ *   <li>{@code zoom.clientId} / {@code ZOOM_CLIENT_ID}</li>
+ *   <li>{@code zoom.clientSecret} / {@code ZOOM_CLIENT_SECRET}</li>
+ *   <li>{@code zoom.oauthUrl} / {@code ZOOM_OAUTH_URL}</li>
+ *   <li>{@code zoom.apiUrl} / {@code ZOOM_API_URL}</li>
+ * </ul>
+ *
+ * @param accountId    The Zoom account ID
+ * @param clientId     The OAuth client ID
+ * @param clientSecret The OAuth client secret
+ * @param oauthUrl     Base URL of the OAuth server, without a trailing slash
+ * @param apiUrl       Base URL of the REST API, without a trailing slash
+ */
+public record ZoomCredentials(String accountId, String clientId, String clientSecret,
+                              String oauthUrl, String apiUrl) {
+
+    /** Default OAuth server */
+    public static final String DEFAULT_OAUTH_URL = "https://zoom.us";
+
+    /** Default REST API server */
+    public static final String DEFAULT_API_URL = "https://api.zoom.us";
+
+    /**
+     * Creates credentials, checking that every value is present.
+     *
+     * @throws IllegalArgumentException If a value is null or blank
+     */
+    public ZoomCredentials {
+        requireValue(accountId, "Account ID");
+        requireValue(clientId, "Client ID");
+        requireValue(clientSecret, "Client secret");
+        requireValue(oauthUrl, "OAuth URL");
+        requireValue(apiUrl, "API URL");
+        oauthUrl = stripTrailingSlash(oauthUrl);
+        apiUrl = stripTrailingSlash(apiUrl);
+    }
+
+    /**
+     * Reads the credentials from system properties and environment variables.
+     *
+     * @return The configured credentials
+     * @throws IllegalStateException If the account ID, client ID or client secret is not configured
+     */
+    public static ZoomCredentials fromEnvironment() {
+        return new ZoomCredentials(
+                requiredSetting("zoom.accountId", "ZOOM_ACCOUNT_ID"),
+                requiredSetting("zoom.clientId", "ZOOM_CLIENT_ID"),
+                requiredSetting("zoom.clientSecret", "ZOOM_CLIENT_SECRET"),
+                setting("zoom.oauthUrl", "ZOOM_OAUTH_URL", DEFAULT_OAUTH_URL),
+                setting("zoom.apiUrl", "ZOOM_API_URL", DEFAULT_API_URL));
+    }
+
+    /**
+     * Checks whether the account ID, client ID and client secret are all configured.
+     *
+     * @return true if {@link #fromEnvironment()} can read the credentials
+     */
+    public static boolean isConfigured() {
+        return setting("zoom.accountId", "ZOOM_ACCOUNT_ID", null) != null
+                && setting("zoom.clientId", "ZOOM_CLIENT_ID", null) != null
+                && setting("zoom.clientSecret", "ZOOM_CLIENT_SECRET", null) != null;
+    }
+
+    /**
+     * Reads a setting that has no default.
+     *
+     * @param property The system property name
+     * @param variable The environment variable name
+     * @return The setting value
+     * @throws IllegalStateException If neither is set
+     */
+    private static String requiredSetting(String property, String variable) {
+        String value = setting(property, variable, null);
+        if (value == null) {
+            throw new IllegalStateException("Zoom is not configured: set -D" + property
+                    + " or " + variable + ", or run with -Dzoom.fake=true");
+        }
+        return value;
+    }
+
+    /**
+     * Reads one setting.
+     *
+     * @param property     The system property name
+     * @param variable     The environment variable name
+     * @param defaultValue The value used when neither is set, may be {@code null}
+     * @return The setting value
+     */
+    private static String setting(String property, String variable, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(variable);
+        }
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    /**
+     * Checks that a value is present.
+     *
+     * @param value The value
+     * @param name  The name used in the error message
+     * @throws IllegalArgumentException If the value is null or blank
+     */
+    private static void requireValue(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " cannot be null or empty");
+        }
+    }
+
+    /**
+     * Removes a trailing slash from a URL.
+     *
+     * @param url The URL
+     * @return The URL without a trailing slash
+     */
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * Hides the client secret.
+     *
+     * @return The credentials without the secret
+     */
+    @Override
+    public String toString() {
+        return "ZoomCredentials[accountId=" + accountId + ", clientId=" + clientId
+                + ", oauthUrl=" + oauthUrl + ", apiUrl=" + apiUrl + "]";
+    }
+}
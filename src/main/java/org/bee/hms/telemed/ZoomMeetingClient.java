@@ -0,0 +1,272 @@
+package org.bee.hms.telemed;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.bee.execeptions.ZoomApiException;
+
+import okhttp3.ConnectionPool;
+import okhttp3.FormBody;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Long-lived client for creating Zoom meetings.
+ * <p>
+ * One HTTP client, and so one connection pool, is shared by every call, so connections
+ * and TLS sessions to Zoom are reused. The OAuth access token is cached and only
+ * requested again shortly before it expires, or when Zoom rejects it. Creating a meeting
+ * therefore normally costs a single round trip.
+ * </p>
+ */
+public class ZoomMeetingClient implements MeetingProvider {
+
+    /** Media type of JSON request bodies */
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    /** How long before expiry a cached token is replaced */
+    private static final Duration REFRESH_MARGIN = Duration.ofSeconds(60);
+
+    /** Lifetime assumed when the token response does not state one */
+    private static final Duration DEFAULT_TOKEN_LIFETIME = Duration.ofMinutes(59);
+
+    /** Parses and writes request and response bodies */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Client used by the application, created on first use */
+    private static ZoomMeetingClient instance;
+
+    /** Credentials and endpoints */
+    private final ZoomCredentials credentials;
+
+    /** Shared HTTP client */
+    private final OkHttpClient httpClient;
+
+    /** Clock used to decide when the token expires */
+    private final Clock clock;
+
+    /** Number of access tokens requested so far */
+    private final AtomicLong tokenRequests = new AtomicLong();
+
+    /** Cached access token, or {@code null} if none is held */
+    private String accessToken;
+
+    /** When the cached access token expires */
+    private Instant tokenExpiresAt;
+
+    /**
+     * Creates a client using the system clock.
+     *
+     * @param credentials The credentials and endpoints to use
+     */
+    public ZoomMeetingClient(ZoomCredentials credentials) {
+        this(credentials, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a client.
+     *
+     * @param credentials The credentials and endpoints to use
+     * @param clock       Clock used to decide when the token expires
+     */
+    public ZoomMeetingClient(ZoomCredentials credentials, Clock clock) {
+        this.credentials = credentials;
+        this.clock = clock;
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(20, TimeUnit.SECONDS)
+                .writeTimeout(20, TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the client used by the application.
+     * Credentials are read with {@link ZoomCredentials#fromEnvironment()} when it is first created.
+     *
+     * @return The shared Zoom meeting client
+     * @throws IllegalStateException If the Zoom credentials are not configured
+     */
+    public static synchronized ZoomMeetingClient getInstance() {
+        if (instance == null) {
+            instance = new ZoomMeetingClient(ZoomCredentials.fromEnvironment());
+        }
+        return instance;
+    }
+
+    /**
+     * Creates an instant meeting.
+     *
+     * @param topic           The meeting topic
+     * @param durationMinutes The meeting length in minutes
+     * @return The meeting join URL
+     * @throws ZoomApiException If Zoom cannot be reached or rejects the request
+     */
+    @Override
+    public String createMeeting(String topic, int durationMinutes) throws ZoomApiException {
+        ObjectNode jsonBody = MAPPER.createObjectNode();
+        jsonBody.put("topic", topic);
+        jsonBody.put("type", 1); // 1 for instant meeting
+        jsonBody.put("duration", durationMinutes);
+        jsonBody.put("timezone", "UTC");
+
+        String token = getAccessToken();
+        try {
+            String body = MAPPER.writeValueAsString(jsonBody);
+            try (Response response = postMeeting(body, token)) {
+                if (response.code() != 401) {
+                    return readJoinUrl(response);
+                }
+            }
+            // The token was revoked or expired early, so fetch a new one and try once more
+            invalidateToken(token);
+            try (Response response = postMeeting(body, getAccessToken())) {
+                return readJoinUrl(response);
+            }
+        } catch (IOException e) {
+            throw new ZoomApiException("Error communicating with Zoom API: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets a valid access token, requesting a new one if the cached token is missing
+     * or about to expire. Concurrent callers wait for a single refresh.
+     *
+     * @return The access token
+     * @throws ZoomApiException If a token cannot be obtained
+     */
+    public synchronized String getAccessToken() throws ZoomApiException {
+        if (accessToken == null || !clock.instant().isBefore(tokenExpiresAt.minus(REFRESH_MARGIN))) {
+            requestAccessToken();
+        }
+        return accessToken;
+    }
+
+    /**
+     * Gets the number of access tokens requested since the client was created.
+     *
+     * @return The token request count
+     */
+    public long getTokenRequestCount() {
+        return tokenRequests.get();
+    }
+
+    /**
+     * Closes idle pooled connections.
+     */
+    public void close() {
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Drops the cached token if it is still the given one.
+     *
+     * @param token The token that was rejected
+     */
+    private synchronized void invalidateToken(String token) {
+        if (token.equals(accessToken)) {
+            accessToken = null;
+        }
+    }
+
+    /**
+     * Requests a new access token and caches it.
+     *
+     * @throws ZoomApiException If the token request fails
+     */
+    private void requestAccessToken() throws ZoomApiException {
+        String credentialPair = credentials.clientId() + ":" + credentials.clientSecret();
+        String encodedCredentials = Base64.getEncoder().encodeToString(credentialPair.getBytes());
+
+        RequestBody tokenBody = new FormBody.Builder()
+                .add("grant_type", "account_credentials")
+                .add("account_id", credentials.accountId())
+                .build();
+
+        Request tokenRequest = new Request.Builder()
+                .url(credentials.oauthUrl() + "/oauth/token")
+                .post(tokenBody)
+                .addHeader("Authorization", "Basic " + encodedCredentials)
+                .build();
+
+        tokenRequests.incrementAndGet();
+        Instant requestedAt = clock.instant();
+        try (Response tokenResponse = httpClient.newCall(tokenRequest).execute()) {
+            if (!tokenResponse.isSuccessful()) {
+                throw new ZoomApiException("Failed to get access token. Response code: " + tokenResponse.code() +
+                        ", message: " + tokenResponse.message());
+            }
+            if (tokenResponse.body() == null) {
+                throw new ZoomApiException("Token response body is null");
+            }
+
+            String tokenResponseBody = tokenResponse.body().string();
+            JsonNode jsonTokenResponse = MAPPER.readTree(tokenResponseBody);
+            if (!jsonTokenResponse.has("access_token")) {
+                throw new ZoomApiException("Access token not found in response: " + tokenResponseBody);
+            }
+
+            Duration lifetime = jsonTokenResponse.has("expires_in")
+                    ? Duration.ofSeconds(jsonTokenResponse.get("expires_in").asLong())
+                    : DEFAULT_TOKEN_LIFETIME;
+            accessToken = jsonTokenResponse.get("access_token").asText();
+            tokenExpiresAt = requestedAt.plus(lifetime);
+        } catch (IOException e) {
+            throw new ZoomApiException("Error communicating with Zoom API: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends a create-meeting request.
+     *
+     * @param body  The JSON request body
+     * @param token The access token
+     * @return The response, which the caller must close
+     * @throws IOException If the request cannot be sent
+     */
+    private Response postMeeting(String body, String token) throws IOException {
+        Request meetingRequest = new Request.Builder()
+                .url(credentials.apiUrl() + "/v2/users/me/meetings")
+                .post(RequestBody.create(body, JSON))
+                .addHeader("Authorization", "Bearer " + token)
+                .addHeader("Content-Type", "application/json")
+                .build();
+        return httpClient.newCall(meetingRequest).execute();
+    }
+
+    /**
+     * Reads the join URL from a create-meeting response.
+     *
+     * @param meetingResponse The response
+     * @return The join URL
+     * @throws ZoomApiException If the response is an error or has no join URL
+     * @throws IOException      If the body cannot be read
+     */
+    private static String readJoinUrl(Response meetingResponse) throws ZoomApiException, IOException {
+        if (!meetingResponse.isSuccessful()) {
+            throw new ZoomApiException("Failed to create meeting. Response code: " + meetingResponse.code() +
+                    ", message: " + meetingResponse.message());
+        }
+        if (meetingResponse.body() == null) {
+            throw new ZoomApiException("Meeting response body is null");
+        }
+
+        String meetingResponseBody = meetingResponse.body().string();
+        JsonNode jsonMeetingResponse = MAPPER.readTree(meetingResponseBody);
+        if (!jsonMeetingResponse.has("join_url")) {
+            throw new ZoomApiException("Join URL not found in response: " + meetingResponseBody);
+        }
+        return jsonMeetingResponse.get("join_url").asText();
+    }
+}
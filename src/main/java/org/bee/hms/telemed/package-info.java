@@ -6,8 +6,11 @@
  * <li>{@link org.bee.hms.telemed.Appointment} - Virtual appointment scheduling</li>
  * <li>{@link org.bee.hms.telemed.AppointmentStatus} - Appointment state tracking</li>
  * <li>{@link org.bee.hms.telemed.MedicalCertificate} - Digital medical documentation</li>
+ * <li>{@link org.bee.hms.telemed.SchedulingEngine} - Doctor availability and conflict checks</li>
  * <li>{@link org.bee.hms.telemed.Session} - Live consultation sessions</li>
  * <li>{@link org.bee.hms.telemed.SessionStatus} - Session lifecycle states</li>
+ * <li>{@link org.bee.hms.telemed.SessionEvent} - Session telemetry events, stored in a {@link org.bee.hms.telemed.SessionEventLog}</li>
+ * <li>{@link org.bee.hms.telemed.SessionQualityMetrics} - Session quality per doctor, day and time slot</li>
  * </ul>
  */
 package org.bee.hms.telemed;
\ No newline at end of file
@@ -57,6 +57,16 @@ public class AbstractWard implements Ward {
         return wardClassType.getDailyRate();
     }
 
+    /**
+     * Retrieves the classification of the ward.
+     *
+     * @return The ward class type.
+     */
+    @Override
+    public WardClassType getWardClassType() {
+        return wardClassType;
+    }
+
     /**
      * Retrieves a map of bed numbers to beds.
      *
@@ -20,6 +20,24 @@ public class Bed {
         this.currentPatient = null;
     }
 
+    /**
+     * Retrieves the bed number within the ward.
+     *
+     * @return The bed number.
+     */
+    public int getBedNumber() {
+        return bedNumber;
+    }
+
+    /**
+     * Retrieves the patient currently occupying the bed.
+     *
+     * @return The assigned patient, or {@code null} if the bed is free.
+     */
+    public Patient getCurrentPatient() {
+        return currentPatient;
+    }
+
     /**
      * Checks if the bed is currently occupied.
      *
@@ -31,8 +49,10 @@ public class Bed {
 
     /**
      * Assigns a patient to this bed.
+     * Beds of wards in the {@link WardRegistry} should be allocated through the registry instead,
+     * so its free-bed indexes stay in step.
      *
-     * @param patient The patient to be assigned.
+     * @param patient The patient to be assigned, or {@code null} to free the bed.
      */
     public void assignPatient(Patient patient) {
         this.currentPatient = patient;
@@ -33,6 +33,12 @@ public interface Ward extends JSONSerializable {
      * @return The daily rate of the ward.
      */
     double getDailyRate();
+    /**
+     * Retrieves the classification of the ward.
+     *
+     * @return The ward class type.
+     */
+    WardClassType getWardClassType();
     /**
      * Retrieves a map of bed numbers to their corresponding beds.
      *
@@ -0,0 +1,354 @@
+package org.bee.hms.wards;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.bee.hms.medical.WardStay;
+
+/**
+ * Bed occupancy over time per {@link WardClassType} and per ward, built from ward stays.
+ * <p>
+ * Every stay adds a +1 event at its start and a -1 event at its end to one time-ordered
+ * map. The occupancy of a day is found by sweeping that day's events on top of the
+ * occupancy at the end of the previous day, giving the peak number of occupied beds in
+ * each hour. Each day is computed once and cached together with its closing occupancy,
+ * so the next day only sweeps its own events.
+ * </p>
+ * <p>
+ * Stays are grouped by visit. Replacing a visit's stays only touches the events that
+ * changed and drops the cached days those stays overlap. A stay without an end is still
+ * in progress and counts until it ends.
+ * </p>
+ */
+public class WardCensus {
+
+    /** Hours in a day */
+    public static final int HOURS_PER_DAY = 24;
+
+    /** Most days filled in from the nearest cached day before summing all earlier events instead */
+    private static final int MAX_FILL_DAYS = 31;
+
+    /** Number of ward class types, which come before the wards in each occupancy vector */
+    private static final int CLASS_COUNT = WardClassType.values().length;
+
+    /**
+     * One stay as seen by the census.
+     *
+     * @param ward  Index of the ward
+     * @param start When the stay began
+     * @param end   When the stay ended, or {@code null} if it has not
+     */
+    private record Interval(int ward, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * The occupancy of one day.
+     *
+     * @param peaks   Peak occupancy per hour, indexed by hour and then by series
+     * @param closing Occupancy per series at the end of the day
+     */
+    private record Day(int[][] peaks, int[] closing) {
+    }
+
+    /** Stays per visit ID */
+    private final Map<String, List<Interval>> stays = new HashMap<>();
+
+    /** Net change in occupancy per ward index at each time */
+    private final NavigableMap<LocalDateTime, Map<Integer, Integer>> events = new TreeMap<>();
+
+    /** Index of each ward, by name and class type */
+    private final Map<String, Integer> wardIndex = new LinkedHashMap<>();
+
+    /** Class type of each ward index */
+    private final List<WardClassType> wardClasses = new ArrayList<>();
+
+    /** Computed days */
+    private final NavigableMap<LocalDate, Day> days = new TreeMap<>();
+
+    /**
+     * Replaces the ward stays of a visit.
+     * Nothing changes if the stays are the same as before.
+     *
+     * @param visitId   The visit ID
+     * @param wardStays The visit's ward stays; stays without a ward or start time are ignored
+     * @return {@code true} if the census changed
+     */
+    public synchronized boolean updateVisit(String visitId, List<WardStay> wardStays) {
+        List<Interval> updated = new ArrayList<>(wardStays.size());
+        for (WardStay stay : wardStays) {
+            if (stay.getWard() != null && stay.getStartDateTime() != null) {
+                updated.add(new Interval(indexOf(stay.getWard()), stay.getStartDateTime(), stay.getEndDateTime()));
+            }
+        }
+        List<Interval> previous = stays.getOrDefault(visitId, List.of());
+        if (previous.equals(updated)) {
+            return false;
+        }
+        previous.forEach(interval -> apply(interval, -1));
+        updated.forEach(interval -> apply(interval, 1));
+        if (updated.isEmpty()) {
+            stays.remove(visitId);
+        } else {
+            stays.put(visitId, updated);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the ward stays of a visit.
+     *
+     * @param visitId The visit ID
+     * @return {@code true} if the visit had stays
+     */
+    public synchronized boolean removeVisit(String visitId) {
+        return updateVisit(visitId, List.of());
+    }
+
+    /**
+     * Gets the peak number of occupied beds of a class in each hour of a day.
+     *
+     * @param wardClassType The ward class
+     * @param day           The day
+     * @return The peak occupancy for each of the {@value #HOURS_PER_DAY} hours
+     */
+    public synchronized int[] getHourlyOccupancy(WardClassType wardClassType, LocalDate day) {
+        return series(dayOf(day), wardClassType.ordinal());
+    }
+
+    /**
+     * Gets the peak number of occupied beds of a ward in each hour of a day.
+     *
+     * @param ward The ward
+     * @param day  The day
+     * @return The peak occupancy for each of the {@value #HOURS_PER_DAY} hours, all 0 if the ward has no stays
+     */
+    public synchronized int[] getHourlyOccupancy(Ward ward, LocalDate day) {
+        Integer index = wardIndex.get(keyOf(ward));
+        return index == null ? new int[HOURS_PER_DAY] : series(dayOf(day), CLASS_COUNT + index);
+    }
+
+    /**
+     * Gets the peak number of occupied beds of a class in each hour of a range of days.
+     *
+     * @param wardClassType The ward class
+     * @param from          The first day
+     * @param to            The last day, inclusive
+     * @return The peak occupancy keyed by the start of each hour, in time order
+     * @throws IllegalArgumentException If the range ends before it starts
+     */
+    public synchronized NavigableMap<LocalDateTime, Integer> getTimeline(WardClassType wardClassType,
+                                                                         LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Timeline ends before it starts");
+        }
+        NavigableMap<LocalDateTime, Integer> timeline = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            int[] hourly = series(dayOf(day), wardClassType.ordinal());
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                timeline.put(day.atTime(hour, 0), hourly[hour]);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Gets the number of visits with ward stays.
+     *
+     * @return The visit count
+     */
+    public synchronized int getVisitCount() {
+        return stays.size();
+    }
+
+    /**
+     * Gets the number of days currently cached.
+     *
+     * @return The cached day count
+     */
+    public synchronized int getCachedDayCount() {
+        return days.size();
+    }
+
+    /**
+     * Adds or removes the events of one stay and drops the cached days it overlaps.
+     *
+     * @param interval The stay
+     * @param sign     1 to add the stay, -1 to remove it
+     */
+    private void apply(Interval interval, int sign) {
+        addEvent(interval.start(), interval.ward(), sign);
+        if (interval.end() != null) {
+            addEvent(interval.end(), interval.ward(), -sign);
+        }
+        LocalDate first = interval.start().toLocalDate();
+        if (interval.end() == null) {
+            days.tailMap(first, true).clear();
+            return;
+        }
+        LocalDate last = interval.end().toLocalDate();
+        if (last.isBefore(first)) {
+            // A stay recorded as ending before it started still has events on both days
+            LocalDate swap = first;
+            first = last;
+            last = swap;
+        }
+        days.subMap(first, true, last, true).clear();
+    }
+
+    /**
+     * Adds a change in occupancy to the event map, dropping it if it cancels out.
+     *
+     * @param time  When the change happens
+     * @param ward  The ward index
+     * @param delta The change
+     */
+    private void addEvent(LocalDateTime time, int ward, int delta) {
+        Map<Integer, Integer> changes = events.computeIfAbsent(time, t -> new HashMap<>());
+        if (changes.merge(ward, delta, Integer::sum) == 0) {
+            changes.remove(ward);
+            if (changes.isEmpty()) {
+                events.remove(time);
+            }
+        }
+    }
+
+    /**
+     * Gets the occupancy of a day, computing it and any uncached days since the last cached one.
+     *
+     * @param day The day
+     * @return The day's occupancy
+     */
+    private Day dayOf(LocalDate day) {
+        Day cached = days.get(day);
+        if (cached != null) {
+            return cached;
+        }
+        Map.Entry<LocalDate, Day> before = days.lowerEntry(day);
+        int[] occupancy;
+        if (before != null && !before.getKey().isBefore(day.minusDays(MAX_FILL_DAYS))) {
+            // Continue from the nearest cached day, filling in the days between
+            LocalDate next = before.getKey().plusDays(1);
+            Day previous = before.getValue();
+            while (next.isBefore(day)) {
+                previous = sweepDay(next, previous.closing());
+                days.put(next, previous);
+                next = next.plusDays(1);
+            }
+            occupancy = previous.closing();
+        } else {
+            // Too far from any cached day, so count everything that happened before the day
+            occupancy = new int[seriesCount()];
+            for (Map<Integer, Integer> changes : events.headMap(day.atStartOfDay(), false).values()) {
+                applyChanges(occupancy, changes);
+            }
+        }
+        Day computed = sweepDay(day, occupancy);
+        days.put(day, computed);
+        return computed;
+    }
+
+    /**
+     * Sweeps the events of one day on top of the occupancy at its start.
+     *
+     * @param day     The day
+     * @param opening The occupancy per series at the start of the day, before events at midnight
+     * @return The day's occupancy
+     */
+    private Day sweepDay(LocalDate day, int[] opening) {
+        int[] occupancy = Arrays.copyOf(opening, seriesCount());
+        int[][] peaks = new int[HOURS_PER_DAY][];
+        Iterator<Map.Entry<LocalDateTime, Map<Integer, Integer>>> iterator =
+                events.subMap(day.atStartOfDay(), true, day.plusDays(1).atStartOfDay(), false).entrySet().iterator();
+        Map.Entry<LocalDateTime, Map<Integer, Integer>> next = iterator.hasNext() ? iterator.next() : null;
+
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            LocalDateTime hourStart = day.atTime(hour, 0);
+            LocalDateTime hourEnd = hourStart.plusHours(1);
+            // Stays ending exactly on the hour do not count towards it
+            while (next != null && !next.getKey().isAfter(hourStart)) {
+                applyChanges(occupancy, next.getValue());
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+            int[] peak = occupancy.clone();
+            while (next != null && next.getKey().isBefore(hourEnd)) {
+                applyChanges(occupancy, next.getValue());
+                for (int i = 0; i < peak.length; i++) {
+                    peak[i] = Math.max(peak[i], occupancy[i]);
+                }
+                next = iterator.hasNext() ? iterator.next() : null;
+            }
+            peaks[hour] = peak;
+        }
+        return new Day(peaks, occupancy);
+    }
+
+    /**
+     * Applies the changes at one time to an occupancy vector.
+     *
+     * @param occupancy The occupancy per series
+     * @param changes   The net change per ward index
+     */
+    private void applyChanges(int[] occupancy, Map<Integer, Integer> changes) {
+        changes.forEach((ward, delta) -> {
+            occupancy[CLASS_COUNT + ward] += delta;
+            occupancy[wardClasses.get(ward).ordinal()] += delta;
+        });
+    }
+
+    /**
+     * Extracts one series from a day.
+     *
+     * @param day    The day
+     * @param series The series index
+     * @return The series' peak for each hour
+     */
+    private static int[] series(Day day, int series) {
+        int[] hourly = new int[HOURS_PER_DAY];
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            int[] peak = day.peaks()[hour];
+            hourly[hour] = series < peak.length ? peak[series] : 0;
+        }
+        return hourly;
+    }
+
+    /**
+     * Gets the index of a ward, assigning the next one if it is new.
+     *
+     * @param ward The ward
+     * @return The ward index
+     */
+    private int indexOf(Ward ward) {
+        return wardIndex.computeIfAbsent(keyOf(ward), key -> {
+            wardClasses.add(ward.getWardClassType());
+            return wardClasses.size() - 1;
+        });
+    }
+
+    /**
+     * Gets the number of series in an occupancy vector.
+     *
+     * @return The class count plus the ward count
+     */
+    private int seriesCount() {
+        return CLASS_COUNT + wardClasses.size();
+    }
+
+    /**
+     * Builds the key a ward is indexed under.
+     *
+     * @param ward The ward
+     * @return The key
+     */
+    private static String keyOf(Ward ward) {
+        return ward.getWardClassType().name() + ":" + ward.getWardName();
+    }
+}
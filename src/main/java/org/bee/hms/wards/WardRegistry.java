@@ -0,0 +1,304 @@
+package org.bee.hms.wards;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bee.hms.humans.Patient;
+
+/**
+ * Hospital-wide registry of wards and their beds.
+ * <p>
+ * Wards are interned by name and class type, so every ward stay that names the same ward
+ * shares one {@link Ward} and its beds. Each ward's occupancy is kept in a {@link BitSet},
+ * and each {@link WardClassType} keeps the set of its wards that still have a free bed.
+ * Allocating a bed takes the first ward with room and its lowest free bed, and releasing a
+ * bed puts its ward back in the set, so neither searches the other wards.
+ * </p>
+ * <p>
+ * Each class type has its own lock, so admissions to different classes do not wait for each
+ * other. Beds of registered wards should only be assigned through the registry.
+ * </p>
+ */
+public final class WardRegistry {
+
+    /** The shared registry */
+    private static final WardRegistry INSTANCE = new WardRegistry();
+
+    /**
+     * A bed handed out by the registry.
+     *
+     * @param ward      The ward the bed is in
+     * @param bedNumber The bed number within the ward
+     */
+    public record BedAllocation(Ward ward, int bedNumber) {
+    }
+
+    /**
+     * A registered ward with its occupancy.
+     * Guarded by the lock of its class index.
+     */
+    private static final class Entry {
+        /** The ward */
+        private final Ward ward;
+
+        /** Occupied beds, bit {@code n - 1} for bed {@code n} */
+        private final BitSet occupied = new BitSet();
+
+        /** Beds of the ward, bed {@code n} at index {@code n - 1} */
+        private final Bed[] beds;
+
+        /** Number of beds in the ward */
+        private final int bedCount;
+
+        /** Number of occupied beds */
+        private int occupiedCount;
+
+        /**
+         * Registers a ward, taking its current bed assignments as the occupancy.
+         *
+         * @param ward The ward
+         */
+        private Entry(Ward ward) {
+            this.ward = ward;
+            this.bedCount = ward.getBeds().size();
+            this.beds = new Bed[bedCount];
+            ward.getBeds().forEach((number, bed) -> {
+                beds[number - 1] = bed;
+                if (bed.isOccupied()) {
+                    occupied.set(number - 1);
+                }
+            });
+            this.occupiedCount = occupied.cardinality();
+        }
+
+        /**
+         * Gets the number of free beds.
+         *
+         * @return The free bed count
+         */
+        private int free() {
+            return bedCount - occupiedCount;
+        }
+    }
+
+    /**
+     * The wards of one class type and those with a free bed.
+     */
+    private static final class ClassIndex {
+        /** Registered wards of the class, in registration order */
+        private final List<Entry> wards = new ArrayList<>();
+
+        /** Wards of the class with at least one free bed */
+        private final LinkedHashSet<Entry> withFreeBeds = new LinkedHashSet<>();
+
+        /** Number of free beds across the class */
+        private int freeBeds;
+
+        /** Number of beds across the class */
+        private int totalBeds;
+    }
+
+    /** Registered wards by name and class type */
+    private final Map<String, Entry> wards = new ConcurrentHashMap<>();
+
+    /** Registered wards by the ward itself, so releasing a bed does not rebuild the name key */
+    private final Map<Ward, Entry> byWard = new ConcurrentHashMap<>();
+
+    /** Free-bed index per class type, also used as the lock for its wards */
+    private final Map<WardClassType, ClassIndex> classes = new EnumMap<>(WardClassType.class);
+
+    /**
+     * Creates an empty registry.
+     * Most callers should use the shared {@link #getInstance()}.
+     */
+    public WardRegistry() {
+        for (WardClassType type : WardClassType.values()) {
+            classes.put(type, new ClassIndex());
+        }
+    }
+
+    /**
+     * Gets the shared hospital-wide registry.
+     *
+     * @return The shared registry
+     */
+    public static WardRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the registered ward with the given name and class type, creating and registering it if needed.
+     *
+     * @param name          The name of the ward
+     * @param wardClassType The classification of the ward
+     * @return The shared ward
+     * @throws IllegalArgumentException If the name is blank or the class type is null
+     */
+    public Ward intern(String name, WardClassType wardClassType) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Ward name cannot be empty");
+        }
+        if (wardClassType == null) {
+            throw new IllegalArgumentException("Ward class cannot be null");
+        }
+        String key = keyOf(name, wardClassType);
+        Entry entry = wards.get(key);
+        if (entry != null) {
+            return entry.ward;
+        }
+        ClassIndex index = classes.get(wardClassType);
+        synchronized (index) {
+            // Another admission may have registered the ward while this one waited
+            entry = wards.get(key);
+            if (entry != null) {
+                return entry.ward;
+            }
+            entry = new Entry(WardFactory.getWard(name, wardClassType));
+            wards.put(key, entry);
+            byWard.put(entry.ward, entry);
+            index.wards.add(entry);
+            index.totalBeds += entry.bedCount;
+            index.freeBeds += entry.free();
+            if (entry.free() > 0) {
+                index.withFreeBeds.add(entry);
+            }
+            return entry.ward;
+        }
+    }
+
+    /**
+     * Assigns a patient to a free bed of the given class.
+     *
+     * @param wardClassType The class of bed wanted
+     * @param patient       The patient to assign
+     * @return The allocated bed, or empty if every bed of the class is taken
+     * @throws NullPointerException If the class type or patient is null
+     */
+    public Optional<BedAllocation> allocate(WardClassType wardClassType, Patient patient) {
+        Objects.requireNonNull(patient, "Patient cannot be null");
+        ClassIndex index = classes.get(Objects.requireNonNull(wardClassType, "Ward class cannot be null"));
+        synchronized (index) {
+            if (index.withFreeBeds.isEmpty()) {
+                return Optional.empty();
+            }
+            Entry entry = index.withFreeBeds.getFirst();
+            int bit = entry.occupied.nextClearBit(0);
+            entry.occupied.set(bit);
+            entry.occupiedCount++;
+            entry.beds[bit].assignPatient(patient);
+            index.freeBeds--;
+            if (entry.free() == 0) {
+                index.withFreeBeds.remove(entry);
+            }
+            return Optional.of(new BedAllocation(entry.ward, bit + 1));
+        }
+    }
+
+    /**
+     * Frees a bed handed out by {@link #allocate}.
+     *
+     * @param allocation The allocated bed
+     * @return {@code true} if the bed was occupied and is now free
+     */
+    public boolean release(BedAllocation allocation) {
+        return release(allocation.ward(), allocation.bedNumber());
+    }
+
+    /**
+     * Frees a bed of a registered ward.
+     *
+     * @param ward      The ward
+     * @param bedNumber The bed number within the ward
+     * @return {@code true} if the bed was occupied and is now free
+     * @throws IllegalArgumentException If the ward is not registered or has no such bed
+     */
+    public boolean release(Ward ward, int bedNumber) {
+        Entry entry = byWard.get(ward);
+        if (entry == null) {
+            throw new IllegalArgumentException("Ward is not registered: " + ward.getWardName());
+        }
+        if (bedNumber < 1 || bedNumber > entry.bedCount) {
+            throw new IllegalArgumentException("No bed " + bedNumber + " in " + ward.getWardName());
+        }
+        ClassIndex index = classes.get(ward.getWardClassType());
+        synchronized (index) {
+            if (!entry.occupied.get(bedNumber - 1)) {
+                return false;
+            }
+            entry.occupied.clear(bedNumber - 1);
+            entry.beds[bedNumber - 1].assignPatient(null);
+            index.freeBeds++;
+            if (entry.occupiedCount-- == entry.bedCount) {
+                // The ward was full, so it is not in the free set yet
+                index.withFreeBeds.add(entry);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Gets the number of free beds of a class.
+     *
+     * @param wardClassType The class
+     * @return The free bed count across the class's registered wards
+     */
+    public int getFreeBedCount(WardClassType wardClassType) {
+        ClassIndex index = classes.get(wardClassType);
+        synchronized (index) {
+            return index.freeBeds;
+        }
+    }
+
+    /**
+     * Gets the number of beds of a class.
+     *
+     * @param wardClassType The class
+     * @return The bed count across the class's registered wards
+     */
+    public int getBedCount(WardClassType wardClassType) {
+        ClassIndex index = classes.get(wardClassType);
+        synchronized (index) {
+            return index.totalBeds;
+        }
+    }
+
+    /**
+     * Gets the registered wards of a class.
+     *
+     * @param wardClassType The class
+     * @return The wards, in registration order
+     */
+    public List<Ward> getWards(WardClassType wardClassType) {
+        ClassIndex index = classes.get(wardClassType);
+        synchronized (index) {
+            return index.wards.stream().map(entry -> entry.ward).toList();
+        }
+    }
+
+    /**
+     * Gets the number of registered wards.
+     *
+     * @return The ward count
+     */
+    public int getWardCount() {
+        return wards.size();
+    }
+
+    /**
+     * Builds the key a ward is interned under.
+     *
+     * @param name          The ward name
+     * @param wardClassType The ward class type
+     * @return The key
+     */
+    private static String keyOf(String name, WardClassType wardClassType) {
+        return wardClassType.name() + ":" + name;
+    }
+}
@@ -2,6 +2,8 @@
  * The wards package provides ward-related classes for the patient.
  * <br><br>It includes:
  * <br>- Bed, ICUWard etc
+ * <br>- WardRegistry, the shared set of wards with free-bed indexes per class
+ * <br>- WardCensus, hourly bed occupancy over time per class and per ward
  * <p>The classes in this package help manage ward details linked to patients.</p>
  */
 
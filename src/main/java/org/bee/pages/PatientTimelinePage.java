@@ -0,0 +1,111 @@
+package org.bee.pages;
+
+import org.bee.controllers.PatientTimeline;
+import org.bee.hms.humans.Patient;
+import org.bee.ui.Color;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Page showing a patient's appointments, consultations, visits and bills as one history.
+ * <p>Entries are shown newest first, one page at a time. Patients see their own history;
+ * doctors reach it from a patient's record.</p>
+ */
+public class PatientTimelinePage extends UiBase {
+
+    /** Number of entries on a page */
+    private static final int ITEMS_PER_PAGE = 10;
+
+    /** Format of entry times */
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    /** The patient whose history is shown */
+    private final Patient patient;
+
+    /** Whether the history is shown to the patient themselves */
+    private final boolean ownHistory;
+
+    /** The page being shown, from 0 */
+    private int page;
+
+    /**
+     * Creates a page showing a patient's history
+     *
+     * @param patient    The patient whose history is shown
+     * @param ownHistory Whether the patient is viewing their own history
+     */
+    public PatientTimelinePage(Patient patient, boolean ownHistory) {
+        this.patient = patient;
+        this.ownHistory = ownHistory;
+    }
+
+    /**
+     * Creates the history view for the current page.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        PatientTimeline.Page timelinePage = PatientTimeline.getInstance()
+                .getPage(patient.getPatientId(), page, ITEMS_PER_PAGE);
+
+        String title = ownHistory ? "My History" : "History of " + patient.getName();
+        CompositeView compositeView = new CompositeView(canvas, title, Color.GREEN);
+        compositeView.addView(new TextView(canvas, formatPage(timelinePage), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", Color.GREEN, false, true);
+        if (timelinePage.hasMore()) {
+            menuView.attachMenuOptionInput(1, "Older Entries", input -> showPage(page + 1));
+        }
+        if (page > 0) {
+            menuView.attachMenuOptionInput(2, "Newer Entries", input -> showPage(page - 1));
+        }
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Shows another page of the history.
+     * @param page the page number, from 0
+     */
+    private void showPage(int page) {
+        this.page = page;
+        navigateToView(createView());
+    }
+
+    /**
+     * Formats the entries of a page as a table.
+     * @param timelinePage the page to format
+     * @return the formatted page
+     */
+    private String formatPage(PatientTimeline.Page timelinePage) {
+        if (timelinePage.entries().isEmpty()) {
+            return page == 0 ? "No records found.\n" : "No older records.\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        String row = "%-16s %-13s %s%n";
+        sb.append(String.format("Page %d, newest first%n%n", page + 1));
+        sb.append(String.format(row, "Date", "Type", "Details"));
+        for (PatientTimeline.Entry entry : timelinePage.entries()) {
+            sb.append(String.format(row,
+                    entry.time() == null ? "-" : dateFormatter.format(entry.time()),
+                    formatEnum(entry.type().name()),
+                    entry.summary()));
+        }
+        return sb.toString();
+    }
+}
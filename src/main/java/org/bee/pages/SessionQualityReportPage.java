@@ -0,0 +1,166 @@
+package org.bee.pages;
+
+import org.bee.controllers.AppointmentController;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.telemed.SessionQualityMetrics;
+import org.bee.ui.Color;
+import org.bee.ui.SystemMessageStatus;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Page showing the quality of teleconsultation sessions.
+ * <p>Clerks see every doctor; doctors see only their own sessions. This page provides:</p>
+ * <ul>
+ *   <li>Join latency, duration overruns and connection drops per doctor</li>
+ *   <li>The same figures per scheduled day and per scheduled time slot</li>
+ *   <li>Export of the full report as JSON, for clerks</li>
+ * </ul>
+ */
+public class SessionQualityReportPage extends UiBase {
+
+    /** Controller for appointment related operations */
+    private static final AppointmentController appointmentController = AppointmentController.getInstance();
+
+    /** Doctor the report is limited to, or null for every doctor */
+    private final Doctor doctor;
+
+    /**
+     * Creates a page reporting on every doctor's sessions
+     */
+    public SessionQualityReportPage() {
+        this.doctor = null;
+    }
+
+    /**
+     * Creates a page reporting on one doctor's sessions
+     *
+     * @param doctor The doctor whose sessions are shown
+     */
+    public SessionQualityReportPage(Doctor doctor) {
+        this.doctor = doctor;
+    }
+
+    /**
+     * Creates the report view.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        SessionQualityMetrics.Report report = doctor == null
+                ? appointmentController.getSessionQualityReport()
+                : appointmentController.getSessionQualityReport(doctor);
+
+        String title = doctor == null ? "Teleconsult Session Quality" : "My Teleconsult Session Quality";
+        CompositeView compositeView = new CompositeView(canvas, title, doctor == null ? Color.CYAN : Color.GREEN);
+        compositeView.addView(new TextView(canvas, formatReport(report), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", doctor == null ? Color.CYAN : Color.GREEN, false, true);
+        menuView.attachMenuOptionInput(1, "Refresh", input -> navigateToView(createView()));
+        if (doctor == null) {
+            menuView.attachMenuOptionInput(2, "Export Report as JSON", input -> exportReport());
+        }
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Writes the report to the default export file.
+     */
+    private void exportReport() {
+        String path = appointmentController.getSessionQualityReportPath();
+        try {
+            appointmentController.exportSessionQualityReport(path);
+            canvas.setSystemMessage("Report exported to " + path, SystemMessageStatus.SUCCESS);
+        } catch (IOException e) {
+            canvas.setSystemMessage("Error exporting report: " + e.getMessage(), SystemMessageStatus.ERROR);
+        }
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Formats the report as text tables.
+     * @param report the report to format
+     * @return the formatted report
+     */
+    private String formatReport(SessionQualityMetrics.Report report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Scheduled length %d min, %d sessions in progress. "
+                        + "Poor = joined over %d min late or dropped.%n",
+                report.scheduledMinutes(), report.openSessions(),
+                SessionQualityMetrics.LATE_JOIN.toMinutes()));
+
+        if (doctor == null) {
+            appendTable(sb, "Doctors, poorest first", "Doctor", report.byDoctor());
+        }
+        appendTable(sb, "Time slots, poorest first", "Slot", report.bySlot());
+        appendTable(sb, "Days", "Day", report.byDay());
+        return sb.toString();
+    }
+
+    /**
+     * Appends one table of quality rows.
+     * @param sb the builder to append to
+     * @param heading the table heading
+     * @param keyLabel the column label of the row keys
+     * @param rows the rows
+     */
+    private static void appendTable(StringBuilder sb, String heading, String keyLabel,
+                                    List<SessionQualityMetrics.QualityRow> rows) {
+        String row = "%-12s %8s %10s %10s %10s %9s %8s %7s%n";
+        sb.append(String.format("%n%s%n", heading));
+        sb.append(String.format(row, keyLabel, "Sessions", "Join p50", "Join p90", "Duration",
+                "Overrun", "Drops", "Poor"));
+        if (rows.isEmpty()) {
+            sb.append("No completed sessions recorded yet.\n");
+        }
+        for (SessionQualityMetrics.QualityRow quality : rows) {
+            sb.append(String.format(row,
+                    quality.key(),
+                    quality.sessions(),
+                    formatMillis(quality.p50JoinMillis()),
+                    formatMillis(quality.p90JoinMillis()),
+                    formatMillis(quality.meanDurationMillis()),
+                    String.format("%.0f%%", quality.overrunRate() * 100),
+                    String.format("%.2f", quality.disconnectsPerSession()),
+                    String.format("%.0f%%", quality.poorRate() * 100)));
+        }
+    }
+
+    /**
+     * Formats a duration in its two largest units.
+     * @param millis the duration in milliseconds
+     * @return the formatted duration, e.g. "1h 5m" or "40s"
+     */
+    private static String formatMillis(long millis) {
+        long seconds = millis / 1000;
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        long minutes = seconds / 60;
+        if (minutes < 60) {
+            return minutes + "m " + seconds % 60 + "s";
+        }
+        long hours = minutes / 60;
+        if (hours < 24) {
+            return hours + "h " + minutes % 60 + "m";
+        }
+        return hours / 24 + "d " + hours % 24 + "h";
+    }
+}
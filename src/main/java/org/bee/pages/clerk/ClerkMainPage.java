@@ -1,7 +1,10 @@
     package org.bee.pages.clerk;
 
     import org.bee.controllers.HumanController;
+    import org.bee.pages.SessionQualityReportPage;
+    import org.bee.pages.clerk.billing.BillingReportPage;
     import org.bee.pages.clerk.billing.ViewAllBillsPage;
+    import org.bee.pages.clerk.insurance.ClaimLatencyReportPage;
     import org.bee.pages.clerk.insurance.ViewAllClaimsPage;
     import org.bee.ui.*;
     import org.bee.ui.views.*;
@@ -40,24 +43,40 @@
             MenuView.MenuSection telemedSection = menuView.addSection("Telemedicine Services");
             telemedSection.addOption(1, "View All Telemedicine Cases");
             menuView.attachMenuOptionInput(1, "View Telemedicine Cases", str -> ToPage(new TelemedicineAppointmentPage()));
+            telemedSection.addOption(6, "Teleconsult Session Quality");
+            menuView.attachMenuOptionInput(6, "Teleconsult Session Quality", str -> ToPage(new SessionQualityReportPage()));
 
             // Outpatient section
             MenuView.MenuSection outpatientSection = menuView.addSection("Outpatient Management");
             outpatientSection.addOption(2, "View All/Update Outpatient Cases");
             menuView.attachMenuOptionInput(2, "View All/Update Outpatient Cases", str -> ToPage(new OutpatientCasesPage()));
 
+            // Ward section
+            MenuView.MenuSection wardSection = menuView.addSection("Wards");
+            wardSection.addOption(9, "Ward Occupancy");
+            menuView.attachMenuOptionInput(9, "Ward Occupancy", str -> ToPage(new WardOccupancyPage()));
+
 
             // billing section
             MenuView.MenuSection billingSection = menuView.addSection("Billing and Invoicing");
             billingSection.addOption(3, "View All/Update bills");
             menuView.attachMenuOptionInput(3, "View All/Update bills", str -> ToPage(new ViewAllBillsPage()));
+            billingSection.addOption(8, "Billing Report");
+            menuView.attachMenuOptionInput(8, "Billing Report", str -> ToPage(new BillingReportPage()));
 
             // Insurance section
             MenuView.MenuSection insuranceSection = menuView.addSection("Insurance Claims");
             insuranceSection.addOption(4, "View All/Update Claims");
             menuView.attachMenuOptionInput(4, "View All/Update Claims", str -> ToPage(new ViewAllClaimsPage()));
+            insuranceSection.addOption(5, "Claim Processing Times");
+            menuView.attachMenuOptionInput(5, "Claim Processing Times", str -> ToPage(new ClaimLatencyReportPage()));
+
+            // Patient experience section
+            MenuView.MenuSection experienceSection = menuView.addSection("Patient Experience");
+            experienceSection.addOption(7, "Patient Satisfaction");
+            menuView.attachMenuOptionInput(7, "Patient Satisfaction", str -> ToPage(new SatisfactionReportPage()));
 
-            menuView.setNumericOptionMaxRange(4);
+            menuView.setNumericOptionMaxRange(9);
 
             canvas.setRequireRedraw(true);
         }
@@ -0,0 +1,94 @@
+package org.bee.pages.clerk;
+
+import org.bee.controllers.FeedbackController;
+import org.bee.hms.medical.SatisfactionMetrics;
+import org.bee.ui.Color;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.util.List;
+
+/**
+ * Page showing patient satisfaction from feedback.
+ * <p>This page provides:</p>
+ * <ul>
+ *   <li>Medical care and service ratings across all feedback</li>
+ *   <li>The same ratings per doctor, per department and per month</li>
+ * </ul>
+ */
+public class SatisfactionReportPage extends UiBase {
+
+    /** Controller for feedback related operations */
+    private static final FeedbackController feedbackController = FeedbackController.getInstance();
+
+    /**
+     * Creates the report view.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        SatisfactionMetrics.Report report = feedbackController.getSatisfactionReport();
+
+        CompositeView compositeView = new CompositeView(canvas, "Patient Satisfaction", Color.CYAN);
+        compositeView.addView(new TextView(canvas, formatReport(report), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", Color.CYAN, false, true);
+        menuView.attachMenuOptionInput(1, "Refresh", input -> navigateToView(createView()));
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Formats the report as text tables.
+     * @param report the report to format
+     * @return the formatted report
+     */
+    private static String formatReport(SatisfactionMetrics.Report report) {
+        StringBuilder sb = new StringBuilder();
+        appendTable(sb, "Overall", "", List.of(report.overall()));
+        appendTable(sb, "Doctors", "Doctor", report.byDoctor());
+        appendTable(sb, "Departments", "Department", report.byDepartment());
+        appendTable(sb, "Months", "Month", report.byMonth());
+        return sb.toString();
+    }
+
+    /**
+     * Appends one table of group summaries.
+     * @param sb the builder to append to
+     * @param heading the table heading
+     * @param keyLabel the column label of the row keys
+     * @param rows the rows
+     */
+    private static void appendTable(StringBuilder sb, String heading, String keyLabel,
+                                    List<SatisfactionMetrics.GroupSummary> rows) {
+        String row = "%-20s %7s %6s %9s %6s %9s %-16s%n";
+        sb.append(String.format("%n%s%n", heading));
+        sb.append(String.format(row, keyLabel, "Ratings", "Care", "Care p10", "Svc", "Svc p10", "Care 1-5"));
+        if (rows.isEmpty()) {
+            sb.append("No feedback recorded yet.\n");
+        }
+        for (SatisfactionMetrics.GroupSummary group : rows) {
+            sb.append(String.format(row,
+                    group.key(),
+                    group.medicalCare().count(),
+                    String.format("%.2f", group.medicalCare().mean()),
+                    group.medicalCare().p10(),
+                    String.format("%.2f", group.service().mean()),
+                    group.service().p10(),
+                    group.medicalCare().countsPerScore()));
+        }
+    }
+}
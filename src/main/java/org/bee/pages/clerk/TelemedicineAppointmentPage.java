@@ -143,7 +143,7 @@ public class TelemedicineAppointmentPage extends UiBase {
                         case COMPLETED -> colorText(statusStr, Color.GREEN);
                         case ACCEPTED -> colorText(statusStr, Color.CYAN);
                         case PENDING -> colorText(statusStr, Color.YELLOW);
-                        case DECLINED, CANCELED -> colorText(statusStr, Color.RED);
+                        case DECLINED, CANCELED, EXPIRED -> colorText(statusStr, Color.RED);
                         case PAYMENT_PENDING, PAID -> colorText(formatEnum(AppointmentStatus.COMPLETED.toString()), Color.GREEN);
                     };
                 })
@@ -0,0 +1,99 @@
+package org.bee.pages.clerk;
+
+import org.bee.controllers.VisitController;
+import org.bee.hms.wards.WardCensus;
+import org.bee.hms.wards.WardClassType;
+import org.bee.ui.Color;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.time.LocalDate;
+
+/**
+ * Page showing how many beds of each ward class were occupied over a day.
+ * <p>This page provides:</p>
+ * <ul>
+ *   <li>The peak occupancy of each ward class every three hours</li>
+ *   <li>The peak occupancy over the whole day</li>
+ *   <li>Moving to the previous or next day, starting from today</li>
+ * </ul>
+ */
+public class WardOccupancyPage extends UiBase {
+
+    /** Controller for visit related operations */
+    private static final VisitController visitController = VisitController.getInstance();
+
+    /** Number of hours summed into each column */
+    private static final int HOURS_PER_COLUMN = 3;
+
+    /** The day being shown */
+    private LocalDate day = LocalDate.now();
+
+    /**
+     * Creates the occupancy view.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        CompositeView compositeView = new CompositeView(canvas, "Ward Occupancy on " + day, Color.CYAN);
+        compositeView.addView(new TextView(canvas, formatOccupancy(visitController.getWardCensus()), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", Color.CYAN, false, true);
+        menuView.attachMenuOptionInput(1, "Previous Day", input -> showDay(day.minusDays(1)));
+        menuView.attachMenuOptionInput(2, "Next Day", input -> showDay(day.plusDays(1)));
+        menuView.attachMenuOptionInput(3, "Today", input -> showDay(LocalDate.now()));
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Shows the occupancy of another day.
+     * @param newDay the day to show
+     */
+    private void showDay(LocalDate newDay) {
+        day = newDay;
+        navigateToView(createView());
+    }
+
+    /**
+     * Formats the occupancy of the day as a table with one row per ward class.
+     * @param census the census to read
+     * @return the formatted table
+     */
+    private String formatOccupancy(WardCensus census) {
+        StringBuilder sb = new StringBuilder(String.format("%-24s", "Ward class"));
+        for (int hour = 0; hour < WardCensus.HOURS_PER_DAY; hour += HOURS_PER_COLUMN) {
+            sb.append(String.format(" %5s", String.format("%02d:00", hour)));
+        }
+        sb.append(String.format(" %6s%n", "Peak"));
+
+        for (WardClassType wardClassType : WardClassType.values()) {
+            int[] hourly = census.getHourlyOccupancy(wardClassType, day);
+            sb.append(String.format("%-24s", wardClassType.getDescription()));
+            int dayPeak = 0;
+            for (int hour = 0; hour < hourly.length; hour += HOURS_PER_COLUMN) {
+                int peak = 0;
+                for (int i = hour; i < Math.min(hour + HOURS_PER_COLUMN, hourly.length); i++) {
+                    peak = Math.max(peak, hourly[i]);
+                }
+                dayPeak = Math.max(dayPeak, peak);
+                sb.append(String.format(" %5d", peak));
+            }
+            sb.append(String.format(" %6d%n", dayPeak));
+        }
+        return sb.toString();
+    }
+}
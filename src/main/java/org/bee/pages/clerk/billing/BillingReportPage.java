@@ -0,0 +1,118 @@
+package org.bee.pages.clerk.billing;
+
+import org.bee.controllers.BillController;
+import org.bee.hms.billing.AgingBucket;
+import org.bee.hms.billing.BillingReport;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.Money;
+import org.bee.hms.billing.PaymentMethod;
+import org.bee.ui.Color;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Page showing the accounts-receivable aging and revenue report over all bills.
+ * <p>This page provides:</p>
+ * <ul>
+ *   <li>Outstanding balances of open bills by age, as of today</li>
+ *   <li>Billed charges per category</li>
+ *   <li>Billed, collected and outstanding totals per status and per payment method</li>
+ * </ul>
+ */
+public class BillingReportPage extends UiBase {
+
+    /** Controller for bill operations */
+    private static final BillController billController = BillController.getInstance();
+
+    /**
+     * Creates the report view.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        BillingReport report = billController.generateReport(LocalDate.now());
+
+        CompositeView compositeView = new CompositeView(canvas, "Billing Report", Color.CYAN);
+        compositeView.addView(new TextView(canvas, formatReport(report), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", Color.CYAN, false, true);
+        menuView.attachMenuOptionInput(1, "Refresh", input -> navigateToView(createView()));
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Formats the report as text tables.
+     * @param report the report to format
+     * @return the formatted report
+     */
+    private String formatReport(BillingReport report) {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append(String.format("Outstanding as of %s%n%-20s %7s %14s%n", report.getAsOf(),
+                "Age", "Bills", "Outstanding"));
+        for (Map.Entry<AgingBucket, BillingReport.AgingTotals> entry : report.getAging().entrySet()) {
+            sb.append(String.format("%-20s %7d %14s%n", entry.getKey().getDisplayName(),
+                    entry.getValue().billCount(), formatCurrency(entry.getValue().outstanding())));
+        }
+
+        sb.append(String.format("%nRevenue by category%n%-20s %14s%n", "Category", "Billed"));
+        if (report.getRevenueByCategory().isEmpty()) {
+            sb.append("No charges billed yet.\n");
+        }
+        report.getRevenueByCategory().forEach((category, amount) ->
+                sb.append(String.format("%-20s %14s%n", category, formatCurrency(amount))));
+
+        String row = "%-20s %7s %14s %14s %14s%n";
+        sb.append(String.format("%nBy status%n" + row, "Status", "Bills", "Billed", "Collected", "Outstanding"));
+        for (Map.Entry<BillingStatus, BillingReport.Totals> entry : report.getByStatus().entrySet()) {
+            appendTotals(sb, row, entry.getKey().getDisplayName(), entry.getValue());
+        }
+
+        sb.append(String.format("%nBy payment method%n" + row, "Method", "Bills", "Billed", "Collected", "Outstanding"));
+        for (Map.Entry<PaymentMethod, BillingReport.Totals> entry : report.getByPaymentMethod().entrySet()) {
+            appendTotals(sb, row, entry.getKey().name(), entry.getValue());
+        }
+
+        sb.append('\n');
+        appendTotals(sb, row, "All bills", report.getOverall());
+        return sb.toString();
+    }
+
+    /**
+     * Appends one row of totals.
+     * @param sb the report being built
+     * @param row the row format
+     * @param label the name of the group
+     * @param totals the totals of the group
+     */
+    private static void appendTotals(StringBuilder sb, String row, String label, BillingReport.Totals totals) {
+        sb.append(String.format(row, label, totals.billCount(), formatCurrency(totals.billed()),
+                formatCurrency(totals.collected()), formatCurrency(totals.outstanding())));
+    }
+
+    /**
+     * Formats a monetary amount as currency.
+     * @param amount the amount to format
+     * @return the formatted amount, e.g. "$12.50"
+     */
+    private static String formatCurrency(Money amount) {
+        return "$" + amount;
+    }
+}
@@ -13,7 +13,6 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -205,6 +204,12 @@ public class ViewAllBillsPage extends UiBase {
             promptForSortOption();
         });
 
+        paginatedView.attachCustomOption("Bill Discharged Visits and Completed Consultations", input -> {
+            int created = billController.generatePendingBills().size();
+            canvas.setSystemMessage(created + " new bills created", SystemMessageStatus.SUCCESS);
+            refreshView();
+        });
+
         return paginatedView;
     }
 
@@ -286,10 +291,10 @@ public class ViewAllBillsPage extends UiBase {
                 });
                 break;
             case AMOUNT_DESC:
-                sortedBills.sort((b1, b2) -> b2.getGrandTotal().compareTo(b1.getGrandTotal()));
+                sortedBills.sort(Bill.byGrandTotal().reversed());
                 break;
             case AMOUNT_ASC:
-                sortedBills.sort(Comparator.comparing(Bill::getGrandTotal));
+                sortedBills.sort(Bill.byGrandTotal());
                 break;
         }
 
@@ -4,6 +4,7 @@
  * Provides comprehensive billing functionality including:
  * <ul>
  * <li>{@link org.bee.pages.clerk.billing.BillDetailsPage} - Individual bill viewing/management with status-based actions</li>
+ * <li>{@link org.bee.pages.clerk.billing.BillingReportPage} - Aging, revenue and payment totals over all bills</li>
  * <li>{@link org.bee.pages.clerk.billing.ViewAllBillsPage} - Paginated bill listing with search and filtering</li>
  * </ul>
  */
@@ -107,7 +107,9 @@ public class ClaimDetailsPage extends UiBase {
             actionSection.addOption(optionIndex, "Submit for Processing");
             menuView.attachMenuOptionInput(optionIndex, "Submit for Processing", input -> {
                 try {
-                    claim.submitForProcessing();
+                    if (!claimController.submitNow(claim.getClaimId())) {
+                        throw new IllegalStateException("The claim is already being submitted");
+                    }
                     saveChangesAndNotify("Claim has been submitted for processing successfully!");
                 } catch (Exception e) {
                     showError("Error submitting claim", e);
@@ -0,0 +1,133 @@
+package org.bee.pages.clerk.insurance;
+
+import org.bee.controllers.ClaimController;
+import org.bee.hms.claims.ClaimLatencyMetrics;
+import org.bee.ui.Color;
+import org.bee.ui.SystemMessageStatus;
+import org.bee.ui.UiBase;
+import org.bee.ui.View;
+import org.bee.ui.views.CompositeView;
+import org.bee.ui.views.MenuView;
+import org.bee.ui.views.TextView;
+
+import java.io.IOException;
+
+/**
+ * Page showing how long insurance claims spend in each status.
+ * <p>This page provides:</p>
+ * <ul>
+ *   <li>Median, 90th and 99th percentile time in status, overall and per provider</li>
+ *   <li>The number of claims waiting in each status and the oldest wait</li>
+ *   <li>Provider decision throughput</li>
+ *   <li>Export of the report as JSON</li>
+ * </ul>
+ */
+public class ClaimLatencyReportPage extends UiBase {
+
+    /** Controller for claim related operations */
+    private static final ClaimController claimController = ClaimController.getInstance();
+
+    /**
+     * Creates the report view.
+     * @return the root view component
+     */
+    @Override
+    protected View createView() {
+        ClaimLatencyMetrics.Report report = claimController.getLatencyReport();
+
+        CompositeView compositeView = new CompositeView(canvas, "Claim Processing Times", Color.CYAN);
+        compositeView.addView(new TextView(canvas, formatReport(report), Color.WHITE));
+
+        MenuView menuView = new MenuView(canvas, "", Color.CYAN, false, true);
+        menuView.attachMenuOptionInput(1, "Export Report as JSON", input -> exportReport());
+        menuView.attachMenuOptionInput(2, "Refresh", input -> navigateToView(createView()));
+        compositeView.addView(menuView);
+
+        return compositeView;
+    }
+
+    /**
+     * Handles post-creation view initialization.
+     * @param parentView the parent view container
+     */
+    @Override
+    public void OnViewCreated(View parentView) {
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Writes the report to the default export file.
+     */
+    private void exportReport() {
+        String path = claimController.getLatencyReportPath();
+        try {
+            claimController.exportLatencyReport(path);
+            canvas.setSystemMessage("Report exported to " + path, SystemMessageStatus.SUCCESS);
+        } catch (IOException e) {
+            canvas.setSystemMessage("Error exporting report: " + e.getMessage(), SystemMessageStatus.ERROR);
+        }
+        canvas.setRequireRedraw(true);
+    }
+
+    /**
+     * Formats the report as text tables.
+     * @param report the report to format
+     * @return the formatted report
+     */
+    private String formatReport(ClaimLatencyMetrics.Report report) {
+        StringBuilder sb = new StringBuilder();
+        String row = "%-20s %-20s %7s %10s %10s %10s %10s%n";
+
+        sb.append(String.format(row, "Provider", "Status", "Count", "p50", "p90", "p99", "Max"));
+        if (report.latencies().isEmpty()) {
+            sb.append("No status changes recorded yet.\n");
+        }
+        for (ClaimLatencyMetrics.StatusLatency latency : report.latencies()) {
+            sb.append(String.format(row,
+                    latency.provider() == null ? "All providers" : latency.provider(),
+                    latency.status().getDisplayName(),
+                    latency.count(),
+                    formatMillis(latency.p50Millis()),
+                    formatMillis(latency.p90Millis()),
+                    formatMillis(latency.p99Millis()),
+                    formatMillis(latency.maxMillis())));
+        }
+
+        sb.append(String.format("%nClaims waiting%n%-20s %7s %12s%n", "Status", "Count", "Oldest"));
+        for (ClaimLatencyMetrics.WaitingClaims waiting : report.waiting()) {
+            sb.append(String.format("%-20s %7d %12s%n", waiting.status().getDisplayName(),
+                    waiting.count(), formatMillis(waiting.oldestWaitMillis())));
+        }
+
+        sb.append(String.format("%nProvider decisions%n%-20s %9s %12s%n", "Provider", "Decisions", "Per day"));
+        for (ClaimLatencyMetrics.ProviderThroughput throughput : report.throughput()) {
+            sb.append(String.format("%-20s %9d %12.1f%n", throughput.provider(),
+                    throughput.decisions(), throughput.decisionsPerDay()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a duration in its two largest units.
+     * @param millis the duration in milliseconds
+     * @return the formatted duration, e.g. "2d 5h" or "340ms"
+     */
+    private static String formatMillis(long millis) {
+        if (millis < 1000) {
+            return millis + "ms";
+        }
+        long seconds = millis / 1000;
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        long minutes = seconds / 60;
+        if (minutes < 60) {
+            return minutes + "m " + seconds % 60 + "s";
+        }
+        long hours = minutes / 60;
+        if (hours < 24) {
+            return hours + "h " + minutes % 60 + "m";
+        }
+        return hours / 24 + "d " + hours % 24 + "h";
+    }
+}
@@ -183,13 +183,13 @@ public class NewInsuranceClaimPage extends UiBase {
 
             claimController.addClaim(claim);
 
-            boolean submitted = provider.submitClaim(selectedBill.getPatient(), claim);
+            claimController.recordChanges(claim);
 
-            if (submitted) {
-                showResultMessage("Insurance claim successfully submitted to " +
+            if (claimController.submitClaimAsync(claim).isPresent()) {
+                showResultMessage("Insurance claim queued for submission to " +
                         provider.getProviderName() + " for processing.", true);
             } else {
-                showResultMessage("Failed to submit claim to insurance provider.", false);
+                showResultMessage("Claim saved as draft. The submission queue is full, please submit it later.", false);
             }
 
         } catch (Exception e) {
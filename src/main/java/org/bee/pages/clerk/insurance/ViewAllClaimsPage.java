@@ -96,6 +96,12 @@ public class ViewAllClaimsPage extends UiBase {
                 Color.CYAN
         );
 
+        paginatedMenuView.attachCustomOption("Submit All Draft Claims", input -> {
+            int queued = claimController.submitDraftClaims();
+            canvas.setSystemMessage(queued + " draft claims queued for submission", SystemMessageStatus.SUCCESS);
+            refreshView();
+        });
+
         paginatedMenuView.setSelectionCallback(option -> {
             try {
                 if (option != null && option.getData() != null) {
@@ -1,10 +1,18 @@
 package org.bee.pages.doctor;
 
+import org.bee.controllers.DeadlineController;
 import org.bee.controllers.HumanController;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.medical.Consultation;
+import org.bee.pages.SessionQualityReportPage;
 import org.bee.ui.*;
 import org.bee.ui.views.ListView;
 import org.bee.ui.views.MenuView;
 
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Represents the main page for the doctors.
  * This page displays a menu of options for the doctor to navigate to different sections of the application.
@@ -14,6 +22,9 @@ public class DoctorMainPage extends UiBase {
 
     private static final HumanController humanController = HumanController.getInstance();
 
+    /** Formatter for follow-up dates in reminders */
+    private static final DateTimeFormatter FOLLOW_UP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     /**
      * Called when the main page's view is created.
      * Creates a {@link ListView} to hold the main menu options.
@@ -39,6 +50,7 @@ public class DoctorMainPage extends UiBase {
         MenuView.MenuSection telemedSection = menuView.addSection("Telemedicine Services");
         telemedSection.addOption(1, "View List of Patients...");
         telemedSection.addOption(2, "View Appointments...");
+        telemedSection.addOption(4, "View My Session Quality");
 
         MenuView.MenuSection outpatientSection = menuView.addSection("Outpatient Management Services");
         outpatientSection.addOption(3, "View Outpatient Cases");
@@ -46,8 +58,32 @@ public class DoctorMainPage extends UiBase {
         menuView.attachMenuOptionInput(1, "View Patients", str -> ToPage(new PatientInfoPage()));
         menuView.attachMenuOptionInput(2, "View Appointments", str -> ToPage(new ViewAppointmentPage()));
         menuView.attachMenuOptionInput(3, "View Outpatient Cases", str -> ToPage(new ConsultationInfoPage()));
+        menuView.attachMenuOptionInput(4, "View My Session Quality", str -> {
+            if (humanController.getLoggedInUser() instanceof Doctor doctor) {
+                ToPage(new SessionQualityReportPage(doctor));
+            }
+        });
 
-        menuView.setNumericOptionMaxRange(3);
+        menuView.setNumericOptionMaxRange(4);
+        showDueFollowUps();
         canvas.setRequireRedraw(true);
     }
+
+    /**
+     * Shows a reminder of the logged-in doctor's upcoming follow-ups, if any are due.
+     */
+    private void showDueFollowUps() {
+        if (!(humanController.getLoggedInUser() instanceof Doctor doctor)) {
+            return;
+        }
+        List<Consultation> followUps = DeadlineController.getInstance().getDueFollowUps(doctor.getStaffId());
+        if (followUps.isEmpty()) {
+            return;
+        }
+        String patients = followUps.stream()
+                .map(consultation -> consultation.getPatient().getName() + " ("
+                        + FOLLOW_UP_FORMAT.format(consultation.getFollowUpDate()) + ")")
+                .collect(Collectors.joining(", "));
+        canvas.setSystemMessage("Follow-ups due: " + patients, SystemMessageStatus.INFO);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.bee.pages.doctor;
 import org.bee.controllers.HumanController;
 import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Patient;
+import org.bee.pages.PatientTimelinePage;
 import org.bee.ui.*;
 import org.bee.ui.views.*;
 import org.bee.utils.detailAdapters.PatientDetailsViewAdapter;
@@ -145,12 +146,14 @@ public class PatientInfoPage extends UiBase {
 
             MenuView.MenuSection actionSection = actionMenu.addSection("");
             actionSection.addOption(1, "Schedule Appointment (s)");
+            actionSection.addOption(2, "View Patient History (h)");
 
             actionMenu.attachLetterOption('s', "Schedule Appointment", input -> {
                 canvas.setSystemMessage("Feature coming soon!", SystemMessageStatus.INFO);
                 canvas.setRequireRedraw(true);
             });
-
+            actionMenu.attachLetterOption('h', "View Patient History",
+                    input -> ToPage(new PatientTimelinePage(patient, false)));
 
             compositeView.addView(actionMenu);
         }
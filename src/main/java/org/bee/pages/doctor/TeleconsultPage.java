@@ -66,6 +66,12 @@ public class TeleconsultPage extends UiBase {
 
         CompositeView compositeView = (CompositeView) parentView;
 
+        try {
+            AppointmentController.getInstance().joinSession(appointment);
+        } catch (IllegalStateException e) {
+            canvas.setSystemMessage("Session telemetry unavailable: " + e.getMessage(), SystemMessageStatus.WARNING);
+        }
+
         // Configure available actions
         compositeView.attachUserInput("Update Doctor Notes", input -> updateDoctorNotes());
         compositeView.attachUserInput("Add Medical Certificate", input -> addMedicalCertificate());
@@ -74,6 +80,7 @@ public class TeleconsultPage extends UiBase {
             compositeView.attachUserInput("Remove Medical Certificate", input -> removeMedicalCertificate());
         }
 
+        compositeView.attachUserInput("Report Connection Drop", input -> reportConnectionDrop());
         compositeView.attachUserInput("Finish Consultation", input -> finishConsultation());
 
         canvas.setRequireRedraw(true);
@@ -98,6 +105,12 @@ public class TeleconsultPage extends UiBase {
         zoomSection.addField(new ObjectDetailsView.Field<Appointment>("Zoom Link", a ->
                 a.getSession() != null && a.getSession().getZoomLink() != null ?
                         a.getSession().getZoomLink() : "No link available"));
+        zoomSection.addField(new ObjectDetailsView.Field<Appointment>("Joined", a ->
+                a.getSession() != null && a.getSession().getJoinedTime() != null ?
+                        a.getSession().getJoinedTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) :
+                        "Not joined"));
+        zoomSection.addField(new ObjectDetailsView.Field<Appointment>("Connection Drops", a ->
+                a.getSession() != null ? String.valueOf(a.getSession().getDisconnectCount()) : "0"));
 
         ObjectDetailsView.Section notesSection = detailsView.addSection("Medical Information");
         notesSection.addField(new ObjectDetailsView.Field<Appointment>("Doctor Notes", a ->
@@ -177,13 +190,32 @@ public class TeleconsultPage extends UiBase {
         canvas.setSystemMessage("Medical certificate removed", SystemMessageStatus.SUCCESS);
     }
 
+    /**
+     * Record that the connection dropped during the session
+     */
+    private void reportConnectionDrop() {
+        try {
+            AppointmentController.getInstance().reportDisconnect(appointment);
+        } catch (IllegalStateException e) {
+            canvas.setSystemMessage("Error reporting connection drop: " + e.getMessage(), SystemMessageStatus.ERROR);
+            return;
+        }
+
+        // Refresh the view
+        configureDetailsView();
+        View refreshedView = createView();
+        navigateToView(refreshedView);
+        OnViewCreated(refreshedView);
+
+        canvas.setSystemMessage("Connection drop recorded", SystemMessageStatus.SUCCESS);
+    }
+
     /**
      * Finish the consultation and save the appointment data
      */
     private void finishConsultation() {
         try {
-            appointment.finishAppointment(appointment.getDoctorNotes());
-            AppointmentController.getInstance().updateAppointment(appointment, appointment);
+            AppointmentController.getInstance().finishAppointment(appointment, appointment.getDoctorNotes());
 
             canvas.setSystemMessage("Consultation completed successfully", SystemMessageStatus.SUCCESS);
             this.OnBackPressed();
@@ -15,7 +15,6 @@ import org.bee.ui.View;
 import org.bee.ui.views.*;
 import org.bee.utils.ReflectionHelper;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -48,6 +47,8 @@ public class ViewAppointmentPage extends UiBase {
      */
     @Override
     public View createView() {
+        // Start pre-creating meeting links while the doctor reviews the list
+        appointmentController.prepareMeetingLinks();
         appointmentListView = createAppointmentListView();
         return appointmentListView;
     }
@@ -234,18 +235,22 @@ public class ViewAppointmentPage extends UiBase {
                 appointment.setDoctor(currentDoctor);
             }
 
+            String joinUrl = null;
             try {
-                String joinUrl = appointmentController.generateZoomLink(
-                        "Appointment with " + appointment.getPatient().getName(),
-                        30
-                );
-                appointment.approveAppointment(currentDoctor, joinUrl);
-                appointmentController.saveData();
+                joinUrl = appointmentController.assignMeetingLink(
+                        "Appointment with " + appointment.getPatient().getName());
+                // Fails if the doctor already has an appointment at this time
+                appointmentController.approveAppointment(appointment, currentDoctor, joinUrl);
+                joinUrl = null;
+                appointmentController.prepareMeetingLinks();
                 canvas.setSystemMessage("Appointment approved successfully!", SystemMessageStatus.SUCCESS);
 
                 displaySelectedAppointment(appointment, null);
-            } catch (ZoomApiException | IOException e) {
+            } catch (ZoomApiException e) {
                 canvas.setSystemMessage("Error: " + e.getMessage(), SystemMessageStatus.ERROR);
+            } finally {
+                // The link was not attached to the appointment, so let another one use it
+                appointmentController.releaseMeetingLink(joinUrl);
             }
         } catch (Exception e) {
             canvas.setSystemMessage("Error approving appointment: " + e.getMessage(), SystemMessageStatus.ERROR);
@@ -7,6 +7,7 @@ import org.bee.hms.humans.Patient;
 
 import org.bee.hms.telemed.Appointment;
 import org.bee.hms.telemed.AppointmentStatus;
+import org.bee.pages.PatientTimelinePage;
 import org.bee.ui.*;
 import org.bee.ui.views.*;
 import org.bee.utils.ReflectionHelper;
@@ -68,11 +69,13 @@ public class PatientMainPage extends UiBase {
         menuView.attachMenuOptionInput(3, "View/Change Appointment", str -> ToPage(new ViewAppointmentPage()));
 
 
-        menuView.setNumericOptionMaxRange(4);
+        menuView.setNumericOptionMaxRange(5);
 
         MenuView.MenuSection infoSection = menuView.addSection("Information Services");
         infoSection.addOption(4, "View Invoice");
         menuView.attachMenuOptionInput(4, "View Invoice", str -> ToPage(new ViewAllInvoicePage()));
+        infoSection.addOption(5, "View My History - To view past appointments, consultations, visits and bills");
+        menuView.attachMenuOptionInput(5, "View My History", str -> viewHistory());
 
         canvas.setRequireRedraw(true);
     }
@@ -95,6 +98,15 @@ public class PatientMainPage extends UiBase {
         }
     }
 
+    /**
+     * Navigates to the history of the currently logged-in patient.
+     */
+    private void viewHistory() {
+        if (humanController.getLoggedInUser() instanceof Patient currentPatient) {
+            ToPage(new PatientTimelinePage(currentPatient, true));
+        }
+    }
+
     /**
      * Prompts the user to book a new teleconsultation appointment.
      * The user is asked to provide a reason for the consultation, medical history,
@@ -135,19 +147,11 @@ public class PatientMainPage extends UiBase {
         }
 
         Dictionary<Integer, LocalDateTime> dateTimeDictionary = new Hashtable<>();
-        // start the timeslot at 8:00am
-        LocalDateTime startDate = date.atStartOfDay().withHour(8).withMinute(0).withSecond(0).withNano(0);
-
-        // Define the time slots and their corresponding integer keys
-        dateTimeDictionary.put(1, startDate);
-        dateTimeDictionary.put(2, startDate.plusHours(1));
-        dateTimeDictionary.put(3, startDate.plusHours(2));
-        dateTimeDictionary.put(4, startDate.plusHours(3));
-        dateTimeDictionary.put(5, startDate.plusHours(4));
-        dateTimeDictionary.put(6, startDate.plusHours(5));
-        dateTimeDictionary.put(7, startDate.plusHours(6));
-        dateTimeDictionary.put(8, startDate.plusHours(7));
-        dateTimeDictionary.put(9, startDate.plusHours(8));
+        // Define the time slots within the clinic's opening hours and their corresponding integer keys
+        List<LocalDateTime> slotStarts = AppointmentController.getSlotStarts(date);
+        for (int i = 0; i < slotStarts.size(); i++) {
+            dateTimeDictionary.put(i + 1, slotStarts.get(i));
+        }
 
         // Display available time slots (using StringBuilder)
         StringBuilder sb = new StringBuilder("Available timeslots: [");
@@ -229,7 +233,7 @@ public class PatientMainPage extends UiBase {
      * If changing the appointment, the user is prompted to select a new date and time slot. The new appointment time
      * must be in the future. If the user decides to cancel the appointment, the appointment is removed from the system.
      * <p>
-     * The available time slots for appointment changes start at 8:00 AM and are incremented hourly, with 9 available slots.
+     * The available time slots for appointment changes are those of {@link AppointmentController#getSlotStarts(LocalDate)}.
      *
      * @throws IllegalStateException if the logged-in user is not a patient.
      */
@@ -359,7 +363,7 @@ public class PatientMainPage extends UiBase {
                         case COMPLETED -> colorText(formatEnum(AppointmentStatus.PAYMENT_PENDING.toString()), Color.UND_RED);
                         case ACCEPTED -> colorText(statusStr, Color.CYAN);
                         case PENDING -> colorText(statusStr, Color.YELLOW);
-                        case DECLINED, CANCELED -> colorText(statusStr, Color.RED);
+                        case DECLINED, CANCELED, EXPIRED -> colorText(statusStr, Color.RED);
                         case PAYMENT_PENDING -> colorText(statusStr, Color.UND_RED);
                         case PAID -> colorText(statusStr, Color.UND_GREEN);
                     };
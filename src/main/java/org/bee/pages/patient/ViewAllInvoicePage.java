@@ -14,7 +14,6 @@ import org.bee.utils.detailAdapters.BillDetailsAdapter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 /**
@@ -242,10 +241,10 @@ public class ViewAllInvoicePage extends UiBase {
                 });
                 break;
             case AMOUNT_DESC:
-                sortedBills.sort((b1, b2) -> b2.getGrandTotal().compareTo(b1.getGrandTotal()));
+                sortedBills.sort(Bill.byGrandTotal().reversed());
                 break;
             case AMOUNT_ASC:
-                sortedBills.sort(Comparator.comparing(Bill::getGrandTotal));
+                sortedBills.sort(Bill.byGrandTotal());
                 break;
         }
 
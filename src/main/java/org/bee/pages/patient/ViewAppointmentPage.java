@@ -89,7 +89,7 @@ public class ViewAppointmentPage extends UiBase {
                         case COMPLETED -> colorText(formatEnum("PAYMENT_PENDING"), Color.UND_RED);
                         case ACCEPTED -> colorText(statusText, Color.CYAN);
                         case PENDING -> colorText(statusText, Color.YELLOW);
-                        case DECLINED, CANCELED -> colorText(statusText, Color.RED);
+                        case DECLINED, CANCELED, EXPIRED -> colorText(statusText, Color.RED);
                         case PAYMENT_PENDING -> colorText(statusText, Color.UND_RED);
                         case PAID -> colorText(statusText, Color.UND_GREEN);
                     };
@@ -1,12 +1,17 @@
 package org.bee.utils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.function.Consumer;
+
+import org.bee.execeptions.CsvFormatException;
 
 /**
  * Provides utility functions for handling CSV file operations.
@@ -15,11 +20,16 @@ import java.io.IOException;
  * <br>- Writing data to CSV files
  * <br>- Saving objects that implement {@link CsvSerializable}
  *
+ * <br><br>Files are read with {@link CsvReader} and written with {@link CsvWriter}, so quoted
+ * fields holding commas, quotes or line breaks survive a round trip.
  * <br><br>This helps in exporting and importing medical records and billing details.
  */
 
 public final class CSVHelper {
 
+    /** Files at least this many bytes long are parsed in parallel chunks by {@link #readCSV(String)} */
+    private static final long PARALLEL_FILE_SIZE = 1 << 20;
+
     /**
      * Private constructor to prevent instantiation.
      * This is a utility class with only static methods.
@@ -36,42 +46,74 @@ public final class CSVHelper {
      * @param <T>      The type of the object, which must implement {@link CsvSerializable}
      */
     public static <T extends CsvSerializable<T>> void saveObject(T object, String fileName) {
-        String csvLine = object.toCsvFormat() + "\n";
-        writeToFile(fileName, csvLine);
+        saveObjects(List.of(object), fileName);
+    }
+
+    /**
+     * Saves objects implementing {@link CsvSerializable} to a CSV file, one record each,
+     * appending to the file if it exists. The file is opened once for all the objects.
+     *
+     * @param objects  The objects to save
+     * @param fileName The name of the CSV file
+     * @param <T>      The type of the objects, which must implement {@link CsvSerializable}
+     */
+    public static <T extends CsvSerializable<T>> void saveObjects(Collection<T> objects, String fileName) {
+        try (CsvWriter writer = new CsvWriter(Files.newBufferedWriter(Path.of(fileName), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            writer.writeAll(objects);
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+        }
     }
 
     /**
      * Reads data from a CSV file and returns a list of string arrays,
      * where each array represents a row in the CSV.
+     * Large files are parsed in parallel chunks.
      *
      * @param fileName The name of the CSV file to read
      * @return A list of string arrays representing rows in the file
      */
     public static List<String[]> readCSV(String fileName) {
         List<String[]> records = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                records.add(line.split(","));
+        try {
+            Path path = Path.of(fileName);
+            if (Files.size(path) >= PARALLEL_FILE_SIZE) {
+                return CsvReader.parse(Files.readString(path, StandardCharsets.UTF_8));
             }
-        } catch (IOException e) {
+            try (CsvReader reader = new CsvReader(Files.newBufferedReader(path, StandardCharsets.UTF_8))) {
+                reader.forEach(records::add);
+            }
+        } catch (IOException | UncheckedIOException | CsvFormatException e) {
             System.err.println("Error reading file: " + e.getMessage());
         }
         return records;
     }
 
     /**
-     * Writes content to a CSV file, appending data if the file exists.
+     * Streams the rows of a CSV file to a callback without keeping them.
+     * The same row is refilled for every record, so it must not be kept after the call.
+     * Read and parse errors are reported and end the stream; exceptions thrown by the callback are passed on.
      *
-     * @param fileName The name of the file to write to
-     * @param content  The content to write
+     * @param fileName  The name of the CSV file to read
+     * @param hasHeader Whether the first row names the columns and should be skipped
+     * @param handler   The callback
+     * @return The number of rows handed to the callback
      */
-    private static void writeToFile(String fileName, String content) {
-        try (FileWriter fw = new FileWriter(fileName, true);
-             BufferedWriter bw = new BufferedWriter(fw)) {
-            bw.write(content);
-        } catch (IOException e) {
-            System.err.println("Error writing to file: " + e.getMessage());
+    public static long forEachRow(String fileName, boolean hasHeader, Consumer<CsvReader.Row> handler) {
+        long count = 0;
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(Path.of(fileName), StandardCharsets.UTF_8))) {
+            if (hasHeader) {
+                reader.nextRow();
+            }
+            CsvReader.Row row;
+            while ((row = reader.nextRow()) != null) {
+                handler.accept(row);
+                count++;
+            }
+        } catch (IOException | CsvFormatException e) {
+            System.err.println("Error reading file: " + e.getMessage());
         }
+        return count;
     }
-}
\ No newline at end of file
+}
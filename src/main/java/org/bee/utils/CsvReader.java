@@ -0,0 +1,535 @@
+package org.bee.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.bee.execeptions.CsvFormatException;
+
+/**
+ * Streaming reader for RFC 4180 CSV.
+ * <p>
+ * Fields may be quoted with double quotes, in which case they can hold commas, line breaks
+ * and doubled quotes ({@code ""}) that stand for one quote. Records end with LF or CRLF.
+ * Lines that are completely empty are skipped.
+ * </p>
+ * <p>
+ * Characters are read in blocks into a buffer that is reused, and so are the field array and
+ * the builder each field is collected in, so only the field strings themselves are allocated.
+ * {@link #forEachRow(Consumer)} and {@link #nextRow()} hand out one {@link Row} that is refilled for every record;
+ * {@link #readRow()}, {@link #forEach(Consumer)} and {@link #iterator()} give each record its own array.
+ * </p>
+ */
+public final class CsvReader implements Closeable, Iterable<String[]> {
+
+    /** Number of characters read from the source at a time */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** Inputs shorter than this many characters are never split for parallel parsing */
+    private static final int MIN_PARALLEL_LENGTH = 1 << 20;
+
+    /**
+     * A record of a CSV file.
+     * When handed out by {@link #forEachRow(Consumer)} the row is only valid during the call.
+     */
+    public interface Row {
+        /**
+         * Gets the number of fields in the record.
+         *
+         * @return The number of fields
+         */
+        int size();
+
+        /**
+         * Gets one field of the record.
+         *
+         * @param index The field index, from 0
+         * @return The field, unquoted
+         * @throws IndexOutOfBoundsException if the record has no such field
+         */
+        String get(int index);
+
+        /**
+         * Gets the line the record starts on.
+         *
+         * @return The line number, from 1
+         */
+        long getLineNumber();
+
+        /**
+         * Copies the fields of the record.
+         *
+         * @return A new array of the fields
+         */
+        String[] toArray();
+    }
+
+    /** Where characters are read from, or {@code null} when parsing a character array */
+    private final Reader source;
+
+    /** Characters waiting to be parsed */
+    private char[] buffer;
+
+    /** Index of the next character to parse */
+    private int position;
+
+    /** Index after the last character available in {@link #buffer} */
+    private int limit;
+
+    /** Collects the characters of the field being parsed */
+    private final StringBuilder field = new StringBuilder();
+
+    /** Fields of the current record, reused from record to record */
+    private String[] fields = new String[16];
+
+    /** Number of fields in the current record */
+    private int fieldCount;
+
+    /** Line the parser is on */
+    private long lineNumber = 1;
+
+    /** Line the current record started on */
+    private long recordLine;
+
+    /** The current record, as handed to callbacks */
+    private final Row row = new Row() {
+        @Override
+        public int size() {
+            return fieldCount;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= fieldCount) {
+                throw new IndexOutOfBoundsException("Field " + index + " out of bounds for " + fieldCount + " fields");
+            }
+            return fields[index];
+        }
+
+        @Override
+        public long getLineNumber() {
+            return recordLine;
+        }
+
+        @Override
+        public String[] toArray() {
+            return Arrays.copyOf(fields, fieldCount);
+        }
+    };
+
+    /**
+     * Creates a reader over a character stream.
+     * The stream is read in blocks, so it does not need to be buffered.
+     *
+     * @param source The CSV text
+     */
+    public CsvReader(Reader source) {
+        this.source = source;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Creates a reader over part of a character array, without copying it.
+     *
+     * @param text       The characters
+     * @param start      Index of the first character to parse
+     * @param end        Index after the last character to parse
+     * @param lineNumber Line number of the first character
+     */
+    private CsvReader(char[] text, int start, int end, long lineNumber) {
+        this.source = null;
+        this.buffer = text;
+        this.position = start;
+        this.limit = end;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Parses CSV text that is already in memory.
+     * Long texts are cut into chunks at record boundaries and the chunks are parsed in parallel.
+     *
+     * @param text The CSV text
+     * @return The records in order
+     * @throws CsvFormatException if a quoted field is not closed
+     */
+    public static List<String[]> parse(String text) {
+        return parse(text, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Parses CSV text that is already in memory, in up to the given number of parallel chunks.
+     *
+     * @param text   The CSV text
+     * @param chunks The most chunks to parse in parallel
+     * @return The records in order
+     * @throws CsvFormatException       if a quoted field is not closed
+     * @throws IllegalArgumentException if chunks is not positive
+     */
+    public static List<String[]> parse(String text, int chunks) {
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("Chunk count must be positive");
+        }
+        char[] chars = text.toCharArray();
+        if (chunks == 1 || chars.length < MIN_PARALLEL_LENGTH) {
+            return new CsvReader(chars, 0, chars.length, 1).readAll();
+        }
+
+        // One pass over the characters finds a record boundary near each cut and the line it starts on.
+        // Quotes follow the same rules as nextRecord: a quote only opens a field at its start, and inside
+        // the field a quote followed by another is one quote, while any other quote closes the field.
+        int[] starts = new int[chunks + 1];
+        long[] lines = new long[chunks + 1];
+        int count = 0;
+        lines[0] = 1;
+        long line = 1;
+        boolean quoted = false;
+        boolean fieldStart = true;
+        int nextCut = chars.length / chunks;
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < chars.length && chars[i + 1] == '"') {
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                continue;
+            }
+            if (c == '"') {
+                quoted = fieldStart;
+                fieldStart = false;
+            } else if (c == ',' || c == '\r') {
+                fieldStart = true;
+            } else if (c == '\n') {
+                fieldStart = true;
+                line++;
+                if (i + 1 >= nextCut && i + 1 < chars.length) {
+                    count++;
+                    starts[count] = i + 1;
+                    lines[count] = line;
+                    nextCut = (int) ((long) chars.length * (count + 1) / chunks);
+                }
+            } else {
+                fieldStart = false;
+            }
+        }
+        starts[++count] = chars.length;
+
+        int parts = count;
+        List<List<String[]>> parsed = IntStream.range(0, parts).parallel()
+                .mapToObj(i -> new CsvReader(chars, starts[i], starts[i + 1], lines[i]).readAll())
+                .toList();
+        List<String[]> records = new ArrayList<>(parsed.stream().mapToInt(List::size).sum());
+        parsed.forEach(records::addAll);
+        return records;
+    }
+
+    /**
+     * Parses a single CSV line, such as one read from a line-based file.
+     *
+     * @param line The line
+     * @return The fields of the line, one empty field if the line is empty
+     * @throws CsvFormatException if a quoted field is not closed
+     */
+    public static String[] parseLine(String line) {
+        char[] chars = line.toCharArray();
+        CsvReader reader = new CsvReader(chars, 0, chars.length, 1);
+        return reader.nextRecord() ? reader.row.toArray() : new String[] {""};
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return A new array of the record's fields, or {@code null} at the end of the input
+     * @throws IOException        if the source cannot be read
+     * @throws CsvFormatException if a quoted field is not closed
+     */
+    public String[] readRow() throws IOException {
+        try {
+            return nextRecord() ? row.toArray() : null;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the next record without copying it.
+     * The same {@link Row} is refilled for each record, so it must not be kept after the next read.
+     *
+     * @return The record, or {@code null} at the end of the input
+     * @throws IOException        if the source cannot be read
+     * @throws CsvFormatException if a quoted field is not closed
+     */
+    public Row nextRow() throws IOException {
+        try {
+            return nextRecord() ? row : null;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Hands every remaining record to a callback as its own array.
+     *
+     * @param handler The callback
+     * @throws UncheckedIOException if the source cannot be read
+     * @throws CsvFormatException   if a quoted field is not closed
+     */
+    @Override
+    public void forEach(Consumer<? super String[]> handler) {
+        while (nextRecord()) {
+            handler.accept(row.toArray());
+        }
+    }
+
+    /**
+     * Hands every remaining record to a callback without copying it.
+     * The same {@link Row} is refilled for each record, so it must not be kept after the call.
+     *
+     * @param handler The callback
+     * @throws UncheckedIOException if the source cannot be read
+     * @throws CsvFormatException   if a quoted field is not closed
+     */
+    public void forEachRow(Consumer<? super Row> handler) {
+        while (nextRecord()) {
+            handler.accept(row);
+        }
+    }
+
+    /**
+     * Iterates over the remaining records, giving each its own array.
+     *
+     * @return The iterator
+     */
+    @Override
+    public Iterator<String[]> iterator() {
+        return new Iterator<>() {
+            private String[] next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && nextRecord()) {
+                    next = row.toArray();
+                }
+                return next != null;
+            }
+
+            @Override
+            public String[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String[] record = next;
+                next = null;
+                return record;
+            }
+        };
+    }
+
+    /**
+     * Closes the source.
+     *
+     * @throws IOException if the source cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    /**
+     * Reads every remaining record into a list.
+     *
+     * @return The records
+     */
+    private List<String[]> readAll() {
+        List<String[]> records = new ArrayList<>();
+        while (nextRecord()) {
+            records.add(row.toArray());
+        }
+        return records;
+    }
+
+    /**
+     * Parses the next record into {@link #fields}.
+     *
+     * @return {@code true} if a record was read, {@code false} at the end of the input
+     * @throws UncheckedIOException if the source cannot be read
+     * @throws CsvFormatException   if a quoted field is not closed
+     */
+    private boolean nextRecord() {
+        int c;
+        // Skip empty lines between records
+        while (true) {
+            c = read();
+            if (c == '\n') {
+                lineNumber++;
+            } else if (c != '\r') {
+                break;
+            }
+        }
+        if (c < 0) {
+            return false;
+        }
+        position--;
+        recordLine = lineNumber;
+        fieldCount = 0;
+
+        while (true) {
+            field.setLength(0);
+            c = read();
+            if (c == '"') {
+                c = readQuoted();
+            } else if (c >= 0) {
+                position--;
+                c = readPlain();
+            }
+            addField(field.toString());
+
+            if (c == ',') {
+                continue;
+            }
+            if (c == '\r' && peek() == '\n') {
+                position++;
+            }
+            if (c == '\n' || c == '\r') {
+                lineNumber++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Collects an unquoted field into {@link #field}, copying runs of characters from the buffer in bulk.
+     *
+     * @return The character that ended the field, or -1 at the end of the input
+     */
+    private int readPlain() {
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == ',' || c == '\n' || c == '\r') {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    return c;
+                }
+                position++;
+            }
+            field.append(buffer, start, position - start);
+            if (!fill()) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Collects a quoted field into {@link #field}. The opening quote has been read.
+     * Characters between the closing quote and the next separator are kept as they are.
+     *
+     * @return The character that ended the field, or -1 at the end of the input
+     * @throws CsvFormatException if the input ends inside the quotes
+     */
+    private int readQuoted() {
+        long startLine = lineNumber;
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                throw new CsvFormatException("Quoted field starting on line " + startLine + " is not closed");
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    break;
+                }
+                position++;
+            } else if (c == '\n') {
+                lineNumber++;
+            }
+            field.append((char) c);
+        }
+        int c;
+        while ((c = read()) >= 0 && c != ',' && c != '\n' && c != '\r') {
+            field.append((char) c);
+        }
+        return c;
+    }
+
+    /**
+     * Adds a field to the current record, growing the field array if needed.
+     *
+     * @param value The field
+     */
+    private void addField(String value) {
+        if (fieldCount == fields.length) {
+            fields = Arrays.copyOf(fields, fieldCount * 2);
+        }
+        fields[fieldCount++] = value;
+    }
+
+    /**
+     * Reads one character.
+     *
+     * @return The character, or -1 at the end of the input
+     */
+    private int read() {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Looks at the next character without reading it.
+     *
+     * @return The character, or -1 at the end of the input
+     */
+    private int peek() {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Refills the buffer from the source once every character in it has been parsed.
+     * The last character parsed is kept at the front so that it can be stepped back over.
+     *
+     * @return {@code true} if more characters were read
+     * @throws UncheckedIOException if the source cannot be read
+     */
+    private boolean fill() {
+        if (source == null) {
+            return false;
+        }
+        try {
+            int keep = position > 0 ? 1 : 0;
+            if (keep == 1) {
+                buffer[0] = buffer[position - 1];
+            }
+            int read = source.read(buffer, keep, buffer.length - keep);
+            if (read <= 0) {
+                position = keep;
+                limit = keep;
+                return false;
+            }
+            position = keep;
+            limit = keep + read;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.bee.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Buffered writer for RFC 4180 CSV.
+ * <p>
+ * Fields holding a comma, a double quote or a line break are quoted, with their quotes doubled,
+ * so that {@link CsvReader} reads back exactly what was written. Other fields are written as they
+ * are. Records end with LF, like the files under {@code database}.
+ * </p>
+ * <p>
+ * Objects implementing {@link CsvSerializable} are written one record per object through the
+ * same buffer, so exporting many of them opens the file once.
+ * </p>
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    /** Where the CSV text is written */
+    private final Writer out;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out Where the CSV text is written; it is buffered if it is not already
+     */
+    public CsvWriter(Writer out) {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param fields The fields; {@code null} fields are written as empty
+     * @throws IOException if the record cannot be written
+     */
+    public void writeRow(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, fields[i]);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param fields The fields; {@code null} fields are written as empty
+     * @throws IOException if the record cannot be written
+     */
+    public void writeRow(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, fields.get(i));
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Writes an object as one record.
+     * The object's {@link CsvSerializable#toCsvFormat()} line is written as it is, so it should
+     * build its fields with {@link #formatRow(String...)}.
+     *
+     * @param object The object
+     * @throws IOException if the record cannot be written
+     */
+    public void write(CsvSerializable<?> object) throws IOException {
+        out.write(object.toCsvFormat());
+        out.write('\n');
+    }
+
+    /**
+     * Writes objects one record each.
+     *
+     * @param objects The objects
+     * @throws IOException if a record cannot be written
+     */
+    public void writeAll(Iterable<? extends CsvSerializable<?>> objects) throws IOException {
+        for (CsvSerializable<?> object : objects) {
+            write(object);
+        }
+    }
+
+    /**
+     * Formats fields as one CSV line, without the line break.
+     *
+     * @param fields The fields; {@code null} fields are formatted as empty
+     * @return The line
+     */
+    public static String formatRow(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendField(line, fields[i]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Writes any buffered records.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Writes any buffered records and closes the output.
+     *
+     * @throws IOException if the output cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Writes one field, quoting it if it needs quotes.
+     *
+     * @param out   Where to write the field
+     * @param value The field, or {@code null}
+     * @throws IOException if the field cannot be written
+     */
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                start = i;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * Appends one field to a line, quoting it if it needs quotes.
+     *
+     * @param line  The line
+     * @param value The field, or {@code null}
+     */
+    private static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Checks if a field has to be quoted.
+     *
+     * @param value The field
+     * @return {@code true} if the field holds a comma, a double quote or a line break
+     */
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
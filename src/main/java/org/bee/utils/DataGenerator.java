@@ -1,6 +1,10 @@
 package org.bee.utils;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Supplier;
 
 import org.bee.hms.humans.*;
 import org.bee.hms.medical.*;
@@ -9,9 +13,46 @@ import org.bee.hms.medical.*;
  * Static utility class for generating common data used across different entities.
  */
 public final class DataGenerator {
-    // Use ThreadLocalRandom for better thread safety
+    // Shared by threads that are not running a seeded generation
     private static final Random RANDOM = new Random();
 
+    /** The seeded generation running on this thread, if any */
+    private static final ThreadLocal<Seeded> SEEDED = new ThreadLocal<>();
+
+    /**
+     * Random source and clock of a seeded generation.
+     * The clock moves on one millisecond each time it is read, so the times and the IDs built
+     * from them differ within a generation but are the same every time it is run.
+     */
+    private static final class Seeded {
+        /** The random source */
+        private final Random random;
+        /** The time the clock started at, in milliseconds since the epoch in UTC */
+        private final long start;
+        /** Number of times the clock has been read */
+        private long ticks;
+
+        /**
+         * Creates a seeded generation.
+         *
+         * @param seed  The random seed
+         * @param start The time the clock starts at
+         */
+        private Seeded(long seed, LocalDateTime start) {
+            this.random = new Random(seed);
+            this.start = start.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+
+        /**
+         * Reads the clock.
+         *
+         * @return The time in milliseconds since the epoch in UTC
+         */
+        private long tick() {
+            return start + ticks++;
+        }
+    }
+
     // Personal Information
     private static final String[] STAFF_NAMES = {
             "Tan Wei Ming", "Lim Mei Ling", "Muhammad Ibrahim", "Siti Nurhaliza",
@@ -89,6 +130,67 @@ public final class DataGenerator {
         throw new AssertionError("Utility class should not be instantiated");
     }
 
+    /**
+     * Runs a generation with its own random source and clock on the calling thread.
+     * <p>
+     * Everything the task generates through this class, including IDs and the times returned by
+     * {@link #now()}, comes from the seed, so the same seed and start time give the same data.
+     * Other threads are not affected, so several seeded generations can run in parallel.
+     * </p>
+     *
+     * @param seed  The random seed
+     * @param start The time {@link #now()} starts at
+     * @param task  The generation
+     * @param <T>   The type of result
+     * @return The task's result
+     */
+    public static <T> T withSeed(long seed, LocalDateTime start, Supplier<T> task) {
+        Seeded previous = SEEDED.get();
+        SEEDED.set(new Seeded(seed, start));
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                SEEDED.remove();
+            } else {
+                SEEDED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Gets the random source for the calling thread.
+     *
+     * @return The seeded generation's random source, or the shared one outside a seeded generation
+     */
+    private static Random random() {
+        Seeded seeded = SEEDED.get();
+        return seeded != null ? seeded.random : RANDOM;
+    }
+
+    /**
+     * Gets the current time for generated data.
+     *
+     * @return The seeded generation's clock, or the system clock outside a seeded generation
+     */
+    public static LocalDateTime now() {
+        Seeded seeded = SEEDED.get();
+        if (seeded == null) {
+            return LocalDateTime.now();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(seeded.tick()), ZoneOffset.UTC);
+    }
+
+    /**
+     * Gets the current time in milliseconds for generated IDs.
+     *
+     * @return The seeded generation's clock, or the system clock outside a seeded generation
+     */
+    public static long currentTimeMillis() {
+        Seeded seeded = SEEDED.get();
+        return seeded != null ? seeded.tick() : System.currentTimeMillis();
+    }
+
     /**
      * Generates a random integer within a specified range.
      *
@@ -97,7 +199,7 @@ public final class DataGenerator {
      * @return A random integer between min and max
      */
     public static int generateRandomInt(int min, int max) {
-        return min + RANDOM.nextInt(max - min + 1);
+        return min + random().nextInt(max - min + 1);
     }
 
     /**
@@ -107,32 +209,41 @@ public final class DataGenerator {
      * @return A random integer from 0 to max-1
      */
     public static int generateRandomInt(int max) {
-        return RANDOM.nextInt(max);
+        return random().nextInt(max);
+    }
+
+    /**
+     * Generates a random double within range [0, 1).
+     *
+     * @return A random double from 0 inclusive to 1 exclusive
+     */
+    public static double generateRandomDouble() {
+        return random().nextDouble();
     }
 
     /**
      * Retrieves a random {@link Medication} from a randomly selected category.
      * <p>
      * The method selects a random category from the available medication categories,
-     * retrieves up to 5 medications from that category, and then randomly selects one
-     * medication from the list. If no medications are available, an exception is thrown.
+     * and then randomly selects one medication from that category.
+     * If no medications are available, an exception is thrown.
      * </p>
      *
      * @return A randomly selected {@link Medication} from one of the available categories.
      */
     public static Medication getRandomMedication() {
         List<String> categories = Medication.getAllCategories();
-        String randomCategory = categories.get(RANDOM.nextInt(categories.size()));
+        String randomCategory = categories.get(generateRandomInt(categories.size()));
 
-        // Get up to 5 medications from the category and select one randomly
+        // Select one medication from the category without copying it
         List<Medication> medications = Medication.getMedicationsByCategory(
-                randomCategory, 5, true);
+                randomCategory, 0, false);
 
         if (medications.isEmpty()) {
             throw new IllegalStateException("No medications available in the system");
         }
 
-        return medications.getFirst(); // First one since the list is already randomized
+        return medications.get(generateRandomInt(medications.size()));
     }
 
 
@@ -179,7 +290,7 @@ public final class DataGenerator {
      *         of a randomly generated UUID.
      */
     public static String generateStaffId() {
-        String uuid = UUID.randomUUID().toString();
+        String uuid = generateUUID();
         return "S" + uuid.substring(0, 8).toUpperCase();
     }
 
@@ -225,8 +336,8 @@ public final class DataGenerator {
      *         and "XXXXXXX" is the first 8 characters of a randomly generated UUID.
      */
     public static String generatePatientId() {
-        int year = java.time.LocalDate.now().getYear();
-        String uuid = UUID.randomUUID().toString();
+        int year = now().getYear();
+        String uuid = generateUUID();
 
         return String.format("P-%d%s", year, uuid.substring(0, 8).toUpperCase());
     }
@@ -350,7 +461,7 @@ public final class DataGenerator {
      */
     public static String getRandomInsuranceName() {
         String[] allNames = getInsuranceNames();
-        return allNames[RANDOM.nextInt(allNames.length)];
+        return allNames[generateRandomInt(allNames.length)];
     }
 
     /**
@@ -365,7 +476,7 @@ public final class DataGenerator {
         StringBuilder sb = new StringBuilder();
 
         for (int i = 0; i < length; i++) {
-            int index = RANDOM.nextInt(chars.length());
+            int index = generateRandomInt(chars.length());
             sb.append(chars.charAt(index));
         }
 
@@ -430,8 +541,12 @@ public final class DataGenerator {
             return null;
         }
 
-        List<T> list = new ArrayList<>(set);
-        return list.get(generateRandomInt(list.size()));
+        // Walk to the element rather than copying the set into a list
+        Iterator<T> iterator = set.iterator();
+        for (int skip = generateRandomInt(set.size()); skip > 0; skip--) {
+            iterator.next();
+        }
+        return iterator.next();
     }
 
     /**
@@ -445,7 +560,18 @@ public final class DataGenerator {
         return values[generateRandomInt(values.length)];
     }
 
+    /**
+     * Generates a random (version 4) UUID.
+     *
+     * @return The UUID as a string
+     */
     public static String generateUUID() {
-        return UUID.randomUUID().toString();
+        Seeded seeded = SEEDED.get();
+        if (seeded == null) {
+            return UUID.randomUUID().toString();
+        }
+        long high = (seeded.random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (seeded.random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low).toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package org.bee.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of events, each a time with an {@code int} payload.
+ * <p>
+ * Times and payloads are kept in two primitive arrays, so adding and removing an event
+ * allocates nothing once the heap has grown to its working size. Events with equal times
+ * come out in no particular order; callers that need a tie-break can fold it into the time.
+ * </p>
+ * <p>
+ * This class is not thread safe; callers must synchronize.
+ * </p>
+ */
+public class EventQueue {
+
+    /** Initial number of slots */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Event times, in heap order */
+    private long[] times;
+
+    /** Event payloads, parallel to {@link #times} */
+    private int[] payloads;
+
+    /** Number of events */
+    private int size;
+
+    /**
+     * Creates an empty queue.
+     */
+    public EventQueue() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue with room for a number of events before it has to grow.
+     *
+     * @param capacity The expected number of events at once
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public EventQueue(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        times = new long[Math.max(1, capacity)];
+        payloads = new int[times.length];
+    }
+
+    /**
+     * Adds an event.
+     *
+     * @param time    The event time
+     * @param payload The event payload
+     */
+    public void add(long time, int payload) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            payloads = Arrays.copyOf(payloads, size * 2);
+        }
+        int i = size++;
+        // Move parents down until the new event fits
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (times[parent] <= time) {
+                break;
+            }
+            times[i] = times[parent];
+            payloads[i] = payloads[parent];
+            i = parent;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Gets the time of the earliest event.
+     *
+     * @return The earliest time
+     * @throws NoSuchElementException If the queue is empty
+     */
+    public long peekTime() {
+        requireNotEmpty();
+        return times[0];
+    }
+
+    /**
+     * Gets the payload of the earliest event.
+     *
+     * @return The earliest event's payload
+     * @throws NoSuchElementException If the queue is empty
+     */
+    public int peekPayload() {
+        requireNotEmpty();
+        return payloads[0];
+    }
+
+    /**
+     * Removes the earliest event.
+     *
+     * @return The removed event's payload
+     * @throws NoSuchElementException If the queue is empty
+     */
+    public int poll() {
+        requireNotEmpty();
+        int payload = payloads[0];
+        size--;
+        if (size > 0) {
+            siftDown(times[size], payloads[size]);
+        }
+        return payload;
+    }
+
+    /**
+     * Gets the number of events.
+     *
+     * @return The event count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether there are no events.
+     *
+     * @return {@code true} if the queue is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every event.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Places an event at the root and moves it down to where it belongs.
+     *
+     * @param time    The event time
+     * @param payload The event payload
+     */
+    private void siftDown(long time, int payload) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && times[child + 1] < times[child]) {
+                child++;
+            }
+            if (time <= times[child]) {
+                break;
+            }
+            times[i] = times[child];
+            payloads[i] = payloads[child];
+            i = child;
+        }
+        times[i] = time;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Throws if the queue is empty.
+     *
+     * @throws NoSuchElementException If the queue is empty
+     */
+    private void requireNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Event queue is empty");
+        }
+    }
+}
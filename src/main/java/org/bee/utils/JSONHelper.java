@@ -13,6 +13,7 @@ import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -158,6 +159,22 @@ public final class JSONHelper {
         }
     }
 
+    /**
+     * Converts an object to a single-line JSON string, for line-delimited (NDJSON) files.
+     *
+     * @param object The object to convert
+     * @param <T>    The type of the object
+     * @return A compact JSON representation of the object without line breaks
+     * @throws RuntimeException If there is an error converting the object to JSON
+     */
+    public static <T extends JSONSerializable> String toJsonLine(T object) {
+        try {
+            return OBJECT_MAPPER.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error converting object to JSON", e);
+        }
+    }
+
     /**
      * Converts a JSON string to an object implementing JSONReadable.
      *
@@ -174,4 +191,48 @@ public final class JSONHelper {
             throw new RuntimeException("Error converting JSON to object", e);
         }
     }
+
+    /**
+     * Converts an object to a JSON tree, so its fields can be read one by one.
+     *
+     * @param object The object to convert
+     * @param <T>    The type of the object
+     * @return The object's fields
+     * @throws IllegalArgumentException If the object cannot be converted
+     */
+    public static <T extends JSONSerializable> ObjectNode toTree(T object) {
+        return OBJECT_MAPPER.valueToTree(object);
+    }
+
+    /**
+     * Converts a JSON tree to an object implementing JSONReadable.
+     *
+     * @param node  The JSON tree
+     * @param clazz The class of the object to create
+     * @param <T>   The type of the object
+     * @return An object of type T
+     * @throws IllegalArgumentException If the tree does not describe an object of the class
+     */
+    public static <T extends JSONSerializable> T fromTree(JsonNode node, Class<T> clazz) {
+        try {
+            return OBJECT_MAPPER.treeToValue(node, clazz);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid " + clazz.getSimpleName() + ": " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a JSON string into a tree, for records that do not map to a {@link JSONSerializable} class.
+     *
+     * @param json The JSON string to parse
+     * @return The root node of the parsed JSON
+     * @throws IllegalArgumentException If the string is not valid JSON
+     */
+    public static JsonNode parseTree(String json) {
+        try {
+            return OBJECT_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
 }
\ No newline at end of file
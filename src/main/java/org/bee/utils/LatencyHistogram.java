@@ -0,0 +1,171 @@
+package org.bee.utils;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative durations with a bounded relative error.
+ * <p>
+ * Values below 128 are counted exactly. Larger values fall into buckets that each cover
+ * a power-of-two range split into 64 equal parts, so any recorded value is reported with
+ * an error of less than 1/64 (about 1.6%). Memory grows with the log of the largest value
+ * instead of with the number of samples, which makes percentiles cheap to keep for every
+ * claim transition.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    /** Number of values counted exactly, and the width of the first bucket */
+    private static final int LINEAR_LIMIT = 128;
+
+    /** Number of sub-buckets each power-of-two range is split into */
+    private static final int SUB_BUCKETS = 64;
+
+    /** Bits in {@link #SUB_BUCKETS} */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /** Counts per bucket index, grown as larger values are recorded */
+    private long[] counts = new long[LINEAR_LIMIT];
+
+    /** Number of recorded values */
+    private long totalCount;
+
+    /** Sum of recorded values, for the mean */
+    private long sum;
+
+    /** Smallest recorded value */
+    private long min = Long.MAX_VALUE;
+
+    /** Largest recorded value */
+    private long max;
+
+    /**
+     * Records one value. Negative values are recorded as 0.
+     *
+     * @param value The value, usually a duration in milliseconds
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        int index = indexFor(v);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + 1);
+        }
+        counts[index]++;
+        totalCount++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    /**
+     * Adds all values recorded in another histogram to this one.
+     *
+     * @param other The histogram to merge in
+     */
+    public void merge(LatencyHistogram other) {
+        if (other.totalCount == 0) {
+            return;
+        }
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return The minimum, or 0 if nothing was recorded
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the exact mean of the recorded values.
+     *
+     * @return The mean, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Gets the value at or below which the given share of recorded values fall.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The highest value of the bucket holding the percentile, capped at the maximum,
+     *         or 0 if nothing was recorded
+     * @throws IllegalArgumentException If the percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, highestValueAt(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Finds the bucket index for a value.
+     *
+     * @param value A non-negative value
+     * @return The bucket index
+     */
+    static int indexFor(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Finds the highest value that falls into a bucket.
+     *
+     * @param index The bucket index
+     * @return The highest value of the bucket
+     */
+    static long highestValueAt(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,89 @@
+package org.bee.utils;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Lazily merges several sorted iterators into one sorted iterator.
+ * <p>
+ * Only the next item of each source is held, in a heap ordered by the comparator, so
+ * taking the first {@code n} items of {@code k} sources costs {@code O(n log k)} and never
+ * reads further into the sources than needed. Equal items come out in source order.
+ * </p>
+ *
+ * @param <T> The type of item merged
+ */
+public class MergingIterator<T> implements Iterator<T> {
+
+    /**
+     * The next unread item of one source.
+     *
+     * @param item   The item
+     * @param source The index of the source
+     */
+    private record Head<T>(T item, int source) {
+    }
+
+    /** The sources, each already sorted by the comparator */
+    private final List<? extends Iterator<? extends T>> sources;
+
+    /** The next item of every source that is not exhausted */
+    private final PriorityQueue<Head<T>> heads;
+
+    /**
+     * Creates a merge of sorted sources.
+     *
+     * @param sources The sources, each already sorted by the comparator
+     * @param order   The order of the sources and of the merge
+     */
+    public MergingIterator(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        this.sources = sources;
+        Comparator<Head<T>> byItem = (a, b) -> order.compare(a.item(), b.item());
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                byItem.thenComparingInt(Head::source));
+        for (int i = 0; i < sources.size(); i++) {
+            advance(i);
+        }
+    }
+
+    /**
+     * Checks if any source has items left.
+     *
+     * @return {@code true} if there is a next item
+     */
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    /**
+     * Takes the smallest next item across the sources.
+     *
+     * @return The item
+     * @throws NoSuchElementException If every source is exhausted
+     */
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source());
+        return head.item();
+    }
+
+    /**
+     * Reads the next item of a source into the heap, if it has one.
+     *
+     * @param source The index of the source
+     */
+    private void advance(int source) {
+        Iterator<? extends T> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            heads.add(new Head<>(iterator.next(), source));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.bee.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Items grouped by a key, with each group kept in sorted order.
+ * <p>
+ * The index is built from a source collection the first time it is queried and rebuilt
+ * whenever the source reports a new version, so a query costs one map lookup until the
+ * source changes. Items whose key is {@code null} are left out.
+ * </p>
+ *
+ * @param <T> The type of item indexed
+ */
+public class SortedGroupIndex<T> {
+
+    /** Extracts the group key of an item */
+    private final Function<? super T, String> keyOf;
+
+    /** Order of the items within a group */
+    private final Comparator<? super T> order;
+
+    /** Sorted, read-only groups by key */
+    private Map<String, List<T>> groups = Map.of();
+
+    /** Source version the groups were built from */
+    private long builtVersion = -1;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param keyOf Extracts the group key of an item
+     * @param order Order of the items within a group
+     */
+    public SortedGroupIndex(Function<? super T, String> keyOf, Comparator<? super T> order) {
+        this.keyOf = keyOf;
+        this.order = order;
+    }
+
+    /**
+     * Gets the items of one group, rebuilding the index first if the source has changed.
+     *
+     * @param key     The group key
+     * @param version The current version of the source
+     * @param source  The items to build the index from if it is stale
+     * @return The group's items in order, read-only and empty if there are none
+     */
+    public synchronized List<T> get(String key, long version, Collection<? extends T> source) {
+        if (version != builtVersion) {
+            rebuild(source);
+            builtVersion = version;
+        }
+        return groups.getOrDefault(key, List.of());
+    }
+
+    /**
+     * Groups and sorts the source items.
+     *
+     * @param source The items
+     */
+    private void rebuild(Collection<? extends T> source) {
+        Map<String, List<T>> rebuilt = new HashMap<>();
+        for (T item : source) {
+            String key = keyOf.apply(item);
+            if (key != null) {
+                rebuilt.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+            }
+        }
+        rebuilt.replaceAll((key, group) -> {
+            group.sort(order);
+            return Collections.unmodifiableList(group);
+        });
+        groups = rebuilt;
+    }
+}
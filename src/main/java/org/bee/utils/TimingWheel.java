@@ -0,0 +1,326 @@
+package org.bee.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding many deadlines with constant-time insert and cancel.
+ * <p>
+ * Time is cut into ticks. Each of the {@value #LEVELS} levels has {@value #WHEEL_SIZE}
+ * buckets, and each level's buckets span {@value #WHEEL_SIZE} times as many ticks as the
+ * level below. A deadline goes into the lowest level whose range covers it, and moves down
+ * a level whenever the wheel below it wraps around, so every deadline is handled at most
+ * once per level. Buckets are doubly linked lists, so cancelling does not search.
+ * </p>
+ * <p>
+ * Deadlines never fire early: a deadline fires on the first advance to a time at or after it.
+ * This class is not thread safe; callers must synchronize.
+ * </p>
+ *
+ * @param <T> The type of payload attached to each deadline
+ */
+public class TimingWheel<T> {
+
+    /** Number of bits of the tick number handled by each level */
+    private static final int WHEEL_BITS = 6;
+
+    /** Number of buckets per level */
+    public static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    /** Number of levels */
+    public static final int LEVELS = 6;
+
+    /** Index of the extra bucket holding deadlines that were already due when scheduled */
+    private static final int OVERDUE = LEVELS * WHEEL_SIZE;
+
+    /** Largest distance in ticks the top level can hold */
+    private static final long MAX_SPAN = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    /**
+     * A scheduled deadline.
+     *
+     * @param <T> The type of the payload
+     */
+    public static final class Timeout<T> {
+        /** Payload handed back when the deadline fires */
+        private final T payload;
+
+        /** Deadline in milliseconds since the epoch */
+        private final long deadline;
+
+        /** First tick at or after the deadline */
+        private final long tick;
+
+        /** Previous timeout in the same bucket */
+        private Timeout<T> prev;
+
+        /** Next timeout in the same bucket */
+        private Timeout<T> next;
+
+        /** Bucket the timeout is in, or -1 once fired or cancelled */
+        private int bucket = -1;
+
+        /**
+         * Creates a timeout.
+         *
+         * @param payload  Payload handed back when the deadline fires
+         * @param deadline Deadline in milliseconds since the epoch
+         * @param tick     First tick at or after the deadline
+         */
+        private Timeout(T payload, long deadline, long tick) {
+            this.payload = payload;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+
+        /**
+         * Gets the payload.
+         *
+         * @return The payload
+         */
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * Gets the deadline.
+         *
+         * @return The deadline in milliseconds since the epoch
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Checks whether the timeout is still waiting to fire.
+         *
+         * @return {@code true} if neither fired nor cancelled
+         */
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+    }
+
+    /** Length of a tick in milliseconds */
+    private final long tickMillis;
+
+    /** First timeout in each bucket, with the overdue bucket last */
+    private final Timeout<T>[] buckets;
+
+    /** Last tick that has been processed */
+    private long currentTick;
+
+    /** Number of pending timeouts */
+    private int size;
+
+    /** Number of timeouts in each level's buckets */
+    private final int[] levelCounts = new int[LEVELS];
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis  Length of a tick in milliseconds
+     * @param startMillis Current time in milliseconds since the epoch
+     * @throws IllegalArgumentException If the tick length is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[OVERDUE + 1];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a payload to fire at a deadline.
+     * A deadline that is already due fires on the next advance.
+     *
+     * @param payload  Payload handed back when the deadline fires
+     * @param deadline Deadline in milliseconds since the epoch
+     * @return A handle that can be used to cancel the deadline
+     */
+    public Timeout<T> schedule(T payload, long deadline) {
+        Timeout<T> timeout = new Timeout<>(payload, deadline, Math.ceilDiv(deadline, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending deadline.
+     *
+     * @param timeout The handle returned by {@link #schedule}
+     * @return {@code true} if it was pending, {@code false} if it had already fired or been cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward and collects every deadline at or before the given time.
+     * Moving backwards has no effect apart from firing overdue deadlines.
+     *
+     * @param nowMillis Current time in milliseconds since the epoch
+     * @return The timeouts that fired, in deadline order
+     */
+    public List<Timeout<T>> advanceTo(long nowMillis) {
+        List<Timeout<T>> fired = new ArrayList<>();
+        drain(OVERDUE, fired);
+
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            // Ticks before the next cascade of the lowest occupied level have nothing to do
+            int level = 0;
+            while (level < LEVELS && levelCounts[level] == 0) {
+                level++;
+            }
+            if (level == LEVELS) {
+                currentTick = target;
+                break;
+            }
+            if (level > 0) {
+                long boundary = ((currentTick >>> (WHEEL_BITS * level)) + 1) << (WHEEL_BITS * level);
+                currentTick = Math.min(target, boundary - 1);
+                if (currentTick == target) {
+                    break;
+                }
+            }
+            currentTick++;
+            cascade();
+            // Deadlines cascaded onto the current tick land in the overdue bucket
+            drain(OVERDUE, fired);
+            drain((int) (currentTick & (WHEEL_SIZE - 1)), fired);
+        }
+        fired.sort(Comparator.comparingLong(Timeout::getDeadline));
+        return fired;
+    }
+
+    /**
+     * Gets every pending timeout, in no particular order.
+     *
+     * @return The pending timeouts
+     */
+    public List<Timeout<T>> getPending() {
+        List<Timeout<T>> pending = new ArrayList<>(size);
+        for (Timeout<T> head : buckets) {
+            for (Timeout<T> timeout = head; timeout != null; timeout = timeout.next) {
+                pending.add(timeout);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     *
+     * @return The number of pending timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves the buckets of higher levels that have come due down a level.
+     * A level is cascaded when every level below it has wrapped around to bucket 0.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = WHEEL_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            int bucket = level * WHEEL_SIZE + (int) ((currentTick >>> shift) & (WHEEL_SIZE - 1));
+            Timeout<T> timeout = buckets[bucket];
+            buckets[bucket] = null;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                levelCounts[level]--;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Empties a bucket into the fired list.
+     *
+     * @param bucket The bucket index
+     * @param fired  The list to add fired timeouts to
+     */
+    private void drain(int bucket, List<Timeout<T>> fired) {
+        Timeout<T> timeout = buckets[bucket];
+        buckets[bucket] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = -1;
+            fired.add(timeout);
+            if (bucket != OVERDUE) {
+                levelCounts[0]--;
+            }
+            size--;
+            timeout = next;
+        }
+    }
+
+    /**
+     * Puts a timeout into the bucket matching its distance from the current tick.
+     *
+     * @param timeout The timeout to place
+     */
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.tick - currentTick;
+        int bucket;
+        if (delta <= 0) {
+            bucket = OVERDUE;
+        } else {
+            long tick = delta > MAX_SPAN ? currentTick + MAX_SPAN : timeout.tick;
+            long distance = tick - currentTick;
+            int level = 0;
+            while (level < LEVELS - 1 && distance >= 1L << (WHEEL_BITS * (level + 1))) {
+                level++;
+            }
+            bucket = level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & (WHEEL_SIZE - 1));
+            levelCounts[level]++;
+        }
+        timeout.bucket = bucket;
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+    }
+
+    /**
+     * Removes a timeout from its bucket.
+     *
+     * @param timeout The timeout to remove
+     */
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.bucket != OVERDUE) {
+            levelCounts[timeout.bucket / WHEEL_SIZE]--;
+        }
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+}
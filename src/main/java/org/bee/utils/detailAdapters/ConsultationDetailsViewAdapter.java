@@ -2,8 +2,10 @@ package org.bee.utils.detailAdapters;
 
 import org.bee.hms.humans.Doctor;
 import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.AllergyOverride;
 import org.bee.hms.medical.Consultation;
 import org.bee.hms.medical.DiagnosticCode;
+import org.bee.hms.medical.PrescriptionScreener;
 import org.bee.hms.medical.ProcedureCode;
 import org.bee.ui.details.IDetailsViewAdapter;
 import org.bee.ui.views.DetailsView;
@@ -117,6 +119,24 @@ public class ConsultationDetailsViewAdapter implements IDetailsViewAdapter<Consu
                 i++;
             }
             view.addDetail("Medical Details", "Prescriptions", rxStr.toString());
+
+            List<PrescriptionScreener.AllergyWarning> warnings = consultation.screenPrescriptions();
+            if (!warnings.isEmpty()) {
+                StringBuilder warningStr = new StringBuilder();
+                for (PrescriptionScreener.AllergyWarning warning : warnings) {
+                    warningStr.append("\n    ! ").append(warning.describe());
+                }
+                view.addDetail("Medical Details", "Allergy Warnings", warningStr.toString());
+            }
+        }
+
+        List<AllergyOverride> overrides = consultation.getAllergyOverrides();
+        if (!overrides.isEmpty()) {
+            StringBuilder overrideStr = new StringBuilder();
+            for (AllergyOverride allergyOverride : overrides) {
+                overrideStr.append("\n    ! ").append(allergyOverride.describe());
+            }
+            view.addDetail("Medical Details", "Allergy Overrides", overrideStr.toString());
         }
 
         // Add notes if available
@@ -29,6 +29,10 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
     private static final DateTimeFormatter DATETIME_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     private static final HumanController humanController = HumanController.getInstance();
+    /** Suffix on a medication code that prescribes it despite an allergy warning */
+    private static final String ALLERGY_OVERRIDE = "!";
+    /** Allergy warnings overridden in the form, by drug code, recorded on the consultation when it is updated */
+    private final Map<String, AllergyOverride> pendingOverrides = new LinkedHashMap<>();
 
     @Override
     public List<FormField<?>> generateFields(Consultation consultation) {
@@ -136,10 +140,18 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
 
             // Get prescriptions from consultation
             Map<Medication, Integer> initialPrescriptions = consultation.getPrescriptions();
+            // Resolve the allergies once so each added medication is a lookup
+            PrescriptionScreener.AllergyProfile allergies =
+                    PrescriptionScreener.getInstance().profileOf(consultation.getPatient());
+            String prescriptionPrompt = allergies.isEmpty()
+                    ? "Enter medication code and quantity (e.g., AMOX:30):"
+                    : "Enter medication code and quantity (e.g., AMOX:30). Known allergies: "
+                    + String.join(", ", consultation.getPatient().getDrugAllergies())
+                    + ". Add '" + ALLERGY_OVERRIDE + "' after the code to prescribe despite a warning:";
             fields.add(createMapField(
                     "prescriptions",
                     "Prescriptions",
-                    "Enter medication code and quantity (e.g., AMOX:30):",
+                    prescriptionPrompt,
                     consultation,
                     input -> {
                         if (input == null || input.trim().isEmpty()) {
@@ -152,7 +164,7 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
                         }
 
                         try {
-                            String medicationCode = parts[0].trim().toUpperCase();
+                            String medicationCode = stripOverride(parts[0].trim().toUpperCase());
                             String quantityStr = parts[1].trim();
 
                             // Check if medication is valid
@@ -172,7 +184,19 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
                     "Invalid prescription format. Use 'CODE:QUANTITY' with a valid medication code and positive quantity.",
                     input -> {
                         String medicationCode = input.trim().toUpperCase();
-                        return Medication.createFromCode(medicationCode);
+                        Medication prescribed = Medication.createFromCode(stripOverride(medicationCode));
+                        List<PrescriptionScreener.AllergyWarning> warnings = allergies.screen(prescribed);
+                        if (!warnings.isEmpty() && !medicationCode.endsWith(ALLERGY_OVERRIDE)) {
+                            throw new IllegalArgumentException("Allergy warning - " + warnings.getFirst().describe()
+                                    + ". Enter " + prescribed.getDrugCode() + ALLERGY_OVERRIDE
+                                    + ":QUANTITY to prescribe anyway");
+                        }
+                        if (!warnings.isEmpty()) {
+                            pendingOverrides.put(prescribed.getDrugCode(), new AllergyOverride(
+                                    ((Doctor) systemUser).getStaffId(), prescribed.getDrugCode(),
+                                    warnings.getFirst().describe(), LocalDateTime.now()));
+                        }
+                        return prescribed;
                     },
                     input -> {
                         int quantity = Integer.parseInt(input.trim());
@@ -195,9 +219,38 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
         return "Consultation";
     }
 
+    /**
+     * Removes the allergy override suffix from a medication code.
+     *
+     * @param medicationCode The code as entered
+     * @return The code without the suffix
+     */
+    private static String stripOverride(String medicationCode) {
+        return medicationCode.endsWith(ALLERGY_OVERRIDE)
+                ? medicationCode.substring(0, medicationCode.length() - ALLERGY_OVERRIDE.length()).trim()
+                : medicationCode;
+    }
+
+    /**
+     * Applies the form to the consultation and records the allergy warnings overridden for
+     * medications that are still prescribed.
+     *
+     * @param consultation The consultation to update
+     * @param formData The values entered in the form
+     * @return The updated consultation
+     */
     @Override
     public Consultation applyUpdates(Consultation consultation, Map<String, Object> formData) {
         IObjectFormAdapter.super.applyUpdates(consultation, formData);
+        Set<String> prescribed = consultation.getPrescriptions().keySet().stream()
+                .map(Medication::getDrugCode)
+                .collect(Collectors.toSet());
+        for (AllergyOverride allergyOverride : pendingOverrides.values()) {
+            if (prescribed.contains(allergyOverride.getDrugCode())) {
+                consultation.recordAllergyOverride(allergyOverride);
+            }
+        }
+        pendingOverrides.clear();
         return consultation;
     }
 
@@ -205,6 +258,7 @@ public class ConsultationFormAdapter implements IObjectFormAdapter<Consultation>
     public boolean saveObject(Consultation consultation) {
         try {
             if (genericSaveObject(consultation, ConsultationController.class, "saveData")) {
+                ConsultationController.getInstance().trackFollowUp(consultation);
                 return true;
             } else {
                 System.err.println("Failed to save consultation using generic method for ID: " + consultation.getConsultationId());
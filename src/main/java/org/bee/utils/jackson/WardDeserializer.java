@@ -6,7 +6,7 @@ import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.bee.hms.wards.Ward;
 import org.bee.hms.wards.WardClassType;
-import org.bee.hms.wards.WardFactory;
+import org.bee.hms.wards.WardRegistry;
 
 import java.io.IOException;
 /**
@@ -17,6 +17,8 @@ import java.io.IOException;
  *   "name": "Emergency Ward",
  *   "classType": "CLASS_A"
  *
+ * <p>Wards are interned in the shared {@link WardRegistry}, so every ward stay naming the
+ * same ward gets the same instance and beds.</p>
  */
 public class WardDeserializer extends JsonDeserializer<Ward> {
     /**
@@ -24,7 +26,7 @@ public class WardDeserializer extends JsonDeserializer<Ward> {
      *
      * @param p     The JSON parser containing the input data
      * @param ctxt  Context for deserialization process
-     * @return      Configured Ward instance
+     * @return      The shared Ward instance
      * @throws IOException If JSON parsing fails or required fields are missing
      */
     @Override
@@ -36,6 +38,6 @@ public class WardDeserializer extends JsonDeserializer<Ward> {
 
         WardClassType wardClassType = WardClassType.fromString(classTypeStr);
 
-        return WardFactory.getWard(name, wardClassType);
+        return WardRegistry.getInstance().intern(name, wardClassType);
     }
 }
\ No newline at end of file
@@ -11,7 +11,7 @@ import java.io.IOException;
  *
  * <p>This serializer handles different types of {@link Ward} subclasses, such as {@link LabourWard},
  * {@link ICUWard}, {@link DaySurgeryWard}, and {@link GeneralWard}. It outputs type-specific information
- * along with common properties like name, daily rate, and inferred ward class type.</p>
+ * along with common properties like name, daily rate, and ward class type.</p>
  *
  */
 public class WardSerializer extends JsonSerializer<Ward> {
@@ -42,10 +42,8 @@ public class WardSerializer extends JsonSerializer<Ward> {
         gen.writeStringField("name", ward.getWardName());
         gen.writeNumberField("dailyRate", ward.getDailyRate());
 
-        // Determine the WardClassType based on ward type and daily rate
-        WardClassType inferredClassType = inferWardClassType(ward);
-        if (inferredClassType != null) {
-            gen.writeStringField("classType", inferredClassType.name());
+        if (ward.getWardClassType() != null) {
+            gen.writeStringField("classType", ward.getWardClassType().name());
         }
 
         // Write beds information if needed
@@ -53,41 +51,4 @@ public class WardSerializer extends JsonSerializer<Ward> {
 
         gen.writeEndObject();
     }
-    /**
-     * Infers the {@link WardClassType} based on the concrete subclass of {@link Ward} and its daily rate.
-     *
-     * @param ward The {@link Ward} object for which the class type is inferred.
-     * @return The inferred {@link WardClassType}, or {@code null} if no matching type is found.
-     */
-    private WardClassType inferWardClassType(Ward ward) {
-        // Infer WardClassType based on the concrete class and daily rate
-        double rate = ward.getDailyRate();
-
-        switch (ward) {
-            case LabourWard ignored1 -> {
-                if (rate == 1500) return WardClassType.LABOUR_CLASS_A;
-                if (rate == 1000) return WardClassType.LABOUR_CLASS_B1;
-                if (rate == 500) return WardClassType.LABOUR_CLASS_B2;
-                if (rate == 250) return WardClassType.LABOUR_CLASS_C;
-            }
-            case ICUWard ignored -> {
-                return WardClassType.ICU;
-            }
-            case DaySurgeryWard ignored -> {
-                if (rate == 300) return WardClassType.DAYSURGERY_CLASS_SEATER;
-                if (rate == 250) return WardClassType.DAYSURGERY_CLASS_COHORT;
-                if (rate == 200) return WardClassType.DAYSURGERY_CLASS_SINGLE;
-            }
-            case GeneralWard ignored -> {
-                if (rate == 500) return WardClassType.GENERAL_CLASS_A;
-                if (rate == 250) return WardClassType.GENERAL_CLASS_B1;
-                if (rate == 200) return WardClassType.GENERAL_CLASS_B2;
-                if (rate == 150) return WardClassType.GENERAL_CLASS_C;
-            }
-            default -> {
-            }
-        }
-
-        return null;
-    }
-}
\ No newline at end of file
+}
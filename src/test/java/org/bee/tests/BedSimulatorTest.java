@@ -0,0 +1,128 @@
+package org.bee.tests;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.WardStay;
+import org.bee.hms.simulation.Admission;
+import org.bee.hms.simulation.ArrivalProfile;
+import org.bee.hms.simulation.BedSimulator;
+import org.bee.hms.simulation.SyntheticAdmissions;
+import org.bee.hms.wards.WardClassType;
+import org.bee.hms.wards.WardFactory;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.EventQueue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link BedSimulator} and its admission sources.
+ * Verifies queueing against a hand-worked schedule, what-if ward counts and the event queue order.
+ */
+public class BedSimulatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    private static Admission admission(WardClassType type, int arrivalHour, int stayHours) {
+        return new Admission(type, START.plusHours(arrivalHour), Duration.ofHours(stayHours));
+    }
+
+    @Test
+    void testPatientsQueueForTheNextFreeBed() {
+        // One ICU ward holds a single bed
+        BedSimulator simulator = new BedSimulator(Map.of(WardClassType.ICU, 1));
+        BedSimulator.Report report = simulator.run(List.of(
+                admission(WardClassType.ICU, 0, 2),
+                admission(WardClassType.ICU, 1, 1),
+                admission(WardClassType.ICU, 3, 1),
+                admission(WardClassType.LABOUR_CLASS_A, 0, 5)));
+
+        BedSimulator.ClassResult icu = report.byClass().getFirst().wardClassType() == WardClassType.ICU
+                ? report.byClass().getFirst() : report.byClass().getLast();
+        assertEquals(1, icu.beds());
+        assertEquals(3, icu.admissions());
+        assertEquals(1, icu.waited(), "The second patient waits for the first to leave");
+        assertEquals(Duration.ofHours(1).toMillis(), icu.maxWaitMillis());
+        assertEquals(1, icu.peakQueue());
+        assertEquals(1.0, icu.utilization(), 1e-9, "The bed is never empty");
+
+        BedSimulator.ClassResult labour = report.byClass().stream()
+                .filter(r -> r.wardClassType() == WardClassType.LABOUR_CLASS_A).findFirst().orElseThrow();
+        assertEquals(0, labour.beds());
+        assertEquals(1, labour.unserved(), "A class without wards serves nobody");
+        assertEquals(2, report.byClass().size(), "Classes without wards or patients are left out");
+        assertEquals(START.plusHours(4), report.end());
+        assertEquals(7, report.events(), "Four arrivals and three departures");
+    }
+
+    @Test
+    void testMoreWardsShortenWaits() {
+        ArrivalProfile profile = new ArrivalProfile(Duration.ofHours(2), Duration.ofDays(3));
+        List<Admission> admissions = SyntheticAdmissions.generate(
+                Map.of(WardClassType.GENERAL_CLASS_C, profile), START, Duration.ofDays(365), 42);
+        assertEquals(admissions, SyntheticAdmissions.generate(
+                Map.of(WardClassType.GENERAL_CLASS_C, profile), START, Duration.ofDays(365), 42),
+                "The same seed gives the same admissions");
+
+        // 36 beds are offered on average; 5 wards of 8 beds only just cope
+        BedSimulator tight = new BedSimulator(Map.of(WardClassType.GENERAL_CLASS_C, 5));
+        BedSimulator.ClassResult few = tight.run(admissions).byClass().getFirst();
+        BedSimulator.ClassResult many = tight.withWards(WardClassType.GENERAL_CLASS_C, 7).run(admissions)
+                .byClass().getFirst();
+
+        assertEquals(40, few.beds());
+        assertEquals(56, many.beds());
+        assertEquals(5, tight.getWards(WardClassType.GENERAL_CLASS_C), "What-if copies leave the original alone");
+        assertTrue(few.meanWaitMillis() > many.meanWaitMillis());
+        assertTrue(few.waited() > many.waited());
+        assertTrue(few.utilization() > many.utilization());
+        assertEquals(profile.getOfferedLoad() / many.beds(), many.utilization(), 0.05);
+        assertTrue(many.peakOccupied() <= many.beds());
+    }
+
+    @Test
+    void testReplaysCompletedWardStaysOfVisits() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        Visit visit = Visit.createNew(START, patient);
+        visit.addWardStay(new WardStay(WardFactory.getWard("ICU", WardClassType.ICU), START.plusHours(5),
+                START.plusHours(8)));
+        visit.addWardStay(new WardStay(WardFactory.getWard("General", WardClassType.GENERAL_CLASS_C), START,
+                START.plusHours(5)));
+        visit.addWardStay(new WardStay(WardFactory.getWard("General", WardClassType.GENERAL_CLASS_C),
+                START.plusHours(8), null));
+
+        List<Admission> admissions = Admission.fromVisits(List.of(visit));
+
+        assertEquals(List.of(admission(WardClassType.GENERAL_CLASS_C, 0, 5), admission(WardClassType.ICU, 5, 3)),
+                admissions, "Stays in progress are left out and the rest come in arrival order");
+        assertThrows(IllegalArgumentException.class,
+                () -> new Admission(WardClassType.ICU, START, Duration.ofHours(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new BedSimulator(Map.of(WardClassType.ICU, -1)));
+    }
+
+    @Test
+    void testEventQueueOrdersByTime() {
+        EventQueue queue = new EventQueue(2);
+        long[] times = {50, 10, 40, 10, 30, 20, 60, 0};
+        for (int i = 0; i < times.length; i++) {
+            queue.add(times[i], i);
+        }
+        assertEquals(8, queue.size());
+        assertEquals(0, queue.peekTime());
+        long last = Long.MIN_VALUE;
+        while (!queue.isEmpty()) {
+            long time = queue.peekTime();
+            int payload = queue.poll();
+            assertEquals(times[payload], time);
+            assertTrue(time >= last);
+            last = time;
+        }
+        assertThrows(NoSuchElementException.class, queue::poll);
+    }
+}
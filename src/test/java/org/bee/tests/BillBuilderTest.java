@@ -1,6 +1,7 @@
 package org.bee.tests;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.bee.hms.billing.Bill;
 import org.bee.hms.billing.BillBuilder;
@@ -8,6 +9,8 @@ import org.bee.hms.humans.Patient;
 import org.bee.hms.medical.Consultation;
 import org.bee.hms.medical.Visit;
 import org.bee.hms.medical.VisitStatus;
+import org.bee.utils.JSONHelper;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -89,6 +92,31 @@ public class BillBuilderTest {
                 "Should throw NullPointerException for null consultation");
     }
 
+    @Test
+    void testSourcesAreLinked() {
+        Patient patient = Patient.builder()
+                .withRandomData("P1005")
+                .build();
+
+        Visit visit = Visit.withRandomData();
+        visit.updateStatus(VisitStatus.DISCHARGED);
+
+        Consultation consultation = Consultation.withRandomData();
+
+        Bill bill = new BillBuilder()
+                .withPatient(patient)
+                .withVisit(visit)
+                .withConsultation(consultation)
+                .build();
+
+        assertEquals(visit.getVisitId(), bill.getSourceVisitId());
+        assertEquals(List.of(consultation.getConsultationId()), bill.getSourceConsultationIds());
+
+        Bill restored = JSONHelper.fromJson(JSONHelper.toJson(bill), Bill.class);
+        assertEquals(bill.getSourceVisitId(), restored.getSourceVisitId());
+        assertEquals(bill.getSourceConsultationIds(), restored.getSourceConsultationIds());
+    }
+
     private void verifyBill(Bill bill) {
         assertNotNull(bill, "Bill should not be null");
         assertNotNull(bill.getPatient(), "Patient should not be null");
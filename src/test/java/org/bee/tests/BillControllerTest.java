@@ -0,0 +1,84 @@
+package org.bee.tests;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bee.controllers.BillController;
+import org.bee.controllers.ConsultationController;
+import org.bee.controllers.VisitController;
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.ConsultationStatus;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.VisitStatus;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the bulk billing run in {@link BillController}.
+ * Verifies that sources are billed once per run, grouped by patient, and that bills
+ * stored before sources were tracked are linked rather than billed again.
+ */
+public class BillControllerTest {
+
+    private final BillController billController = BillController.getInstance();
+    private final VisitController visitController = VisitController.getInstance();
+    private final ConsultationController consultationController = ConsultationController.getInstance();
+
+    private Consultation completedConsultation(Patient patient, Doctor doctor) {
+        Consultation consultation = Consultation.withRandomData(patient, doctor);
+        consultation.setStatus(ConsultationStatus.COMPLETED);
+        consultationController.addCase(consultation);
+        return consultation;
+    }
+
+    @Test
+    void testSecondBillingRunCreatesNoBills() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        Doctor doctor = Doctor.builder().withRandomBaseData().build();
+        String patientId = patient.getPatientId();
+
+        Visit visit = Visit.withRandomData(patient);
+        visit.updateStatus(VisitStatus.DISCHARGED);
+        visitController.addItem(visit);
+        Consultation first = completedConsultation(patient, doctor);
+        Consultation second = completedConsultation(patient, doctor);
+        Consultation alreadyBilled = completedConsultation(patient, doctor);
+
+        // A bill saved before sources were recorded
+        ObjectNode tree = JSONHelper.toTree(new BillBuilder().withPatient(patient).withConsultation(alreadyBilled).build());
+        tree.remove(List.of("sourceVisitId", "sourceConsultationIds"));
+        Bill legacy = JSONHelper.fromTree(tree, Bill.class);
+        assertTrue(legacy.hasNoRecordedSource());
+        billController.addItem(legacy);
+
+        List<Bill> created = billController.generatePendingBills().stream()
+                .filter(bill -> bill.getPatient().getPatientId().equals(patientId))
+                .toList();
+        assertEquals(3, created.size(), "One bill for the visit and one per unbilled consultation");
+        assertFalse(legacy.hasNoRecordedSource(), "The older bill is linked to its consultation");
+        assertEquals(4, billController.getBillsForPatient(patientId).size());
+
+        Set<String> billedConsultations = new HashSet<>();
+        for (Bill bill : billController.getBillsForPatient(patientId)) {
+            billedConsultations.addAll(bill.getSourceConsultationIds());
+        }
+        assertEquals(Set.of(first.getConsultationId(), second.getConsultationId(), alreadyBilled.getConsultationId()),
+                billedConsultations);
+        assertEquals(1, created.stream().filter(bill -> visit.getVisitId().equals(bill.getSourceVisitId())).count());
+
+        assertTrue(billController.generatePendingBills().isEmpty(), "A second run finds nothing to bill");
+        billController.loadData();
+        assertTrue(billController.generatePendingBills().isEmpty(), "Nor does a run after the bills are reloaded");
+        assertEquals(4, billController.getBillsForPatient(patientId).size());
+    }
+}
@@ -0,0 +1,112 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.PaymentMethod;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.humans.ResidentialStatus;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.telemed.TelemedicineFeeItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link Bill}.
+ * Verifies that cached totals are refreshed when line items, payments or the status change.
+ */
+public class BillTest {
+
+    private Patient patient;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        patient = Patient.builder()
+                .withRandomData("P2001")
+                .build();
+        bill = new BillBuilder()
+                .withPatient(patient)
+                .withConsultation(Consultation.withRandomData(patient, null))
+                .build();
+    }
+
+    @Test
+    void testTotalsRefreshAfterAddingLineItem() {
+        BigDecimal totalBefore = bill.getTotalAmount();
+        BigDecimal grandBefore = bill.getGrandTotal();
+
+        bill.addLineItem(new TelemedicineFeeItem(), 2);
+
+        assertEquals(totalBefore.add(new BigDecimal("100.00")), bill.getTotalAmount());
+        assertTrue(bill.getGrandTotal().compareTo(grandBefore) > 0, "Grand total should grow with new line item");
+        assertEquals(bill.getGrandTotal(), bill.getOutstandingBalance());
+    }
+
+    @Test
+    void testOutstandingBalanceTracksPayments() {
+        bill.submitForProcessing();
+        BigDecimal grandTotal = bill.getGrandTotal();
+        assertEquals(grandTotal, bill.getOutstandingBalance());
+
+        bill.recordPartialPayment(new BigDecimal("1.00"), PaymentMethod.CASH);
+        assertEquals(grandTotal.subtract(new BigDecimal("1.00")), bill.getOutstandingBalance());
+        assertEquals(BillingStatus.PARTIALLY_PAID, bill.getStatus());
+
+        bill.recordFullPayment(PaymentMethod.CASH);
+        assertEquals(0, bill.getOutstandingBalance().signum());
+        assertEquals(grandTotal, bill.getSettledAmount());
+
+        bill.initiateRefund();
+        bill.completeRefund();
+        assertEquals(grandTotal, bill.getOutstandingBalance());
+        assertEquals(BillingStatus.REFUNDED, bill.getStatus());
+    }
+
+    @Test
+    void testDiscountFollowsResidency() {
+        Bill visitorBill = billFor(ResidentialStatus.VISITOR);
+        assertEquals(0, visitorBill.getDiscountAmount().signum());
+        assertEquals(visitorBill.getTotalAmount(), visitorBill.getDiscountedTotal());
+
+        Bill citizenBill = billFor(ResidentialStatus.CITIZEN);
+        assertTrue(citizenBill.getDiscountAmount().signum() > 0, "Residents should get a discount");
+        assertEquals(citizenBill.getTotalAmount().subtract(citizenBill.getDiscountAmount()),
+                citizenBill.getDiscountedTotal());
+    }
+
+    private Bill billFor(ResidentialStatus status) {
+        Patient p = Patient.builder()
+                .withRandomData("P2002")
+                .residentialStatus(status)
+                .build();
+        return new BillBuilder()
+                .withPatient(p)
+                .withConsultation(Consultation.withRandomData(p, null))
+                .build();
+    }
+
+    @Test
+    void testSortByGrandTotal() {
+        List<Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Bill b = new BillBuilder()
+                    .withPatient(patient)
+                    .withConsultation(Consultation.withRandomData(patient, null))
+                    .build();
+            bills.add(b);
+        }
+
+        bills.sort(Bill.byGrandTotal());
+        for (int i = 1; i < bills.size(); i++) {
+            assertTrue(bills.get(i - 1).getGrandTotal().compareTo(bills.get(i).getGrandTotal()) <= 0,
+                    "Bills should be sorted by ascending grand total");
+        }
+    }
+}
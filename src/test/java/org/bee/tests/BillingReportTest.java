@@ -0,0 +1,127 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bee.hms.billing.AgingBucket;
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingReport;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.Money;
+import org.bee.hms.billing.PaymentMethod;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link BillingReport}.
+ * Verifies aging buckets and revenue groupings against a straightforward sequential computation.
+ */
+public class BillingReportTest {
+
+    private List<Bill> bills;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = Patient.builder()
+                .withRandomData("P3001")
+                .build();
+
+        bills = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Bill bill = new BillBuilder()
+                    .withPatient(patient)
+                    .withConsultation(Consultation.withRandomData(patient, null))
+                    .build();
+            switch (i % 4) {
+                case 0 -> bill.submitForProcessing();
+                case 1 -> {
+                    bill.submitForProcessing();
+                    bill.recordPartialPayment(new BigDecimal("5.00"), PaymentMethod.CASH);
+                }
+                case 2 -> {
+                    bill.submitForProcessing();
+                    bill.recordFullPayment(PaymentMethod.PAYNOW);
+                }
+                default -> bill.cancelBill();
+            }
+            bills.add(bill);
+        }
+    }
+
+    @Test
+    void testAgingBucketBoundaries() {
+        assertEquals(AgingBucket.DAYS_0_30, AgingBucket.forAge(-1));
+        assertEquals(AgingBucket.DAYS_0_30, AgingBucket.forAge(30));
+        assertEquals(AgingBucket.DAYS_31_60, AgingBucket.forAge(31));
+        assertEquals(AgingBucket.DAYS_61_90, AgingBucket.forAge(90));
+        assertEquals(AgingBucket.OVER_90, AgingBucket.forAge(91));
+    }
+
+    @Test
+    void testAgingUsesOutstandingBalanceOfOpenBills() {
+        long expected = bills.stream()
+                .filter(b -> b.getStatus() != BillingStatus.CANCELLED)
+                .mapToLong(b -> Money.of(b.getOutstandingBalance()).getCents())
+                .sum();
+
+        BillingReport today = BillingReport.generate(bills, LocalDate.now());
+        assertEquals(expected, today.getAging().get(AgingBucket.DAYS_0_30).outstanding().getCents());
+        assertEquals(100, today.getAging().get(AgingBucket.DAYS_0_30).billCount());
+        assertTrue(today.getAging().get(AgingBucket.OVER_90).outstanding().isZero());
+
+        BillingReport later = BillingReport.generate(bills, LocalDate.now().plusDays(45));
+        assertEquals(expected, later.getAging().get(AgingBucket.DAYS_31_60).outstanding().getCents());
+        assertTrue(later.getAging().get(AgingBucket.DAYS_0_30).outstanding().isZero());
+    }
+
+    @Test
+    void testRevenueGroupingsMatchSequentialTotals() {
+        BillingReport report = BillingReport.generate(bills, LocalDate.now());
+
+        Map<String, Long> categories = new HashMap<>();
+        long billed = 0;
+        long collected = 0;
+        for (Bill bill : bills) {
+            bill.getCategorizedCharges().forEach((category, amount) ->
+                    categories.merge(category, Money.of(amount).getCents(), Long::sum));
+            billed += Money.of(bill.getGrandTotal()).getCents();
+            collected += Money.of(bill.getSettledAmount()).getCents();
+        }
+
+        assertEquals(categories.keySet(), report.getRevenueByCategory().keySet());
+        categories.forEach((category, cents) ->
+                assertEquals(cents.longValue(), report.getRevenueByCategory().get(category).getCents(), category));
+
+        assertEquals(200, report.getOverall().billCount());
+        assertEquals(billed, report.getOverall().billed().getCents());
+        assertEquals(collected, report.getOverall().collected().getCents());
+
+        assertEquals(50, report.getByStatus().get(BillingStatus.PAID).billCount());
+        assertEquals(50, report.getByStatus().get(BillingStatus.CANCELLED).billCount());
+        assertTrue(report.getByStatus().get(BillingStatus.PAID).outstanding().isZero());
+        assertEquals(50, report.getByPaymentMethod().get(PaymentMethod.PAYNOW).billCount());
+        assertFalse(report.getByStatus().containsKey(BillingStatus.REFUNDED));
+    }
+
+    @Test
+    void testParallelAndSequentialResultsMatch() {
+        LocalDate asOf = LocalDate.now();
+        BillingReport parallel = BillingReport.generate(bills, asOf);
+        BillingReport sequential = bills.stream().collect(BillingReport.collector(asOf));
+
+        assertEquals(sequential.getOverall(), parallel.getOverall());
+        assertEquals(sequential.getAging(), parallel.getAging());
+        assertEquals(sequential.getRevenueByCategory(), parallel.getRevenueByCategory());
+        assertEquals(sequential.getByStatus(), parallel.getByStatus());
+        assertEquals(sequential.getByPaymentMethod(), parallel.getByPaymentMethod());
+    }
+}
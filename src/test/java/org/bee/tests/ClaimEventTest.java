@@ -0,0 +1,130 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.claims.ClaimEvent;
+import org.bee.hms.claims.ClaimEventLog;
+import org.bee.hms.claims.ClaimEventType;
+import org.bee.hms.claims.ClaimStatus;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ClaimEvent} and {@link ClaimEventLog}.
+ * Verifies that claim state is folded from its events, that replay enforces the status
+ * transition rules, and that recovery from a checkpoint only replays the log tail.
+ */
+public class ClaimEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InsuranceClaim claim;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = Patient.builder()
+                .withRandomData("P5001")
+                .build();
+        Bill bill = new BillBuilder()
+                .withPatient(patient)
+                .withConsultation(Consultation.withRandomData(patient, null))
+                .build();
+        claim = InsuranceClaim.createNew(bill, null, null, patient, new BigDecimal("1000.00"));
+    }
+
+    @Test
+    void testMutatorsEmitEvents() {
+        claim.submitForProcessing();
+        claim.startReview();
+        claim.addSupportingDocument("Discharge summary");
+        claim.processPartialApproval(new BigDecimal("400.00"), "Policy limit reached");
+
+        List<ClaimEvent> events = claim.drainPendingEvents();
+        assertEquals(List.of(ClaimEventType.CREATED, ClaimEventType.SUBMITTED, ClaimEventType.IN_REVIEW,
+                        ClaimEventType.DOCUMENT_ADDED, ClaimEventType.PARTIALLY_APPROVED),
+                events.stream().map(ClaimEvent::getType).toList());
+        assertEquals(5, claim.getVersion());
+        assertTrue(claim.drainPendingEvents().isEmpty(), "Draining should clear pending events");
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i + 1, events.get(i).getSequence());
+        }
+    }
+
+    @Test
+    void testReplayReconstructsState() {
+        claim.submitForProcessing();
+        claim.startReview();
+        claim.updateStatus(ClaimStatus.DENIED);
+        claim.updateStatus(ClaimStatus.APPEALED);
+        claim.startReview();
+        claim.approveClaim(new BigDecimal("1000.00"));
+        claim.updateComments("Appeal upheld");
+        List<ClaimEvent> events = claim.drainPendingEvents();
+
+        InsuranceClaim rebuilt = InsuranceClaim.replay(claim, events);
+
+        assertEquals(claim.getClaimStatus(), rebuilt.getClaimStatus());
+        assertEquals(claim.getApprovedAmount(), rebuilt.getApprovedAmount());
+        assertEquals(claim.getSubmissionDate(), rebuilt.getSubmissionDate());
+        assertEquals(claim.getLastUpdatedDate(), rebuilt.getLastUpdatedDate());
+        assertEquals(claim.getVersion(), rebuilt.getVersion());
+
+        InsuranceClaim partial = InsuranceClaim.replay(claim, events.subList(0, 4));
+        assertEquals(ClaimStatus.DENIED, partial.getClaimStatus());
+    }
+
+    @Test
+    void testReplayEnforcesTransitionRules() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimEvent> invalid = List.of(
+                new ClaimEvent(claim.getClaimId(), 1, ClaimEventType.CREATED, now, null, null),
+                new ClaimEvent(claim.getClaimId(), 2, ClaimEventType.PAID, now, null, null));
+        assertThrows(IllegalStateException.class, () -> InsuranceClaim.replay(claim, invalid));
+
+        List<ClaimEvent> gap = List.of(
+                new ClaimEvent(claim.getClaimId(), 1, ClaimEventType.CREATED, now, null, null),
+                new ClaimEvent(claim.getClaimId(), 3, ClaimEventType.SUBMITTED, now, null, null));
+        assertThrows(IllegalStateException.class, () -> InsuranceClaim.replay(claim, gap));
+    }
+
+    @Test
+    void testRecoveryReplaysOnlyTail() throws IOException {
+        ClaimEventLog log = new ClaimEventLog(tempDir.resolve("events.txt"), tempDir.resolve("events.checkpoint.txt"));
+        assertEquals(0L, log.readCheckpoint());
+
+        claim.submitForProcessing();
+        log.append(claim.drainPendingEvents());
+        log.writeCheckpoint(log.size());
+
+        claim.startReview();
+        claim.approveClaim(new BigDecimal("250.00"));
+        log.append(claim.drainPendingEvents());
+
+        List<ClaimEvent> tail = new ArrayList<>();
+        long read = log.replay(log.readCheckpoint(), tail::add);
+        assertEquals(2, read);
+        assertEquals(List.of(ClaimEventType.IN_REVIEW, ClaimEventType.PARTIALLY_APPROVED),
+                tail.stream().map(ClaimEvent::getType).toList());
+        assertEquals(0, new BigDecimal("250.00").compareTo(tail.get(1).getAmount()));
+
+        List<ClaimEvent> history = log.readHistory(claim.getClaimId());
+        assertEquals(4, history.size());
+        InsuranceClaim rebuilt = InsuranceClaim.replay(claim, history);
+        assertEquals(ClaimStatus.PARTIALLY_APPROVED, rebuilt.getClaimStatus());
+        assertEquals(claim.getReviewerComments(), rebuilt.getReviewerComments());
+    }
+}
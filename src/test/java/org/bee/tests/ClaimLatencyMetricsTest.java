@@ -0,0 +1,125 @@
+package org.bee.tests;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.bee.hms.claims.ClaimEvent;
+import org.bee.hms.claims.ClaimEventType;
+import org.bee.hms.claims.ClaimLatencyMetrics;
+import org.bee.hms.claims.ClaimStatus;
+import org.bee.utils.JSONHelper;
+import org.bee.utils.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ClaimLatencyMetrics} and {@link LatencyHistogram}.
+ * Verifies percentile accuracy, time-in-status capture per provider and the JSON export.
+ */
+public class ClaimLatencyMetricsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private static ClaimEvent event(String claimId, long sequence, ClaimEventType type, long minutes) {
+        return new ClaimEvent(claimId, sequence, type, START.plusMinutes(minutes), null, null);
+    }
+
+    @Test
+    void testHistogramPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Random random = new Random(7);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 20);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            long reported = histogram.getValueAtPercentile(p);
+            assertTrue(reported >= exact && reported <= exact + exact / 64 + 1,
+                    "p" + p + " expected about " + exact + " but was " + reported);
+        }
+        assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    void testHistogramMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            a.record(i);
+            b.record(i * 1_000_000L);
+        }
+        a.merge(b);
+
+        assertEquals(200, a.getCount());
+        assertEquals(1, a.getMin());
+        assertEquals(100_000_000L, a.getMax());
+        assertEquals(100, a.getValueAtPercentile(50));
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(50));
+    }
+
+    @Test
+    void testRecordsTimeInStatusPerProvider() {
+        ClaimLatencyMetrics metrics = new ClaimLatencyMetrics();
+        // C1: 10 minutes submitted, 30 minutes in review, then approved and paid
+        metrics.record(event("C1", 1, ClaimEventType.CREATED, 0), "Gov Provider");
+        metrics.record(event("C1", 2, ClaimEventType.SUBMITTED, 5), "Gov Provider");
+        metrics.record(event("C1", 3, ClaimEventType.IN_REVIEW, 15), "Gov Provider");
+        metrics.record(event("C1", 4, ClaimEventType.COMMENTS_UPDATED, 20), "Gov Provider");
+        metrics.record(event("C1", 5, ClaimEventType.APPROVED, 45), "Gov Provider");
+        metrics.record(event("C1", 6, ClaimEventType.PAID, 60), "Gov Provider");
+        // C2: 60 minutes submitted, still in review
+        metrics.record(event("C2", 1, ClaimEventType.CREATED, 0), "Private Provider");
+        metrics.record(event("C2", 2, ClaimEventType.SUBMITTED, 0), "Private Provider");
+        metrics.record(event("C2", 3, ClaimEventType.IN_REVIEW, 60), "Private Provider");
+
+        ClaimLatencyMetrics.Report report = metrics.report(START.plusMinutes(120));
+
+        ClaimLatencyMetrics.StatusLatency submittedAll = report.latencies().stream()
+                .filter(l -> l.provider() == null && l.status() == ClaimStatus.SUBMITTED)
+                .findFirst().orElseThrow();
+        assertEquals(2, submittedAll.count());
+        assertEquals(10 * 60_000L, submittedAll.minMillis());
+        assertEquals(60 * 60_000L, submittedAll.maxMillis());
+
+        ClaimLatencyMetrics.StatusLatency reviewGov = report.latencies().stream()
+                .filter(l -> "Gov Provider".equals(l.provider()) && l.status() == ClaimStatus.IN_REVIEW)
+                .findFirst().orElseThrow();
+        assertEquals(1, reviewGov.count());
+        assertEquals(30 * 60_000L, reviewGov.maxMillis());
+
+        assertEquals(1, report.waiting().size(), "Paid claims should no longer be waiting");
+        ClaimLatencyMetrics.WaitingClaims waiting = report.waiting().getFirst();
+        assertEquals(ClaimStatus.IN_REVIEW, waiting.status());
+        assertEquals(60 * 60_000L, waiting.oldestWaitMillis());
+
+        assertEquals(1, report.throughput().size());
+        assertEquals("Gov Provider", report.throughput().getFirst().provider());
+        assertEquals(1, report.throughput().getFirst().decisions());
+    }
+
+    @Test
+    void testReportExportsAsJson() {
+        ClaimLatencyMetrics metrics = new ClaimLatencyMetrics();
+        metrics.record(event("C1", 1, ClaimEventType.CREATED, 0), null);
+        metrics.record(event("C1", 2, ClaimEventType.SUBMITTED, 1), null);
+
+        JsonNode json = JSONHelper.parseTree(JSONHelper.toJson(metrics.report(START.plusMinutes(2))));
+
+        JsonNode draft = json.get("latencies").get(0);
+        assertEquals("DRAFT", draft.get("status").asText());
+        assertEquals(60_000L, draft.get("p99Millis").asLong());
+        assertEquals(ClaimLatencyMetrics.UNKNOWN_PROVIDER, json.get("latencies").get(1).get("provider").asText());
+        assertEquals("SUBMITTED", json.get("waiting").get(0).get("status").asText());
+    }
+}
@@ -0,0 +1,217 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bee.execeptions.ProviderUnavailableException;
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.claims.ClaimEvent;
+import org.bee.hms.claims.ClaimStatus;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.insurance.ClaimSubmissionGateway;
+import org.bee.hms.insurance.ClaimSubmissionGateway.SubmissionResult;
+import org.bee.hms.insurance.GovernmentProvider;
+import org.bee.hms.insurance.InsuranceProvider;
+import org.bee.hms.insurance.ProviderClient;
+import org.bee.hms.insurance.SimulatedProviderClient;
+import org.bee.hms.medical.Consultation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link ClaimSubmissionGateway}.
+ * Verifies retries with backoff, the per-provider concurrency limit, the bounded queue
+ * and that every claim change reaches the change listener.
+ */
+public class ClaimSubmissionGatewayTest {
+
+    private final InsuranceProvider provider = new GovernmentProvider();
+
+    /**
+     * Provider client that approves claims in full, failing a set number of calls first.
+     */
+    private static class FakeProviderClient implements ProviderClient {
+        private final AtomicInteger failuresLeft;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final long latencyMillis;
+
+        FakeProviderClient(int failures, long latencyMillis) {
+            this.failuresLeft = new AtomicInteger(failures);
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+                throws ProviderUnavailableException {
+            call();
+            claim.submitForProcessing();
+            return true;
+        }
+
+        @Override
+        public boolean adjudicate(InsuranceProvider provider, Patient patient, InsuranceClaim claim)
+                throws ProviderUnavailableException {
+            call();
+            claim.startReview();
+            claim.approveClaim(claim.getClaimAmount());
+            return true;
+        }
+
+        private void call() throws ProviderUnavailableException {
+            calls.incrementAndGet();
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new ProviderUnavailableException("Simulated outage");
+            }
+        }
+    }
+
+    private InsuranceClaim newClaim(String patientId) {
+        Patient patient = Patient.builder().withRandomData(patientId).build();
+        Bill bill = new BillBuilder()
+                .withPatient(patient)
+                .withConsultation(Consultation.withRandomData(patient, null))
+                .build();
+        return InsuranceClaim.createNew(bill, provider, null, patient, new BigDecimal("500.00"));
+    }
+
+    private ClaimSubmissionGateway gateway(ProviderClient client, int capacity, int perProvider,
+                                           List<ClaimEvent> recorded) {
+        return new ClaimSubmissionGateway(client, capacity, perProvider, 5,
+                Duration.ofMillis(1), Duration.ofMillis(10),
+                claim -> recorded.addAll(claim.drainPendingEvents()));
+    }
+
+    @Test
+    void testRetriesTransientFailures() throws Exception {
+        FakeProviderClient client = new FakeProviderClient(2, 0);
+        List<ClaimEvent> recorded = new ArrayList<>();
+        InsuranceClaim claim = newClaim("P6001");
+
+        try (ClaimSubmissionGateway gateway = gateway(client, 10, 2, recorded)) {
+            SubmissionResult result = gateway.offer(claim).orElseThrow().get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccess(), "Claim should be decided after retries: " + result.error());
+            assertEquals(3, result.attempts());
+            assertEquals(ClaimStatus.APPROVED, result.status());
+        }
+        assertEquals(4, claim.getVersion(), "Claim should be created, submitted, reviewed and approved once");
+        assertEquals(4, recorded.size(), "Every event should reach the change listener");
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() throws Exception {
+        FakeProviderClient client = new FakeProviderClient(Integer.MAX_VALUE, 0);
+        InsuranceClaim claim = newClaim("P6002");
+
+        try (ClaimSubmissionGateway gateway = gateway(client, 10, 2, new ArrayList<>())) {
+            SubmissionResult result = gateway.offer(claim).orElseThrow().get(5, TimeUnit.SECONDS);
+
+            assertFalse(result.isSuccess());
+            assertEquals(5, result.attempts());
+            assertEquals(ClaimStatus.DRAFT, result.status(), "Failed calls must not change the claim");
+        }
+    }
+
+    @Test
+    void testLimitsConcurrencyPerProvider() throws Exception {
+        FakeProviderClient client = new FakeProviderClient(0, 20);
+        List<ClaimEvent> recorded = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<SubmissionResult>> futures = new ArrayList<>();
+
+        try (ClaimSubmissionGateway gateway = gateway(client, 50, 3, recorded)) {
+            for (int i = 0; i < 30; i++) {
+                futures.add(gateway.offer(newClaim("P61" + String.format("%02d", i))).orElseThrow());
+            }
+            for (CompletableFuture<SubmissionResult> future : futures) {
+                assertTrue(future.get(10, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+        assertEquals(60, client.calls.get());
+        assertTrue(client.maxActive.get() <= 3, "At most 3 calls should run at once, saw " + client.maxActive.get());
+        assertTrue(client.maxActive.get() > 1, "Calls should run concurrently");
+        assertEquals(30 * 4, recorded.size());
+    }
+
+    @Test
+    void testRejectsWhenQueueFullOrClaimQueued() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ProviderClient blocking = new ProviderClient() {
+            @Override
+            public boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                claim.submitForProcessing();
+                return true;
+            }
+
+            @Override
+            public boolean adjudicate(InsuranceProvider provider, Patient patient, InsuranceClaim claim) {
+                claim.startReview();
+                claim.approveClaim(claim.getClaimAmount());
+                return true;
+            }
+        };
+
+        ClaimSubmissionGateway gateway = gateway(blocking, 2, 2, new ArrayList<>());
+        InsuranceClaim first = newClaim("P6201");
+        Optional<CompletableFuture<SubmissionResult>> a = gateway.offer(first);
+        Optional<CompletableFuture<SubmissionResult>> b = gateway.offer(newClaim("P6202"));
+
+        assertTrue(a.isPresent() && b.isPresent());
+        assertTrue(gateway.offer(first).isEmpty(), "A queued claim should not be queued twice");
+        assertTrue(gateway.offer(newClaim("P6203")).isEmpty(), "A full queue should reject claims");
+        assertEquals(2, gateway.getPendingCount());
+        assertTrue(gateway.isPending(first.getClaimId()));
+
+        release.countDown();
+        gateway.close();
+        assertTrue(a.get().get().isSuccess() && b.get().get().isSuccess());
+        assertEquals(0, gateway.getPendingCount());
+        assertFalse(gateway.isPending(first.getClaimId()), "A finished claim is handed back");
+        assertThrows(IllegalStateException.class, () -> gateway.offer(newClaim("P6204")));
+    }
+
+    @Test
+    void testSimulatedClientFailsWithoutChangingClaim() {
+        ProviderClient neverCalled = new FakeProviderClient(Integer.MAX_VALUE, 0) {
+            @Override
+            public boolean submit(InsuranceProvider provider, Patient patient, InsuranceClaim claim) {
+                fail("Delegate should not be called when the simulated call fails");
+                return false;
+            }
+        };
+        SimulatedProviderClient client = new SimulatedProviderClient(neverCalled,
+                Duration.ZERO, Duration.ofMillis(2), 1.0, 42L);
+        InsuranceClaim claim = newClaim("P6301");
+
+        assertThrows(ProviderUnavailableException.class, () -> client.submit(provider, claim.getPatient(), claim));
+        assertTrue(claim.isDraft());
+        assertThrows(IllegalArgumentException.class, () -> new SimulatedProviderClient(neverCalled,
+                Duration.ZERO, Duration.ZERO, 1.5, 42L));
+    }
+}
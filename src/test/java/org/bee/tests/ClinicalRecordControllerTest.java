@@ -0,0 +1,173 @@
+package org.bee.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bee.controllers.ConsultationController;
+import org.bee.controllers.FeedbackController;
+import org.bee.controllers.LabTestController;
+import org.bee.controllers.TreatmentController;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.ConsultationStatus;
+import org.bee.hms.medical.Feedback;
+import org.bee.hms.medical.LabTest;
+import org.bee.hms.medical.LabTestType;
+import org.bee.hms.medical.Treatment;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link LabTestController}, {@link TreatmentController} and {@link FeedbackController}.
+ * Verifies ID assignment, the consultation and patient indexes, that records survive a reload,
+ * and that lab tests nested in older consultation files are moved to their controller once.
+ */
+public class ClinicalRecordControllerTest {
+
+    private final LabTestController labTestController = LabTestController.getInstance();
+    private final TreatmentController treatmentController = TreatmentController.getInstance();
+    private final FeedbackController feedbackController = FeedbackController.getInstance();
+    private final ConsultationController consultationController = ConsultationController.getInstance();
+
+    private static Consultation newConsultation() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        return Consultation.withRandomData(patient, Doctor.builder().withRandomBaseData().build());
+    }
+
+    @Test
+    void testLabTestsIndexedByConsultationAndPatientAcrossReload() {
+        Consultation consultation = newConsultation();
+        String patientId = consultation.getPatient().getPatientId();
+
+        LabTest blood = labTestController.addLabTest(new LabTest(LabTestType.BLOOD, new Date(),
+                ConsultationStatus.SCHEDULED, consultation, consultation.getDoctor(), "Fasting", 45.0));
+        LabTest urine = labTestController.addLabTest(new LabTest(LabTestType.URINE, new Date(),
+                ConsultationStatus.SCHEDULED, consultation, consultation.getDoctor(), "", 20.0));
+        try {
+            assertTrue(blood.getLabTestID() > 0);
+            assertNotEquals(blood.getLabTestID(), urine.getLabTestID());
+            assertSame(blood, labTestController.getLabTest(blood.getLabTestID()));
+            assertTrue(labTestController.getLabTestsByConsultation(consultation.getConsultationId())
+                    .containsAll(List.of(blood, urine)));
+            assertTrue(labTestController.getLabTestsByPatient(patientId).contains(blood));
+
+            labTestController.loadData();
+
+            LabTest reloaded = labTestController.getLabTest(blood.getLabTestID());
+            assertNotSame(blood, reloaded);
+            assertEquals(LabTestType.BLOOD, reloaded.getType());
+            assertEquals(consultation.getConsultationId(), reloaded.getConsultationId());
+            assertEquals(patientId, reloaded.getPatientId());
+            assertTrue(labTestController.nextId() > urine.getLabTestID(), "IDs continue after the saved ones");
+        } finally {
+            labTestController.removeLabTest(blood.getLabTestID());
+            labTestController.removeLabTest(urine.getLabTestID());
+        }
+        assertNull(labTestController.getLabTest(blood.getLabTestID()));
+        assertFalse(labTestController.getLabTestsByConsultation(consultation.getConsultationId()).contains(urine));
+    }
+
+    @Test
+    void testTreatmentsByConsultation() {
+        Consultation consultation = newConsultation();
+        Treatment treatment = treatmentController.addTreatment(new Treatment(consultation, "Physiotherapy",
+                ConsultationStatus.IN_PROGRESS, new Date(), null, "", 80.0, null));
+        try {
+            assertEquals(List.of(treatment),
+                    treatmentController.getTreatmentsByConsultation(consultation.getConsultationId()).stream()
+                            .filter(t -> t.getTreatmentID() == treatment.getTreatmentID()).toList());
+            assertTrue(treatmentController.getTreatmentsByConsultation("no such consultation").isEmpty());
+        } finally {
+            treatmentController.removeTreatment(treatment.getTreatmentID());
+        }
+    }
+
+    @Test
+    void testFeedbackFoundByPatientIdNotIdentity() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        long ratingsBefore = feedbackController.getSatisfactionMetrics().getOverall().medicalCare().count();
+        Feedback first = feedbackController.addFeedback(new Feedback(patient, 4, 5, new Date(), "Kind staff"));
+        Feedback second = feedbackController.addFeedback(new Feedback(patient, 2, 3, new Date(), "Long wait"));
+        try {
+            assertEquals(ratingsBefore + 2, feedbackController.getSatisfactionMetrics().getOverall().medicalCare().count(),
+                    "Satisfaction is updated as feedback arrives");
+            feedbackController.loadData();
+
+            List<Feedback> reloaded = feedbackController.getFeedbacksByPatient(patient.getPatientId());
+            assertEquals(2, reloaded.size());
+            assertEquals(List.of("Kind staff", "Long wait"), reloaded.stream().map(Feedback::getRemarks).toList());
+            assertEquals(reloaded, feedbackController.getFeedbacksByPatient(reloaded.getFirst().getPatient()));
+            assertThrows(IllegalArgumentException.class, () -> feedbackController.addFeedback(reloaded.getFirst()),
+                    "A stored ID cannot be added twice");
+        } finally {
+            feedbackController.removeFeedback(first.getFeedbackID());
+            feedbackController.removeFeedback(second.getFeedbackID());
+        }
+        assertTrue(feedbackController.getFeedbacksByPatient(patient.getPatientId()).isEmpty());
+        assertEquals(ratingsBefore, feedbackController.getSatisfactionMetrics().getOverall().medicalCare().count());
+    }
+
+    @Test
+    void testIdsUniqueAcrossThreads() throws InterruptedException {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2_000; i++) {
+            executor.submit(() -> ids.add(feedbackController.nextId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(2_000, ids.size());
+    }
+
+    @Test
+    void testNestedLabTestsMovedToControllerOnce() throws Exception {
+        Consultation consultation = newConsultation();
+        String consultationId = consultation.getConsultationId();
+        consultationController.addCase(consultation);
+        try {
+            // Nest a lab test the way older consultation files did
+            Path file = Path.of(System.getProperty("database.dir", "database"), "consultations.txt");
+            ArrayNode saved = (ArrayNode) JSONHelper.parseTree(Files.readString(file));
+            ObjectNode nested = JSONHelper.toTree(new LabTest(LabTestType.STOOL, new Date(),
+                    ConsultationStatus.COMPLETED, consultation, consultation.getDoctor(), "Chest", 60.0));
+            for (JsonNode node : saved) {
+                if (consultationId.equals(node.path("consultationId").asText())) {
+                    ((ObjectNode) node).putArray("labTests").add(nested);
+                }
+            }
+            Files.writeString(file, saved.toString());
+
+            consultationController.loadData();
+            List<LabTest> moved = labTestController.getLabTestsByConsultation(consultationId);
+            assertEquals(1, moved.size());
+            assertEquals("Chest", moved.getFirst().getRemarks());
+            assertEquals(consultation.getPatient().getPatientId(), moved.getFirst().getPatientId());
+            assertFalse(Files.readString(file).contains("\"labTests\""), "Consultations are saved without them");
+
+            consultationController.loadData();
+            assertEquals(1, labTestController.getLabTestsByConsultation(consultationId).size());
+        } finally {
+            consultationController.getAllOutpatientCases().stream()
+                    .filter(c -> consultationId.equals(c.getConsultationId()))
+                    .findFirst()
+                    .ifPresent(consultationController::removeConsultation);
+        }
+        assertTrue(labTestController.getLabTestsByConsultation(consultationId).isEmpty(),
+                "Removing a consultation removes its lab tests");
+    }
+}
@@ -86,6 +86,23 @@ public class ConsultationSerializationTest {
         verifyFields(originalConsultation, deserializedConsultation);
     }
 
+    @Test
+    @DisplayName("Test allergy overrides survive serialization")
+    void testAllergyOverridesSurviveSerialization() {
+        LocalDateTime overriddenAt = LocalDateTime.of(2025, 3, 1, 10, 15);
+        originalConsultation.recordAllergyOverride(new AllergyOverride("D1001", "AMOX",
+                "Amoxicillin (AMOX): patient is allergic to Penicillin, same class", overriddenAt));
+
+        Consultation deserialized = JSONHelper.fromJson(JSONHelper.toJson(originalConsultation), Consultation.class);
+
+        List<AllergyOverride> overrides = deserialized.getAllergyOverrides();
+        assertEquals(1, overrides.size());
+        assertEquals("D1001", overrides.getFirst().getDoctorId());
+        assertEquals("AMOX", overrides.getFirst().getDrugCode());
+        assertEquals(overriddenAt, overrides.getFirst().getOverriddenAt());
+        assertTrue(overrides.getFirst().getWarning().contains("Penicillin"));
+    }
+
     @Test
     @DisplayName("Test serializing Consultation to file and deserializing")
     void testSerializeToFileAndDeserialize(@TempDir Path tempDir) throws Exception {
@@ -0,0 +1,147 @@
+package org.bee.tests;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bee.execeptions.CsvFormatException;
+import org.bee.utils.CSVHelper;
+import org.bee.utils.CsvReader;
+import org.bee.utils.CsvWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CsvReader}, {@link CsvWriter} and {@link CSVHelper}.
+ * Verifies quoting, line endings, round trips and that parallel parsing matches a single pass.
+ */
+public class CsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testQuotedFieldsAndLineEndings() throws IOException {
+        String csv = "code,description\r\n"
+                + "A00,\"Cholera, unspecified\"\r\n"
+                + "\n"
+                + "B01,\"Says \"\"hi\"\"\",\n"
+                + "C02,\"Two\nlines\"\n"
+                + "D03,last";
+        List<String[]> rows = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new OneCharReader(csv))) {
+            reader.forEachRow(row -> {
+                rows.add(row.toArray());
+                lines.add(row.getLineNumber());
+            });
+        }
+        assertEquals(5, rows.size());
+        assertEquals("Cholera, unspecified", rows.get(1)[1]);
+        assertEquals(3, rows.get(2).length, "A trailing comma ends with an empty field");
+        assertEquals("Says \"hi\"", rows.get(2)[1]);
+        assertEquals("", rows.get(2)[2]);
+        assertEquals("Two\nlines", rows.get(3)[1]);
+        assertEquals("last", rows.get(4)[1]);
+        assertEquals(List.of(1L, 2L, 4L, 5L, 7L), lines);
+
+        assertEquals(List.of("a", "b,c", ""), List.of(CsvReader.parseLine("a,\"b,c\",")));
+        assertThrows(CsvFormatException.class, () -> CsvReader.parseLine("a,\"open"));
+    }
+
+    @Test
+    void testWriterRoundTrip() throws IOException {
+        String[][] rows = {
+                {"plain", "with, comma", "with \"quotes\""},
+                {"multi\r\nline", null, ""},
+        };
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            for (String[] row : rows) {
+                writer.writeRow(row);
+            }
+        }
+        assertTrue(out.toString().startsWith("plain,\"with, comma\",\"with \"\"quotes\"\"\"\n"));
+
+        List<String[]> read = new ArrayList<>();
+        new CsvReader(new StringReader(out.toString())).forEach(read::add);
+        assertEquals(List.of(rows[0]), List.of(read.get(0)));
+        assertEquals(List.of("multi\r\nline", "", ""), List.of(read.get(1)));
+        assertEquals(CsvWriter.formatRow(rows[0]) + "\n", out.toString().substring(0, out.toString().indexOf('\n') + 1));
+    }
+
+    @Test
+    void testParallelParseMatchesSinglePass() throws IOException {
+        StringBuilder csv = new StringBuilder("id,name,notes\n");
+        for (int i = 0; i < 40_000; i++) {
+            csv.append(i).append(",\"Name ").append(i).append(", Jr\",");
+            csv.append(i % 7 == 0 ? "\"line one\nline two\"" : "note " + i).append('\n');
+        }
+        List<String[]> single = CsvReader.parse(csv.toString(), 1);
+        List<String[]> parallel = CsvReader.parse(csv.toString(), 8);
+        assertEquals(40_001, single.size());
+        assertEquals(single.size(), parallel.size());
+        for (int i = 0; i < single.size(); i++) {
+            assertEquals(List.of(single.get(i)), List.of(parallel.get(i)));
+        }
+
+        Path file = tempDir.resolve("large.csv");
+        Files.writeString(file, csv);
+        List<String[]> read = CSVHelper.readCSV(file.toString());
+        assertEquals(single.size(), read.size());
+        assertEquals("line one\nline two", read.get(1)[2]);
+        long[] ids = new long[1];
+        assertEquals(40_000, CSVHelper.forEachRow(file.toString(), true, row -> ids[0] += Long.parseLong(row.get(0))));
+        assertEquals(39_999L * 40_000 / 2, ids[0]);
+    }
+
+    @Test
+    void testParallelParseIgnoresQuotesInsidePlainFields() {
+        StringBuilder csv = new StringBuilder("name,dose\n");
+        csv.append("a,5\" tablet\n");
+        while (csv.length() < 2 << 20) {
+            csv.append("\"Paracetamol\",\"one\ntwo, \"\"three\"\"\"\n");
+        }
+        List<String[]> single = CsvReader.parse(csv.toString(), 1);
+        List<String[]> parallel = CsvReader.parse(csv.toString(), 8);
+        assertEquals("5\" tablet", single.get(1)[1]);
+        assertEquals(single.size(), parallel.size());
+        for (int i = 0; i < single.size(); i++) {
+            assertEquals(List.of(single.get(i)), List.of(parallel.get(i)));
+        }
+    }
+
+    @Test
+    void testForEachRowReportsMalformedFilesButPassesOnHandlerErrors() throws IOException {
+        Path malformed = tempDir.resolve("malformed.csv");
+        Files.writeString(malformed, "code,price\nA,1\nB,\"open\n");
+        assertEquals(1, CSVHelper.forEachRow(malformed.toString(), true, row -> { }),
+                "Rows before the malformed one are handed out");
+
+        Path badPrice = tempDir.resolve("bad-price.csv");
+        Files.writeString(badPrice, "code,price\nA,1\nB,abc\n");
+        assertThrows(NumberFormatException.class, () ->
+                CSVHelper.forEachRow(badPrice.toString(), true, row -> Double.parseDouble(row.get(1))));
+    }
+
+    /**
+     * Reader that hands out one character per read, so every buffer boundary is crossed.
+     */
+    private static final class OneCharReader extends FilterReader {
+        OneCharReader(String text) {
+            super(new StringReader(text));
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(1, length));
+        }
+    }
+}
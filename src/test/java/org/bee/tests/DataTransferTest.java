@@ -0,0 +1,124 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bee.DataTool;
+import org.bee.controllers.DataTransfer;
+import org.bee.controllers.HumanController;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Human;
+import org.bee.hms.humans.Patient;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link DataTransfer} and {@link DataTool}.
+ * Verifies CSV and NDJSON round trips, batching, rejected records, that importing a file twice
+ * adds nothing the second time, and argument checks.
+ */
+public class DataTransferTest {
+
+    @Test
+    void testRoundTripsThroughBothFormats() throws IOException {
+        List<Human> humans = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            humans.add(Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build());
+        }
+        humans.add(Doctor.builder().withRandomBaseData().build());
+
+        for (DataTransfer.Format format : DataTransfer.Format.values()) {
+            StringWriter out = new StringWriter();
+            List<Long> exported = new ArrayList<>();
+            assertEquals(6, DataTransfer.export(humans, format, out, 4, exported::add));
+            assertEquals(List.of(4L, 6L), exported);
+
+            List<List<Human>> batches = new ArrayList<>();
+            DataTransfer.ImportResult result = DataTransfer.read(Human.class, format,
+                    new StringReader(out.toString()), 4, batches::add, count -> { });
+            assertEquals(6, result.imported(), format + ": " + result.errors());
+            assertEquals(0, result.rejected());
+            assertEquals(List.of(4, 2), batches.stream().map(List::size).toList());
+
+            List<Human> read = batches.stream().flatMap(List::stream).toList();
+            assertTrue(read.getLast() instanceof Doctor, "The subtype survives in " + format);
+            for (int i = 0; i < humans.size(); i++) {
+                assertEquals(JSONHelper.toJsonLine(humans.get(i)), JSONHelper.toJsonLine(read.get(i)));
+            }
+        }
+        assertEquals(DataTransfer.Format.NDJSON, DataTransfer.Format.fromFileName("Extract.JSONL"));
+    }
+
+    @Test
+    void testRefusedItemsAreRejectedWithoutLosingTheirBatch() throws IOException {
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            patients.add(Patient.builder().patientId("P-TRANSFER-" + i).withRandomBaseData().build());
+        }
+        StringWriter out = new StringWriter();
+        DataTransfer.export(patients, DataTransfer.Format.NDJSON, out, 100, count -> { });
+        String ndjson = out.toString().replaceFirst("\n", "\n{not json\n\n");
+
+        List<Patient> committed = new ArrayList<>();
+        List<Long> progress = new ArrayList<>();
+        DataTransfer.ImportResult result = DataTransfer.read(Patient.class, DataTransfer.Format.NDJSON,
+                new StringReader(ndjson), 3, batch -> {
+                    if (batch.stream().anyMatch(p -> p.getPatientId().equals("P-TRANSFER-2"))) {
+                        throw new IllegalArgumentException("Duplicate ID: P-TRANSFER-2");
+                    }
+                    committed.addAll(batch);
+                }, progress::add);
+
+        assertEquals(3, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of("P-TRANSFER-0", "P-TRANSFER-1", "P-TRANSFER-3"),
+                committed.stream().map(Patient::getPatientId).toList());
+        assertTrue(result.errors().get(0).startsWith("Line 2: "), result.errors().toString());
+        assertEquals("Line 5: Duplicate ID: P-TRANSFER-2", result.errors().get(1));
+        assertEquals(3L, progress.getLast().longValue());
+    }
+
+    @Test
+    void testReimportingIntoAControllerAddsNothing() throws IOException {
+        HumanController humanController = HumanController.getInstance();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            patients.add(Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build());
+        }
+        StringWriter out = new StringWriter();
+        DataTransfer.export(patients, DataTransfer.Format.CSV, out, 100, count -> { });
+        int before = humanController.getAllItems().size();
+
+        DataTransfer.ImportResult first = DataTransfer.importInto(humanController, DataTransfer.Format.CSV,
+                new StringReader(out.toString()), 2, count -> { });
+        assertEquals(5, first.imported(), first.errors().toString());
+        assertEquals(before + 5, humanController.getAllItems().size());
+
+        DataTransfer.ImportResult second = DataTransfer.importInto(humanController, DataTransfer.Format.CSV,
+                new StringReader(out.toString()), 2, count -> { });
+        assertEquals(0, second.imported());
+        assertEquals(5, second.rejected());
+        assertTrue(second.errors().getFirst().contains("Duplicate ID: patient:" + patients.getFirst().getPatientId()),
+                second.errors().toString());
+
+        humanController.loadData();
+        assertEquals(before + 5, humanController.getAllItems().size(), "The first import was saved once, in full");
+    }
+
+    @Test
+    void testToolRejectsBadArguments() {
+        assertEquals(0, DataTool.run(new String[] {"list"}));
+        assertEquals(1, DataTool.run(new String[] {"export"}));
+        assertEquals(1, DataTool.run(new String[] {"export", "unknown", "out.csv"}));
+        assertEquals(1, DataTool.run(new String[] {"import", "deadlines", "in.csv"}));
+        assertEquals(1, DataTool.run(new String[] {"export", "visits", "out.txt"}));
+        assertEquals(1, DataTool.run(new String[] {"export", "visits", "out.csv", "--format", "xml"}));
+        assertEquals(1, DataTool.run(new String[] {"reconcile", "payments.csv", "--format", "csv"}));
+    }
+}
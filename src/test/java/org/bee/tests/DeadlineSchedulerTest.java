@@ -0,0 +1,135 @@
+package org.bee.tests;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.bee.hms.scheduling.Deadline;
+import org.bee.hms.scheduling.DeadlineScheduler;
+import org.bee.hms.scheduling.DeadlineType;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link DeadlineScheduler}.
+ * Verifies replacement by key, batching per type, that handler failures do not stop other batches
+ * but reach the error handler, and that the background thread runs its after-tick task once the
+ * handlers are done.
+ */
+public class DeadlineSchedulerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private MutableClock clock;
+    private DeadlineScheduler scheduler;
+    private List<List<Deadline>> expiredAppointments;
+    private List<List<Deadline>> reminders;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        scheduler = new DeadlineScheduler(clock, Duration.ofSeconds(1));
+        expiredAppointments = new ArrayList<>();
+        reminders = new ArrayList<>();
+        scheduler.setHandler(DeadlineType.APPOINTMENT_EXPIRY, expiredAppointments::add);
+        scheduler.setHandler(DeadlineType.FOLLOW_UP_REMINDER, reminders::add);
+    }
+
+    @Test
+    void testPassedDeadlinesFireInBatchesPerType() {
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A2", NOW.plusMinutes(20)));
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW.plusMinutes(10)));
+        scheduler.schedule(new Deadline(DeadlineType.FOLLOW_UP_REMINDER, "C1", NOW.plusMinutes(15)));
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A3", NOW.plusDays(2)));
+
+        assertEquals(0, scheduler.fireDue());
+        clock.advance(Duration.ofHours(1));
+
+        assertEquals(3, scheduler.fireDue());
+        assertEquals(1, expiredAppointments.size(), "Appointments should arrive as one batch");
+        assertEquals(List.of("A1", "A2"),
+                expiredAppointments.getFirst().stream().map(Deadline::getTargetId).toList());
+        assertEquals(1, reminders.size());
+        assertEquals(1, scheduler.size());
+    }
+
+    @Test
+    void testSchedulingAgainReplacesTheDeadline() {
+        assertTrue(scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW.plusMinutes(10))));
+        assertFalse(scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW.plusMinutes(10))),
+                "Scheduling the same deadline again is not a change");
+        assertTrue(scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW.plusDays(1))));
+        assertTrue(scheduler.schedule(new Deadline(DeadlineType.FOLLOW_UP_REMINDER, "A1", NOW.plusMinutes(5))),
+                "Deadlines of different types are kept apart");
+        assertEquals(2, scheduler.size());
+
+        clock.advance(Duration.ofHours(1));
+        scheduler.fireDue();
+        assertTrue(expiredAppointments.isEmpty(), "The moved deadline should not fire at its old time");
+
+        assertTrue(scheduler.cancel(DeadlineType.APPOINTMENT_EXPIRY, "A1"));
+        assertFalse(scheduler.cancel(DeadlineType.APPOINTMENT_EXPIRY, "A1"));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void testFailingHandlerDoesNotStopOtherBatches() {
+        List<String> errors = new ArrayList<>();
+        scheduler.setErrorHandler(errors::add);
+        scheduler.setHandler(DeadlineType.APPOINTMENT_EXPIRY, batch -> {
+            throw new IllegalStateException("Appointments unavailable");
+        });
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW));
+        scheduler.schedule(new Deadline(DeadlineType.FOLLOW_UP_REMINDER, "C1", NOW));
+        scheduler.schedule(new Deadline(DeadlineType.CLAIM_INFORMATION_EXPIRY, "CL1", NOW));
+
+        assertEquals(3, scheduler.fireDue());
+        assertEquals(1, reminders.size());
+        assertEquals(0, scheduler.size(), "Deadlines without a handler are dropped");
+        assertEquals(1, errors.size(), "The failure should go to the error handler");
+        assertTrue(errors.getFirst().contains("Appointments unavailable"));
+    }
+
+    @Test
+    void testPendingDeadlinesSurviveSaving() throws Exception {
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW.plusMinutes(10)));
+        scheduler.schedule(new Deadline(DeadlineType.CLAIM_INFORMATION_EXPIRY, "CL1", NOW.plusDays(30)));
+        String path = System.getProperty("java.io.tmpdir") + "/deadlines_test.txt";
+
+        JSONHelper.saveToJsonFile(scheduler.getPending(), path);
+        List<Deadline> loaded = JSONHelper.loadListFromJsonFile(path, Deadline.class);
+
+        assertEquals(scheduler.getPending(), loaded);
+        DeadlineScheduler restored = new DeadlineScheduler(clock, Duration.ofSeconds(1));
+        loaded.forEach(restored::schedule);
+        assertEquals(2, restored.size());
+    }
+
+    @Test
+    void testAfterTickRunsOnceTheHandlersAreDone() throws Exception {
+        CountDownLatch ticked = new CountDownLatch(1);
+        List<Integer> batchesSeenAfterTick = new ArrayList<>();
+        scheduler.schedule(new Deadline(DeadlineType.APPOINTMENT_EXPIRY, "A1", NOW));
+
+        scheduler.start(() -> {
+            synchronized (batchesSeenAfterTick) {
+                batchesSeenAfterTick.add(expiredAppointments.size());
+            }
+            ticked.countDown();
+        });
+        try {
+            assertTrue(ticked.await(5, TimeUnit.SECONDS), "The after-tick task should run");
+        } finally {
+            scheduler.close();
+        }
+        synchronized (batchesSeenAfterTick) {
+            assertEquals(List.of(1), batchesSeenAfterTick.subList(0, 1), "The due batch is handled before the task runs");
+        }
+    }
+}
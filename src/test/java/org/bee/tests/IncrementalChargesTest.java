@@ -0,0 +1,137 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bee.hms.billing.BillableItem;
+import org.bee.hms.billing.Money;
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.DiagnosticCode;
+import org.bee.hms.medical.Medication;
+import org.bee.hms.medical.MedicationBillableItem;
+import org.bee.hms.medical.ProcedureCode;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.WardStay;
+import org.bee.hms.wards.WardClassType;
+import org.bee.hms.wards.WardFactory;
+import org.bee.utils.DataGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the running charge totals of {@link Visit} and {@link Consultation}.
+ * Verifies that totals and billable items kept up as records change match a full recount.
+ */
+public class IncrementalChargesTest {
+
+    private static final Medication AMOXICILLIN = Medication.createFromCode("D0001");
+    private static final Medication IBUPROFEN = Medication.createFromCode("D0002");
+
+    @Test
+    void testVisitChargesFollowEachChange() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        LocalDateTime now = LocalDateTime.now();
+        Visit visit = Visit.createNew(now, patient);
+        assertEquals(0, visit.calculateCharges().signum());
+
+        List<BillableItem> added = new ArrayList<>();
+        Map<Medication, Integer> prescriptions = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            DiagnosticCode diagnosticCode = DiagnosticCode.getRandomCode();
+            visit.diagnose(diagnosticCode);
+            added.add(diagnosticCode);
+            ProcedureCode procedureCode = ProcedureCode.getRandomCode();
+            visit.procedure(procedureCode);
+            added.add(procedureCode);
+            Medication medication = i % 2 == 0 ? AMOXICILLIN : IBUPROFEN;
+            visit.prescribeMedicine(medication, i + 1);
+            prescriptions.merge(medication, i + 1, Integer::sum);
+            WardStay wardStay = new WardStay(WardFactory.getWard("General Ward A", WardClassType.GENERAL_CLASS_A),
+                    now, now.plusDays(i % 4));
+            visit.addWardStay(wardStay);
+            added.add(wardStay);
+
+            assertEquals(expectedCharges(added, prescriptions, BigDecimal.ZERO), visit.calculateCharges());
+        }
+
+        List<BillableItem> items = visit.getRelatedBillableItems();
+        assertEquals(added.size() + prescriptions.size(), items.size());
+        assertTrue(items.getFirst() instanceof DiagnosticCode, "Items stay grouped in billing order");
+        assertTrue(items.getLast() instanceof WardStay);
+        long medicationItems = items.stream().filter(MedicationBillableItem.class::isInstance).count();
+        assertEquals(2, medicationItems, "A repeated prescription replaces its item");
+        assertThrows(UnsupportedOperationException.class, () -> items.remove(0));
+    }
+
+    @Test
+    void testConsultationChargesFollowEachChange() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        Consultation consultation = Consultation.withRandomData(patient, Doctor.builder().withRandomBaseData().build());
+        consultation.clearDiagnosticCodes();
+        consultation.clearProcedureCodes();
+        consultation.clearPrescriptions();
+        BigDecimal fee = new BigDecimal("80.00");
+        consultation.setConsultationFee(fee);
+        assertEquals(fee, consultation.calculateCharges());
+
+        List<BillableItem> added = new ArrayList<>();
+        Map<Medication, Integer> prescriptions = new HashMap<>();
+        DiagnosticCode diagnosticCode = DiagnosticCode.getRandomCode();
+        consultation.addDiagnosticCode(diagnosticCode);
+        added.add(diagnosticCode);
+        ProcedureCode procedureCode = ProcedureCode.getRandomCode();
+        consultation.addProcedureCode(procedureCode);
+        added.add(procedureCode);
+        consultation.addPrescription(AMOXICILLIN, 3);
+        consultation.addPrescription(AMOXICILLIN, 5);
+        consultation.addPrescription(IBUPROFEN, 2);
+        prescriptions.put(AMOXICILLIN, 5);
+        prescriptions.put(IBUPROFEN, 2);
+        List<BillableItem> items = consultation.getRelatedBillableItems();
+        assertEquals(expectedCharges(added, prescriptions, fee), consultation.calculateCharges());
+        assertEquals(4, items.size());
+
+        assertTrue(consultation.removePrescription(IBUPROFEN));
+        prescriptions.remove(IBUPROFEN);
+        fee = new BigDecimal("120.50");
+        consultation.setConsultationFee(fee);
+        assertEquals(expectedCharges(added, prescriptions, fee), consultation.calculateCharges());
+        assertEquals(3, items.size(), "The item list follows later changes");
+
+        DiagnosticCode direct = DiagnosticCode.getRandomCode();
+        consultation.getDiagnosticCodes().add(direct);
+        added.add(direct);
+        consultation.getPrescriptions().put(AMOXICILLIN, 1);
+        prescriptions.put(AMOXICILLIN, 1);
+        assertEquals(expectedCharges(added, prescriptions, fee), consultation.calculateCharges(),
+                "Changes made through the live collections are picked up");
+
+        consultation.clearDiagnosticCodes();
+        added.removeIf(DiagnosticCode.class::isInstance);
+        assertEquals(expectedCharges(added, prescriptions, fee), consultation.calculateCharges());
+    }
+
+    /**
+     * Recounts the charges of a record from what was added to it.
+     *
+     * @param items         The codes and ward stays added
+     * @param prescriptions The prescribed medications and their quantities
+     * @param fee           The flat fee
+     * @return The expected total charges
+     */
+    private static BigDecimal expectedCharges(List<BillableItem> items, Map<Medication, Integer> prescriptions,
+                                              BigDecimal fee) {
+        long cents = Money.of(fee).getCents() + Medication.totalCostCents(prescriptions);
+        for (BillableItem item : items) {
+            cents += item.getUnsubsidisedAmount().getCents();
+        }
+        return Money.ofCents(cents).toBigDecimal();
+    }
+}
@@ -0,0 +1,61 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bee.hms.medical.Medication;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the {@link Medication} registry.
+ * Verifies shared instances, the category and manufacturer indexes and the price table.
+ */
+public class MedicationRegistryTest {
+
+    @Test
+    void testInstancesAreShared() throws Exception {
+        Medication amoxicillin = Medication.createFromCode("D0001");
+        assertSame(amoxicillin, Medication.createFromCode("D0001"));
+        assertSame(amoxicillin, JSONHelper.fromJson(JSONHelper.toJson(amoxicillin), Medication.class));
+        assertSame(amoxicillin, Medication.getAllMedications().get(amoxicillin.getRegistryIndex()));
+        assertThrows(IllegalArgumentException.class, () -> Medication.createFromCode("X9999"));
+    }
+
+    @Test
+    void testIndexesMatchAFullScan() {
+        List<Medication> all = Medication.getAllMedications();
+        assertEquals(Medication.getRegistrySize(), all.size());
+
+        List<String> categories = all.stream().map(Medication::getCategory).distinct().sorted().toList();
+        assertEquals(categories, Medication.getAllCategories());
+        for (String category : categories) {
+            List<Medication> scanned = all.stream()
+                    .filter(medication -> medication.getCategory().equalsIgnoreCase(category)).toList();
+            assertEquals(scanned, Medication.getMedicationsByCategory(category.toUpperCase(), 0, false));
+            assertEquals(Math.min(2, scanned.size()), Medication.getMedicationsByCategory(category, 2, true).size());
+        }
+        assertTrue(Medication.getMedicationsByCategory("No Such Category", 0, false).isEmpty());
+        assertTrue(Medication.getMedicationsByManufacturer("pfizer").contains(Medication.createFromCode("D0002")));
+    }
+
+    @Test
+    void testPriceTableMatchesUnitPrices() {
+        Map<Medication, Integer> prescriptions = new HashMap<>();
+        BigDecimal expected = BigDecimal.ZERO;
+        int quantity = 1;
+        for (Medication medication : Medication.getAllMedications()) {
+            assertEquals(medication.calculateCost(1).movePointRight(2).longValueExact(),
+                    Medication.getUnitPriceCents(medication.getRegistryIndex()));
+            prescriptions.put(medication, quantity);
+            expected = expected.add(medication.calculateCost(quantity));
+            quantity = quantity % 7 + 1;
+        }
+        assertEquals(expected.movePointRight(2).longValueExact(), Medication.totalCostCents(prescriptions));
+        assertEquals(0, Medication.totalCostCents(Map.of()));
+    }
+}
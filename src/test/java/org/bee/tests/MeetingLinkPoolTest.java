@@ -0,0 +1,130 @@
+package org.bee.tests;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.bee.execeptions.ZoomApiException;
+import org.bee.hms.telemed.FakeMeetingProvider;
+import org.bee.hms.telemed.MeetingLinkPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link MeetingLinkPool} with a {@link FakeMeetingProvider}.
+ * Verifies background refills, instant hand-out, recycling and retirement of old links.
+ */
+public class MeetingLinkPoolTest {
+
+    private FakeMeetingProvider provider;
+    private MutableClock clock;
+    private MeetingLinkPool pool;
+
+    @BeforeEach
+    void setUp() {
+        provider = new FakeMeetingProvider(Duration.ofMillis(5));
+        clock = new MutableClock();
+        pool = new MeetingLinkPool(provider, 30, 5, Duration.ofHours(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for the pool");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void testRefillsToTargetAndHandsOutInstantly() throws Exception {
+        pool.resize(3);
+        awaitTrue(() -> pool.getStats().available() == 3);
+
+        Set<String> links = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            links.add(pool.acquire("Appointment " + i, 30));
+        }
+        assertEquals(3, links.size(), "Every appointment should get its own link");
+        assertEquals(3, pool.getStats().hits());
+
+        awaitTrue(() -> pool.getStats().available() == 3);
+        assertEquals(6, provider.getCreatedCount(), "Links taken from the pool should be replaced");
+    }
+
+    @Test
+    void testTargetIsCappedAtMaxSize() throws Exception {
+        pool.resize(50);
+        awaitTrue(() -> pool.getStats().refills() == 1);
+        assertEquals(5, pool.getStats().available());
+        assertEquals(5, provider.getCreatedCount());
+        assertEquals(5, pool.getStats().target());
+    }
+
+    @Test
+    void testEmptyPoolCreatesOnTheSpot() throws ZoomApiException {
+        String link = pool.acquire("Appointment with Alice", 30);
+
+        assertNotNull(link);
+        assertEquals(1, pool.getStats().misses());
+        assertEquals(1, provider.getCreatedCount());
+        assertEquals(0, pool.getStats().target(), "Without a target the pool should stay empty");
+    }
+
+    @Test
+    void testUnusedLinksAreRecycled() throws Exception {
+        pool.resize(1);
+        awaitTrue(() -> pool.getStats().available() == 1);
+
+        Optional<String> link = pool.poll();
+        assertTrue(link.isPresent());
+        awaitTrue(() -> pool.getStats().available() == 1);
+
+        assertTrue(pool.recycle(link.get()));
+        assertEquals(2, pool.getStats().available());
+        assertEquals(link, pool.poll(), "The recycled link should be handed out first");
+        assertFalse(pool.recycle("https://zoom.us/j/unknown"), "Only links from the pool can be recycled");
+    }
+
+    @Test
+    void testOldLinksAreRetired() throws Exception {
+        pool.resize(2);
+        awaitTrue(() -> pool.getStats().available() == 2);
+        Optional<String> issued = pool.poll();
+        awaitTrue(() -> pool.getStats().available() == 2);
+
+        clock.advance(Duration.ofHours(1));
+
+        Optional<String> fresh = pool.poll();
+        assertTrue(fresh.isEmpty(), "Links at the maximum age should not be handed out");
+        assertEquals(2, pool.getStats().retired());
+        assertFalse(pool.recycle(issued.orElseThrow()), "An expired link should not be recycled");
+        awaitTrue(() -> pool.getStats().available() == 2);
+    }
+
+    @Test
+    void testProviderFailureStopsRefillUntilNextRequest() throws Exception {
+        provider.setFailing(true);
+        pool.resize(2);
+        awaitTrue(() -> pool.getStats().refills() == 1);
+        assertEquals(0, pool.getStats().available());
+        assertEquals(1, pool.getStats().failures());
+        assertThrows(ZoomApiException.class, () -> pool.acquire("Appointment", 30));
+        // Let the refill started by that request fail before the provider recovers
+        awaitTrue(() -> pool.getStats().refills() == 2);
+        assertEquals(2, pool.getStats().failures());
+
+        provider.setFailing(false);
+        assertTrue(pool.poll().isEmpty());
+        awaitTrue(() -> pool.getStats().available() == 2);
+    }
+}
@@ -0,0 +1,127 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the Zoom OAuth and meeting endpoints, used by tests.
+ * <p>
+ * Issues numbered access tokens, accepts meeting requests carrying a token it issued,
+ * and answers 401 for unknown or revoked tokens.
+ * </p>
+ */
+public class MockZoomServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger meetingRequests = new AtomicInteger();
+    private final AtomicInteger nextMeetingStatus = new AtomicInteger();
+    private volatile long expiresInSeconds = 3600;
+
+    /**
+     * Starts the server on a free local port.
+     *
+     * @throws IOException If the server cannot be started
+     */
+    public MockZoomServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/token", this::handleToken);
+        server.createContext("/v2/users/me/meetings", this::handleMeeting);
+        server.start();
+    }
+
+    /**
+     * Gets the base URL to use for both the OAuth and API endpoints.
+     *
+     * @return The server URL
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int tokenRequests() {
+        return tokenRequests.get();
+    }
+
+    public int meetingRequests() {
+        return meetingRequests.get();
+    }
+
+    /**
+     * Sets the lifetime reported for tokens issued from now on.
+     *
+     * @param seconds The token lifetime in seconds
+     */
+    public void setExpiresInSeconds(long seconds) {
+        expiresInSeconds = seconds;
+    }
+
+    /**
+     * Makes every issued token invalid, as if Zoom had revoked them.
+     */
+    public void revokeTokens() {
+        validTokens.clear();
+    }
+
+    /**
+     * Makes the next meeting request fail with the given status.
+     *
+     * @param status The HTTP status to answer with
+     */
+    public void failNextMeeting(int status) {
+        nextMeetingStatus.set(status);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        if (!"POST".equals(exchange.getRequestMethod()) || auth == null || !auth.startsWith("Basic ")
+                || !body.contains("grant_type=account_credentials")) {
+            respond(exchange, 400, "{\"reason\":\"bad token request\"}");
+            return;
+        }
+        String token = "token-" + tokenRequests.incrementAndGet();
+        validTokens.add(token);
+        respond(exchange, 200, "{\"access_token\":\"" + token + "\",\"token_type\":\"bearer\",\"expires_in\":"
+                + expiresInSeconds + "}");
+    }
+
+    private void handleMeeting(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        int meeting = meetingRequests.incrementAndGet();
+        int failure = nextMeetingStatus.getAndSet(0);
+        if (failure != 0) {
+            respond(exchange, failure, "{\"message\":\"failure\"}");
+            return;
+        }
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        if (auth == null || !validTokens.contains(auth.replaceFirst("^Bearer ", ""))) {
+            respond(exchange, 401, "{\"message\":\"Invalid access token\"}");
+            return;
+        }
+        respond(exchange, 201, "{\"join_url\":\"https://zoom.us/j/" + (1000 + meeting) + "\"}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.bee.tests;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.Money;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.humans.PatientBuilder;
+import org.bee.hms.humans.ResidentialStatus;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.medical.VisitStatus;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link Money}.
+ * Verifies the fixed-point arithmetic and that bill totals match the
+ * {@link BigDecimal} discount and tax chain, with the discount and tax each rounded to cents.
+ */
+public class MoneyTest {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.09");
+
+    @Test
+    void testConversionRoundsHalfUp() {
+        assertEquals(1235L, Money.of(new BigDecimal("12.345")).getCents());
+        assertEquals(1234L, Money.of(new BigDecimal("12.3449")).getCents());
+        assertEquals(-1235L, Money.of(new BigDecimal("-12.345")).getCents());
+        assertEquals(10L, Money.of(0.1).getCents());
+        assertEquals(Money.ZERO, Money.of((BigDecimal) null));
+        assertEquals(new BigDecimal("12.50"), Money.ofCents(1250).toBigDecimal());
+        assertEquals("12.50", Money.ofCents(1250).toString());
+    }
+
+    @Test
+    void testArithmetic() {
+        Money a = Money.ofCents(1050);
+        Money b = Money.ofCents(225);
+
+        assertEquals(1275L, a.add(b).getCents());
+        assertEquals(825L, a.subtract(b).getCents());
+        assertEquals(3150L, a.multiply(3).getCents());
+        assertTrue(a.compareTo(b) > 0);
+        assertEquals(a, Money.of(new BigDecimal("10.5")));
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(1, 0));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).add(Money.ofCents(1)));
+    }
+
+    @Test
+    void testRateMatchesBigDecimalHalfUp() {
+        Random random = new Random(1109);
+        long[][] rates = {{30, 100}, {70, 100}, {70 * 9, 100 * 100}, {70 * 109, 100 * 100}, {109, 100}, {1, 3}};
+
+        for (int i = 0; i < 10_000; i++) {
+            long cents = random.nextLong(-5_000_000L, 5_000_000L);
+            for (long[] rate : rates) {
+                BigDecimal expected = BigDecimal.valueOf(cents, 2)
+                        .multiply(BigDecimal.valueOf(rate[0]))
+                        .divide(BigDecimal.valueOf(rate[1]), 10, RoundingMode.HALF_UP)
+                        .setScale(2, RoundingMode.HALF_UP);
+
+                assertEquals(expected, Money.ofCents(cents).multiply(rate[0], rate[1]).toBigDecimal(),
+                        cents + " x " + rate[0] + "/" + rate[1]);
+            }
+        }
+    }
+
+    @Test
+    void testBillTotalsMatchOriginalArithmetic() {
+        for (int i = 0; i < 20; i++) {
+            Patient patient = Patient.builder()
+                    .withRandomData("P9" + i)
+                    .build();
+
+            Visit visit = Visit.withRandomData(patient);
+            visit.updateStatus(VisitStatus.DISCHARGED);
+
+            Bill bill = new BillBuilder()
+                    .withPatient(patient)
+                    .withVisit(visit)
+                    .withConsultation(Consultation.withRandomData(patient, null))
+                    .build();
+
+            assertBillMatchesReference(bill);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // price, residential status, discount, tax, grand total
+            "0.05, CITIZEN, 0.02, 0.00, 0.03",
+            "1.05, CITIZEN, 0.32, 0.07, 0.80",
+            "10.05, PERMANENT_RESIDENT, 3.02, 0.63, 7.66",
+            "0.50, VISITOR, 0.00, 0.05, 0.55",
+            "1.50, WORK_PASS, 0.00, 0.14, 1.64"
+    })
+    void testHalfCentDiscountAndTaxAreRoundedSeparately(String price, ResidentialStatus status, String discount,
+                                                        String tax, String grand) {
+        Bill bill = billOf(price, status);
+
+        assertEquals(new BigDecimal(discount), bill.getDiscountAmount(), "Discount");
+        assertEquals(new BigDecimal(tax), bill.getTaxAmount(), "Tax");
+        assertEquals(new BigDecimal(grand), bill.getGrandTotal(), "Grand total");
+    }
+
+    @Test
+    void testSerializedAmountsRoundTrip() {
+        Patient patient = Patient.builder()
+                .withRandomData("P9100")
+                .build();
+        Bill bill = new BillBuilder()
+                .withPatient(patient)
+                .withConsultation(Consultation.withRandomData(patient, null))
+                .build();
+        bill.submitForProcessing();
+        bill.recordPartialPayment(new BigDecimal("10.005"), null);
+
+        Bill restored = JSONHelper.fromJson(JSONHelper.toJson(bill), Bill.class);
+
+        assertEquals(new BigDecimal("10.01"), restored.getSettledAmount());
+        assertEquals(bill.getGrandTotal(), restored.getGrandTotal());
+        assertEquals(bill.getOutstandingBalance(), restored.getOutstandingBalance());
+    }
+
+    /**
+     * Recomputes the bill totals with the original {@link BigDecimal} chain, rounding
+     * the discount and tax to cents, and checks that the figures add up.
+     *
+     * @param bill The bill to verify
+     */
+    private void assertBillMatchesReference(Bill bill) {
+        BigDecimal total = bill.getTotalAmount();
+        BigDecimal discount = cents(bill.getDiscountPercentage()
+                .map(rate -> total.multiply(BigDecimal.valueOf(rate)))
+                .orElse(BigDecimal.ZERO));
+        BigDecimal discounted = total.subtract(discount);
+        BigDecimal tax = cents(discounted.multiply(TAX_RATE));
+        BigDecimal grand = discounted.add(tax);
+
+        assertEquals(discount, bill.getDiscountAmount(), "Discount");
+        assertEquals(discounted, bill.getDiscountedTotal(), "Discounted total");
+        assertEquals(tax, bill.getTaxAmount(), "Tax");
+        assertEquals(grand, bill.getGrandTotal(), "Grand total");
+        assertEquals(grand, bill.getOutstandingBalance(), "Outstanding balance");
+    }
+
+    /**
+     * Creates a draft bill whose only charge is the given price.
+     * The bill is built from its saved form, since the builder always adds the charges of a visit,
+     * consultation or appointment.
+     *
+     * @param price  The charge
+     * @param status The patient's residential status, which decides the discount
+     * @return The bill
+     */
+    private Bill billOf(String price, ResidentialStatus status) {
+        Patient patient = new PatientBuilder()
+                .withRandomBaseData()
+                .patientId(DataGenerator.generatePatientId())
+                .residentialStatus(status)
+                .build();
+        return Bill.fromJson("B-" + price, patient, LocalDateTime.now(), null,
+                Map.of("TEST", new BigDecimal(price)), BillingStatus.DRAFT, null, null,
+                false, false, null, null, null, null, null, null);
+    }
+
+    private BigDecimal cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,42 @@
+package org.bee.tests;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock for tests that only moves when told to, starting at 2025-03-01 09:00 UTC.
+ * <p>
+ * Safe to read from background threads while a test advances it.
+ * </p>
+ */
+public class MutableClock extends Clock {
+
+    private volatile Instant now = Instant.parse("2025-03-01T09:00:00Z");
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param duration How far to move it
+     */
+    public void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
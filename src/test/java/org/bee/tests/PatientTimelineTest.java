@@ -0,0 +1,111 @@
+package org.bee.tests;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bee.controllers.PatientTimeline;
+import org.bee.hms.billing.Bill;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.Visit;
+import org.bee.hms.telemed.Appointment;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.MergingIterator;
+import org.bee.utils.SortedGroupIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link PatientTimeline}, {@link MergingIterator} and {@link SortedGroupIndex}.
+ * Verifies the merged order, paging, laziness and index rebuilds.
+ */
+public class PatientTimelineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Test
+    void testMergesNewestFirstAndPages() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        List<Appointment> appointments = new ArrayList<>();
+        for (int day = 0; day < 10; day += 2) {
+            appointments.add(Appointment.createNewAppointment(patient, "Checkup " + day, DAY.plusDays(day)));
+        }
+        List<Visit> visits = new ArrayList<>();
+        visits.add(Visit.createNew(null, patient));
+        for (int day = 1; day < 10; day += 2) {
+            visits.add(Visit.createNew(DAY.plusDays(day), patient));
+        }
+        Function<String, List<Appointment>> appointmentSource =
+                id -> id.equals(patient.getPatientId()) ? appointments : List.of();
+        Function<String, List<Visit>> visitSource = id -> id.equals(patient.getPatientId()) ? visits : List.of();
+        PatientTimeline timeline = new PatientTimeline(appointmentSource, id -> List.<Consultation>of(),
+                visitSource, id -> List.<Bill>of());
+
+        List<PatientTimeline.Entry> all = new ArrayList<>();
+        timeline.iterator(patient.getPatientId()).forEachRemaining(all::add);
+        assertEquals(11, all.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(DAY.plusDays(9 - i), all.get(i).time());
+            assertEquals(i % 2 == 0 ? PatientTimeline.EntryType.VISIT : PatientTimeline.EntryType.APPOINTMENT,
+                    all.get(i).type());
+        }
+        assertNull(all.get(10).time(), "Entries without a time come last");
+
+        PatientTimeline.Page first = timeline.getPage(patient.getPatientId(), 0, 4);
+        assertEquals(all.subList(0, 4), first.entries());
+        assertTrue(first.hasMore());
+        PatientTimeline.Page last = timeline.getPage(patient.getPatientId(), 2, 4);
+        assertEquals(all.subList(8, 11), last.entries());
+        assertFalse(last.hasMore());
+        assertTrue(timeline.getPage("P-none", 0, 4).entries().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> timeline.getPage(patient.getPatientId(), 0, 0));
+    }
+
+    @Test
+    void testMergeOnlyReadsWhatIsTaken() {
+        int[] reads = new int[1];
+        List<Iterator<Integer>> sources = new ArrayList<>();
+        for (int source = 0; source < 3; source++) {
+            int offset = source;
+            sources.add(new Iterator<>() {
+                private int next = offset;
+
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public Integer next() {
+                    reads[0]++;
+                    int value = next;
+                    next += 3;
+                    return value;
+                }
+            });
+        }
+        MergingIterator<Integer> merged = new MergingIterator<>(sources, Comparator.naturalOrder());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, merged.next().intValue());
+        }
+        assertEquals(103, reads[0], "One read per item taken plus one head per source");
+    }
+
+    @Test
+    void testIndexRebuildsOnlyWhenVersionChanges() {
+        SortedGroupIndex<String> index = new SortedGroupIndex<>(s -> s.substring(0, 1), Comparator.naturalOrder());
+        List<String> source = new ArrayList<>(List.of("b3", "a2", "b1", "a1"));
+
+        assertEquals(List.of("b1", "b3"), index.get("b", 1, source));
+        source.add("b2");
+        assertEquals(List.of("b1", "b3"), index.get("b", 1, source), "Same version, same index");
+        assertEquals(List.of("b1", "b2", "b3"), index.get("b", 2, source));
+        assertTrue(index.get("c", 2, source).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> index.get("a", 2, source).add("a3"));
+    }
+}
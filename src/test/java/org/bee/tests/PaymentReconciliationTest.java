@@ -0,0 +1,192 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bee.hms.billing.Bill;
+import org.bee.hms.billing.BillBuilder;
+import org.bee.hms.billing.BillingStatus;
+import org.bee.hms.billing.PaymentMethod;
+import org.bee.hms.billing.PaymentReconciliation;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link PaymentReconciliation}.
+ * Verifies matching, validation and the exceptions report for bulk payment imports.
+ */
+public class PaymentReconciliationTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Bill> bills;
+    private String today;
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = Patient.builder()
+                .withRandomData("P4001")
+                .build();
+
+        bills = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Bill bill = new BillBuilder()
+                    .withPatient(patient)
+                    .withConsultation(Consultation.withRandomData(patient, null))
+                    .build();
+            bill.submitForProcessing();
+            bills.add(bill);
+        }
+        bills.get(3).cancelBill();
+        today = LocalDate.now().toString();
+    }
+
+    @Test
+    void testCsvPaymentsAreApplied() throws IOException {
+        Bill full = bills.get(0);
+        Bill partial = bills.get(1);
+        String csv = "amount,bill_id,method,date,reference\n"
+                + full.getGrandTotal().toPlainString() + "," + full.getBillId() + ",PAYNOW," + today + ",PN-1\n"
+                + "10.00," + partial.getBillId() + ",cash," + today + ",\"CASH\nDESK 2\"\n";
+
+        PaymentReconciliation.Result result = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+
+        assertEquals(2, result.appliedCount());
+        assertTrue(result.rejected().isEmpty());
+        assertEquals(BillingStatus.PAID, full.getStatus());
+        assertEquals(PaymentMethod.PAYNOW, full.getPaymentMethod());
+        assertEquals(BillingStatus.PARTIALLY_PAID, partial.getStatus());
+        assertEquals(new BigDecimal("10.00"), partial.getSettledAmount());
+        assertEquals(full.getGrandTotal().add(new BigDecimal("10.00")), result.appliedAmount().toBigDecimal());
+        assertEquals(2, result.updatedBills().size());
+        assertTrue(partial.hasPaymentReference("CASH\nDESK 2"), "A quoted reference may span lines");
+    }
+
+    @Test
+    void testNdjsonPaymentsAreApplied() throws IOException {
+        Bill bill = bills.get(2);
+        String ndjson = "{\"billId\":\"" + bill.getBillId() + "\",\"amount\":\"5.50\",\"method\":\"CREDIT_CARD\",\"date\":\"" + today + "\",\"reference\":\"CC-1\"}\n"
+                + "{\"billId\":\"" + bill.getBillId() + "\",\"amount\":4.5,\"method\":\"CREDIT_CARD\",\"date\":\"" + today + "\",\"reference\":\"CC-2\"}\n";
+
+        PaymentReconciliation.Result result = new PaymentReconciliation(bills).reconcile(new StringReader(ndjson));
+
+        assertEquals(2, result.appliedCount());
+        assertEquals(new BigDecimal("10.00"), bill.getSettledAmount());
+        assertEquals(1, result.updatedBills().size());
+    }
+
+    @Test
+    void testInvalidRowsAreReported() throws IOException {
+        Bill open = bills.get(0);
+        Bill cancelled = bills.get(3);
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String csv = "UNKNOWN,10.00,CASH," + today + ",R1\n"
+                + cancelled.getBillId() + ",10.00,CASH," + today + ",R2\n"
+                + open.getBillId() + ",-1,CASH," + today + ",R3\n"
+                + open.getBillId() + ",1.00,CHEQUE," + today + ",R4\n"
+                + open.getBillId() + ",1.00,CASH," + tomorrow + ",R5\n"
+                + open.getBillId() + "," + open.getGrandTotal().add(BigDecimal.ONE).toPlainString() + ",CASH," + today + ",R6\n"
+                + "{not json\n"
+                + open.getBillId() + ",1.00\n"
+                + open.getBillId() + ",1.00,," + today + ",R9\n";
+
+        PaymentReconciliation.Result result = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+
+        assertEquals(0, result.appliedCount());
+        assertEquals(9, result.rejected().size());
+        assertEquals(BillingStatus.SUBMITTED, open.getStatus());
+        assertEquals(1, result.rejected().getFirst().lineNumber());
+        assertEquals("Unknown bill ID", result.rejected().getFirst().reason());
+
+        StringWriter report = new StringWriter();
+        PaymentReconciliation.writeExceptionsReport(result.rejected(), report);
+        String[] lines = report.toString().split("\\R");
+        assertEquals("line,billId,reason", lines[0]);
+        assertEquals(10, lines.length);
+        assertTrue(lines[9].endsWith("Missing payment method"), lines[9]);
+    }
+
+    @Test
+    void testLargeFileIsProcessedInOnePass() throws IOException {
+        Bill bill = bills.get(1);
+        Path file = tempDir.resolve("payments.csv");
+        StringBuilder content = new StringBuilder("billId,amount,method,date,reference\n");
+        for (int i = 0; i < 20_000; i++) {
+            content.append("MISSING-").append(i).append(",1.00,CASH,").append(today).append(",R").append(i).append('\n');
+        }
+        content.append(bill.getBillId()).append(",0.01,CASH,").append(today).append(",LAST\n");
+        Files.writeString(file, content);
+
+        PaymentReconciliation.Result result = new PaymentReconciliation(bills).reconcile(file);
+
+        assertEquals(1, result.appliedCount());
+        assertEquals(20_000, result.rejected().size());
+        assertEquals(new BigDecimal("0.01"), bill.getSettledAmount());
+    }
+
+    @Test
+    void testReimportingAFileAppliesNothingTwice() throws IOException {
+        Bill bill = bills.get(0);
+        String csv = bill.getBillId() + ",1.00,CASH," + today + ",REF-1\n"
+                + bill.getBillId() + ",2.00,CASH," + today + ",REF-1\n"
+                + bill.getBillId() + ",3.00,CASH," + today + ",REF-2\n";
+
+        PaymentReconciliation.Result first = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+        assertEquals(2, first.appliedCount());
+        assertEquals("Payment REF-1 was already applied", first.rejected().getFirst().reason());
+        assertEquals(new BigDecimal("4.00"), bill.getSettledAmount());
+
+        PaymentReconciliation.Result second = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+        assertEquals(0, second.appliedCount());
+        assertEquals(3, second.rejected().size());
+        assertEquals(new BigDecimal("4.00"), bill.getSettledAmount(), "Nothing is applied twice");
+    }
+
+    @Test
+    void testPaymentsWithoutReferenceAreKeyedByAmountAndDate() throws IOException {
+        Bill bill = bills.get(0);
+        String csv = "billId,amount,method,date\n"
+                + bill.getBillId() + ",1.00,CASH," + today + "\n"
+                + bill.getBillId() + ",1.00,CASH," + today + "\n"
+                + bill.getBillId() + ",2.00,CASH," + today + "\n";
+
+        PaymentReconciliation.Result first = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+        assertEquals(2, first.appliedCount());
+        assertEquals("Payment of 1.00 on " + today + " was already applied", first.rejected().getFirst().reason());
+        assertEquals(new BigDecimal("3.00"), bill.getSettledAmount());
+        assertEquals(LocalDate.now(), bill.getLastPaymentDate());
+
+        PaymentReconciliation.Result second = new PaymentReconciliation(bills).reconcile(new StringReader(csv));
+        assertEquals(0, second.appliedCount());
+        assertEquals(new BigDecimal("3.00"), bill.getSettledAmount(), "Nothing is applied twice");
+
+        Bill copy = JSONHelper.fromTree(JSONHelper.toTree(bill), Bill.class);
+        assertEquals(LocalDate.now(), copy.getLastPaymentDate(), "The payment date is saved with the bill");
+    }
+
+    @Test
+    void testMalformedFileChangesNoBill() {
+        Bill bill = bills.get(0);
+        String csv = bill.getBillId() + ",1.00,CASH," + today + ",REF-1\n"
+                + bill.getBillId() + ",2.00,CASH," + today + ",\"REF-2\n";
+
+        assertThrows(IOException.class, () -> new PaymentReconciliation(bills).reconcile(new StringReader(csv)));
+        assertEquals(BillingStatus.SUBMITTED, bill.getStatus());
+        assertEquals(0, bill.getSettledAmount().signum());
+        assertFalse(bill.hasPaymentReference("REF-1"));
+    }
+}
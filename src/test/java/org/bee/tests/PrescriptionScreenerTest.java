@@ -0,0 +1,70 @@
+package org.bee.tests;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.Medication;
+import org.bee.hms.medical.PrescriptionScreener;
+import org.bee.utils.DataGenerator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link PrescriptionScreener}.
+ * Verifies matching by drug name, drug class and category, and screening of a consultation.
+ */
+public class PrescriptionScreenerTest {
+
+    private static final Medication AMOXICILLIN = Medication.createFromCode("D0001");
+    private static final Medication IBUPROFEN = Medication.createFromCode("D0002");
+    private static final Medication CIPROFLOXACIN = Medication.createFromCode("D0011");
+    private static final Medication PARACETAMOL = Medication.createFromCode("D0012");
+    private static final Medication NAPROXEN = Medication.createFromCode("D0030");
+
+    @Test
+    void testMatchesByNameClassAndCategory() {
+        PrescriptionScreener screener = new PrescriptionScreener(Medication.getAllMedications());
+        Map<Medication, Integer> prescriptions = new LinkedHashMap<>();
+        prescriptions.put(AMOXICILLIN, 10);
+        prescriptions.put(PARACETAMOL, 20);
+        prescriptions.put(NAPROXEN, 5);
+        prescriptions.put(IBUPROFEN, 5);
+
+        List<PrescriptionScreener.AllergyWarning> warnings =
+                screener.profileOf(List.of("Penicillin", " ibuprofen ")).screen(prescriptions);
+        assertEquals(List.of(AMOXICILLIN, NAPROXEN, IBUPROFEN),
+                warnings.stream().map(PrescriptionScreener.AllergyWarning::medication).toList());
+        assertEquals("Penicillin", warnings.getFirst().allergy());
+        assertEquals("the same drug", warnings.get(2).reason(), "A direct match wins over the class");
+        assertTrue(warnings.get(1).reason().contains("nsaids"));
+
+        PrescriptionScreener.AllergyProfile antibiotics = screener.profileOf(List.of("Antibiotics"));
+        assertEquals(1, antibiotics.screen(CIPROFLOXACIN).size());
+        assertTrue(antibiotics.screen(PARACETAMOL).isEmpty());
+
+        assertTrue(screener.profileOf(List.of("None", "Pollen")).isEmpty(), "Unknown allergies never match");
+        assertTrue(screener.profileOf((List<String>) null).screen(prescriptions).isEmpty());
+    }
+
+    @Test
+    void testConsultationScreensItsPatient() {
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData()
+                .drugAllergies(List.of("Sulfa", "Aspirin")).build();
+        Consultation consultation = Consultation.withRandomData(patient,
+                Doctor.builder().withRandomBaseData().build());
+        consultation.clearPrescriptions();
+        consultation.addPrescription(PARACETAMOL, 10);
+        assertTrue(consultation.screenPrescriptions().isEmpty());
+
+        consultation.addPrescription(IBUPROFEN, 10);
+        List<PrescriptionScreener.AllergyWarning> warnings = consultation.screenPrescriptions();
+        assertEquals(1, warnings.size());
+        assertEquals("Aspirin", warnings.getFirst().allergy());
+        assertTrue(warnings.getFirst().describe().startsWith("Ibuprofen (D0002)"));
+    }
+}
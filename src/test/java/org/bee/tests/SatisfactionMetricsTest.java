@@ -0,0 +1,94 @@
+package org.bee.tests;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.bee.hms.humans.Doctor;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.Feedback;
+import org.bee.hms.medical.HospitalDepartment;
+import org.bee.hms.medical.SatisfactionMetrics;
+import org.bee.utils.DataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SatisfactionMetrics}.
+ * Verifies the rating distributions per doctor, department and month, and that removing or
+ * changing feedback undoes its earlier contribution.
+ */
+public class SatisfactionMetricsTest {
+
+    private static final Date MARCH = Date.from(LocalDateTime.of(2025, 3, 10, 9, 0).toInstant(ZoneOffset.UTC));
+    private static final Date APRIL = Date.from(LocalDateTime.of(2025, 4, 2, 9, 0).toInstant(ZoneOffset.UTC));
+
+    private SatisfactionMetrics metrics;
+    private Consultation cardiology;
+    private Consultation surgery;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new SatisfactionMetrics(ZoneOffset.UTC);
+        Patient patient = Patient.builder().patientId(DataGenerator.generatePatientId()).withRandomBaseData().build();
+        cardiology = Consultation.withRandomData(patient, Doctor.builder().withRandomBaseData().build());
+        cardiology.setDepartment(HospitalDepartment.CARDIOLOGY);
+        surgery = Consultation.withRandomData(patient, Doctor.builder().withRandomBaseData().build());
+        surgery.setDepartment(HospitalDepartment.SURGERY);
+    }
+
+    @Test
+    void testDistributionsPerDoctorDepartmentAndMonth() {
+        Feedback first = new Feedback(cardiology, 5, 4, MARCH, "");
+        metrics.record(first);
+        metrics.record(new Feedback(cardiology, 4, 4, MARCH, ""));
+        metrics.record(new Feedback(cardiology, 1, 2, APRIL, "Rushed"));
+        metrics.record(new Feedback(surgery, 3, 5, APRIL, ""));
+
+        SatisfactionMetrics.GroupSummary doctor = metrics.getDoctor(first.getDoctorId());
+        assertEquals(3, doctor.medicalCare().count());
+        assertEquals(List.of(1L, 0L, 0L, 1L, 1L), doctor.medicalCare().countsPerScore());
+        assertEquals(10 / 3.0, doctor.medicalCare().mean(), 1e-9);
+        assertEquals(1, doctor.medicalCare().p10());
+        assertEquals(4, doctor.medicalCare().p50());
+        assertEquals(5, doctor.medicalCare().p90());
+
+        assertEquals(3, metrics.getDepartment("CARDIOLOGY").service().count());
+        assertEquals(5, metrics.getDepartment("SURGERY").service().p50());
+        assertEquals(2, metrics.getMonth(YearMonth.of(2025, 4)).medicalCare().count());
+        assertEquals(4, metrics.getOverall().medicalCare().count());
+        assertEquals(0, metrics.getDoctor("nobody").medicalCare().count());
+
+        SatisfactionMetrics.Report report = metrics.report(LocalDateTime.now());
+        assertEquals(2, report.byDoctor().size());
+        assertEquals(List.of("2025-03", "2025-04"), report.byMonth().stream().map(r -> r.key()).toList());
+    }
+
+    @Test
+    void testRemovingAndChangingFeedback() {
+        Feedback low = new Feedback(surgery, 1, 1, MARCH, "");
+        Feedback high = new Feedback(surgery, 5, 5, APRIL, "");
+        metrics.record(low);
+        metrics.record(high);
+
+        int previousCare = low.getMedicalCareRating();
+        int previousService = low.getServiceRating();
+        low.updateRatings(4, 3);
+        metrics.changeRatings(low, previousCare, previousService);
+        assertEquals(List.of(0L, 0L, 0L, 1L, 1L), metrics.getDepartment("SURGERY").medicalCare().countsPerScore());
+        assertEquals(4.0, metrics.getOverall().service().mean());
+
+        metrics.remove(high);
+        assertEquals(1, metrics.getOverall().medicalCare().count());
+        assertEquals(List.of("2025-03"), metrics.report(LocalDateTime.now()).byMonth().stream()
+                .map(r -> r.key()).toList(), "Months left without feedback are dropped");
+
+        assertThrows(IllegalArgumentException.class, () -> new Feedback(surgery, 0, 3, MARCH, ""));
+        assertThrows(IllegalArgumentException.class, () -> low.updateRatings(3, 6));
+    }
+}
@@ -0,0 +1,197 @@
+package org.bee.tests;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.bee.hms.telemed.SchedulingEngine;
+import org.bee.hms.telemed.SchedulingEngine.Slot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SchedulingEngine}.
+ * Verifies conflict checks, free slot searches across doctors, bulk rescheduling,
+ * and times the engine with 1,000 doctors booked for a year. The timing test is tagged
+ * {@code benchmark} and only runs with {@code ./gradlew benchmark}.
+ */
+public class SchedulingEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    private SchedulingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SchedulingEngine(LocalTime.of(9, 0), LocalTime.of(17, 0));
+        engine.addDoctor("D001");
+        engine.addDoctor("D002");
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    @Test
+    void testOverlappingBookingIsRejected() {
+        assertTrue(engine.book("D001", at(10, 0), 30));
+        assertFalse(engine.book("D001", at(10, 0), 30), "The same slot cannot be booked twice");
+        assertFalse(engine.book("D001", at(9, 45), 30), "An off-grid booking overlaps both slots");
+        assertTrue(engine.book("D001", at(10, 30), 30), "Back-to-back bookings do not overlap");
+        assertTrue(engine.book("D002", at(10, 0), 30), "Other doctors are unaffected");
+
+        engine.release("D001", at(10, 0), 30);
+        assertTrue(engine.isFree("D001", at(10, 0), 30));
+        assertEquals(2, engine.getBookedSlotCount());
+    }
+
+    @Test
+    void testInvalidBookingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.book("D001", at(23, 45), 30));
+        assertThrows(IllegalArgumentException.class, () -> engine.book("D001", at(10, 0), 0));
+        assertThrows(IllegalArgumentException.class, () -> engine.book(" ", at(10, 0), 30));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SchedulingEngine(LocalTime.of(9, 15), LocalTime.of(17, 0)));
+    }
+
+    @Test
+    void testNextFreeSlotRespectsOpeningHours() {
+        assertEquals(at(9, 0), engine.nextFreeSlot("D001", at(6, 0), 30).orElseThrow());
+        assertEquals(at(11, 0), engine.nextFreeSlot("D001", at(10, 40), 30).orElseThrow(),
+                "A search from mid-slot should start at the next slot");
+
+        engine.book("D001", at(16, 0), 30);
+        assertEquals(at(16, 30), engine.nextFreeSlot("D001", at(16, 0), 30).orElseThrow());
+        assertEquals(DAY.plusDays(1).atTime(9, 0), engine.nextFreeSlot("D001", at(16, 0), 60).orElseThrow(),
+                "An hour-long booking does not fit before closing");
+    }
+
+    @Test
+    void testNextFreeSlotsAcrossDoctors() {
+        engine.book("D001", at(9, 0), 30);
+        engine.book("D002", at(9, 30), 30);
+
+        List<Slot> slots = engine.nextFreeSlots(at(9, 0), 4, 30);
+
+        assertEquals(List.of(
+                new Slot("D002", at(9, 0)),
+                new Slot("D001", at(9, 30)),
+                new Slot("D001", at(10, 0)),
+                new Slot("D002", at(10, 0))), slots);
+    }
+
+    @Test
+    void testBulkRescheduleKeepsDoctors() {
+        engine.book("D001", at(10, 0), 30);
+        engine.book("D001", at(11, 0), 30);
+        engine.book("D002", at(10, 0), 30);
+        LocalDateTime nextDay = DAY.plusDays(1).atStartOfDay();
+        engine.book("D001", nextDay.withHour(9), 30);
+
+        List<Slot> moved = engine.reschedule(List.of(
+                new Slot("D001", at(11, 0)),
+                new Slot("D001", at(10, 0)),
+                new Slot("D002", at(10, 0))), nextDay, 30, true);
+
+        assertEquals(List.of(
+                new Slot("D001", nextDay.withHour(10)),
+                new Slot("D001", nextDay.withHour(9).withMinute(30)),
+                new Slot("D002", nextDay.withHour(9))), moved);
+        assertTrue(engine.isFree("D001", at(10, 0), 30));
+        assertEquals(4, engine.getBookedSlotCount());
+    }
+
+    @Test
+    void testBulkRescheduleSpreadsAcrossDoctors() {
+        engine.book("D001", at(9, 0), 30);
+        engine.book("D001", at(9, 30), 30);
+
+        List<Slot> moved = engine.reschedule(List.of(
+                new Slot("D001", at(9, 0)),
+                new Slot("D001", at(9, 30))), at(12, 0), 30, false);
+
+        assertEquals(List.of(new Slot("D001", at(12, 0)), new Slot("D002", at(12, 0))), moved);
+    }
+
+    @Test
+    void testFailedRescheduleChangesNothing() {
+        SchedulingEngine tiny = new SchedulingEngine(LocalTime.of(9, 0), LocalTime.of(9, 30));
+        for (int i = 0; i < SchedulingEngine.SEARCH_HORIZON_DAYS; i++) {
+            assertTrue(tiny.book("D001", DAY.plusDays(i).atTime(9, 0), 30));
+        }
+        tiny.book("D001", at(12, 0), 30);
+
+        assertThrows(IllegalStateException.class, () -> tiny.reschedule(
+                List.of(new Slot("D001", at(12, 0)), new Slot("D001", at(9, 0))), DAY.atStartOfDay(), 30, true));
+        assertFalse(tiny.isFree("D001", at(12, 0), 30), "The original bookings should be restored");
+        assertFalse(tiny.isFree("D001", at(9, 0), 30));
+        assertEquals(SchedulingEngine.SEARCH_HORIZON_DAYS + 1, tiny.getBookedSlotCount());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testThousandDoctorsForAYear(TestReporter reporter) {
+        SchedulingEngine large = new SchedulingEngine(LocalTime.of(9, 0), LocalTime.of(17, 0));
+        Random random = new Random(42);
+        int doctors = 1000;
+        int days = 365;
+
+        long started = System.nanoTime();
+        long booked = 0;
+        for (int d = 0; d < doctors; d++) {
+            String doctorId = String.format("D%04d", d);
+            for (int day = 0; day < days; day++) {
+                LocalDate date = DAY.plusDays(day);
+                // About three quarters of each working day is booked
+                for (int slot = 0; slot < 16; slot++) {
+                    if (random.nextInt(4) != 0 && large.book(doctorId, date.atTime(9, 0).plusMinutes(30L * slot), 30)) {
+                        booked++;
+                    }
+                }
+            }
+        }
+        long bookingNanos = System.nanoTime() - started;
+        assertEquals(doctors, large.getDoctorCount());
+        assertEquals(booked, large.getBookedSlotCount());
+
+        started = System.nanoTime();
+        int queries = 1000;
+        for (int i = 0; i < queries; i++) {
+            LocalDateTime from = DAY.plusDays(random.nextInt(days)).atTime(9, 0);
+            List<Slot> slots = large.nextFreeSlots(from, 10, 30);
+            assertEquals(10, slots.size());
+            for (Slot slot : slots) {
+                assertFalse(slot.start().isBefore(from));
+                assertTrue(large.isFree(slot.doctorId(), slot.start(), 30));
+            }
+        }
+        long searchNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        List<Slot> sickDay = new ArrayList<>();
+        for (int slot = 0; slot < 16; slot++) {
+            LocalDateTime start = DAY.plusDays(100).atTime(9, 0).plusMinutes(30L * slot);
+            if (!large.isFree("D0500", start, 30)) {
+                sickDay.add(new Slot("D0500", start));
+            }
+        }
+        List<Slot> moved = large.reschedule(sickDay, DAY.plusDays(101).atStartOfDay(), 30, false);
+        long rescheduleNanos = System.nanoTime() - started;
+        assertEquals(sickDay.size(), moved.size());
+        assertEquals(booked, large.getBookedSlotCount());
+
+        reporter.publishEntry(Map.of(
+                "bookedSlots", String.valueOf(booked),
+                "bookingMillis", String.valueOf(bookingNanos / 1_000_000),
+                "searchMicros", String.valueOf(searchNanos / queries / 1_000),
+                "rescheduleMicros", String.valueOf(rescheduleNanos / 1_000)));
+    }
+}
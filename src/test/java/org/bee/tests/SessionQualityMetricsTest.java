@@ -0,0 +1,116 @@
+package org.bee.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.bee.hms.telemed.SessionEvent;
+import org.bee.hms.telemed.SessionEventLog;
+import org.bee.hms.telemed.SessionEventType;
+import org.bee.hms.telemed.SessionQualityMetrics;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SessionQualityMetrics} and {@link SessionEventLog}.
+ * Verifies aggregation per doctor, day and time slot, the per-doctor view and the event log round trip.
+ */
+public class SessionQualityMetricsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    private static List<SessionEvent> session(String sessionId, String doctorId, LocalDateTime scheduledAt,
+                                              int joinDelayMinutes, int durationMinutes, int disconnects) {
+        LocalDateTime joinedAt = scheduledAt.plusMinutes(joinDelayMinutes);
+        List<SessionEvent> events = new ArrayList<>();
+        events.add(new SessionEvent(sessionId, doctorId, SessionEventType.JOINED, joinedAt, scheduledAt));
+        for (int i = 0; i < disconnects; i++) {
+            events.add(new SessionEvent(sessionId, doctorId, SessionEventType.DISCONNECTED, joinedAt.plusMinutes(1), null));
+        }
+        events.add(new SessionEvent(sessionId, doctorId, SessionEventType.ENDED,
+                joinedAt.plusMinutes(durationMinutes), null));
+        return events;
+    }
+
+    private static SessionQualityMetrics.QualityRow row(List<SessionQualityMetrics.QualityRow> rows, String key) {
+        return rows.stream().filter(r -> r.key().equals(key)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testAggregatesPerDoctorDayAndSlot() {
+        SessionQualityMetrics metrics = new SessionQualityMetrics(30);
+        session("S1", "D001", DAY.withHour(9), 0, 20, 0).forEach(metrics::record);
+        session("S2", "D001", DAY.withHour(9).plusDays(1), 10, 40, 0).forEach(metrics::record);
+        session("S3", "D002", DAY.withHour(14).withMinute(40), 2, 25, 2).forEach(metrics::record);
+        // Still running, so not counted yet
+        metrics.record(new SessionEvent("S4", "D002", SessionEventType.JOINED, DAY.withHour(16), DAY.withHour(16)));
+        // Never joined, so ignored
+        metrics.record(new SessionEvent("S5", "D002", SessionEventType.ENDED, DAY.withHour(16), null));
+
+        SessionQualityMetrics.Report report = metrics.report(DAY.plusDays(2));
+
+        assertEquals(1, report.openSessions());
+        assertEquals("D002", report.byDoctor().getFirst().key(), "The doctor with drops is the poorest");
+        SessionQualityMetrics.QualityRow d001 = row(report.byDoctor(), "D001");
+        assertEquals(2, d001.sessions());
+        assertEquals(0.5, d001.overrunRate());
+        assertEquals(0.5, d001.poorRate(), "Joining 10 minutes late is poor");
+        assertEquals(30 * 60_000L, d001.meanDurationMillis());
+        SessionQualityMetrics.QualityRow d002 = row(report.byDoctor(), "D002");
+        assertEquals(2.0, d002.disconnectsPerSession());
+        assertEquals(2 * 60_000L, d002.p50JoinMillis());
+
+        assertEquals(List.of("2025-03-03", "2025-03-04"), report.byDay().stream().map(r -> r.key()).toList());
+        assertEquals(2, row(report.byDay(), "2025-03-03").sessions());
+        assertEquals(2, row(report.bySlot(), "09:00").sessions());
+        assertEquals(1, row(report.bySlot(), "14:30").sessions(), "Off-grid times fall into their slot");
+    }
+
+    @Test
+    void testDoctorReportOnlyShowsThatDoctor() {
+        SessionQualityMetrics metrics = new SessionQualityMetrics(30);
+        session("S1", "D001", DAY.withHour(9), 0, 20, 1).forEach(metrics::record);
+        session("S2", "D002", DAY.withHour(10), 0, 20, 0).forEach(metrics::record);
+
+        SessionQualityMetrics.Report report = metrics.report("D002", DAY.plusDays(1));
+
+        assertEquals("D002", report.doctorId());
+        assertEquals(1, report.byDoctor().size());
+        assertEquals(0.0, report.byDoctor().getFirst().poorRate());
+        assertEquals(List.of("10:00"), report.bySlot().stream().map(r -> r.key()).toList());
+        assertTrue(metrics.report("D999", DAY).byDay().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SessionQualityMetrics(7));
+    }
+
+    @Test
+    void testEventLogRoundTripAndJsonExport() throws Exception {
+        Path file = Files.createTempFile("session_events", ".txt");
+        try {
+            SessionEventLog log = new SessionEventLog(file);
+            for (SessionEvent event : session("S1", "D001", DAY.withHour(9), 3, 35, 1)) {
+                log.append(event);
+            }
+            Files.writeString(file, "not json\n", StandardOpenOption.APPEND);
+            assertFalse(Files.readAllLines(file).get(1).contains("scheduledAt"),
+                    "Only join events carry the scheduled time");
+
+            SessionQualityMetrics metrics = new SessionQualityMetrics(30);
+            assertEquals(3, log.replay(metrics::record), "Damaged lines are skipped");
+
+            JsonNode json = JSONHelper.parseTree(JSONHelper.toJson(metrics.report(DAY.plusDays(1))));
+            JsonNode doctor = json.get("byDoctor").get(0);
+            assertEquals("D001", doctor.get("key").asText());
+            assertEquals(3 * 60_000L, doctor.get("p90JoinMillis").asLong());
+            assertEquals(1.0, doctor.get("overrunRate").asDouble());
+            assertEquals(30, json.get("scheduledMinutes").asInt());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bee.controllers.SyntheticDataset;
+import org.bee.hms.claims.InsuranceClaim;
+import org.bee.hms.humans.Human;
+import org.bee.hms.humans.Patient;
+import org.bee.hms.medical.Consultation;
+import org.bee.hms.medical.Visit;
+import org.bee.utils.DataGenerator;
+import org.bee.utils.JSONHelper;
+import org.bee.utils.JSONSerializable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SyntheticDataset} and seeded generation in {@link DataGenerator}.
+ * Verifies that a seed gives the same data whatever the number of threads, and that the files load.
+ */
+public class SyntheticDatasetTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSeededGenerationIsRepeatable() {
+        String first = DataGenerator.withSeed(7, START, () ->
+                DataGenerator.generateUUID() + DataGenerator.generateRandomString(8) + DataGenerator.now());
+        String second = DataGenerator.withSeed(7, START, () ->
+                DataGenerator.generateUUID() + DataGenerator.generateRandomString(8) + DataGenerator.now());
+        assertEquals(first, second);
+        assertNotEquals(first, DataGenerator.withSeed(8, START, () ->
+                DataGenerator.generateUUID() + DataGenerator.generateRandomString(8) + DataGenerator.now()));
+
+        DataGenerator.withSeed(7, START, () -> {
+            assertEquals(START, DataGenerator.now());
+            assertTrue(DataGenerator.now().isAfter(START), "The seeded clock moves on");
+            return null;
+        });
+        assertTrue(DataGenerator.now().getYear() >= 2025, "The system clock is back outside the generation");
+    }
+
+    @Test
+    void testSameSeedGivesSameDataOnAnyNumberOfThreads() throws IOException {
+        Path single = tempDir.resolve("single");
+        Path parallel = tempDir.resolve("parallel");
+        List<Long> progress = new ArrayList<>();
+        SyntheticDataset.Counts counts = SyntheticDataset.generate(2_100, 42, START, single, 1, progress::add);
+        SyntheticDataset.Counts parallelCounts = SyntheticDataset.generate(2_100, 42, START, parallel, 3, count -> { });
+
+        assertEquals(counts, parallelCounts);
+        assertEquals(List.of(500L, 1_000L, 1_500L, 2_000L, 2_100L), progress);
+        assertEquals(2_100 + 10 + 15 + 10, counts.humans());
+        assertTrue(counts.visits() > 0 && counts.bills() > 0 && counts.claims() > 0 && counts.appointments() > 0,
+                counts.toString());
+        assertEquals(Files.readString(single.resolve("humans.txt")), Files.readString(parallel.resolve("humans.txt")));
+        assertEquals(Files.readString(single.resolve("policies.txt")), Files.readString(parallel.resolve("policies.txt")));
+
+        for (String file : List.of("visits.txt", "bills.txt", "claims.txt", "appointments.txt")) {
+            assertEquals(Files.readString(single.resolve(file)), Files.readString(parallel.resolve(file)), file);
+        }
+        assertEquals(List.of(), JSONHelper.loadListFromJsonFile(single.resolve("consultations.txt").toString(),
+                Consultation.class), "Consultations are written empty");
+
+        List<String> patientIds = ids(single, "humans.txt", Human.class,
+                human -> human instanceof Patient patient ? patient.getPatientId() : null);
+        patientIds.removeIf(id -> id == null);
+        assertEquals(2_100, new HashSet<>(patientIds).size(), "Patient IDs do not repeat");
+        assertEquals(counts.visits(), new HashSet<>(ids(single, "visits.txt", Visit.class, Visit::getVisitId)).size(),
+                "Visit IDs do not repeat");
+        assertEquals(counts.claims(),
+                new HashSet<>(ids(single, "claims.txt", InsuranceClaim.class, InsuranceClaim::getClaimId)).size(),
+                "Claim IDs do not repeat");
+        assertTrue(Files.exists(single.resolve("icd-10-cm.csv")), "The code lists are copied alongside");
+
+        SyntheticDataset.generate(100, 43, START, tempDir.resolve("other"), 2, count -> { });
+        assertNotEquals(Files.readString(single.resolve("humans.txt")).substring(0, 2_000),
+                Files.readString(tempDir.resolve("other").resolve("humans.txt")).substring(0, 2_000));
+    }
+
+    /**
+     * Loads a data file and lists the IDs of its records.
+     */
+    private static <T extends JSONSerializable> List<String> ids(Path directory, String file, Class<T> type,
+                                                                Function<T, String> id) throws IOException {
+        List<String> ids = new ArrayList<>();
+        for (T item : JSONHelper.loadListFromJsonFile(directory.resolve(file).toString(), type)) {
+            ids.add(id.apply(item));
+        }
+        return ids;
+    }
+}
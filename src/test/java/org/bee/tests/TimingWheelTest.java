@@ -0,0 +1,107 @@
+package org.bee.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.bee.utils.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link TimingWheel}.
+ * Verifies deadlines fire on time and in order across every level, and that cancelled ones do not fire.
+ */
+public class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private static List<String> payloads(List<TimingWheel.Timeout<String>> fired) {
+        List<String> result = new ArrayList<>();
+        for (TimingWheel.Timeout<String> timeout : fired) {
+            result.add(timeout.getPayload());
+        }
+        return result;
+    }
+
+    @Test
+    void testFiresAtOrAfterDeadlineInOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+        wheel.schedule("b", START + 2500);
+        wheel.schedule("a", START + 1200);
+        wheel.schedule("c", START + 90_000);
+
+        assertTrue(wheel.advanceTo(START + 1100).isEmpty(), "Deadlines should never fire early");
+        assertEquals(List.of("a", "b"), payloads(wheel.advanceTo(START + 3000)));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("c"), payloads(wheel.advanceTo(START + 90_000)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testOverdueDeadlinesFireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+        wheel.schedule("late", START - 60_000);
+        wheel.schedule("now", START);
+
+        assertEquals(List.of("late", "now"), payloads(wheel.advanceTo(START)));
+    }
+
+    @Test
+    void testCancelledDeadlinesDoNotFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+        TimingWheel.Timeout<String> kept = wheel.schedule("kept", START + 5000);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", START + 5000);
+        TimingWheel.Timeout<String> far = wheel.schedule("far", START + 86_400_000L * 365);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled), "A timeout can only be cancelled once");
+        assertTrue(wheel.cancel(far));
+        assertEquals(1, wheel.size());
+
+        List<TimingWheel.Timeout<String>> fired = wheel.advanceTo(START + 10_000);
+        assertEquals(List.of(kept), fired);
+        assertFalse(kept.isPending());
+        assertFalse(wheel.cancel(kept), "A fired timeout cannot be cancelled");
+    }
+
+    @Test
+    void testDeadlinesBeyondTheTopLevelStillFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, START);
+        long span = 1L << 36;
+        wheel.schedule("beyond", START + span + 5);
+
+        assertTrue(wheel.advanceTo(START + span).isEmpty());
+        assertEquals(List.of("beyond"), payloads(wheel.advanceTo(START + span + 5)));
+    }
+
+    @Test
+    void testManyRandomDeadlinesMatchSortedOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, START);
+        Random random = new Random(7);
+        int count = 1_000_000;
+        long horizon = 86_400_000L * 60;
+        List<Long> expected = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long deadline = START + (long) (random.nextDouble() * horizon);
+            wheel.schedule(deadline, deadline);
+            expected.add(deadline);
+        }
+        expected.sort(null);
+        assertEquals(count, wheel.size());
+
+        List<Long> fired = new ArrayList<>(count);
+        long now = START;
+        while (now < START + horizon + 1000) {
+            now += 3_600_000L;
+            for (TimingWheel.Timeout<Long> timeout : wheel.advanceTo(now)) {
+                assertTrue(timeout.getDeadline() <= now, "Fired before its deadline");
+                assertTrue(timeout.getDeadline() > now - 3_600_000L - 1000, "Fired more than a step late");
+                fired.add(timeout.getPayload());
+            }
+        }
+        assertEquals(expected, fired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,144 @@
+package org.bee.tests;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+
+import org.bee.hms.medical.WardStay;
+import org.bee.hms.wards.Ward;
+import org.bee.hms.wards.WardCensus;
+import org.bee.hms.wards.WardClassType;
+import org.bee.hms.wards.WardFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link WardCensus}.
+ * Verifies hourly peaks per class and ward, incremental updates and the per-day cache
+ * against a brute-force count over a month of random stays.
+ */
+public class WardCensusTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    private WardCensus census;
+    private Ward icu;
+    private Ward generalA;
+    private Ward generalB;
+
+    @BeforeEach
+    void setUp() {
+        census = new WardCensus();
+        icu = WardFactory.getWard("ICU", WardClassType.ICU);
+        generalA = WardFactory.getWard("General A", WardClassType.GENERAL_CLASS_C);
+        generalB = WardFactory.getWard("General B", WardClassType.GENERAL_CLASS_C);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    @Test
+    void testHourlyPeaksPerClassAndWard() {
+        census.updateVisit("V1", List.of(new WardStay(generalA, at(9, 0), at(11, 0))));
+        census.updateVisit("V2", List.of(new WardStay(generalB, at(10, 15), at(10, 45))));
+        census.updateVisit("V3", List.of(new WardStay(icu, at(10, 30), null)));
+
+        int[] general = census.getHourlyOccupancy(WardClassType.GENERAL_CLASS_C, DAY);
+        assertEquals(0, general[8]);
+        assertEquals(1, general[9]);
+        assertEquals(2, general[10], "Short stays inside the hour count towards its peak");
+        assertEquals(0, general[11], "A stay ending on the hour does not count towards it");
+        int[] wardA = census.getHourlyOccupancy(generalA, DAY);
+        assertEquals(List.of(1, 1, 0), List.of(wardA[9], wardA[10], wardA[11]));
+        assertEquals(1, census.getHourlyOccupancy(generalB, DAY)[10]);
+
+        assertEquals(0, census.getHourlyOccupancy(WardClassType.ICU, DAY)[9]);
+        assertEquals(1, census.getHourlyOccupancy(WardClassType.ICU, DAY)[23]);
+        assertEquals(1, census.getHourlyOccupancy(WardClassType.ICU, DAY.plusDays(40))[0],
+                "A stay without an end is still in progress");
+        assertEquals(0, census.getHourlyOccupancy(WardFactory.getWard("Empty", WardClassType.ICU), DAY)[10]);
+    }
+
+    @Test
+    void testDischargeUpdatesCachedDays() {
+        census.updateVisit("V1", List.of(new WardStay(icu, at(12, 0), null)));
+        assertEquals(0, census.getHourlyOccupancy(WardClassType.ICU, DAY)[11]);
+        assertEquals(1, census.getHourlyOccupancy(WardClassType.ICU, DAY.plusDays(2))[12]);
+        assertEquals(3, census.getCachedDayCount(), "Days after a cached day are filled in from it");
+
+        assertFalse(census.updateVisit("V1", List.of(new WardStay(icu, at(12, 0), null))),
+                "Unchanged stays leave the census alone");
+        assertTrue(census.updateVisit("V1", List.of(new WardStay(icu, at(12, 0), DAY.plusDays(1).atTime(8, 0)))));
+        assertEquals(0, census.getCachedDayCount(), "Days the stay overlaps are recomputed");
+
+        assertEquals(1, census.getHourlyOccupancy(WardClassType.ICU, DAY.plusDays(1))[7]);
+        assertEquals(0, census.getHourlyOccupancy(WardClassType.ICU, DAY.plusDays(1))[8]);
+        assertEquals(0, census.getHourlyOccupancy(WardClassType.ICU, DAY.plusDays(2))[12]);
+
+        assertTrue(census.removeVisit("V1"));
+        assertEquals(0, census.getHourlyOccupancy(WardClassType.ICU, DAY)[12]);
+        assertEquals(0, census.getVisitCount());
+    }
+
+    @Test
+    void testMonthOfRandomStaysMatchesBruteForce() {
+        Random random = new Random(11);
+        Ward[] wards = {icu, generalA, generalB};
+        List<List<WardStay>> visits = new ArrayList<>();
+        for (int v = 0; v < 2_000; v++) {
+            LocalDateTime start = DAY.atStartOfDay().plusMinutes(random.nextInt(30 * 24 * 60));
+            LocalDateTime end = random.nextInt(20) == 0 ? null : start.plusMinutes(1 + random.nextInt(5 * 24 * 60));
+            visits.add(List.of(new WardStay(wards[random.nextInt(wards.length)], start, end)));
+            census.updateVisit("V" + v, visits.get(v));
+        }
+        // Warm the cache, then discharge some patients and move others
+        census.getTimeline(WardClassType.GENERAL_CLASS_C, DAY, DAY.plusDays(29));
+        for (int v = 0; v < visits.size(); v += 7) {
+            WardStay stay = visits.get(v).getFirst();
+            LocalDateTime end = stay.getStartDateTime().plusHours(1 + random.nextInt(48));
+            visits.set(v, List.of(new WardStay(wards[random.nextInt(wards.length)], stay.getStartDateTime(), end)));
+            census.updateVisit("V" + v, visits.get(v));
+        }
+
+        for (WardClassType type : List.of(WardClassType.ICU, WardClassType.GENERAL_CLASS_C)) {
+            NavigableMap<LocalDateTime, Integer> timeline = census.getTimeline(type, DAY, DAY.plusDays(29));
+            assertEquals(30 * WardCensus.HOURS_PER_DAY, timeline.size());
+            timeline.forEach((hour, peak) -> assertEquals(bruteForcePeak(visits, type, hour), peak.intValue(),
+                    type + " at " + hour));
+        }
+    }
+
+    private static int bruteForcePeak(List<List<WardStay>> visits, WardClassType type, LocalDateTime hour) {
+        // Occupancy only changes at stay boundaries, so check the hour start and each boundary in the hour
+        List<LocalDateTime> points = new ArrayList<>(List.of(hour));
+        for (List<WardStay> stays : visits) {
+            for (WardStay stay : stays) {
+                for (LocalDateTime t : new LocalDateTime[]{stay.getStartDateTime(), stay.getEndDateTime()}) {
+                    if (t != null && t.isAfter(hour) && t.isBefore(hour.plusHours(1))) {
+                        points.add(t);
+                    }
+                }
+            }
+        }
+        int peak = 0;
+        for (LocalDateTime t : points) {
+            int occupied = 0;
+            for (List<WardStay> stays : visits) {
+                for (WardStay stay : stays) {
+                    if (stay.getWard().getWardClassType() == type && !stay.getStartDateTime().isAfter(t)
+                            && (stay.getEndDateTime() == null || stay.getEndDateTime().isAfter(t))) {
+                        occupied++;
+                    }
+                }
+            }
+            peak = Math.max(peak, occupied);
+        }
+        return peak;
+    }
+}
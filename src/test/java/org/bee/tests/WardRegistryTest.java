@@ -0,0 +1,114 @@
+package org.bee.tests;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.bee.hms.humans.Patient;
+import org.bee.hms.wards.Ward;
+import org.bee.hms.wards.WardClassType;
+import org.bee.hms.wards.WardRegistry;
+import org.bee.hms.wards.WardRegistry.BedAllocation;
+import org.bee.utils.JSONHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link WardRegistry}.
+ * Verifies ward interning, bed allocation and release per class, and concurrent admissions.
+ */
+public class WardRegistryTest {
+
+    private WardRegistry registry;
+    private Patient patient;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WardRegistry();
+        patient = Patient.builder().withRandomData("P1001").build();
+    }
+
+    @Test
+    void testWardsAreInternedByNameAndClass() {
+        Ward ward = registry.intern("Ward 5", WardClassType.GENERAL_CLASS_B1);
+
+        assertSame(ward, registry.intern("Ward 5", WardClassType.GENERAL_CLASS_B1));
+        assertNotSame(ward, registry.intern("Ward 5", WardClassType.GENERAL_CLASS_C),
+                "The same name in another class is a different ward");
+        assertEquals(2, registry.getWardCount());
+        assertEquals(4, registry.getBedCount(WardClassType.GENERAL_CLASS_B1));
+        assertThrows(IllegalArgumentException.class, () -> registry.intern(" ", WardClassType.ICU));
+    }
+
+    @Test
+    void testDeserializedWardStaysShareTheWard() {
+        String json = JSONHelper.toJson(WardRegistry.getInstance().intern("Shared Ward", WardClassType.ICU));
+
+        Ward first = JSONHelper.fromJson(json, Ward.class);
+        Ward second = JSONHelper.fromJson(json, Ward.class);
+
+        assertSame(first, second);
+        assertEquals(WardClassType.ICU, first.getWardClassType());
+    }
+
+    @Test
+    void testAllocateAndReleaseWithinClass() {
+        registry.intern("B1 East", WardClassType.GENERAL_CLASS_B1);
+        registry.intern("B1 West", WardClassType.GENERAL_CLASS_B1);
+        registry.intern("ICU", WardClassType.ICU);
+
+        List<BedAllocation> beds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            beds.add(registry.allocate(WardClassType.GENERAL_CLASS_B1, patient).orElseThrow());
+        }
+        assertEquals("B1 East", beds.get(0).ward().getWardName());
+        assertEquals("B1 West", beds.get(4).ward().getWardName());
+        assertTrue(beds.get(0).ward().getBeds().get(1).isOccupied());
+        assertEquals(Optional.empty(), registry.allocate(WardClassType.GENERAL_CLASS_B1, patient));
+        assertEquals(1, registry.getFreeBedCount(WardClassType.ICU), "Other classes are unaffected");
+
+        assertTrue(registry.release(beds.get(6)));
+        assertFalse(registry.release(beds.get(6)), "A free bed cannot be released twice");
+        assertFalse(beds.get(6).ward().getBeds().get(3).isOccupied());
+        BedAllocation again = registry.allocate(WardClassType.GENERAL_CLASS_B1, patient).orElseThrow();
+        assertEquals(beds.get(6), again, "The released bed is handed out next");
+        assertEquals(0, registry.getFreeBedCount(WardClassType.GENERAL_CLASS_B1));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.release(again.ward(), 9));
+    }
+
+    @Test
+    void testConcurrentAdmissionsNeverShareABed() throws Exception {
+        for (int w = 0; w < 50; w++) {
+            registry.intern("C" + w, WardClassType.GENERAL_CLASS_C);
+        }
+        int beds = registry.getBedCount(WardClassType.GENERAL_CLASS_C);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Optional<BedAllocation>>> admissions = new ArrayList<>();
+        for (int i = 0; i < beds + 100; i++) {
+            admissions.add(pool.submit(() -> registry.allocate(WardClassType.GENERAL_CLASS_C, patient)));
+        }
+        Set<BedAllocation> allocated = new HashSet<>();
+        int refused = 0;
+        for (Future<Optional<BedAllocation>> admission : admissions) {
+            Optional<BedAllocation> bed = admission.get();
+            if (bed.isPresent()) {
+                assertTrue(allocated.add(bed.get()), "Bed handed out twice: " + bed.get());
+            } else {
+                refused++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(beds, allocated.size());
+        assertEquals(100, refused);
+        assertEquals(0, registry.getFreeBedCount(WardClassType.GENERAL_CLASS_C));
+    }
+}
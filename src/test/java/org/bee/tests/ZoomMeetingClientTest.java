@@ -0,0 +1,116 @@
+package org.bee.tests;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.bee.execeptions.ZoomApiException;
+import org.bee.hms.telemed.ZoomCredentials;
+import org.bee.hms.telemed.ZoomMeetingClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test class for {@link ZoomMeetingClient} against a {@link MockZoomServer}.
+ * Verifies that access tokens are cached and refreshed before expiry or after rejection.
+ */
+public class ZoomMeetingClientTest {
+
+    private MockZoomServer server;
+    private MutableClock clock;
+    private ZoomMeetingClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockZoomServer();
+        clock = new MutableClock();
+        ZoomCredentials credentials = new ZoomCredentials("account", "client", "secret",
+                server.baseUrl() + "/", server.baseUrl());
+        client = new ZoomMeetingClient(credentials, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testTokenIsReusedAcrossMeetings() throws ZoomApiException {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(client.createMeeting("Appointment " + i, 30).startsWith("https://zoom.us/j/"));
+        }
+
+        assertEquals(1, server.tokenRequests(), "One token should serve every meeting");
+        assertEquals(5, server.meetingRequests());
+        assertEquals(1, client.getTokenRequestCount());
+    }
+
+    @Test
+    void testTokenRefreshedBeforeExpiry() throws ZoomApiException {
+        server.setExpiresInSeconds(600);
+        client.createMeeting("First", 30);
+
+        clock.advance(Duration.ofSeconds(500));
+        client.createMeeting("Still valid", 30);
+        assertEquals(1, server.tokenRequests());
+
+        clock.advance(Duration.ofSeconds(50));
+        client.createMeeting("Within refresh margin", 30);
+        assertEquals(2, server.tokenRequests(), "A token about to expire should be replaced");
+    }
+
+    @Test
+    void testRejectedTokenIsReplacedOnce() throws ZoomApiException {
+        client.createMeeting("First", 30);
+        server.revokeTokens();
+
+        String joinUrl = client.createMeeting("After revocation", 30);
+
+        assertNotNull(joinUrl);
+        assertEquals(2, server.tokenRequests());
+        assertEquals(3, server.meetingRequests(), "The rejected request should be retried once");
+    }
+
+    @Test
+    void testErrorsSurfaceAsZoomApiException() {
+        server.failNextMeeting(500);
+        ZoomApiException error = assertThrows(ZoomApiException.class, () -> client.createMeeting("Failing", 30));
+        assertTrue(error.getMessage().contains("500"));
+
+        server.close();
+        assertThrows(ZoomApiException.class, () -> client.createMeeting("Server down", 30));
+    }
+
+    @Test
+    void testCredentialsValidated() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ZoomCredentials("", "client", "secret", "http://x", "http://y"));
+        ZoomCredentials credentials = new ZoomCredentials("a", "b", "very-secret", "http://x/", "http://y");
+        assertEquals("http://x", credentials.oauthUrl());
+        assertFalse(credentials.toString().contains("very-secret"));
+    }
+
+    @Test
+    void testCredentialsHaveNoBuiltInAccount() {
+        assumeTrue(System.getenv("ZOOM_CLIENT_SECRET") == null, "Zoom is configured in the environment");
+        System.setProperty("zoom.accountId", "account");
+        System.setProperty("zoom.clientId", "client");
+        try {
+            assertFalse(ZoomCredentials.isConfigured());
+            IllegalStateException error = assertThrows(IllegalStateException.class, ZoomCredentials::fromEnvironment);
+            assertTrue(error.getMessage().contains("ZOOM_CLIENT_SECRET"), error.getMessage());
+
+            System.setProperty("zoom.clientSecret", "secret");
+            assertTrue(ZoomCredentials.isConfigured());
+            assertEquals("secret", ZoomCredentials.fromEnvironment().clientSecret());
+        } finally {
+            System.clearProperty("zoom.accountId");
+            System.clearProperty("zoom.clientId");
+            System.clearProperty("zoom.clientSecret");
+        }
+    }
+}